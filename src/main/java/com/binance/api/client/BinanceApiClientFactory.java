@@ -1,33 +1,64 @@
 package com.binance.api.client;
 
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.binance.api.client.config.BinanceApiTransportProfile;
+import com.binance.api.client.impl.ApiGenerator;
 import com.binance.api.client.impl.ApiServiceGenerator;
 import com.binance.api.client.impl.BinanceApiAsyncIsolatedMarginClientImpl;
 import com.binance.api.client.impl.BinanceApiAsyncMarginRestClientImpl;
 import com.binance.api.client.impl.BinanceApiAsyncRestClientImpl;
+import com.binance.api.client.impl.BinanceApiFutureIsolatedMarginClientImpl;
+import com.binance.api.client.impl.BinanceApiFutureMarginRestClientImpl;
+import com.binance.api.client.impl.BinanceApiFutureRestClientImpl;
+import com.binance.api.client.impl.BinanceApiFutureSwapRestClientImpl;
 import com.binance.api.client.impl.BinanceApiIsolatedMarginClientImpl;
 import com.binance.api.client.impl.BinanceApiMarginRestClientImpl;
 import com.binance.api.client.impl.BinanceApiRestClientImpl;
 import com.binance.api.client.impl.BinanceApiSwapRestClientImpl;
+import com.binance.api.client.impl.ConnectionWarmer;
+import com.binance.api.client.impl.ResponseCache;
+import com.binance.api.client.security.ApiAccount;
 
 /**
  * A factory for creating BinanceApi client objects.
  */
-public class BinanceApiClientFactory {
+public class BinanceApiClientFactory implements Closeable {
 
+  private final ApiGenerator generator;
 
   /**
-   * Instantiates a new binance api client factory.
+   * Whether the generator was created for this factory and must be released on {@link #close()}.
    */
-  private BinanceApiClientFactory() {
+  private final boolean ownsGenerator;
+
+  private final List<ConnectionWarmer> warmers = new CopyOnWriteArrayList<>();
 
+  /**
+   * Instantiates a new binance api client factory.
+   */
+  private BinanceApiClientFactory(ApiGenerator generator, boolean ownsGenerator) {
+    this.generator = generator;
+    this.ownsGenerator = ownsGenerator;
   }
 
   /**
-   * New instance.
+   * New instance sharing the process-wide transport configured from the <code>binance.api.*</code> system properties.
    * @return the binance api client factory
    */
   public static BinanceApiClientFactory newInstance() {
-    return new BinanceApiClientFactory();
+    return new BinanceApiClientFactory(ApiServiceGenerator.getDefaultGenerator(), false);
+  }
+
+  /**
+   * New instance owning its own connection pools and threads, configured from the given transport profile.
+   * @param profile the transport settings of this factory
+   * @return the binance api client factory
+   */
+  public static BinanceApiClientFactory newInstance(BinanceApiTransportProfile profile) {
+    return new BinanceApiClientFactory(ApiServiceGenerator.newGenerator(profile), true);
   }
 
 
@@ -35,58 +66,141 @@ public class BinanceApiClientFactory {
    * Creates a new synchronous/blocking REST client.
    */
   public BinanceApiRestClient newRestClient() {
-    return new BinanceApiRestClientImpl();
+    return new BinanceApiRestClientImpl(generator, false);
+  }
+
+  /**
+   * Creates a new synchronous/blocking REST client bound to an account: its signed requests are authenticated with
+   * <code>account</code>, and the API key and secret arguments of its methods are ignored.
+   */
+  public BinanceApiRestClient newRestClient(ApiAccount account) {
+    return new BinanceApiRestClientImpl(generator, false, account);
   }
 
   /**
    * Creates a new synchronous/blocking REST client.
    */
   public BinanceApiRestClient newTestnetRestClient() {
-    return new BinanceApiRestClientImpl(true);
+    return new BinanceApiRestClientImpl(generator, true);
   }
 
   /**
    * Creates a new asynchronous/non-blocking REST client.
    */
   public BinanceApiAsyncRestClient newAsyncRestClient() {
-    return new BinanceApiAsyncRestClientImpl();
+    return new BinanceApiAsyncRestClientImpl(generator, false);
+  }
+
+  /**
+   * Creates a new asynchronous/non-blocking REST client bound to an account, see {@link #newRestClient(ApiAccount)}.
+   */
+  public BinanceApiAsyncRestClient newAsyncRestClient(ApiAccount account) {
+    return new BinanceApiAsyncRestClientImpl(generator, false, account);
   }
 
   public BinanceApiAsyncRestClient newTestnetAsyncRestClient() {
-    return new BinanceApiAsyncRestClientImpl(true);
+    return new BinanceApiAsyncRestClientImpl(generator, true);
+  }
+
+
+  /**
+   * Creates a new non-blocking REST client returning futures.
+   */
+  public BinanceApiFutureRestClient newFutureRestClient() {
+    return new BinanceApiFutureRestClientImpl(generator, false);
+  }
+
+  /**
+   * Creates a new non-blocking REST client returning futures bound to an account, see
+   * {@link #newRestClient(ApiAccount)}.
+   */
+  public BinanceApiFutureRestClient newFutureRestClient(ApiAccount account) {
+    return new BinanceApiFutureRestClientImpl(generator, false, account);
+  }
+
+  public BinanceApiFutureRestClient newTestnetFutureRestClient() {
+    return new BinanceApiFutureRestClientImpl(generator, true);
+  }
+
+  /**
+   * Creates a new non-blocking Margin REST client returning futures.
+   */
+  public BinanceApiFutureMarginRestClient newFutureMarginRestClient() {
+    return new BinanceApiFutureMarginRestClientImpl(generator);
   }
 
+  /**
+   * Creates a new non-blocking Margin REST client returning futures bound to an account, see {@link #newRestClient(ApiAccount)}.
+   */
+  public BinanceApiFutureMarginRestClient newFutureMarginRestClient(ApiAccount account) {
+    return new BinanceApiFutureMarginRestClientImpl(generator, account);
+  }
 
   /**
    * Creates a new asynchronous/non-blocking Margin REST client.
    */
   public BinanceApiAsyncMarginRestClient newAsyncMarginRestClient() {
-    return new BinanceApiAsyncMarginRestClientImpl();
+    return new BinanceApiAsyncMarginRestClientImpl(generator);
+  }
+
+  /**
+   * Creates a new asynchronous/non-blocking Margin REST client bound to an account, see {@link #newRestClient(ApiAccount)}.
+   */
+  public BinanceApiAsyncMarginRestClient newAsyncMarginRestClient(ApiAccount account) {
+    return new BinanceApiAsyncMarginRestClientImpl(generator, account);
   }
 
   /**
    * Creates a new synchronous/blocking Margin REST client.
    */
   public BinanceApiMarginRestClient newMarginRestClient() {
-    return new BinanceApiMarginRestClientImpl();
+    return new BinanceApiMarginRestClientImpl(generator);
+  }
+
+  /**
+   * Creates a new synchronous/blocking Margin REST client bound to an account, see {@link #newRestClient(ApiAccount)}.
+   */
+  public BinanceApiMarginRestClient newMarginRestClient(ApiAccount account) {
+    return new BinanceApiMarginRestClientImpl(generator, account);
   }
 
   /**
    * Creates a new web socket client used for handling data streams.
    */
   public BinanceApiWebSocketClient newWebSocketClient() {
-    return ApiServiceGenerator.createSocket();
+    return generator.createSocket();
   }
 
   public BinanceApiWebSocketClient newTestnetWebSocketClient() {
-    return ApiServiceGenerator.createTestnetSocket();
+    return generator.createTestnetSocket();
   }
 
   /**
    * Creates a new synchronous/blocking Swap REST client.
    */
   public BinanceApiSwapRestClient newSwapRestClient() {
-    return new BinanceApiSwapRestClientImpl();
+    return new BinanceApiSwapRestClientImpl(generator);
+  }
+
+  /**
+   * Creates a new synchronous/blocking Swap REST client bound to an account, see {@link #newRestClient(ApiAccount)}.
+   */
+  public BinanceApiSwapRestClient newSwapRestClient(ApiAccount account) {
+    return new BinanceApiSwapRestClientImpl(generator, account);
+  }
+
+  /**
+   * Creates a new non-blocking Swap REST client returning futures.
+   */
+  public BinanceApiFutureSwapRestClient newFutureSwapRestClient() {
+    return new BinanceApiFutureSwapRestClientImpl(generator);
+  }
+
+  /**
+   * Creates a new non-blocking Swap REST client returning futures bound to an account, see {@link #newRestClient(ApiAccount)}.
+   */
+  public BinanceApiFutureSwapRestClient newFutureSwapRestClient(ApiAccount account) {
+    return new BinanceApiFutureSwapRestClientImpl(generator, account);
   }
 
   /**
@@ -95,7 +209,14 @@ public class BinanceApiClientFactory {
    * @return the client
    */
   public BinanceApiAsyncIsolatedMarginClient newAsyncIsolatedMarginRestClient() {
-    return new BinanceApiAsyncIsolatedMarginClientImpl();
+    return new BinanceApiAsyncIsolatedMarginClientImpl(generator);
+  }
+
+  /**
+   * Creates a new asynchronous isolated margin rest client bound to an account, see {@link #newRestClient(ApiAccount)}.
+   */
+  public BinanceApiAsyncIsolatedMarginClient newAsyncIsolatedMarginRestClient(ApiAccount account) {
+    return new BinanceApiAsyncIsolatedMarginClientImpl(generator, account);
   }
 
   /**
@@ -104,7 +225,64 @@ public class BinanceApiClientFactory {
    * @return the client
    */
   public BinanceApiIsolatedMarginClient newIsolatedMarginRestClient() {
-    return new BinanceApiIsolatedMarginClientImpl();
+    return new BinanceApiIsolatedMarginClientImpl(generator);
+  }
+
+  /**
+   * Creates a new isolated margin rest client bound to an account, see {@link #newRestClient(ApiAccount)}.
+   */
+  public BinanceApiIsolatedMarginClient newIsolatedMarginRestClient(ApiAccount account) {
+    return new BinanceApiIsolatedMarginClientImpl(generator, account);
+  }
+
+  /**
+   * Creates a new non-blocking isolated margin rest client returning futures.
+   *
+   * @return the client
+   */
+  public BinanceApiFutureIsolatedMarginClient newFutureIsolatedMarginRestClient() {
+    return new BinanceApiFutureIsolatedMarginClientImpl(generator);
+  }
+
+  /**
+   * Creates a new non-blocking isolated margin rest client returning futures bound to an account, see {@link #newRestClient(ApiAccount)}.
+   */
+  public BinanceApiFutureIsolatedMarginClient newFutureIsolatedMarginRestClient(ApiAccount account) {
+    return new BinanceApiFutureIsolatedMarginClientImpl(generator, account);
+  }
+
+  /**
+   * Opt-in warm-up: opens <code>connectionsPerHost</code> connections to the REST API on every connection pool of
+   * this factory (including the order lane) and keeps them alive with <code>/api/v1/ping</code> calls.
+   *
+   * @param connectionsPerHost number of connections to open and keep hot
+   * @param pingIntervalMillis delay between two rounds of keep-alive pings; keep it below the pool's idle keep-alive
+   * @return a handle reporting readiness, stopped by {@link ConnectionWarmer#close()} or when this factory is closed
+   */
+  public ConnectionWarmer warmUp(int connectionsPerHost, long pingIntervalMillis) {
+    ConnectionWarmer warmer = generator.warmUp(connectionsPerHost, pingIntervalMillis);
+    warmers.add(warmer);
+    return warmer;
+  }
+
+  /**
+   * @return the response cache shared by the clients of this factory, reporting its hits and misses, or null when the
+   * transport profile has no {@link com.binance.api.client.config.ResponseCachePolicy}
+   */
+  public ResponseCache getResponseCache() {
+    return generator.getResponseCache();
+  }
+
+  /**
+   * Releases the connection pools and threads of a factory created with a transport profile. Factories sharing the
+   * process-wide transport only stop their warm-up pings.
+   */
+  @Override
+  public void close() {
+    warmers.forEach(ConnectionWarmer::close);
+    if (ownsGenerator) {
+      generator.close();
+    }
   }
 
 }
@@ -0,0 +1,131 @@
+package com.binance.api.client;
+
+import com.binance.api.client.domain.TransferType;
+import com.binance.api.client.domain.account.*;
+import com.binance.api.client.domain.account.request.CancelOrderRequest;
+import com.binance.api.client.domain.account.request.CancelOrderResponse;
+import com.binance.api.client.domain.account.request.OrderRequest;
+import com.binance.api.client.domain.account.request.OrderStatusRequest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Binance API facade, supporting non-blocking access to Binance's Margin REST API through futures.
+ */
+public interface BinanceApiFutureMarginRestClient {
+    /**
+     * Get current margin account information using default parameters.
+     */
+    CompletableFuture<MarginAccount> getAccount(String apiKey, String secret);
+
+    /**
+     * Get all open orders on margin account for a symbol.
+     *
+     * @param orderRequest order request parameters
+     */
+    CompletableFuture<List<Order>> getOpenOrders(OrderRequest orderRequest, String apiKey, String secret);
+
+    /**
+     * Send in a new margin order.
+     *
+     * @param order the new order to submit.
+     * @return a response containing details about the newly placed order.
+     */
+    CompletableFuture<MarginNewOrderResponse> newOrder(MarginNewOrder order, String apiKey, String secret);
+
+    /**
+     * Cancel an active margin order.
+     *
+     * @param cancelOrderRequest order status request parameters
+     */
+    CompletableFuture<CancelOrderResponse> cancelOrder(CancelOrderRequest cancelOrderRequest, String apiKey, String secret);
+
+    /**
+     * Check margin order's status.
+     * @param orderStatusRequest order status request options/filters
+     *
+     * @return an order
+     */
+    CompletableFuture<Order> getOrderStatus(OrderStatusRequest orderStatusRequest, String apiKey, String secret);
+
+    /**
+     * Get margin trades for a specific symbol.
+     *
+     * @param symbol symbol to get trades from
+     * @return a list of trades
+     */
+    CompletableFuture<List<Trade>> getMyTrades(String symbol, String apiKey, String secret);
+
+    // User stream endpoints
+
+    /**
+     * Start a new user data stream.
+     *
+     * @return a listen key that can be used with data streams
+     */
+    CompletableFuture<String> startUserDataStream(String apiKey);
+
+    /**
+     * PING a user data stream to prevent a time out.
+     *
+     * @param listenKey listen key that identifies a data stream
+     */
+    CompletableFuture<Void> keepAliveUserDataStream(String listenKey, String apiKey);
+
+    /**
+     * Execute transfer between spot account and margin account
+     * @param asset asset to repay
+     * @param amount amount to repay
+     * @return transaction id
+     */
+    CompletableFuture<MarginTransaction> transfer(String asset, String amount, TransferType type, String apiKey, String secret);
+
+    /**
+     * Apply for a loan
+     * @param asset asset to repay
+     * @param amount amount to repay
+     * @return transaction id
+     */
+    CompletableFuture<MarginTransaction> borrow(String asset, String amount, String apiKey, String secret);
+
+    /**
+     * Query loan record
+     * @param asset asset to query
+     * @return repay records
+     */
+    CompletableFuture<RepayQueryResult> queryRepay(String asset, long startTime, String apiKey, String secret);
+
+    /**
+     * Query max borrowable
+     * @param asset asset to query
+     * @return max borrowable
+     */
+    CompletableFuture<MaxBorrowableQueryResult> queryMaxBorrowable(String asset, String apiKey, String secret);
+
+    /**
+     * Query loan record
+     * @param asset asset to query
+     * @param txId the tranId in POST /sapi/v1/margin/repay
+     * @return loan records
+     */
+    CompletableFuture<RepayQueryResult> queryRepay(String asset, String txId, String apiKey, String secret);
+
+    /**
+     * Repay loan for margin account
+     * @param asset asset to repay
+     * @param amount amount to repay
+     * @return transaction id
+     */
+    CompletableFuture<MarginTransaction> repay(String asset, String amount, String apiKey, String secret);
+
+    /**
+     * Query loan record
+     * @param asset asset to query
+     * @param txId the tranId in POST /sapi/v1/margin/loan
+     * @return loan records
+     */
+    CompletableFuture<LoanQueryResult> queryLoan(String asset, String txId, String apiKey, String secret);
+
+
+}
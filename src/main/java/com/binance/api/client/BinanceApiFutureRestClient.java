@@ -0,0 +1,392 @@
+package com.binance.api.client;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.account.DepositAddress;
+import com.binance.api.client.domain.account.DepositHistory;
+import com.binance.api.client.domain.account.DustTransferResponse;
+import com.binance.api.client.domain.account.NewOrder;
+import com.binance.api.client.domain.account.NewOrderResponse;
+import com.binance.api.client.domain.account.OcoOrderResponse;
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.account.Trade;
+import com.binance.api.client.domain.account.TradeHistoryItem;
+import com.binance.api.client.domain.account.WithdrawHistory;
+import com.binance.api.client.domain.account.WithdrawResult;
+import com.binance.api.client.domain.account.request.AllOrdersRequest;
+import com.binance.api.client.domain.account.request.CancelOrderRequest;
+import com.binance.api.client.domain.account.request.CancelOrderResponse;
+import com.binance.api.client.domain.account.request.OcoOrderStatusRequest;
+import com.binance.api.client.domain.account.request.OrderRequest;
+import com.binance.api.client.domain.account.request.OrderStatusRequest;
+import com.binance.api.client.domain.account.request.SubAccountTransfer;
+import com.binance.api.client.domain.general.Asset;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.market.AggTrade;
+import com.binance.api.client.domain.market.BookTicker;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.domain.market.TickerStatistics;
+
+/**
+ * Binance API facade, supporting non-blocking access to Binance's REST API. Every method returns a future completed on
+ * the thread delivering the HTTP response, so requests can be composed or fanned out without blocking.
+ */
+public interface BinanceApiFutureRestClient {
+
+    // General endpoints
+
+    /**
+     * Test connectivity to the Rest API.
+     */
+    CompletableFuture<Void> ping();
+
+    /**
+     * Test connectivity to the Rest API and get the current server time.
+     *
+     * @return current server time.
+     */
+    CompletableFuture<Long> getServerTime();
+
+    /**
+     * @return Current exchange trading rules and symbol information
+     */
+    CompletableFuture<ExchangeInfo> getExchangeInfo();
+
+    /**
+     * @return All the supported assets and whether or not they can be withdrawn.
+     */
+    CompletableFuture<List<Asset>> getAllAssets();
+
+    // Market Data endpoints
+
+    /**
+     * Get order book of a symbol.
+     *
+     * @param symbol ticker symbol (e.g. ETHBTC)
+     * @param limit  depth of the order book (max 100)
+     */
+    CompletableFuture<OrderBook> getOrderBook(String symbol, Integer limit);
+
+    /**
+     * Get recent trades (up to last 500). Weight: 1
+     *
+     * @param symbol ticker symbol (e.g. ETHBTC)
+     * @param limit  of last trades (Default 500; max 1000.)
+     */
+    CompletableFuture<List<TradeHistoryItem>> getTrades(String symbol, Integer limit);
+
+    /**
+     * Get older trades. Weight: 5
+     *
+     * @param symbol ticker symbol (e.g. ETHBTC)
+     * @param limit  of last trades (Default 500; max 1000.)
+     * @param fromId TradeId to fetch from. Default gets most recent trades.
+     */
+    CompletableFuture<List<TradeHistoryItem>> getHistoricalTrades(String symbol, Integer limit, Long fromId);
+
+    /**
+     * Get compressed, aggregate trades. Trades that fill at the time, from the same order, with
+     * the same price will have the quantity aggregated.
+     * <p>
+     * If both <code>startTime</code> and <code>endTime</code> are sent, <code>limit</code>should not
+     * be sent AND the distance between <code>startTime</code> and <code>endTime</code> must be less than 24 hours.
+     *
+     * @param symbol    symbol to aggregate (mandatory)
+     * @param fromId    ID to get aggregate trades from INCLUSIVE (optional)
+     * @param limit     Default 500; max 1000 (optional)
+     * @param startTime Timestamp in ms to get aggregate trades from INCLUSIVE (optional).
+     * @param endTime   Timestamp in ms to get aggregate trades until INCLUSIVE (optional).
+     * @return a list of aggregate trades for the given symbol
+     */
+    CompletableFuture<List<AggTrade>> getAggTrades(String symbol, String fromId, Integer limit, Long startTime, Long endTime);
+
+    /**
+     * Return the most recent aggregate trades for <code>symbol</code>
+     *
+     * @see #getAggTrades(String, String, Integer, Long, Long)
+     */
+    CompletableFuture<List<AggTrade>> getAggTrades(String symbol);
+
+    /**
+     * Kline/candlestick bars for a symbol. Klines are uniquely identified by their open time.
+     *
+     * @param symbol    symbol to aggregate (mandatory)
+     * @param interval  candlestick interval (mandatory)
+     * @param limit     Default 500; max 1000 (optional)
+     * @param startTime Timestamp in ms to get candlestick bars from INCLUSIVE (optional).
+     * @param endTime   Timestamp in ms to get candlestick bars until INCLUSIVE (optional).
+     * @return a candlestick bar for the given symbol and interval
+     */
+    CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval, Integer limit, Long startTime, Long endTime);
+
+    /**
+     * Kline/candlestick bars for a symbol. Klines are uniquely identified by their open time.
+     *
+     * @see #getCandlestickBars(String, CandlestickInterval, Integer, Long, Long)
+     */
+    CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval);
+
+    /**
+     * Get 24 hour price change statistics.
+     *
+     * @param symbol ticker symbol (e.g. ETHBTC)
+     */
+    CompletableFuture<TickerStatistics> get24HrPriceStatistics(String symbol);
+
+    /**
+     * Get 24 hour price change statistics for all symbols.
+     */
+    CompletableFuture<List<TickerStatistics>> getAll24HrPriceStatistics();
+
+    /**
+     * Get 24 hour price change statistics for all symbols, handing each one to <code>consumer</code> as soon as it is
+     * parsed instead of building a list. The consumer runs on the thread delivering the response.
+     *
+     * @param reuse    instance updated in place for every element, or null to create a new instance per element
+     * @param consumer receives the elements in order; it must not keep a reused instance
+     * @return a future completing once every element has been handed to the consumer
+     */
+    CompletableFuture<Void> getAll24HrPriceStatistics(TickerStatistics reuse, Consumer<? super TickerStatistics> consumer);
+
+    /**
+     * Get Latest price for all symbols.
+     */
+    CompletableFuture<List<TickerPrice>> getAllPrices();
+
+    /**
+     * Get Latest price for all symbols, handing each one to <code>consumer</code> as soon as it is parsed. The
+     * consumer runs on the thread delivering the response.
+     *
+     * @param reuse    instance updated in place for every element, or null to create a new instance per element
+     * @param consumer receives the elements in order; it must not keep a reused instance
+     * @return a future completing once every element has been handed to the consumer
+     */
+    CompletableFuture<Void> getAllPrices(TickerPrice reuse, Consumer<? super TickerPrice> consumer);
+
+    /**
+     * Get latest price for <code>symbol</code>.
+     *
+     * @param symbol ticker symbol (e.g. ETHBTC)
+     */
+    CompletableFuture<TickerPrice> getPrice(String symbol);
+
+    /**
+     * Get best price/qty on the order book for all symbols.
+     */
+    CompletableFuture<List<BookTicker>> getBookTickers();
+
+    /**
+     * Get best price/qty on the order book for all symbols, handing each one to <code>consumer</code> as soon as it
+     * is parsed. The consumer runs on the thread delivering the response.
+     *
+     * @param reuse    instance updated in place for every element, or null to create a new instance per element
+     * @param consumer receives the elements in order; it must not keep a reused instance
+     * @return a future completing once every element has been handed to the consumer
+     */
+    CompletableFuture<Void> getBookTickers(BookTicker reuse, Consumer<? super BookTicker> consumer);
+
+    // Account endpoints
+
+    /**
+     * Send in a new order.
+     *
+     * @param order the new order to submit.
+     * @return a response containing details about the newly placed order.
+     */
+    CompletableFuture<NewOrderResponse> newOrder(NewOrder order, String apiKey, String secret);
+
+    /**
+     * Send in a new OCO order.
+     *
+     * @param order the new order to submit.
+     * @return a response containing details about the newly placed order.
+     */
+    CompletableFuture<OcoOrderResponse> newOcoOrder(NewOrder order, String apiKey, String secret);
+
+    /**
+     * Test new order creation and signature/recvWindow long. Creates and validates a new order but does not send it into the matching engine.
+     *
+     * @param order the new TEST order to submit.
+     */
+    CompletableFuture<Void> newOrderTest(NewOrder order, String apiKey, String secret);
+
+    /**
+     * Check an order's status.
+     *
+     * @param orderStatusRequest order status request options/filters
+     * @return an order
+     */
+    CompletableFuture<Order> getOrderStatus(OrderStatusRequest orderStatusRequest, String apiKey, String secret);
+
+    /**
+     * Check an OCO order's status. Note that binance will not return order leg
+     * details in this call (orderReports will be null). You will need to use
+     * individual leg ids and {@link #getOrderStatus(OrderStatusRequest, String, String)} to get
+     * details about individual legs.
+     *
+     * @param statusRequest
+     * @return an order
+     */
+    CompletableFuture<OcoOrderResponse> getOcoOrderStatus(OcoOrderStatusRequest statusRequest, String apiKey, String secret);
+
+    /**
+     * Cancel an active order.
+     *
+     * @param cancelOrderRequest order status request parameters
+     */
+    CompletableFuture<CancelOrderResponse> cancelOrder(CancelOrderRequest cancelOrderRequest, String apiKey, String secret);
+
+    /**
+     * Cancel an active OCO order. Both legs will be cancelled.
+     *
+     * @param cancelOrderRequest order request parameters
+     * @return order execution status
+     */
+    CompletableFuture<OcoOrderResponse> cancelOcoOrder(CancelOrderRequest cancelOrderRequest, String apiKey, String secret);
+
+    /**
+     * Get all open orders on a symbol.
+     *
+     * @param orderRequest order request parameters
+     * @return a list of all account open orders on a symbol.
+     */
+    CompletableFuture<List<Order>> getOpenOrders(OrderRequest orderRequest, String apiKey, String secret);
+
+    /**
+     * Get all account orders; active, canceled, or filled.
+     *
+     * @param orderRequest order request parameters
+     * @return a list of all account orders
+     */
+    CompletableFuture<List<Order>> getAllOrders(AllOrdersRequest orderRequest, String apiKey, String secret);
+
+    /**
+     * Get all account orders; active, canceled, or filled, handing each one to <code>consumer</code> as soon as it
+     * is parsed. The consumer runs on the thread delivering the response.
+     *
+     * @param orderRequest order request parameters
+     * @param reuse        instance updated in place for every element, or null to create a new instance per element
+     * @param consumer     receives the elements in order; it must not keep a reused instance
+     * @return a future completing once every element has been handed to the consumer
+     */
+    CompletableFuture<Void> getAllOrders(AllOrdersRequest orderRequest, String apiKey, String secret, Order reuse,
+                                         Consumer<? super Order> consumer);
+
+    /**
+     * Get current account information.
+     */
+    CompletableFuture<Account> getAccount(Long recvWindow, Long timestamp, String apiKey, String secret);
+
+    /**
+     * Get current account information using default parameters.
+     */
+    CompletableFuture<Account> getAccount(String apiKey, String secret);
+
+    /**
+     * Get trades for a specific account and symbol.
+     *
+     * @param symbol symbol to get trades from
+     * @param limit  default 500; max 1000
+     * @param fromId TradeId to fetch from. Default gets most recent trades.
+     * @return a list of trades
+     */
+    CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, Long fromId, Long recvWindow, Long timestamp, String apiKey, String secret);
+
+    /**
+     * Get trades for a specific account and symbol.
+     *
+     * @param symbol symbol to get trades from
+     * @param limit  default 500; max 1000
+     * @return a list of trades
+     */
+    CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, String apiKey, String secret);
+
+    /**
+     * Get trades for a specific account and symbol.
+     *
+     * @param symbol symbol to get trades from
+     * @return a list of trades
+     */
+    CompletableFuture<List<Trade>> getMyTrades(String symbol, String apiKey, String secret);
+
+    CompletableFuture<List<Trade>> getMyTrades(String symbol, Long fromId, String apiKey, String secret);
+
+    /**
+     * Submit a withdraw request.
+     * <p>
+     * Enable Withdrawals option has to be active in the API settings.
+     *
+     * @param asset      asset symbol to withdraw
+     * @param address    address to withdraw to
+     * @param amount     amount to withdraw
+     * @param name       description/alias of the address
+     * @param addressTag Secondary address identifier for coins like XRP,XMR etc.
+     */
+    CompletableFuture<WithdrawResult> withdraw(String asset, String address, String amount, String name, String addressTag, String apiKey, String secret);
+
+    /**
+     * Fetch account deposit history.
+     *
+     * @return deposit history, containing a list of deposits
+     */
+    CompletableFuture<DepositHistory> getDepositHistory(String asset, String apiKey, String secret);
+
+    /**
+     * Fetch account withdraw history.
+     *
+     * @return withdraw history, containing a list of withdrawals
+     */
+    CompletableFuture<WithdrawHistory> getWithdrawHistory(String asset, String apiKey, String secret);
+
+    /**
+     * Fetch sub-account transfer history.
+     *
+     * @return sub-account transfers
+     */
+    CompletableFuture<List<SubAccountTransfer>> getSubAccountTransfers(String apiKey, String secret);
+
+    /**
+     * Fetch deposit address.
+     *
+     * @return deposit address for a given asset.
+     */
+    CompletableFuture<DepositAddress> getDepositAddress(String asset, String apiKey, String secret);
+
+    // User stream endpoints
+
+    /**
+     * Start a new user data stream.
+     *
+     * @return a listen key that can be used with data streams
+     */
+    CompletableFuture<String> startUserDataStream(String api);
+
+    /**
+     * PING a user data stream to prevent a time out.
+     *
+     * @param listenKey listen key that identifies a data stream
+     */
+    CompletableFuture<Void> keepAliveUserDataStream(String listenKey, String api);
+
+    /**
+     * Close out a new user data stream.
+     *
+     * @param listenKey listen key that identifies a data stream
+     */
+    CompletableFuture<Void> closeUserDataStream(String listenKey, String api);
+
+    /**
+     * Converts tiny amounts of coins to BNB.
+     *
+     * @param assets the assets you wish to exchange for BNBs
+     * @return transfer response
+     */
+    CompletableFuture<DustTransferResponse> convertDustToBnb(List<String> assets, String apiKey, String secret);
+
+}
@@ -1,6 +1,7 @@
 package com.binance.api.client;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.binance.api.client.domain.account.Account;
 import com.binance.api.client.domain.account.DepositAddress;
@@ -141,11 +142,28 @@ public interface BinanceApiRestClient {
      */
     List<TickerStatistics> getAll24HrPriceStatistics();
 
+    /**
+     * Get 24 hour price change statistics for all symbols, handing each one to <code>consumer</code> as soon as it is
+     * parsed instead of building a list.
+     *
+     * @param reuse    instance updated in place for every element, or null to create a new instance per element
+     * @param consumer receives the elements in order; it must not keep a reused instance
+     */
+    void getAll24HrPriceStatistics(TickerStatistics reuse, Consumer<? super TickerStatistics> consumer);
+
     /**
      * Get Latest price for all symbols.
      */
     List<TickerPrice> getAllPrices();
 
+    /**
+     * Get Latest price for all symbols, handing each one to <code>consumer</code> as soon as it is parsed.
+     *
+     * @param reuse    instance updated in place for every element, or null to create a new instance per element
+     * @param consumer receives the elements in order; it must not keep a reused instance
+     */
+    void getAllPrices(TickerPrice reuse, Consumer<? super TickerPrice> consumer);
+
     /**
      * Get latest price for <code>symbol</code>.
      *
@@ -158,6 +176,15 @@ public interface BinanceApiRestClient {
      */
     List<BookTicker> getBookTickers();
 
+    /**
+     * Get best price/qty on the order book for all symbols, handing each one to <code>consumer</code> as soon as it
+     * is parsed.
+     *
+     * @param reuse    instance updated in place for every element, or null to create a new instance per element
+     * @param consumer receives the elements in order; it must not keep a reused instance
+     */
+    void getBookTickers(BookTicker reuse, Consumer<? super BookTicker> consumer);
+
     // Account endpoints
 
     /**
@@ -233,6 +260,16 @@ public interface BinanceApiRestClient {
      */
     List<Order> getAllOrders(AllOrdersRequest orderRequest, String apiKey, String secret);
 
+    /**
+     * Get all account orders; active, canceled, or filled, handing each one to <code>consumer</code> as soon as it
+     * is parsed.
+     *
+     * @param orderRequest order request parameters
+     * @param reuse        instance updated in place for every element, or null to create a new instance per element
+     * @param consumer     receives the elements in order; it must not keep a reused instance
+     */
+    void getAllOrders(AllOrdersRequest orderRequest, String apiKey, String secret, Order reuse, Consumer<? super Order> consumer);
+
     /**
      * Get current account information.
      */
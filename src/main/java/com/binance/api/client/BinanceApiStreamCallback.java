@@ -0,0 +1,19 @@
+package com.binance.api.client;
+
+/**
+ * Stream callback of a supervised web socket client, told when events may have been missed.
+ *
+ * @param <T> the type of the events
+ */
+public interface BinanceApiStreamCallback<T> extends BinanceApiCallback<T> {
+
+    /**
+     * Called when the stream was lost, before it is subscribed again: the events until the next ones delivered are
+     * missing. Called again if reconnecting fails. Stateful consumers, such as local order books, should buffer the
+     * events from now on and resynchronize from a snapshot. Runs on the thread of the web socket or of the supervisor,
+     * so blocking work, such as fetching the snapshot, belongs on another thread.
+     *
+     * @param cause the failure of the lost stream
+     */
+    void onGap(Throwable cause);
+}
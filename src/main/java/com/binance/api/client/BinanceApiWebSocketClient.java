@@ -11,6 +11,7 @@ import com.binance.api.client.domain.event.TickerEvent;
 import com.binance.api.client.domain.event.TradeEvent;
 import com.binance.api.client.domain.event.UserDataUpdateEvent;
 import com.binance.api.client.domain.market.CandlestickInterval;
+import com.fasterxml.jackson.core.type.TypeReference;
 
 /**
  * Binance API data streaming facade, supporting streaming of events through web sockets.
@@ -97,4 +98,26 @@ public interface BinanceApiWebSocketClient {
      */
     Closeable onAllBookTickersEvent(BinanceApiCallback<BookTickerEvent> callback);
 
+    /**
+     * Subscribe to a stream, e.g. <code>ethbtc@aggTrade</code>, on a combined stream connection shared with the other
+     * subscriptions of this client. Subscribing and unsubscribing leaves the other streams of the connection running.
+     *
+     * @param stream     name of the stream
+     * @param eventClass class of the events of the stream
+     * @param callback   the callback to call on new events
+     * @return a {@link Closeable} that ends the subscription; the connection is closed with its last subscription.
+     */
+    <T> Closeable subscribe(String stream, Class<T> eventClass, BinanceApiCallback<T> callback);
+
+    /**
+     * Subscribe to a stream, e.g. <code>!ticker@arr</code>, on a combined stream connection shared with the other
+     * subscriptions of this client.
+     *
+     * @param stream    name of the stream
+     * @param eventType type of the events of the stream
+     * @param callback  the callback to call on new events
+     * @return a {@link Closeable} that ends the subscription; the connection is closed with its last subscription.
+     */
+    <T> Closeable subscribe(String stream, TypeReference<T> eventType, BinanceApiCallback<T> callback);
+
 }
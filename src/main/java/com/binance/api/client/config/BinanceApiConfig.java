@@ -1,5 +1,8 @@
 package com.binance.api.client.config;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Configuration used for Binance operations.
  */
@@ -35,6 +38,16 @@ public class BinanceApiConfig {
 		return String.format("https://api.%s", getBaseDomain());
 	}
 
+	/**
+	 * REST API base URLs of the clusters serving the same API (api, api1, api2 and api3).
+	 */
+	public static List<String> getApiClusterUrls() {
+		return Arrays.asList(getApiBaseUrl(),
+				String.format("https://api1.%s", getBaseDomain()),
+				String.format("https://api2.%s", getBaseDomain()),
+				String.format("https://api3.%s", getBaseDomain()));
+	}
+
 	public static String getTestnetBaseUrl() {
 		return "https://testnet.binance.vision/api/";
 	}
@@ -53,6 +66,20 @@ public class BinanceApiConfig {
 		return "wss://testnet.binance.vision/ws";
 	}
 
+	/**
+	 * Combined streams base URL.
+	 */
+	public static String getCombinedStreamApiBaseUrl() {
+		return String.format("wss://stream.%s:9443/stream", getBaseDomain());
+	}
+
+	/**
+	 * Combined streams base URL.
+	 */
+	public static String getTestnetCombinedStreamApiBaseUrl() {
+		return "wss://testnet.binance.vision/stream";
+	}
+
 	/**
 	 * Asset info base URL.
 	 */
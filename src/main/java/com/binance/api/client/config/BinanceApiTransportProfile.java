@@ -0,0 +1,492 @@
+package com.binance.api.client.config;
+
+import static java.lang.Integer.getInteger;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+import com.binance.api.client.domain.general.RateLimit;
+
+/**
+ * Transport settings used by a {@link com.binance.api.client.BinanceApiClientFactory} to build its own HTTP and
+ * web socket clients. Every factory created with a profile owns its connection pools and threads, so workloads with
+ * different latency requirements can run side by side in the same JVM without sharing a dispatcher.
+ */
+public class BinanceApiTransportProfile {
+
+  /**
+   * HTTP engines available to the client.
+   */
+  public enum Engine {
+    OKHTTP,
+    NETTY
+  }
+
+  /**
+   * HTTP engine used for REST and web socket traffic.
+   */
+  private Engine engine = Engine.OKHTTP;
+
+  /**
+   * Maximum number of requests executed concurrently (OkHttp dispatcher).
+   */
+  private int maxRequests = 500;
+
+  /**
+   * Maximum number of requests executed concurrently per host (OkHttp dispatcher).
+   */
+  private int maxRequestsPerHost = 500;
+
+  /**
+   * Maximum number of pooled connections per host (Netty).
+   */
+  private int maxConnectionsPerHost = 500;
+
+  /**
+   * Number of connections reserved for order placement and cancellation; zero sends orders through the shared pool.
+   */
+  private int orderLaneConnections;
+
+  /**
+   * Whether the OkHttp dispatcher runs calls on virtual threads, without its request limits. Only effective on
+   * Java 21 and later; older runtimes keep the platform thread pool.
+   */
+  private boolean virtualThreads;
+
+  /**
+   * Whether the Netty engine sends REST requests natively, decoding responses from its pooled buffers instead of
+   * adapting them to Retrofit's OkHttp calls. Request hedging does not apply to native requests.
+   */
+  private boolean nettyNativeRequests;
+
+  /**
+   * Whether concurrent identical unsigned GET requests share one network call and one decoded response.
+   */
+  private boolean coalesceRequests;
+
+  /**
+   * Base URLs of the API clusters REST requests are routed to, fastest healthy first; empty keeps
+   * {@link BinanceApiConfig#getApiBaseUrl()}.
+   */
+  private List<String> apiClusters = Collections.emptyList();
+
+  /**
+   * Delay between two rounds of round-trip time probes of the API clusters, in milliseconds.
+   */
+  private long clusterProbeIntervalMillis = 1_000L;
+
+  /**
+   * Time after which an unanswered probe takes its API cluster out of rotation, in milliseconds.
+   */
+  private long clusterProbeTimeoutMillis = 1_000L;
+
+  /**
+   * Hedging of slow market data requests; null disables hedging.
+   */
+  private HedgingPolicy hedgingPolicy;
+
+  /**
+   * Retries of failed requests. Null uses the engine default: the default {@link RetryPolicy} with Netty, no retries
+   * with OkHttp.
+   */
+  private RetryPolicy retryPolicy;
+
+  /**
+   * Reconnection of the streams of the web socket clients; null leaves reconnecting to the callbacks.
+   */
+  private ReconnectPolicy reconnectPolicy;
+
+  /**
+   * Hand-off of the stream events to the callbacks through bounded queues; null runs the callbacks on the web socket
+   * threads.
+   */
+  private DispatchPolicy dispatchPolicy;
+
+  /**
+   * Request weight sent per minute at most, by default 90% of the 6000 <code>REQUEST_WEIGHT</code> limit of the
+   * exchange information. Zero or a negative value disables the limiter.
+   */
+  private int requestWeightLimit = 5_400;
+
+  /**
+   * Order rate limits enforced before orders are sent, e.g. the <code>ORDERS</code> limits of the exchange
+   * information; empty sends orders without checking them.
+   */
+  private List<RateLimit> orderRateLimits = Collections.emptyList();
+
+  /**
+   * How long an order may wait for the order rate limits before it is rejected without being sent, in milliseconds.
+   */
+  private long maxOrderDelayMillis;
+
+  /**
+   * Memory-mapped file through which the processes of the host share their request weight and order budgets; null
+   * keeps the budgets within this client.
+   */
+  private Path sharedRateLimitFile;
+
+  /**
+   * Caching of public endpoint responses; null disables the cache.
+   */
+  private ResponseCachePolicy responseCachePolicy;
+
+  /**
+   * Maximum number of idle connections kept in the pool (OkHttp).
+   */
+  private int maxIdleConnections = 5;
+
+  /**
+   * How long an idle pooled connection is kept alive, in milliseconds.
+   */
+  private long keepAliveMillis = 300_000L;
+
+  /**
+   * Number of Netty event loop threads.
+   */
+  private int eventLoopThreads = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Connect timeout in milliseconds; a non-positive value keeps the engine's default.
+   */
+  private long connectTimeoutMillis;
+
+  /**
+   * Read timeout in milliseconds; a non-positive value keeps the engine's default.
+   */
+  private long readTimeoutMillis;
+
+  /**
+   * Socket send buffer size (SO_SNDBUF) in bytes; a non-positive value keeps the OS default.
+   */
+  private int socketSendBufferSize;
+
+  /**
+   * Socket receive buffer size (SO_RCVBUF) in bytes; a non-positive value keeps the OS default.
+   */
+  private int socketReceiveBufferSize;
+
+  /**
+   * Web socket ping interval in milliseconds; a non-positive value disables pings.
+   */
+  private long pingIntervalMillis = 20_000L;
+
+  /**
+   * Maximum web socket buffer size in bytes (Netty).
+   */
+  private int webSocketMaxBufferSize = 1 << 19;
+
+  /**
+   * Maximum web socket frame size in bytes (Netty).
+   */
+  private int webSocketMaxFrameSize = 1 << 19;
+
+  /**
+   * Creates a profile using the OkHttp engine and the library defaults.
+   */
+  public BinanceApiTransportProfile() {
+  }
+
+  /**
+   * Creates a profile from the <code>binance.api.*</code> system properties, falling back to the library defaults.
+   */
+  public static BinanceApiTransportProfile fromSystemProperties() {
+    return new BinanceApiTransportProfile()
+        .engine(Boolean.getBoolean("binance.api.use.netty") ? Engine.NETTY : Engine.OKHTTP)
+        .connectTimeoutMillis(getInteger("binance.api.connection.timeout.millis", 0))
+        .maxConnectionsPerHost(getInteger("binance.api.max.connections.per.host", 500))
+        .virtualThreads(Boolean.getBoolean("binance.api.virtual.threads"))
+        .nettyNativeRequests(Boolean.getBoolean("binance.api.netty.native"))
+        .coalesceRequests(Boolean.getBoolean("binance.api.coalesce.requests"))
+        .requestWeightLimit(getInteger("binance.api.request.weight.limit", 5_400))
+        .sharedRateLimitFile(System.getProperty("binance.api.rate.shared.file") != null
+            ? Paths.get(System.getProperty("binance.api.rate.shared.file")) : null)
+        .webSocketMaxBufferSize(getInteger("binance.api.ws.buffer.size", 1 << 19))
+        .webSocketMaxFrameSize(getInteger("binance.api.ws.frame.size", 1 << 19));
+  }
+
+  public Engine getEngine() {
+    return engine;
+  }
+
+  public BinanceApiTransportProfile engine(Engine engine) {
+    this.engine = engine;
+    return this;
+  }
+
+  public int getMaxRequests() {
+    return maxRequests;
+  }
+
+  public BinanceApiTransportProfile maxRequests(int maxRequests) {
+    this.maxRequests = maxRequests;
+    return this;
+  }
+
+  public int getMaxRequestsPerHost() {
+    return maxRequestsPerHost;
+  }
+
+  public BinanceApiTransportProfile maxRequestsPerHost(int maxRequestsPerHost) {
+    this.maxRequestsPerHost = maxRequestsPerHost;
+    return this;
+  }
+
+  public int getMaxConnectionsPerHost() {
+    return maxConnectionsPerHost;
+  }
+
+  public BinanceApiTransportProfile maxConnectionsPerHost(int maxConnectionsPerHost) {
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+    return this;
+  }
+
+  public int getOrderLaneConnections() {
+    return orderLaneConnections;
+  }
+
+  public BinanceApiTransportProfile orderLaneConnections(int orderLaneConnections) {
+    this.orderLaneConnections = orderLaneConnections;
+    return this;
+  }
+
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public BinanceApiTransportProfile virtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+    return this;
+  }
+
+  public boolean isNettyNativeRequests() {
+    return nettyNativeRequests;
+  }
+
+  public BinanceApiTransportProfile nettyNativeRequests(boolean nettyNativeRequests) {
+    this.nettyNativeRequests = nettyNativeRequests;
+    return this;
+  }
+
+  public boolean isCoalesceRequests() {
+    return coalesceRequests;
+  }
+
+  /**
+   * Coalesces concurrent identical public GET requests. The callers of a coalesced request receive the same response
+   * object and must not modify it.
+   */
+  public BinanceApiTransportProfile coalesceRequests(boolean coalesceRequests) {
+    this.coalesceRequests = coalesceRequests;
+    return this;
+  }
+
+  public List<String> getApiClusters() {
+    return apiClusters;
+  }
+
+  /**
+   * Routes REST requests to the fastest healthy of the given API clusters, e.g.
+   * {@link BinanceApiConfig#getApiClusterUrls()}.
+   */
+  public BinanceApiTransportProfile apiClusters(List<String> apiClusters) {
+    this.apiClusters = apiClusters;
+    return this;
+  }
+
+  public long getClusterProbeIntervalMillis() {
+    return clusterProbeIntervalMillis;
+  }
+
+  public BinanceApiTransportProfile clusterProbeIntervalMillis(long clusterProbeIntervalMillis) {
+    this.clusterProbeIntervalMillis = clusterProbeIntervalMillis;
+    return this;
+  }
+
+  public long getClusterProbeTimeoutMillis() {
+    return clusterProbeTimeoutMillis;
+  }
+
+  public BinanceApiTransportProfile clusterProbeTimeoutMillis(long clusterProbeTimeoutMillis) {
+    this.clusterProbeTimeoutMillis = clusterProbeTimeoutMillis;
+    return this;
+  }
+
+  public HedgingPolicy getHedgingPolicy() {
+    return hedgingPolicy;
+  }
+
+  public BinanceApiTransportProfile hedgingPolicy(HedgingPolicy hedgingPolicy) {
+    this.hedgingPolicy = hedgingPolicy;
+    return this;
+  }
+
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  public BinanceApiTransportProfile retryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+    return this;
+  }
+
+  public ReconnectPolicy getReconnectPolicy() {
+    return reconnectPolicy;
+  }
+
+  public BinanceApiTransportProfile reconnectPolicy(ReconnectPolicy reconnectPolicy) {
+    this.reconnectPolicy = reconnectPolicy;
+    return this;
+  }
+
+  public DispatchPolicy getDispatchPolicy() {
+    return dispatchPolicy;
+  }
+
+  public BinanceApiTransportProfile dispatchPolicy(DispatchPolicy dispatchPolicy) {
+    this.dispatchPolicy = dispatchPolicy;
+    return this;
+  }
+
+  public int getRequestWeightLimit() {
+    return requestWeightLimit;
+  }
+
+  public BinanceApiTransportProfile requestWeightLimit(int requestWeightLimit) {
+    this.requestWeightLimit = requestWeightLimit;
+    return this;
+  }
+
+  public List<RateLimit> getOrderRateLimits() {
+    return orderRateLimits;
+  }
+
+  /**
+   * Enforces the <code>ORDERS</code> limits among <code>orderRateLimits</code>, e.g.
+   * {@link com.binance.api.client.domain.general.ExchangeInfo#getRateLimits()}. Order cancellations always go
+   * through, and order status polls yield request weight to orders.
+   */
+  public BinanceApiTransportProfile orderRateLimits(List<RateLimit> orderRateLimits) {
+    this.orderRateLimits = orderRateLimits;
+    return this;
+  }
+
+  public long getMaxOrderDelayMillis() {
+    return maxOrderDelayMillis;
+  }
+
+  public BinanceApiTransportProfile maxOrderDelayMillis(long maxOrderDelayMillis) {
+    this.maxOrderDelayMillis = maxOrderDelayMillis;
+    return this;
+  }
+
+  public Path getSharedRateLimitFile() {
+    return sharedRateLimitFile;
+  }
+
+  public BinanceApiTransportProfile sharedRateLimitFile(Path sharedRateLimitFile) {
+    this.sharedRateLimitFile = sharedRateLimitFile;
+    return this;
+  }
+
+  public ResponseCachePolicy getResponseCachePolicy() {
+    return responseCachePolicy;
+  }
+
+  public BinanceApiTransportProfile responseCachePolicy(ResponseCachePolicy responseCachePolicy) {
+    this.responseCachePolicy = responseCachePolicy;
+    return this;
+  }
+
+  public int getMaxIdleConnections() {
+    return maxIdleConnections;
+  }
+
+  public BinanceApiTransportProfile maxIdleConnections(int maxIdleConnections) {
+    this.maxIdleConnections = maxIdleConnections;
+    return this;
+  }
+
+  public long getKeepAliveMillis() {
+    return keepAliveMillis;
+  }
+
+  public BinanceApiTransportProfile keepAliveMillis(long keepAliveMillis) {
+    this.keepAliveMillis = keepAliveMillis;
+    return this;
+  }
+
+  public int getEventLoopThreads() {
+    return eventLoopThreads;
+  }
+
+  public BinanceApiTransportProfile eventLoopThreads(int eventLoopThreads) {
+    this.eventLoopThreads = eventLoopThreads;
+    return this;
+  }
+
+  public long getConnectTimeoutMillis() {
+    return connectTimeoutMillis;
+  }
+
+  public BinanceApiTransportProfile connectTimeoutMillis(long connectTimeoutMillis) {
+    this.connectTimeoutMillis = connectTimeoutMillis;
+    return this;
+  }
+
+  public long getReadTimeoutMillis() {
+    return readTimeoutMillis;
+  }
+
+  public BinanceApiTransportProfile readTimeoutMillis(long readTimeoutMillis) {
+    this.readTimeoutMillis = readTimeoutMillis;
+    return this;
+  }
+
+  public int getSocketSendBufferSize() {
+    return socketSendBufferSize;
+  }
+
+  public BinanceApiTransportProfile socketSendBufferSize(int socketSendBufferSize) {
+    this.socketSendBufferSize = socketSendBufferSize;
+    return this;
+  }
+
+  public int getSocketReceiveBufferSize() {
+    return socketReceiveBufferSize;
+  }
+
+  public BinanceApiTransportProfile socketReceiveBufferSize(int socketReceiveBufferSize) {
+    this.socketReceiveBufferSize = socketReceiveBufferSize;
+    return this;
+  }
+
+  public long getPingIntervalMillis() {
+    return pingIntervalMillis;
+  }
+
+  public BinanceApiTransportProfile pingIntervalMillis(long pingIntervalMillis) {
+    this.pingIntervalMillis = pingIntervalMillis;
+    return this;
+  }
+
+  public int getWebSocketMaxBufferSize() {
+    return webSocketMaxBufferSize;
+  }
+
+  public BinanceApiTransportProfile webSocketMaxBufferSize(int webSocketMaxBufferSize) {
+    this.webSocketMaxBufferSize = webSocketMaxBufferSize;
+    return this;
+  }
+
+  public int getWebSocketMaxFrameSize() {
+    return webSocketMaxFrameSize;
+  }
+
+  public BinanceApiTransportProfile webSocketMaxFrameSize(int webSocketMaxFrameSize) {
+    this.webSocketMaxFrameSize = webSocketMaxFrameSize;
+    return this;
+  }
+
+}
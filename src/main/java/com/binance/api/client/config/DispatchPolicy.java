@@ -0,0 +1,79 @@
+package com.binance.api.client.config;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Hand-off of stream events from the web socket threads to the callbacks. The events of every subscription are queued
+ * in a bounded queue drained by an executor, so that a slow callback delays its own stream only, rather than all the
+ * streams read by the same thread.
+ */
+public class DispatchPolicy {
+
+  /**
+   * What happens to an event received while the queue of its subscription is full.
+   */
+  public enum Overflow {
+
+    /**
+     * The web socket thread waits for room in the queue, so no event is lost, but the thread reads nothing else
+     * meanwhile: every stream of the connection stalls, combined streams included. Not supported by the Netty engine,
+     * whose event loop threads read all the connections.
+     */
+    BLOCK,
+
+    /**
+     * The oldest queued event is dropped.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The received event is dropped.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Only the latest event is kept: the callback receives the latest state whenever it is ready for it, and the
+     * capacity does not apply.
+     */
+    CONFLATE_LATEST
+  }
+
+  /**
+   * Events queued per subscription at most.
+   */
+  private int capacity = 1024;
+
+  private Overflow overflow = Overflow.DROP_OLDEST;
+
+  /**
+   * Executor running the callbacks; null runs them on daemon threads of the client.
+   */
+  private Executor executor;
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public DispatchPolicy capacity(int capacity) {
+    this.capacity = capacity;
+    return this;
+  }
+
+  public Overflow getOverflow() {
+    return overflow;
+  }
+
+  public DispatchPolicy overflow(Overflow overflow) {
+    this.overflow = overflow;
+    return this;
+  }
+
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  public DispatchPolicy executor(Executor executor) {
+    this.executor = executor;
+    return this;
+  }
+}
@@ -0,0 +1,114 @@
+package com.binance.api.client.config;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Hedging of read-only market data requests: when the response to an unsigned GET on one of the hedged endpoints is
+ * slower than the configured latency percentile, a second copy is sent on another connection and the first response
+ * received wins. Signed requests are never hedged. A hedge weighs as much as the request it copies, see
+ * {@link #weightHeadroom(int)}.
+ */
+public class HedgingPolicy {
+
+  /**
+   * Paths of the hedged endpoints.
+   */
+  private final Set<String> endpoints = new HashSet<>();
+
+  /**
+   * Latency percentile of an endpoint after which the hedge is sent, between 0 and 1.
+   */
+  private double percentile = 0.95;
+
+  /**
+   * Hedge delay used until enough latency samples have been collected for an endpoint, in milliseconds.
+   */
+  private long initialDelayMillis = 200L;
+
+  /**
+   * Lower bound of the hedge delay, in milliseconds.
+   */
+  private long minDelayMillis = 5L;
+
+  /**
+   * Request weight the request weight limiter must have left after a hedge for it to be sent.
+   */
+  private int weightHeadroom = 1000;
+
+  /**
+   * Creates a policy hedging order book snapshots, latest prices and candlesticks.
+   */
+  public HedgingPolicy() {
+    endpoints.add("/api/v1/depth");
+    endpoints.add("/api/v3/ticker/price");
+    endpoints.add("/api/v1/klines");
+  }
+
+  public Set<String> getEndpoints() {
+    return Collections.unmodifiableSet(endpoints);
+  }
+
+  /**
+   * Hedges an endpoint.
+   *
+   * @param path path of an unsigned GET endpoint, e.g. <code>/api/v1/depth</code>
+   */
+  public HedgingPolicy endpoint(String path) {
+    endpoints.add(path);
+    return this;
+  }
+
+  /**
+   * Stops hedging an endpoint.
+   */
+  public HedgingPolicy removeEndpoint(String path) {
+    endpoints.remove(path);
+    return this;
+  }
+
+  public double getPercentile() {
+    return percentile;
+  }
+
+  public HedgingPolicy percentile(double percentile) {
+    if (percentile <= 0 || percentile > 1) {
+      throw new IllegalArgumentException("percentile must be in (0, 1]: " + percentile);
+    }
+    this.percentile = percentile;
+    return this;
+  }
+
+  public long getInitialDelayMillis() {
+    return initialDelayMillis;
+  }
+
+  public HedgingPolicy initialDelayMillis(long initialDelayMillis) {
+    this.initialDelayMillis = initialDelayMillis;
+    return this;
+  }
+
+  public long getMinDelayMillis() {
+    return minDelayMillis;
+  }
+
+  public HedgingPolicy minDelayMillis(long minDelayMillis) {
+    this.minDelayMillis = minDelayMillis;
+    return this;
+  }
+
+  public int getWeightHeadroom() {
+    return weightHeadroom;
+  }
+
+  /**
+   * Hedges are charged by the request weight limiter like any request, and are only sent while it has at least
+   * <code>weightHeadroom</code> left after them, so that they never hold back other requests. Without a limiter, see
+   * {@link BinanceApiTransportProfile#requestWeightLimit(int)}, hedges are sent regardless of the weight used.
+   */
+  public HedgingPolicy weightHeadroom(int weightHeadroom) {
+    this.weightHeadroom = weightHeadroom;
+    return this;
+  }
+}
@@ -0,0 +1,90 @@
+package com.binance.api.client.config;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reconnection of failed or dropped web sockets. A stream is opened again after a jittered, exponentially growing
+ * delay, for as long as it is subscribed; the delay starts over once the stream delivers an event again.
+ * <p>
+ * A stream is given up, and its failure passed to the callback, when its handshake is rejected with a client error
+ * other than a rate limit, e.g. for an unknown symbol or an expired listen key, or after too many failed attempts.
+ * <p>
+ * Since the exchange closes every connection after 24 hours, streams are also rotated before: a new web socket is
+ * opened on the stream, and the old one is closed once both have delivered for a while, the events received twice
+ * being delivered once.
+ */
+public class ReconnectPolicy {
+
+  /**
+   * Delay before the first reconnection, doubled for every further attempt, in milliseconds.
+   */
+  private long initialBackoffMillis = 250L;
+
+  /**
+   * Longest delay between two reconnections, in milliseconds.
+   */
+  private long maxBackoffMillis = 30_000L;
+
+  /**
+   * Reconnections failing in a row after which a stream is given up; zero reconnects for as long as it is subscribed.
+   */
+  private int maxAttempts;
+
+  /**
+   * Age of a web socket at which it is replaced, in milliseconds; zero disables rotation.
+   */
+  private long rotationIntervalMillis = TimeUnit.HOURS.toMillis(23);
+
+  /**
+   * Time during which the replaced and the replacing web sockets both deliver the stream, in milliseconds.
+   */
+  private long rotationOverlapMillis = 10_000L;
+
+  public long getInitialBackoffMillis() {
+    return initialBackoffMillis;
+  }
+
+  public ReconnectPolicy initialBackoffMillis(long initialBackoffMillis) {
+    this.initialBackoffMillis = initialBackoffMillis;
+    return this;
+  }
+
+  public long getMaxBackoffMillis() {
+    return maxBackoffMillis;
+  }
+
+  public ReconnectPolicy maxBackoffMillis(long maxBackoffMillis) {
+    this.maxBackoffMillis = maxBackoffMillis;
+    return this;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public ReconnectPolicy maxAttempts(int maxAttempts) {
+    if (maxAttempts < 0) {
+      throw new IllegalArgumentException("maxAttempts must not be negative: " + maxAttempts);
+    }
+    this.maxAttempts = maxAttempts;
+    return this;
+  }
+
+  public long getRotationIntervalMillis() {
+    return rotationIntervalMillis;
+  }
+
+  public ReconnectPolicy rotationIntervalMillis(long rotationIntervalMillis) {
+    this.rotationIntervalMillis = rotationIntervalMillis;
+    return this;
+  }
+
+  public long getRotationOverlapMillis() {
+    return rotationOverlapMillis;
+  }
+
+  public ReconnectPolicy rotationOverlapMillis(long rotationOverlapMillis) {
+    this.rotationOverlapMillis = rotationOverlapMillis;
+    return this;
+  }
+}
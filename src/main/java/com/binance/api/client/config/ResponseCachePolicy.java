@@ -0,0 +1,74 @@
+package com.binance.api.client.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caching of the responses of public REST endpoints: a successful response to an unsigned GET on one of the cached
+ * endpoints is reused for identical requests until its time to live expires. When the cache is full, expired entries
+ * are evicted first, then the entries saving the least request weight.
+ */
+public class ResponseCachePolicy {
+
+  /**
+   * Time to live of the responses of each cached endpoint path, in milliseconds.
+   */
+  private final Map<String, Long> endpoints = new HashMap<>();
+
+  /**
+   * Maximum number of cached responses.
+   */
+  private int maxEntries = 256;
+
+  /**
+   * Creates a policy caching the exchange information for a minute and the full ticker lists for a second.
+   */
+  public ResponseCachePolicy() {
+    endpoint("/api/v3/exchangeInfo", 60_000L);
+    endpoint("/api/v1/ticker/24hr", 1_000L);
+    endpoint("/api/v1/ticker/allPrices", 1_000L);
+    endpoint("/api/v1/ticker/allBookTickers", 1_000L);
+  }
+
+  /**
+   * @return the time to live of the responses of each cached endpoint path, in milliseconds
+   */
+  public Map<String, Long> getEndpoints() {
+    return Collections.unmodifiableMap(endpoints);
+  }
+
+  /**
+   * Adds or replaces a cached endpoint.
+   *
+   * @param path      path of an unsigned GET endpoint, e.g. <code>/api/v3/exchangeInfo</code>
+   * @param ttlMillis how long a response is reused, in milliseconds
+   */
+  public ResponseCachePolicy endpoint(String path, long ttlMillis) {
+    if (ttlMillis <= 0) {
+      throw new IllegalArgumentException("ttlMillis must be positive: " + ttlMillis);
+    }
+    endpoints.put(path, ttlMillis);
+    return this;
+  }
+
+  /**
+   * Stops caching an endpoint.
+   */
+  public ResponseCachePolicy removeEndpoint(String path) {
+    endpoints.remove(path);
+    return this;
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  public ResponseCachePolicy maxEntries(int maxEntries) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+    }
+    this.maxEntries = maxEntries;
+    return this;
+  }
+}
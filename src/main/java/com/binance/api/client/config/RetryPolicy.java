@@ -0,0 +1,55 @@
+package com.binance.api.client.config;
+
+/**
+ * Retries of failed REST requests. Requests rejected by the rate limits (HTTP 418 and 429) are retried after their
+ * <code>Retry-After</code> delay, and signed requests rejected for an outdated timestamp (error -1021) are retried at
+ * once; both were refused before being processed. Server errors and network failures are only retried for idempotent
+ * requests, i.e. reads and keepalives, since an order may have been placed despite them. Every retry is stamped with
+ * the current time and signed again.
+ */
+public class RetryPolicy {
+
+  /**
+   * Retries of one request at most.
+   */
+  private int maxRetries = 2;
+
+  /**
+   * Delay before the first retry of a server error or network failure, doubled for every further retry, in
+   * milliseconds.
+   */
+  private long initialBackoffMillis = 100L;
+
+  /**
+   * Longest delay before a retry, in milliseconds. A request whose <code>Retry-After</code> delay is longer fails
+   * without being retried.
+   */
+  private long maxDelayMillis = 10_000L;
+
+  public int getMaxRetries() {
+    return maxRetries;
+  }
+
+  public RetryPolicy maxRetries(int maxRetries) {
+    this.maxRetries = maxRetries;
+    return this;
+  }
+
+  public long getInitialBackoffMillis() {
+    return initialBackoffMillis;
+  }
+
+  public RetryPolicy initialBackoffMillis(long initialBackoffMillis) {
+    this.initialBackoffMillis = initialBackoffMillis;
+    return this;
+  }
+
+  public long getMaxDelayMillis() {
+    return maxDelayMillis;
+  }
+
+  public RetryPolicy maxDelayMillis(long maxDelayMillis) {
+    this.maxDelayMillis = maxDelayMillis;
+    return this;
+  }
+}
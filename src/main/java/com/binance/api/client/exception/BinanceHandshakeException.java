@@ -0,0 +1,25 @@
+package com.binance.api.client.exception;
+
+import java.io.IOException;
+
+/**
+ * Failure of a web socket whose opening handshake was answered with an HTTP status other than 101.
+ */
+public class BinanceHandshakeException extends IOException {
+
+  private static final long serialVersionUID = 6316460212371587404L;
+
+  private final int statusCode;
+
+  public BinanceHandshakeException(int statusCode, Throwable cause) {
+    super("Web socket handshake rejected: HTTP " + statusCode, cause);
+    this.statusCode = statusCode;
+  }
+
+  /**
+   * @return the HTTP status of the handshake response, e.g. 400 for an unknown stream
+   */
+  public int getStatusCode() {
+    return statusCode;
+  }
+}
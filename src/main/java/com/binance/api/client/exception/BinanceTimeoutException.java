@@ -1,7 +1,18 @@
 package com.binance.api.client.exception;
 
+/**
+ * A request which reached the API, whose execution status is unknown since no response came within the timeout period
+ * (HTTP 504). It may have succeeded, so the caller has to check its outcome, e.g. query the order, before retrying it.
+ */
 public class BinanceTimeoutException extends BinanceApiException {
 
   private static final long serialVersionUID = -8224605820697804199L;
 
+  public BinanceTimeoutException() {
+    super();
+  }
+
+  public BinanceTimeoutException(String message) {
+    super(message);
+  }
 }
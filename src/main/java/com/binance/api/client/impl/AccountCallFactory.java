@@ -0,0 +1,48 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.security.ApiAccount;
+
+import okhttp3.Call;
+import okhttp3.Request;
+
+/**
+ * Authenticates the requests of a client bound to an {@link ApiAccount}: the API key header is set and the query
+ * string signed here, so the authentication interceptors find nothing left to do. OkHttp requests are immutable and
+ * Retrofit builds them with no hook in between, so a request needing authentication is copied once, through a single
+ * builder. Sits right above the HTTP client, so that a retried request is signed again.
+ */
+class AccountCallFactory implements Call.Factory {
+
+  private final ApiAccount account;
+
+  private final Call.Factory delegate;
+
+  AccountCallFactory(ApiAccount account, Call.Factory delegate) {
+    this.account = account;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Call newCall(Request request) {
+    boolean apiKeyRequired = request.header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_APIKEY) != null;
+    boolean signed = request.header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED) != null;
+    if (!apiKeyRequired && !signed) {
+      return delegate.newCall(request);
+    }
+    Request.Builder builder = request.newBuilder()
+        .removeHeader(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_APIKEY)
+        .removeHeader(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED)
+        // arguments passed to a bound client are ignored
+        .removeHeader("api")
+        .removeHeader("Secret")
+        .header(BinanceApiConstants.API_KEY_HEADER, account.getApiKey());
+    String payload = request.url().encodedQuery();
+    if (signed && payload != null && !payload.isEmpty()) {
+      builder.url(request.url().newBuilder()
+          .addQueryParameter("signature", account.getSigner().sign(payload))
+          .build());
+    }
+    return delegate.newCall(builder.build());
+  }
+}
@@ -1,14 +1,38 @@
 package com.binance.api.client.impl;
 
 import com.binance.api.client.BinanceApiWebSocketClient;
+import com.binance.api.client.security.ApiAccount;
 
 public interface ApiGenerator {
 
   <T> T createService(Class<T> serviceClass);
   <T> T createTestnetService(Class<T> serviceClass);
 
+  /**
+   * Creates a service whose requests are authenticated with <code>account</code>, ignoring the API key and secret
+   * arguments of its methods.
+   */
+  <T> T createService(Class<T> serviceClass, ApiAccount account);
+  <T> T createTestnetService(Class<T> serviceClass, ApiAccount account);
+
 
   BinanceApiWebSocketClient createSocket();
   BinanceApiWebSocketClient createTestnetSocket();
 
+  /**
+   * Opens <code>connectionsPerHost</code> connections on every connection pool of this generator and keeps them
+   * alive with <code>/api/v1/ping</code> calls every <code>pingIntervalMillis</code>.
+   */
+  ConnectionWarmer warmUp(int connectionsPerHost, long pingIntervalMillis);
+
+  /**
+   * @return the response cache of the services of this generator, or null when the profile does not enable it
+   */
+  ResponseCache getResponseCache();
+
+  /**
+   * Releases the connection pools and threads owned by this generator.
+   */
+  void close();
+
 }
@@ -2,26 +2,53 @@ package com.binance.api.client.impl;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import com.binance.api.client.BinanceApiError;
 import com.binance.api.client.BinanceApiWebSocketClient;
+import com.binance.api.client.config.BinanceApiTransportProfile;
 import com.binance.api.client.exception.BinanceApiException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Converter;
 import retrofit2.Response;
+import retrofit2.converter.jackson.JacksonConverterFactory;
 
 public class ApiServiceGenerator {
 
-  private static final ApiGenerator generator;
+  /**
+   * Lazily creates the process-wide generator configured from system properties, so factories using their own
+   * transport profile never start the shared pools.
+   */
+  private static class DefaultGeneratorHolder {
+    private static final ApiGenerator generator = newGenerator(BinanceApiTransportProfile.fromSystemProperties());
+  }
+
+  /**
+   * The process-wide generator configured from the <code>binance.api.*</code> system properties.
+   */
+  public static ApiGenerator getDefaultGenerator() {
+    return DefaultGeneratorHolder.generator;
+  }
 
-  static {
+  /**
+   * Creates a new generator owning its own connection pools and threads, configured from the given profile.
+   */
+  public static ApiGenerator newGenerator(BinanceApiTransportProfile profile) {
     try {
-      if (Boolean.getBoolean("binance.api.use.netty")) {
-        generator = (ApiGenerator) Class.forName("com.binance.api.client.impl.NettyBinanceApiServiceGenerator").getConstructor().newInstance();
+      if (profile.getEngine() == BinanceApiTransportProfile.Engine.NETTY) {
+        return (ApiGenerator) Class.forName("com.binance.api.client.impl.NettyBinanceApiServiceGenerator")
+            .getConstructor(BinanceApiTransportProfile.class).newInstance(profile);
       } else {
-        generator = (ApiGenerator) Class.forName("com.binance.api.client.impl.BinanceApiServiceGenerator").getConstructor().newInstance();
+        return (ApiGenerator) Class.forName("com.binance.api.client.impl.BinanceApiServiceGenerator")
+            .getConstructor(BinanceApiTransportProfile.class).newInstance(profile);
       }
     } catch (Exception e) {
       throw new RuntimeException(e);
@@ -29,18 +56,18 @@ public class ApiServiceGenerator {
   }
 
   public static <T> T createService(Class<T> serviceClass) {
-    return generator.createService(serviceClass);
+    return getDefaultGenerator().createService(serviceClass);
   }
 
   public static <T> T createTestnetService(Class<T> serviceClass) {
-    return generator.createTestnetService(serviceClass);
+    return getDefaultGenerator().createTestnetService(serviceClass);
   }
   public static BinanceApiWebSocketClient createSocket() {
-    return generator.createSocket();
+    return getDefaultGenerator().createSocket();
   }
 
   public static BinanceApiWebSocketClient createTestnetSocket() {
-    return generator.createTestnetSocket();
+    return getDefaultGenerator().createTestnetSocket();
   }
 
   /**
@@ -60,6 +87,41 @@ public class ApiServiceGenerator {
     }
   }
 
+  /**
+   * Execute a REST call returning a JSON array and block until every element has been handed to the consumer. The
+   * array is decoded incrementally from the response stream, so no list of elements is ever built.
+   *
+   * @param reuse instance updated in place for every element, or null to create a new instance per element
+   */
+  public static <T> void executeStreaming(Call<ResponseBody> call, Class<T> elementType, T reuse, Consumer<? super T> consumer) {
+    readStreaming(executeSync(call), elementType, reuse, consumer);
+  }
+
+  /**
+   * Decodes the JSON array of a response body element by element, handing each one to the consumer, and closes the
+   * body.
+   *
+   * @param reuse instance updated in place for every element, or null to create a new instance per element
+   */
+  static <T> void readStreaming(ResponseBody body, Class<T> elementType, T reuse, Consumer<? super T> consumer) {
+    ObjectReader reader = elementReaders.computeIfAbsent(elementType, mapper::readerFor);
+    if (reuse != null) {
+      reader = reader.withValueToUpdate(reuse);
+    }
+    try (JsonParser parser = mapper.getFactory().createParser(body.byteStream())) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new BinanceApiException("Expected a JSON array, got " + parser.getCurrentToken());
+      }
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        consumer.accept(reader.readValue(parser));
+      }
+    } catch (IOException e) {
+      throw new BinanceApiException(e);
+    } finally {
+      body.close();
+    }
+  }
+
   /**
    * Extracts and converts the response error body into an object.
    */
@@ -67,8 +129,21 @@ public class ApiServiceGenerator {
     return errorBodyConverter.convert(response.errorBody());
   }
 
+  /**
+   * Mapper of the REST responses, shared by the converters of every generator, the native Netty calls and the
+   * streaming decoders.
+   */
+  static final ObjectMapper mapper = new ObjectMapper();
+
+  static final Converter.Factory converterFactory = JacksonConverterFactory.create(mapper);
+
+  /**
+   * Readers of the elements decoded by {@link #readStreaming}, by element type.
+   */
+  private static final Map<Class<?>, ObjectReader> elementReaders = new ConcurrentHashMap<>();
+
   @SuppressWarnings("unchecked")
-  static final Converter<ResponseBody, BinanceApiError> errorBodyConverter = (Converter<ResponseBody, BinanceApiError>) NettyBinanceApiServiceGenerator.converterFactory
+  static final Converter<ResponseBody, BinanceApiError> errorBodyConverter = (Converter<ResponseBody, BinanceApiError>) converterFactory
       .responseBodyConverter(BinanceApiError.class, new Annotation[0], null);
 
 }
@@ -23,16 +23,28 @@ import com.binance.api.client.domain.account.request.CancelOrderResponse;
 import com.binance.api.client.domain.account.request.OrderRequest;
 import com.binance.api.client.domain.account.request.OrderStatusRequest;
 import com.binance.api.client.domain.event.ListenKey;
+import com.binance.api.client.security.ApiAccount;
 
 import retrofit2.Call;
 
+/**
+ * Builds the isolated margin calls shared by the blocking, callback and future clients.
+ */
 public class BinanceApiAsyncIsolatedMarginClientBase {
 
   private static final String IS_ISOLATED = "TRUE";
   private BinanceApiService binanceApiService;
 
   public BinanceApiAsyncIsolatedMarginClientBase() {
-    binanceApiService = ApiServiceGenerator.createService(BinanceApiService.class);
+    this(ApiServiceGenerator.getDefaultGenerator());
+  }
+
+  BinanceApiAsyncIsolatedMarginClientBase(ApiGenerator generator) {
+    this(generator, null);
+  }
+
+  BinanceApiAsyncIsolatedMarginClientBase(ApiGenerator generator, ApiAccount account) {
+    binanceApiService = generator.createService(BinanceApiService.class, account);
   }
 
   public Call<NewIsolatedAccountResponse> createAccount(String base, String quote, String apiKey, String secret) {
@@ -20,6 +20,7 @@ import com.binance.api.client.domain.account.request.CancelOrderResponse;
 import com.binance.api.client.domain.account.request.OrderRequest;
 import com.binance.api.client.domain.account.request.OrderStatusRequest;
 import com.binance.api.client.domain.event.ListenKey;
+import com.binance.api.client.security.ApiAccount;
 
 public class BinanceApiAsyncIsolatedMarginClientImpl implements BinanceApiAsyncIsolatedMarginClient {
 
@@ -29,6 +30,14 @@ public class BinanceApiAsyncIsolatedMarginClientImpl implements BinanceApiAsyncI
         clientBase = new BinanceApiAsyncIsolatedMarginClientBase();
     }
 
+    public BinanceApiAsyncIsolatedMarginClientImpl(ApiGenerator generator) {
+        clientBase = new BinanceApiAsyncIsolatedMarginClientBase(generator);
+    }
+
+    public BinanceApiAsyncIsolatedMarginClientImpl(ApiGenerator generator, ApiAccount account) {
+        clientBase = new BinanceApiAsyncIsolatedMarginClientBase(generator, account);
+    }
+
     @Override
     public void createAccount(String apiKey, String secret, String base, String quote, BinanceApiCallback<NewIsolatedAccountResponse> cb) {
         clientBase.createAccount(base, quote, apiKey, secret).enqueue(new BinanceApiCallbackAdapter<>(cb));
@@ -17,6 +17,7 @@ import com.binance.api.client.domain.account.request.CancelOrderResponse;
 import com.binance.api.client.domain.account.request.OrderRequest;
 import com.binance.api.client.domain.account.request.OrderStatusRequest;
 import com.binance.api.client.domain.event.ListenKey;
+import com.binance.api.client.security.ApiAccount;
 
 /**
  * Implementation of Binance's Margin REST API using Retrofit with asynchronous/non-blocking method calls.
@@ -26,7 +27,15 @@ public class BinanceApiAsyncMarginRestClientImpl implements BinanceApiAsyncMargi
     private final BinanceApiService binanceApiService;
 
     public BinanceApiAsyncMarginRestClientImpl() {
-        binanceApiService = ApiServiceGenerator.createService(BinanceApiService.class);
+        this(ApiServiceGenerator.getDefaultGenerator());
+    }
+
+    public BinanceApiAsyncMarginRestClientImpl(ApiGenerator generator) {
+        this(generator, null);
+    }
+
+    public BinanceApiAsyncMarginRestClientImpl(ApiGenerator generator, ApiAccount account) {
+        binanceApiService = generator.createService(BinanceApiService.class, account);
     }
 
     // Margin Account endpoints
@@ -37,6 +37,7 @@ import com.binance.api.client.domain.market.CandlestickInterval;
 import com.binance.api.client.domain.market.OrderBook;
 import com.binance.api.client.domain.market.TickerPrice;
 import com.binance.api.client.domain.market.TickerStatistics;
+import com.binance.api.client.security.ApiAccount;
 
 /**
  * Implementation of Binance's REST API using Retrofit with asynchronous/non-blocking method calls.
@@ -46,14 +47,26 @@ public class BinanceApiAsyncRestClientImpl implements BinanceApiAsyncRestClient
     private final BinanceApiService binanceApiService;
 
     public BinanceApiAsyncRestClientImpl() {
-        binanceApiService = ApiServiceGenerator.createService(BinanceApiService.class);
+        this(false);
     }
 
     public BinanceApiAsyncRestClientImpl(boolean testnet) {
-        if (testnet)
-            binanceApiService = ApiServiceGenerator.createTestnetService(BinanceApiService.class);
-        else binanceApiService = ApiServiceGenerator.createService(BinanceApiService.class);
+        this(ApiServiceGenerator.getDefaultGenerator(), testnet);
+    }
 
+    public BinanceApiAsyncRestClientImpl(ApiGenerator generator, boolean testnet) {
+        this(generator, testnet, null);
+    }
+
+    /**
+     * @param account account authenticating the signed requests, whose API key and secret arguments are then ignored,
+     *                or null
+     */
+    public BinanceApiAsyncRestClientImpl(ApiGenerator generator, boolean testnet, ApiAccount account) {
+        if (testnet)
+            binanceApiService = generator.createTestnetService(BinanceApiService.class, account);
+        else
+            binanceApiService = generator.createService(BinanceApiService.class, account);
     }
 
     // General endpoints
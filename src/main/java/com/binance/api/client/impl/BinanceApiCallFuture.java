@@ -0,0 +1,99 @@
+package com.binance.api.client.impl;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.binance.api.client.exception.BinanceApiException;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * A future which is its own Retrofit callback: it completes on the thread delivering the response, without any
+ * intermediate callback object. Cancelling the future cancels the underlying call.
+ *
+ * @param <S> type of the response body
+ * @param <T> type the future completes with
+ */
+class BinanceApiCallFuture<S, T> extends CompletableFuture<T> implements Callback<S> {
+
+  private final Call<S> call;
+
+  private final Function<? super S, ? extends T> mapper;
+
+  private BinanceApiCallFuture(Call<S> call, Function<? super S, ? extends T> mapper) {
+    this.call = call;
+    this.mapper = mapper;
+  }
+
+  /**
+   * Enqueues the call and returns a future completing with the response body.
+   */
+  static <T> CompletableFuture<T> enqueue(Call<T> call) {
+    return enqueue(call, Function.identity());
+  }
+
+  /**
+   * Enqueues the call and returns a future completing with the response body transformed by <code>mapper</code>.
+   */
+  static <S, T> CompletableFuture<T> enqueue(Call<S> call, Function<? super S, ? extends T> mapper) {
+    BinanceApiCallFuture<S, T> future = new BinanceApiCallFuture<>(call, mapper);
+    call.enqueue(future);
+    return future;
+  }
+
+  /**
+   * Enqueues a call returning a JSON array and returns a future completing once every element has been decoded from
+   * the response stream and handed to <code>consumer</code>, on the thread delivering the response.
+   *
+   * @param reuse instance updated in place for every element, or null to create a new instance per element
+   */
+  static <T> CompletableFuture<Void> enqueueStreaming(Call<ResponseBody> call, Class<T> elementType, T reuse,
+      Consumer<? super T> consumer) {
+    return enqueue(call, body -> {
+      ApiServiceGenerator.readStreaming(body, elementType, reuse, consumer);
+      return null;
+    });
+  }
+
+  @Override
+  public void onResponse(Call<S> call, Response<S> response) {
+    if (response.isSuccessful()) {
+      try {
+        complete(mapper.apply(response.body()));
+      } catch (RuntimeException e) {
+        onFailure(call, e);
+      }
+    } else if (response.code() == 504) {
+      completeExceptionally(BinanceApiCallbackAdapter.executionStatusUnknown());
+    } else {
+      try {
+        completeExceptionally(new BinanceApiException(ApiServiceGenerator.getBinanceApiError(response)));
+      } catch (IOException e) {
+        completeExceptionally(new BinanceApiException(e));
+      }
+    }
+  }
+
+  @Override
+  public void onFailure(Call<S> call, Throwable throwable) {
+    if (throwable instanceof BinanceApiException) {
+      completeExceptionally(throwable);
+    } else {
+      completeExceptionally(new BinanceApiException(throwable));
+    }
+  }
+
+  @Override
+  public boolean cancel(boolean mayInterruptIfRunning) {
+    boolean cancelled = super.cancel(mayInterruptIfRunning);
+    if (cancelled) {
+      call.cancel();
+    }
+    return cancelled;
+  }
+}
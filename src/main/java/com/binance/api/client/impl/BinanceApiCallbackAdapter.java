@@ -5,6 +5,7 @@ import java.io.IOException;
 import com.binance.api.client.BinanceApiCallback;
 import com.binance.api.client.BinanceApiError;
 import com.binance.api.client.exception.BinanceApiException;
+import com.binance.api.client.exception.BinanceTimeoutException;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -28,7 +29,8 @@ public class BinanceApiCallbackAdapter<T> implements Callback<T> {
     } else {
       if (response.code() == 504) {
         // HTTP 504 return code is used when the API successfully sent the message but not get a response within the timeout period.
-        // It is important to NOT treat this as a failure; the execution status is UNKNOWN and could have been a success.
+        // The execution status is UNKNOWN and could have been a success: the caller is told so, to check it.
+        onFailure(call, executionStatusUnknown());
         return;
       }
       try {
@@ -40,6 +42,13 @@ public class BinanceApiCallbackAdapter<T> implements Callback<T> {
     }
   }
 
+  /**
+   * @return the failure of a request answered with HTTP 504, by the callback and future clients alike
+   */
+  static BinanceTimeoutException executionStatusUnknown() {
+    return new BinanceTimeoutException("Execution status unknown (HTTP 504)");
+  }
+
   @Override
   public void onFailure(Call<T> call, Throwable throwable) {
     if (throwable instanceof BinanceApiException) {
@@ -0,0 +1,118 @@
+package com.binance.api.client.impl;
+
+import static com.binance.api.client.impl.BinanceApiCallFuture.enqueue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.binance.api.client.BinanceApiFutureIsolatedMarginClient;
+import com.binance.api.client.domain.account.MarginNewOrder;
+import com.binance.api.client.domain.account.MarginNewOrderResponse;
+import com.binance.api.client.domain.account.MarginTransaction;
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.account.Trade;
+import com.binance.api.client.domain.account.isolated.IsolatedMarginAccountInfo;
+import com.binance.api.client.domain.account.isolated.IsolatedMarginSymbol;
+import com.binance.api.client.domain.account.isolated.IsolatedMarginTransfer;
+import com.binance.api.client.domain.account.isolated.IsolatedMarginTransferResult;
+import com.binance.api.client.domain.account.isolated.NewIsolatedAccountResponse;
+import com.binance.api.client.domain.account.request.CancelOrderRequest;
+import com.binance.api.client.domain.account.request.CancelOrderResponse;
+import com.binance.api.client.domain.account.request.OrderRequest;
+import com.binance.api.client.domain.account.request.OrderStatusRequest;
+import com.binance.api.client.domain.event.ListenKey;
+import com.binance.api.client.security.ApiAccount;
+
+public class BinanceApiFutureIsolatedMarginClientImpl implements BinanceApiFutureIsolatedMarginClient {
+
+  private BinanceApiAsyncIsolatedMarginClientBase clientBase;
+
+  public BinanceApiFutureIsolatedMarginClientImpl() {
+    clientBase = new BinanceApiAsyncIsolatedMarginClientBase();
+  }
+
+  public BinanceApiFutureIsolatedMarginClientImpl(ApiGenerator generator) {
+    clientBase = new BinanceApiAsyncIsolatedMarginClientBase(generator);
+  }
+
+  public BinanceApiFutureIsolatedMarginClientImpl(ApiGenerator generator, ApiAccount account) {
+    clientBase = new BinanceApiAsyncIsolatedMarginClientBase(generator, account);
+  }
+
+  @Override
+  public CompletableFuture<NewIsolatedAccountResponse> createAccount(String base, String quote, String apiKey, String secret) {
+    return enqueue(clientBase.createAccount(base, quote, apiKey, secret));
+  }
+
+  @Override
+  public CompletableFuture<IsolatedMarginAccountInfo> queryAccount(Optional<List<String>> symbols, String apiKey, String secret) {
+    return enqueue(clientBase.queryAccount(symbols, apiKey, secret));
+  }
+
+  @Override
+  public CompletableFuture<List<Order>> getOpenOrders(OrderRequest orderRequest, String apiKey, String secret) {
+    return enqueue(clientBase.getOpenOrders(orderRequest, apiKey, secret));
+  }
+
+  @Override
+  public CompletableFuture<MarginNewOrderResponse> newOrder(MarginNewOrder order, String apiKey, String secret) {
+    return enqueue(clientBase.newOrder(order, apiKey, secret));
+  }
+
+  @Override
+  public CompletableFuture<CancelOrderResponse> cancelOrder(CancelOrderRequest cancelOrderRequest, String apiKey, String secret) {
+    return enqueue(clientBase.cancelOrder(cancelOrderRequest, apiKey, secret));
+  }
+
+  @Override
+  public CompletableFuture<Order> getOrderStatus(OrderStatusRequest orderStatusRequest, String apiKey, String secret) {
+    return enqueue(clientBase.getOrderStatus(orderStatusRequest, apiKey, secret));
+  }
+
+  @Override
+  public CompletableFuture<List<Trade>> getMyTrades(String symbol, String apiKey, String secret) {
+    return enqueue(clientBase.getMyTrades(symbol, apiKey, secret));
+  }
+
+  @Override
+  public CompletableFuture<MarginTransaction> borrow(String asset, String symbol, String amount, String apiKey, String secret) {
+    return enqueue(clientBase.borrow(asset, symbol, amount, apiKey, secret));
+  }
+
+  @Override
+  public CompletableFuture<MarginTransaction> repay(String asset, String symbol, String amount, String apiKey, String secret) {
+    return enqueue(clientBase.repay(asset, symbol, amount, apiKey, secret));
+  }
+
+  @Override
+  public CompletableFuture<IsolatedMarginTransferResult> transfer(IsolatedMarginTransfer transfer, String apiKey, String secret) {
+    return enqueue(clientBase.transfer(transfer, apiKey, secret));
+  }
+
+  @Override
+  public CompletableFuture<IsolatedMarginSymbol> getSymbol(String symbol, String apiKey, String secret) {
+    return enqueue(clientBase.getSymbol(symbol, apiKey, secret));
+  }
+
+  @Override
+  public CompletableFuture<List<IsolatedMarginSymbol>> getSymbols(String apiKey, String secret) {
+    return enqueue(clientBase.getSymbols(apiKey, secret));
+  }
+
+  @Override
+  public CompletableFuture<ListenKey> startUserDataStream(String symbol, String apiKey) {
+    return enqueue(clientBase.startUserDataStream(symbol, apiKey));
+  }
+
+  @Override
+  public CompletableFuture<Void> keepAliveUserDataStream(String symbol, String listenKey, String apiKey) {
+    return enqueue(clientBase.keepAliveUserDataStream(symbol, listenKey, apiKey));
+  }
+
+  @Override
+  public CompletableFuture<Void> closeUserDataStream(String symbol, String listenKey, String apiKey) {
+    return enqueue(clientBase.closeUserDataStream(symbol, listenKey, apiKey));
+  }
+
+}
@@ -0,0 +1,138 @@
+package com.binance.api.client.impl;
+
+import static com.binance.api.client.impl.BinanceApiCallFuture.enqueue;
+import static java.lang.System.currentTimeMillis;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.binance.api.client.BinanceApiFutureMarginRestClient;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.TransferType;
+import com.binance.api.client.domain.account.LoanQueryResult;
+import com.binance.api.client.domain.account.MarginAccount;
+import com.binance.api.client.domain.account.MarginNewOrder;
+import com.binance.api.client.domain.account.MarginNewOrderResponse;
+import com.binance.api.client.domain.account.MarginTransaction;
+import com.binance.api.client.domain.account.MaxBorrowableQueryResult;
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.account.RepayQueryResult;
+import com.binance.api.client.domain.account.Trade;
+import com.binance.api.client.domain.account.request.CancelOrderRequest;
+import com.binance.api.client.domain.account.request.CancelOrderResponse;
+import com.binance.api.client.domain.account.request.OrderRequest;
+import com.binance.api.client.domain.account.request.OrderStatusRequest;
+import com.binance.api.client.domain.event.ListenKey;
+import com.binance.api.client.security.ApiAccount;
+
+/**
+ * Implementation of Binance's Margin REST API using Retrofit with non-blocking method calls returning futures.
+ */
+public class BinanceApiFutureMarginRestClientImpl implements BinanceApiFutureMarginRestClient {
+
+    private final BinanceApiService binanceApiService;
+
+    public BinanceApiFutureMarginRestClientImpl() {
+        this(ApiServiceGenerator.getDefaultGenerator());
+    }
+
+    public BinanceApiFutureMarginRestClientImpl(ApiGenerator generator) {
+        this(generator, null);
+    }
+
+    public BinanceApiFutureMarginRestClientImpl(ApiGenerator generator, ApiAccount account) {
+        binanceApiService = generator.createService(BinanceApiService.class, account);
+    }
+
+    @Override
+    public CompletableFuture<MarginAccount> getAccount(String apiKey, String secret) {
+        long timestamp = currentTimeMillis();
+        return enqueue(binanceApiService.getMarginAccount(BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, timestamp, apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOpenOrders(OrderRequest orderRequest, String apiKey, String secret) {
+        return enqueue(binanceApiService.getOpenMarginOrders(orderRequest.getSymbol(), null, orderRequest.getRecvWindow(),
+                orderRequest.getTimestamp(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<MarginNewOrderResponse> newOrder(MarginNewOrder order, String apiKey, String secret) {
+        return enqueue(binanceApiService.newMarginOrder(order.getSymbol(), null, order.getSide(), order.getType(),
+                order.getTimeInForce(), order.getQuantity(), order.getPrice(), order.getNewClientOrderId(), order.getStopPrice(),
+                order.getIcebergQty(), order.getNewOrderRespType(), order.getSideEffectType(), order.getRecvWindow(), order.getTimestamp(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<CancelOrderResponse> cancelOrder(CancelOrderRequest cancelOrderRequest, String apiKey, String secret) {
+        return enqueue(binanceApiService.cancelMarginOrder(cancelOrderRequest.getSymbol(), null,
+                cancelOrderRequest.getOrderId(), cancelOrderRequest.getOrigClientOrderId(), cancelOrderRequest.getNewClientOrderId(),
+                cancelOrderRequest.getRecvWindow(), cancelOrderRequest.getTimestamp(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<Order> getOrderStatus(OrderStatusRequest orderStatusRequest, String apiKey, String secret) {
+        return enqueue(binanceApiService.getMarginOrderStatus(orderStatusRequest.getSymbol(), null,
+                orderStatusRequest.getOrderId(), orderStatusRequest.getOrigClientOrderId(),
+                orderStatusRequest.getRecvWindow(), orderStatusRequest.getTimestamp(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, String apiKey, String secret) {
+        return enqueue(binanceApiService.getMyMarginTrades(symbol, null, null, null, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis(), apiKey, secret));
+    }
+
+    // user stream endpoints
+
+    @Override
+    public CompletableFuture<String> startUserDataStream(String apiKey) {
+        return enqueue(binanceApiService.startMarginUserDataStream(apiKey), ListenKey::getListenKey);
+    }
+
+    @Override
+    public CompletableFuture<Void> keepAliveUserDataStream(String listenKey, String apiKey) {
+        return enqueue(binanceApiService.keepAliveMarginUserDataStream(listenKey, apiKey));
+    }
+
+    @Override
+    public CompletableFuture<MarginTransaction> transfer(String asset, String amount, TransferType type, String apiKey, String secret) {
+        long timestamp = System.currentTimeMillis();
+        return enqueue(binanceApiService.transfer(asset, amount, type.getValue(), BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, timestamp, apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<MarginTransaction> borrow(String asset, String amount, String apiKey, String secret) {
+        long timestamp = System.currentTimeMillis();
+        return enqueue(binanceApiService.borrow(asset, null, null, amount, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, timestamp, apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<LoanQueryResult> queryLoan(String asset, String txId, String apiKey, String secret) {
+        long timestamp = System.currentTimeMillis();
+        return enqueue(binanceApiService.queryLoan(asset, null, txId, timestamp, apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<RepayQueryResult> queryRepay(String asset, String txId, String apiKey, String secret) {
+        long timestamp = System.currentTimeMillis();
+        return enqueue(binanceApiService.queryRepay(asset, null, txId, timestamp, apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<RepayQueryResult> queryRepay(String asset, long startTime, String apiKey, String secret) {
+        long timestamp = System.currentTimeMillis();
+        return enqueue(binanceApiService.queryRepay(asset, null, startTime, timestamp, apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<MaxBorrowableQueryResult> queryMaxBorrowable(String asset, String apiKey, String secret) {
+        long timestamp = System.currentTimeMillis();
+        return enqueue(binanceApiService.queryMaxBorrowable(asset, null, timestamp, apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<MarginTransaction> repay(String asset, String amount, String apiKey, String secret) {
+        long timestamp = System.currentTimeMillis();
+        return enqueue(binanceApiService.repay(asset, null, null, amount, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, timestamp, apiKey, secret));
+    }
+}
@@ -0,0 +1,346 @@
+package com.binance.api.client.impl;
+
+import static com.binance.api.client.impl.BinanceApiCallFuture.enqueue;
+import static com.binance.api.client.impl.BinanceApiCallFuture.enqueueStreaming;
+import static java.lang.System.currentTimeMillis;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import com.binance.api.client.BinanceApiFutureRestClient;
+import com.binance.api.client.config.BinanceApiConfig;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.OrderType;
+import com.binance.api.client.domain.TimeInForce;
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.account.DepositAddress;
+import com.binance.api.client.domain.account.DepositHistory;
+import com.binance.api.client.domain.account.DustTransferResponse;
+import com.binance.api.client.domain.account.NewOrder;
+import com.binance.api.client.domain.account.NewOrderResponse;
+import com.binance.api.client.domain.account.OcoOrderResponse;
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.account.Trade;
+import com.binance.api.client.domain.account.TradeHistoryItem;
+import com.binance.api.client.domain.account.WithdrawHistory;
+import com.binance.api.client.domain.account.WithdrawResult;
+import com.binance.api.client.domain.account.request.AllOrdersRequest;
+import com.binance.api.client.domain.account.request.CancelOrderRequest;
+import com.binance.api.client.domain.account.request.CancelOrderResponse;
+import com.binance.api.client.domain.account.request.OcoOrderStatusRequest;
+import com.binance.api.client.domain.account.request.OrderRequest;
+import com.binance.api.client.domain.account.request.OrderStatusRequest;
+import com.binance.api.client.domain.account.request.SubAccountTransfer;
+import com.binance.api.client.domain.event.ListenKey;
+import com.binance.api.client.domain.general.Asset;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.ServerTime;
+import com.binance.api.client.domain.market.AggTrade;
+import com.binance.api.client.domain.market.BookTicker;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.domain.market.TickerStatistics;
+import com.binance.api.client.security.ApiAccount;
+
+import retrofit2.Call;
+
+/**
+ * Implementation of Binance's REST API using Retrofit with non-blocking method calls returning futures.
+ */
+public class BinanceApiFutureRestClientImpl implements BinanceApiFutureRestClient {
+
+    private final BinanceApiService binanceApiService;
+
+    public BinanceApiFutureRestClientImpl() {
+        this(false);
+    }
+
+    public BinanceApiFutureRestClientImpl(boolean testnet) {
+        this(ApiServiceGenerator.getDefaultGenerator(), testnet);
+    }
+
+    public BinanceApiFutureRestClientImpl(ApiGenerator generator, boolean testnet) {
+        this(generator, testnet, null);
+    }
+
+    /**
+     * @param account account authenticating the signed requests, whose API key and secret arguments are then ignored,
+     *                or null
+     */
+    public BinanceApiFutureRestClientImpl(ApiGenerator generator, boolean testnet, ApiAccount account) {
+        if (testnet)
+            binanceApiService = generator.createTestnetService(BinanceApiService.class, account);
+        else
+            binanceApiService = generator.createService(BinanceApiService.class, account);
+    }
+
+    // General endpoints
+
+    @Override
+    public CompletableFuture<Void> ping() {
+        return enqueue(binanceApiService.ping());
+    }
+
+    @Override
+    public CompletableFuture<Long> getServerTime() {
+        return enqueue(binanceApiService.getServerTime(), ServerTime::getServerTime);
+    }
+
+    @Override
+    public CompletableFuture<ExchangeInfo> getExchangeInfo() {
+        return enqueue(binanceApiService.getExchangeInfo());
+    }
+
+    @Override
+    public CompletableFuture<List<Asset>> getAllAssets() {
+        return enqueue(binanceApiService.getAllAssets(BinanceApiConfig.getAssetInfoApiBaseUrl() + "assetWithdraw/getAllAsset.html"));
+    }
+
+    // Market Data endpoints
+
+    @Override
+    public CompletableFuture<OrderBook> getOrderBook(String symbol, Integer limit) {
+        return enqueue(binanceApiService.getOrderBook(symbol, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<TradeHistoryItem>> getTrades(String symbol, Integer limit) {
+        return enqueue(binanceApiService.getTrades(symbol, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<TradeHistoryItem>> getHistoricalTrades(String symbol, Integer limit, Long fromId) {
+        return enqueue(binanceApiService.getHistoricalTrades(symbol, limit, fromId));
+    }
+
+    @Override
+    public CompletableFuture<List<AggTrade>> getAggTrades(String symbol, String fromId, Integer limit, Long startTime, Long endTime) {
+        return enqueue(binanceApiService.getAggTrades(symbol, fromId, limit, startTime, endTime));
+    }
+
+    @Override
+    public CompletableFuture<List<AggTrade>> getAggTrades(String symbol) {
+        return getAggTrades(symbol, null, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval, Integer limit, Long startTime, Long endTime) {
+        return enqueue(binanceApiService.getCandlestickBars(symbol, interval.getIntervalId(), limit, startTime, endTime));
+    }
+
+    @Override
+    public CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval) {
+        return getCandlestickBars(symbol, interval, null, null, null);
+    }
+
+    @Override
+    public CompletableFuture<TickerStatistics> get24HrPriceStatistics(String symbol) {
+        return enqueue(binanceApiService.get24HrPriceStatistics(symbol));
+    }
+
+    @Override
+    public CompletableFuture<List<TickerStatistics>> getAll24HrPriceStatistics() {
+        return enqueue(binanceApiService.getAll24HrPriceStatistics());
+    }
+
+    @Override
+    public CompletableFuture<Void> getAll24HrPriceStatistics(TickerStatistics reuse, Consumer<? super TickerStatistics> consumer) {
+        return enqueueStreaming(binanceApiService.streamAll24HrPriceStatistics(), TickerStatistics.class, reuse, consumer);
+    }
+
+    @Override
+    public CompletableFuture<TickerPrice> getPrice(String symbol) {
+        return enqueue(binanceApiService.getLatestPrice(symbol));
+    }
+
+    @Override
+    public CompletableFuture<List<TickerPrice>> getAllPrices() {
+        return enqueue(binanceApiService.getLatestPrices());
+    }
+
+    @Override
+    public CompletableFuture<Void> getAllPrices(TickerPrice reuse, Consumer<? super TickerPrice> consumer) {
+        return enqueueStreaming(binanceApiService.streamLatestPrices(), TickerPrice.class, reuse, consumer);
+    }
+
+    @Override
+    public CompletableFuture<List<BookTicker>> getBookTickers() {
+        return enqueue(binanceApiService.getBookTickers());
+    }
+
+    @Override
+    public CompletableFuture<Void> getBookTickers(BookTicker reuse, Consumer<? super BookTicker> consumer) {
+        return enqueueStreaming(binanceApiService.streamBookTickers(), BookTicker.class, reuse, consumer);
+    }
+
+    @Override
+    public CompletableFuture<NewOrderResponse> newOrder(NewOrder order, String apiKey, String secret) {
+        if (order.getType() == OrderType.OCO) {
+            throw new IllegalArgumentException("Please use newOcoOrder instead");
+        }
+        final Call<NewOrderResponse> call;
+        if (order.getQuoteOrderQty() == null) {
+            call = binanceApiService.newOrder(order.getSymbol(), order.getSide(), order.getType(),
+                    order.getTimeInForce(), order.getQuantity(), order.getPrice(),
+                    order.getNewClientOrderId(), order.getStopPrice(), order.getIcebergQty(), order.getNewOrderRespType(),
+                    order.getRecvWindow(), order.getTimestamp(), apiKey, secret);
+        } else {
+            call = binanceApiService.newOrderQuoteQty(order.getSymbol(), order.getSide(), order.getType(),
+                    order.getTimeInForce(), order.getQuoteOrderQty(), order.getPrice(),
+                    order.getNewClientOrderId(), order.getStopPrice(), order.getIcebergQty(), order.getNewOrderRespType(),
+                    order.getRecvWindow(), order.getTimestamp());
+        }
+        return enqueue(call);
+    }
+
+    @Override
+    public CompletableFuture<OcoOrderResponse> newOcoOrder(NewOrder order, String apiKey, String secret) {
+        return enqueue(binanceApiService.newOcoOrder(order.getSymbol(), order.getNewClientOrderId(), order.getSide(), order.getQuantity(), order.getLimitClientOrderId(),
+                order.getPrice(), order.getIcebergQty(), order.getStopClientOrderId(), order.getStopPrice(), order.getStopLimitPrice(), TimeInForce.GTC,
+                order.getNewOrderRespType(), order.getRecvWindow(), order.getTimestamp(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<Void> newOrderTest(NewOrder order, String apiKey, String secret) {
+        if (order.getType() == OrderType.OCO) {
+            return enqueue(binanceApiService.newOcoOrderTest(order.getSymbol(), order.getNewClientOrderId(), order.getSide(), order.getQuantity(), order.getLimitClientOrderId(),
+                    order.getPrice(), order.getIcebergQty(), order.getStopClientOrderId(), order.getStopPrice(), order.getStopLimitPrice(), TimeInForce.GTC,
+                    order.getNewOrderRespType(), order.getRecvWindow(), order.getTimestamp(), apiKey, secret));
+        } else {
+            return enqueue(binanceApiService.newOrderTest(order.getSymbol(), order.getSide(), order.getType(),
+                    order.getTimeInForce(), order.getQuantity(), order.getPrice(), order.getNewClientOrderId(), order.getStopPrice(),
+                    order.getIcebergQty(), order.getNewOrderRespType(), order.getRecvWindow(), order.getTimestamp(), apiKey, secret));
+        }
+    }
+
+    // Account endpoints
+
+    @Override
+    public CompletableFuture<Order> getOrderStatus(OrderStatusRequest orderStatusRequest, String apiKey, String secret) {
+        return enqueue(binanceApiService.getOrderStatus(orderStatusRequest.getSymbol(),
+                orderStatusRequest.getOrderId(), orderStatusRequest.getOrigClientOrderId(),
+                orderStatusRequest.getRecvWindow(), orderStatusRequest.getTimestamp(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<OcoOrderResponse> getOcoOrderStatus(OcoOrderStatusRequest statusRequest, String apiKey, String secret) {
+        return enqueue(binanceApiService.getOcoOrderStatus(statusRequest.getOrderListId(), statusRequest.getOrigClientOrderId(),
+                statusRequest.getRecvWindow(), statusRequest.getTimestamp(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<CancelOrderResponse> cancelOrder(CancelOrderRequest cancelOrderRequest, String apiKey, String secret) {
+        return enqueue(binanceApiService.cancelOrder(cancelOrderRequest.getSymbol(),
+                cancelOrderRequest.getOrderId(), cancelOrderRequest.getOrigClientOrderId(), cancelOrderRequest.getNewClientOrderId(),
+                cancelOrderRequest.getRecvWindow(), cancelOrderRequest.getTimestamp(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<OcoOrderResponse> cancelOcoOrder(CancelOrderRequest cancelOrderRequest, String apiKey, String secret) {
+        return enqueue(binanceApiService.cancelOcoOrder(cancelOrderRequest.getSymbol(),
+                cancelOrderRequest.getOrderId(), cancelOrderRequest.getOrigClientOrderId(), cancelOrderRequest.getNewClientOrderId(),
+                cancelOrderRequest.getRecvWindow(), cancelOrderRequest.getTimestamp(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOpenOrders(OrderRequest orderRequest, String apiKey, String secret) {
+        return enqueue(binanceApiService.getOpenOrders(orderRequest.getSymbol(), orderRequest.getRecvWindow(), orderRequest.getTimestamp(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getAllOrders(AllOrdersRequest orderRequest, String apiKey, String secret) {
+        return enqueue(binanceApiService.getAllOrders(orderRequest.getSymbol(),
+                orderRequest.getOrderId(), orderRequest.getLimit(),
+                orderRequest.getRecvWindow(), orderRequest.getTimestamp(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<Void> getAllOrders(AllOrdersRequest orderRequest, String apiKey, String secret, Order reuse,
+                                                Consumer<? super Order> consumer) {
+        return enqueueStreaming(binanceApiService.streamAllOrders(orderRequest.getSymbol(),
+                orderRequest.getOrderId(), orderRequest.getLimit(),
+                orderRequest.getRecvWindow(), orderRequest.getTimestamp(), apiKey, secret), Order.class, reuse, consumer);
+    }
+
+    @Override
+    public CompletableFuture<Account> getAccount(Long recvWindow, Long timestamp, String apiKey, String secret) {
+        return enqueue(binanceApiService.getAccount(recvWindow, timestamp, apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<Account> getAccount(String apiKey, String secret) {
+        return getAccount(BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis(), apiKey, secret);
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, Long fromId, Long recvWindow, Long timestamp, String apiKey, String secret) {
+        return enqueue(binanceApiService.getMyTrades(symbol, limit, fromId, recvWindow, timestamp, apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, String apiKey, String secret) {
+        return getMyTrades(symbol, limit, null, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis(), apiKey, secret);
+    }
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, String apiKey, String secret) {
+        return getMyTrades(symbol, null, null, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis(), apiKey, secret);
+    }
+
+
+    @Override
+    public CompletableFuture<List<Trade>> getMyTrades(String symbol, Long fromId, String apiKey, String secret) {
+        return getMyTrades(symbol, null, fromId, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW,
+                System.currentTimeMillis(), apiKey, secret);
+    }
+
+    @Override
+    public CompletableFuture<WithdrawResult> withdraw(String asset, String address, String amount, String name, String addressTag, String apiKey, String secret) {
+        return enqueue(binanceApiService.withdraw(asset, address, amount, name, addressTag, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<DepositHistory> getDepositHistory(String asset, String apiKey, String secret) {
+        return enqueue(binanceApiService.getDepositHistory(asset, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<WithdrawHistory> getWithdrawHistory(String asset, String apiKey, String secret) {
+        return enqueue(binanceApiService.getWithdrawHistory(asset, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<List<SubAccountTransfer>> getSubAccountTransfers(String apiKey, String secret) {
+        return enqueue(binanceApiService.getSubAccountTransfers(System.currentTimeMillis(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<DepositAddress> getDepositAddress(String asset, String apiKey, String secret) {
+        return enqueue(binanceApiService.getDepositAddress(asset, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis(), apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<DustTransferResponse> convertDustToBnb(List<String> assets, String apiKey, String secret) {
+        return enqueue(binanceApiService.dustTransfer(assets, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, currentTimeMillis(), apiKey, secret));
+    }
+
+    // User stream endpoints
+
+    @Override
+    public CompletableFuture<String> startUserDataStream(String api) {
+        return enqueue(binanceApiService.startUserDataStream(api), ListenKey::getListenKey);
+    }
+
+    @Override
+    public CompletableFuture<Void> keepAliveUserDataStream(String listenKey, String api) {
+        return enqueue(binanceApiService.keepAliveUserDataStream(listenKey, api));
+    }
+
+    @Override
+    public CompletableFuture<Void> closeUserDataStream(String listenKey, String api) {
+        return enqueue(binanceApiService.closeAliveUserDataStream(listenKey, api));
+    }
+}
@@ -0,0 +1,125 @@
+package com.binance.api.client.impl;
+
+import static com.binance.api.client.impl.BinanceApiCallFuture.enqueue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.binance.api.client.BinanceApiFutureSwapRestClient;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.SwapRemoveType;
+import com.binance.api.client.domain.account.Liquidity;
+import com.binance.api.client.domain.account.LiquidityOperationRecord;
+import com.binance.api.client.domain.account.Pool;
+import com.binance.api.client.domain.account.SwapHistory;
+import com.binance.api.client.domain.account.SwapQuote;
+import com.binance.api.client.domain.account.SwapRecord;
+import com.binance.api.client.security.ApiAccount;
+
+/**
+ * Implementation of Binance's SWAP REST API using Retrofit with non-blocking method calls returning futures.
+ */
+public class BinanceApiFutureSwapRestClientImpl implements BinanceApiFutureSwapRestClient {
+
+    private final BinanceApiService binanceApiService;
+
+    public BinanceApiFutureSwapRestClientImpl() {
+        this(ApiServiceGenerator.getDefaultGenerator());
+    }
+
+    public BinanceApiFutureSwapRestClientImpl(ApiGenerator generator) {
+        this(generator, null);
+    }
+
+    public BinanceApiFutureSwapRestClientImpl(ApiGenerator generator, ApiAccount account) {
+        binanceApiService = generator.createService(BinanceApiService.class, account);
+    }
+
+    @Override
+    public CompletableFuture<List<Pool>> listAllSwapPools(String api) {
+        return enqueue(binanceApiService.listAllSwapPools(api));
+    }
+
+    @Override
+    public CompletableFuture<Liquidity> getPoolLiquidityInfo(String poolId, String apiKey, String secret) {
+        long timestamp = System.currentTimeMillis();
+        return enqueue(binanceApiService.getPoolLiquidityInfo(poolId,
+                BinanceApiConstants.DEFAULT_RECEIVING_WINDOW,
+                timestamp,
+                apiKey, secret), BinanceApiFutureSwapRestClientImpl::first);
+    }
+
+    @Override
+    public CompletableFuture<LiquidityOperationRecord> addLiquidity(String poolId, String asset, String quantity, String apiKey, String secret) {
+        long timestamp = System.currentTimeMillis();
+        return enqueue(binanceApiService.addLiquidity(poolId,
+                asset,
+                quantity,
+                BinanceApiConstants.DEFAULT_RECEIVING_WINDOW,
+                timestamp,
+                apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<LiquidityOperationRecord> removeLiquidity(String poolId, SwapRemoveType type, List<String> asset, String shareAmount, String apiKey, String secret) {
+        long timestamp = System.currentTimeMillis();
+        return enqueue(binanceApiService.removeLiquidity(poolId,
+                type,
+                asset,
+                shareAmount,
+                BinanceApiConstants.DEFAULT_RECEIVING_WINDOW,
+                timestamp,
+                apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<List<LiquidityOperationRecord>> getPoolLiquidityOperationRecords(String poolId, Integer limit, String apiKey, String secret) {
+        long timestamp = System.currentTimeMillis();
+        return enqueue(binanceApiService.getPoolLiquidityOperationRecords(
+                poolId,
+                limit,
+                BinanceApiConstants.DEFAULT_RECEIVING_WINDOW,
+                timestamp,
+                apiKey, secret));
+
+    }
+
+    @Override
+    public CompletableFuture<LiquidityOperationRecord> getLiquidityOperationRecord(String operationId, String apiKey, String secret) {
+        long timestamp = System.currentTimeMillis();
+        return enqueue(binanceApiService.getLiquidityOperationRecord(
+                operationId,
+                BinanceApiConstants.DEFAULT_RECEIVING_WINDOW,
+                timestamp, apiKey, secret), BinanceApiFutureSwapRestClientImpl::first);
+    }
+
+    @Override
+    public CompletableFuture<SwapQuote> requestQuote(String quoteAsset,
+                                  String baseAsset,
+                                  String quoteQty, String apiKey, String secret) {
+        long timestamp = System.currentTimeMillis();
+        return enqueue(binanceApiService.requestQuote(quoteAsset, baseAsset, quoteQty,
+                BinanceApiConstants.DEFAULT_RECEIVING_WINDOW,
+                timestamp, apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<SwapRecord> swap(String quoteAsset, String baseAsset, String quoteQty, String apiKey, String secret) {
+        long timestamp = System.currentTimeMillis();
+        return enqueue(binanceApiService.swap(quoteAsset, baseAsset, quoteQty,
+                BinanceApiConstants.DEFAULT_RECEIVING_WINDOW,
+                timestamp, apiKey, secret));
+    }
+
+    @Override
+    public CompletableFuture<SwapHistory> getSwapHistory(String swapId, String apiKey, String secret) {
+        long timestamp = System.currentTimeMillis();
+        return enqueue(binanceApiService.getSwapHistory(swapId,
+                BinanceApiConstants.DEFAULT_RECEIVING_WINDOW,
+                timestamp, apiKey, secret), BinanceApiFutureSwapRestClientImpl::first);
+    }
+
+    private static <T> T first(List<T> items) {
+        return items != null && !items.isEmpty() ? items.get(0) : null;
+    }
+}
@@ -21,6 +21,7 @@ import com.binance.api.client.domain.account.request.CancelOrderResponse;
 import com.binance.api.client.domain.account.request.OrderRequest;
 import com.binance.api.client.domain.account.request.OrderStatusRequest;
 import com.binance.api.client.domain.event.ListenKey;
+import com.binance.api.client.security.ApiAccount;
 
 public class BinanceApiIsolatedMarginClientImpl implements BinanceApiIsolatedMarginClient {
 
@@ -30,6 +31,14 @@ public class BinanceApiIsolatedMarginClientImpl implements BinanceApiIsolatedMar
     clientBase = new BinanceApiAsyncIsolatedMarginClientBase();
   }
 
+  public BinanceApiIsolatedMarginClientImpl(ApiGenerator generator) {
+    clientBase = new BinanceApiAsyncIsolatedMarginClientBase(generator);
+  }
+
+  public BinanceApiIsolatedMarginClientImpl(ApiGenerator generator, ApiAccount account) {
+    clientBase = new BinanceApiAsyncIsolatedMarginClientBase(generator, account);
+  }
+
   @Override
   public NewIsolatedAccountResponse createAccount(String base, String quote, String apiKey, String secret) {
     return executeSync(clientBase.createAccount(base, quote, apiKey, secret));
@@ -21,6 +21,7 @@ import com.binance.api.client.domain.account.request.CancelOrderRequest;
 import com.binance.api.client.domain.account.request.CancelOrderResponse;
 import com.binance.api.client.domain.account.request.OrderRequest;
 import com.binance.api.client.domain.account.request.OrderStatusRequest;
+import com.binance.api.client.security.ApiAccount;
 
 /**
  * Implementation of Binance's Margin REST API using Retrofit with asynchronous/non-blocking method calls.
@@ -30,7 +31,15 @@ public class BinanceApiMarginRestClientImpl implements BinanceApiMarginRestClien
     private final BinanceApiService binanceApiService;
 
     public BinanceApiMarginRestClientImpl() {
-        binanceApiService = ApiServiceGenerator.createService(BinanceApiService.class);
+        this(ApiServiceGenerator.getDefaultGenerator());
+    }
+
+    public BinanceApiMarginRestClientImpl(ApiGenerator generator) {
+        this(generator, null);
+    }
+
+    public BinanceApiMarginRestClientImpl(ApiGenerator generator, ApiAccount account) {
+        binanceApiService = generator.createService(BinanceApiService.class, account);
     }
 
     @Override
@@ -1,9 +1,11 @@
 package com.binance.api.client.impl;
 
+import static com.binance.api.client.impl.ApiServiceGenerator.executeStreaming;
 import static com.binance.api.client.impl.ApiServiceGenerator.executeSync;
 import static java.lang.System.currentTimeMillis;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.binance.api.client.BinanceApiRestClient;
 import com.binance.api.client.config.BinanceApiConfig;
@@ -38,6 +40,7 @@ import com.binance.api.client.domain.market.CandlestickInterval;
 import com.binance.api.client.domain.market.OrderBook;
 import com.binance.api.client.domain.market.TickerPrice;
 import com.binance.api.client.domain.market.TickerStatistics;
+import com.binance.api.client.security.ApiAccount;
 
 import retrofit2.Call;
 
@@ -49,15 +52,26 @@ public class BinanceApiRestClientImpl implements BinanceApiRestClient {
     private final BinanceApiService binanceApiService;
 
     public BinanceApiRestClientImpl() {
-        binanceApiService = ApiServiceGenerator.createService(BinanceApiService.class);
+        this(false);
     }
 
     public BinanceApiRestClientImpl(boolean testnet) {
+        this(ApiServiceGenerator.getDefaultGenerator(), testnet);
+    }
+
+    public BinanceApiRestClientImpl(ApiGenerator generator, boolean testnet) {
+        this(generator, testnet, null);
+    }
+
+    /**
+     * @param account account authenticating the signed requests, whose API key and secret arguments are then ignored,
+     *                or null
+     */
+    public BinanceApiRestClientImpl(ApiGenerator generator, boolean testnet, ApiAccount account) {
         if (testnet)
-            binanceApiService = ApiServiceGenerator.createTestnetService(BinanceApiService.class);
+            binanceApiService = generator.createTestnetService(BinanceApiService.class, account);
         else
-            binanceApiService = ApiServiceGenerator.createService(BinanceApiService.class);
-
+            binanceApiService = generator.createService(BinanceApiService.class, account);
     }
 
     // General endpoints
@@ -129,6 +143,11 @@ public class BinanceApiRestClientImpl implements BinanceApiRestClient {
         return executeSync(binanceApiService.getAll24HrPriceStatistics());
     }
 
+    @Override
+    public void getAll24HrPriceStatistics(TickerStatistics reuse, Consumer<? super TickerStatistics> consumer) {
+        executeStreaming(binanceApiService.streamAll24HrPriceStatistics(), TickerStatistics.class, reuse, consumer);
+    }
+
     @Override
     public TickerPrice getPrice(String symbol) {
         return executeSync(binanceApiService.getLatestPrice(symbol));
@@ -139,11 +158,21 @@ public class BinanceApiRestClientImpl implements BinanceApiRestClient {
         return executeSync(binanceApiService.getLatestPrices());
     }
 
+    @Override
+    public void getAllPrices(TickerPrice reuse, Consumer<? super TickerPrice> consumer) {
+        executeStreaming(binanceApiService.streamLatestPrices(), TickerPrice.class, reuse, consumer);
+    }
+
     @Override
     public List<BookTicker> getBookTickers() {
         return executeSync(binanceApiService.getBookTickers());
     }
 
+    @Override
+    public void getBookTickers(BookTicker reuse, Consumer<? super BookTicker> consumer) {
+        executeStreaming(binanceApiService.streamBookTickers(), BookTicker.class, reuse, consumer);
+    }
+
     @Override
     public NewOrderResponse newOrder(NewOrder order, String apiKey, String secret) {
         if (order.getType() == OrderType.OCO) {
@@ -225,6 +254,13 @@ public class BinanceApiRestClientImpl implements BinanceApiRestClient {
                 orderRequest.getRecvWindow(), orderRequest.getTimestamp(), apiKey, secret));
     }
 
+    @Override
+    public void getAllOrders(AllOrdersRequest orderRequest, String apiKey, String secret, Order reuse, Consumer<? super Order> consumer) {
+        executeStreaming(binanceApiService.streamAllOrders(orderRequest.getSymbol(),
+                orderRequest.getOrderId(), orderRequest.getLimit(),
+                orderRequest.getRecvWindow(), orderRequest.getTimestamp(), apiKey, secret), Order.class, reuse, consumer);
+    }
+
     @Override
     public Account getAccount(Long recvWindow, Long timestamp, String apiKey, String secret) {
         return executeSync(binanceApiService.getAccount(recvWindow, timestamp, apiKey, secret));
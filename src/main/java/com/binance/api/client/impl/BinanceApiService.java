@@ -49,6 +49,7 @@ import com.binance.api.client.domain.market.OrderBook;
 import com.binance.api.client.domain.market.TickerPrice;
 import com.binance.api.client.domain.market.TickerStatistics;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.*;
 
@@ -106,6 +107,20 @@ public interface BinanceApiService {
     @GET("/api/v1/ticker/allBookTickers")
     Call<List<BookTicker>> getBookTickers();
 
+    // Streaming variants of the list endpoints, decoded element by element
+
+    @Streaming
+    @GET("/api/v1/ticker/24hr")
+    Call<ResponseBody> streamAll24HrPriceStatistics();
+
+    @Streaming
+    @GET("/api/v1/ticker/allPrices")
+    Call<ResponseBody> streamLatestPrices();
+
+    @Streaming
+    @GET("/api/v1/ticker/allBookTickers")
+    Call<ResponseBody> streamBookTickers();
+
     // Account endpoints
 
     @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER)
@@ -210,6 +225,13 @@ public interface BinanceApiService {
                                    @Query("limit") Integer limit, @Query("recvWindow") Long recvWindow, @Query("timestamp") Long timestamp,
                                    @Header("api") String apiKey, @Header("Secret") String secret);
 
+    @Streaming
+    @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER)
+    @GET("/api/v3/allOrders")
+    Call<ResponseBody> streamAllOrders(@Query("symbol") String symbol, @Query("orderId") Long orderId,
+                                       @Query("limit") Integer limit, @Query("recvWindow") Long recvWindow, @Query("timestamp") Long timestamp,
+                                       @Header("api") String apiKey, @Header("Secret") String secret);
+
     @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER)
     @GET("/api/v3/account")
     Call<Account> getAccount(@Query("recvWindow") Long recvWindow, @Query("timestamp") Long timestamp,
@@ -1,41 +1,182 @@
 package com.binance.api.client.impl;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+import com.binance.api.client.config.BinanceApiTransportProfile;
 import com.binance.api.client.constant.BinanceApiConstants;
 import okhttp3.logging.HttpLoggingInterceptor;
-import org.apache.commons.lang3.StringUtils;
 
 import com.binance.api.client.BinanceApiWebSocketClient;
 import com.binance.api.client.config.BinanceApiConfig;
+import com.binance.api.client.config.DispatchPolicy;
+import com.binance.api.client.config.ReconnectPolicy;
+import com.binance.api.client.security.ApiAccount;
 import com.binance.api.client.security.AuthenticationInterceptor;
 
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
 import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
-import retrofit2.Converter;
+import okhttp3.Request;
+import okhttp3.Response;
+import lombok.extern.slf4j.Slf4j;
 import retrofit2.Retrofit;
-import retrofit2.converter.jackson.JacksonConverterFactory;
 
 /**
  * Generates a Binance API implementation based on @see
  * {@link BinanceApiService}.
  */
+@Slf4j
 public class BinanceApiServiceGenerator implements ApiGenerator {
 
     private final OkHttpClient sharedClient;
-    private final Converter.Factory converterFactory = JacksonConverterFactory.create();
 
-    {
-        Dispatcher dispatcher = new Dispatcher();
-        dispatcher.setMaxRequestsPerHost(500);
-        dispatcher.setMaxRequests(500);
-        sharedClient = new OkHttpClient.Builder().dispatcher(dispatcher).pingInterval(20, TimeUnit.SECONDS).build();
+    /**
+     * Client with its own dispatcher and connection pool for order placement and cancellation, or null when the
+     * profile does not reserve an order lane.
+     */
+    private final OkHttpClient orderClient;
+
+    /**
+     * Hedges slow market data requests, or null when the profile has no hedging policy.
+     */
+    private final RequestHedger hedger;
+
+    /**
+     * Routes requests to the fastest API cluster, or null when the profile does not list clusters.
+     */
+    private final ClusterRouter router;
+
+    /**
+     * Coalesces identical in-flight public requests, or null when the profile does not enable it.
+     */
+    private final RequestCoalescer coalescer;
+
+    /**
+     * Keeps requests within the request weight limit, or null when the profile does not set one.
+     */
+    private final RequestWeightLimiter limiter;
+
+    /**
+     * Keeps orders within the order rate limits, or null when the profile does not set them.
+     */
+    private final OrderRateGovernor governor;
+
+    /**
+     * Caches public endpoint responses, or null when the profile has no response cache policy.
+     */
+    private final ResponseCache responseCache;
+
+    /**
+     * Retries failed requests, or null when the profile has no retry policy.
+     */
+    private final RequestRetrier retrier;
+
+    /**
+     * Reconnection of the streams of the web socket clients, or null when the profile has no reconnect policy.
+     */
+    private final ReconnectPolicy reconnectPolicy;
+
+    /**
+     * Hand-off of the stream events to the callbacks, or null when the profile has no dispatch policy.
+     */
+    private final DispatchPolicy dispatchPolicy;
+
+    /**
+     * Web socket clients created by this generator, closed with it.
+     */
+    private final Set<Closeable> sockets = ConcurrentHashMap.newKeySet();
+
+    public BinanceApiServiceGenerator() {
+        this(BinanceApiTransportProfile.fromSystemProperties());
+    }
+
+    public BinanceApiServiceGenerator(BinanceApiTransportProfile profile) {
+        boolean virtualThreads = profile.isVirtualThreads() && VirtualThreads.isSupported();
+        if (profile.isVirtualThreads() && !virtualThreads) {
+            log.warn("Virtual threads require Java 21 or later, using a platform thread pool");
+        }
+        Dispatcher dispatcher;
+        if (virtualThreads) {
+            // Blocked virtual threads are cheap, so concurrency is left to the callers instead of the dispatcher.
+            dispatcher = new Dispatcher(VirtualThreads.newExecutor("binance-okhttp-"));
+            dispatcher.setMaxRequestsPerHost(Integer.MAX_VALUE);
+            dispatcher.setMaxRequests(Integer.MAX_VALUE);
+        } else {
+            dispatcher = new Dispatcher();
+            dispatcher.setMaxRequestsPerHost(profile.getMaxRequestsPerHost());
+            dispatcher.setMaxRequests(profile.getMaxRequests());
+        }
+        OkHttpClient.Builder builder = new OkHttpClient.Builder().dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(profile.getMaxIdleConnections(), profile.getKeepAliveMillis(), TimeUnit.MILLISECONDS))
+                .pingInterval(Math.max(profile.getPingIntervalMillis(), 0), TimeUnit.MILLISECONDS);
+        if (profile.getConnectTimeoutMillis() > 0) {
+            builder.connectTimeout(profile.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS);
+        }
+        if (profile.getReadTimeoutMillis() > 0) {
+            builder.readTimeout(profile.getReadTimeoutMillis(), TimeUnit.MILLISECONDS);
+        }
+        if (profile.getSocketSendBufferSize() > 0 || profile.getSocketReceiveBufferSize() > 0) {
+            builder.socketFactory(new SocketBufferSocketFactory(profile.getSocketSendBufferSize(), profile.getSocketReceiveBufferSize()));
+        }
+        sharedClient = builder.build();
+
+        if (profile.getOrderLaneConnections() > 0) {
+            Dispatcher orderDispatcher = virtualThreads ? new Dispatcher(VirtualThreads.newExecutor("binance-okhttp-order-")) : new Dispatcher();
+            orderDispatcher.setMaxRequestsPerHost(profile.getOrderLaneConnections());
+            orderDispatcher.setMaxRequests(profile.getOrderLaneConnections());
+            orderClient = sharedClient.newBuilder().dispatcher(orderDispatcher)
+                    .connectionPool(new ConnectionPool(profile.getOrderLaneConnections(), profile.getKeepAliveMillis(), TimeUnit.MILLISECONDS))
+                    .build();
+        } else {
+            orderClient = null;
+        }
+        router = profile.getApiClusters().isEmpty() ? null : new ClusterRouter(BinanceApiConfig.getApiBaseUrl(),
+                profile.getApiClusters(), url -> ping(sharedClient, url), profile.getClusterProbeIntervalMillis(),
+                profile.getClusterProbeTimeoutMillis());
+        coalescer = profile.isCoalesceRequests() ? new RequestCoalescer() : null;
+        SharedRateLimitFile shared = profile.getSharedRateLimitFile() != null
+                ? new SharedRateLimitFile(profile.getSharedRateLimitFile()) : null;
+        if (profile.getRequestWeightLimit() <= 0) {
+            limiter = null;
+        } else if (shared != null) {
+            limiter = new RequestWeightLimiter(profile.getRequestWeightLimit(), shared.weightBucket());
+        } else {
+            limiter = new RequestWeightLimiter(profile.getRequestWeightLimit());
+        }
+        hedger = profile.getHedgingPolicy() != null ? new RequestHedger(profile.getHedgingPolicy(), limiter) : null;
+        if (profile.getOrderRateLimits().isEmpty()) {
+            governor = null;
+        } else if (shared != null) {
+            governor = new OrderRateGovernor(profile.getOrderRateLimits(), profile.getMaxOrderDelayMillis(),
+                    shared::orderWindows);
+        } else {
+            governor = new OrderRateGovernor(profile.getOrderRateLimits(), profile.getMaxOrderDelayMillis());
+        }
+        responseCache = profile.getResponseCachePolicy() != null ? new ResponseCache(profile.getResponseCachePolicy()) : null;
+        retrier = profile.getRetryPolicy() != null ? new RequestRetrier(profile.getRetryPolicy()) : null;
+        reconnectPolicy = profile.getReconnectPolicy();
+        dispatchPolicy = profile.getDispatchPolicy();
     }
 
     @Override
     public <S> S createService(Class<S> serviceClass) {
+        return createService(serviceClass, null);
+    }
+
+    @Override
+    public <S> S createService(Class<S> serviceClass, ApiAccount account) {
         Retrofit.Builder retrofitBuilder = new Retrofit.Builder().baseUrl(BinanceApiConfig.getApiBaseUrl())
-                .addConverterFactory(converterFactory);
+                .addConverterFactory(ApiServiceGenerator.converterFactory);
 
         // `adaptedClient` will use its own interceptor, but share thread pool etc with
         // the 'parent' client
@@ -43,7 +184,33 @@ public class BinanceApiServiceGenerator implements ApiGenerator {
         HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
         logging.setLevel(BinanceApiConstants.LOG_LEVEL);
         OkHttpClient adaptedClient = sharedClient.newBuilder().addInterceptor(interceptor).addInterceptor(logging).build();
-        retrofitBuilder.client(adaptedClient);
+        Call.Factory callFactory = adaptedClient;
+        if (orderClient != null) {
+            OkHttpClient adaptedOrderClient = orderClient.newBuilder().addInterceptor(interceptor).addInterceptor(logging).build();
+            callFactory = new OrderLaneCallFactory(adaptedOrderClient, adaptedClient);
+        }
+        if (account != null) {
+            callFactory = new AccountCallFactory(account, callFactory);
+        }
+        if (limiter != null) {
+            callFactory = limiter.wrap(callFactory);
+        }
+        if (governor != null) {
+            callFactory = governor.wrap(callFactory, account);
+        }
+        if (router != null) {
+            callFactory = router.wrap(callFactory);
+        }
+        if (retrier != null) {
+            callFactory = retrier.wrap(callFactory);
+        }
+        retrofitBuilder.callFactory(hedger != null ? hedger.wrap(callFactory) : callFactory);
+        if (responseCache != null) {
+            retrofitBuilder.addCallAdapterFactory(responseCache.callAdapterFactory());
+        }
+        if (coalescer != null) {
+            retrofitBuilder.addCallAdapterFactory(coalescer);
+        }
 
         Retrofit retrofit = retrofitBuilder.build();
         return retrofit.create(serviceClass);
@@ -51,8 +218,13 @@ public class BinanceApiServiceGenerator implements ApiGenerator {
 
     @Override
     public <T> T createTestnetService(Class<T> serviceClass) {
+        return createTestnetService(serviceClass, null);
+    }
+
+    @Override
+    public <T> T createTestnetService(Class<T> serviceClass, ApiAccount account) {
         Retrofit.Builder retrofitBuilder = new Retrofit.Builder().baseUrl(BinanceApiConfig.getTestnetBaseUrl())
-                .addConverterFactory(converterFactory);
+                .addConverterFactory(ApiServiceGenerator.converterFactory);
 
 
         // `adaptedClient` will use its own interceptor, but share thread pool etc with
@@ -60,7 +232,30 @@ public class BinanceApiServiceGenerator implements ApiGenerator {
         AuthenticationInterceptor interceptor = new AuthenticationInterceptor();
 
         OkHttpClient adaptedClient = sharedClient.newBuilder().addInterceptor(interceptor).build();
-        retrofitBuilder.client(adaptedClient);
+        Call.Factory callFactory = adaptedClient;
+        if (orderClient != null) {
+            OkHttpClient adaptedOrderClient = orderClient.newBuilder().addInterceptor(interceptor).build();
+            callFactory = new OrderLaneCallFactory(adaptedOrderClient, adaptedClient);
+        }
+        if (account != null) {
+            callFactory = new AccountCallFactory(account, callFactory);
+        }
+        if (limiter != null) {
+            callFactory = limiter.wrap(callFactory);
+        }
+        if (governor != null) {
+            callFactory = governor.wrap(callFactory, account);
+        }
+        if (retrier != null) {
+            callFactory = retrier.wrap(callFactory);
+        }
+        retrofitBuilder.callFactory(hedger != null ? hedger.wrap(callFactory) : callFactory);
+        if (responseCache != null) {
+            retrofitBuilder.addCallAdapterFactory(responseCache.callAdapterFactory());
+        }
+        if (coalescer != null) {
+            retrofitBuilder.addCallAdapterFactory(coalescer);
+        }
 
         Retrofit retrofit = retrofitBuilder.build();
         return retrofit.create(serviceClass);
@@ -68,13 +263,116 @@ public class BinanceApiServiceGenerator implements ApiGenerator {
 
     @Override
     public BinanceApiWebSocketClient createSocket() {
-        return new BinanceApiWebSocketClientImpl(sharedClient);
-
+        return track(dispatched(supervised(new BinanceApiWebSocketClientImpl(sharedClient))));
     }
 
     @Override
     public BinanceApiWebSocketClient createTestnetSocket() {
-        return new BinanceApiWebSocketClientImpl(sharedClient, true);
+        return track(dispatched(supervised(new BinanceApiWebSocketClientImpl(sharedClient, true))));
+    }
+
+    private BinanceApiWebSocketClient supervised(BinanceApiWebSocketClient client) {
+        return reconnectPolicy != null ? new BinanceApiWebSocketSupervisor(client, reconnectPolicy) : client;
+    }
+
+    private BinanceApiWebSocketClient dispatched(BinanceApiWebSocketClient client) {
+        return dispatchPolicy != null ? new BinanceApiWebSocketDispatcher(client, dispatchPolicy) : client;
+    }
+
+    private BinanceApiWebSocketClient track(BinanceApiWebSocketClient client) {
+        if (client instanceof Closeable) {
+            sockets.add((Closeable) client);
+        }
+        return client;
+    }
+
+    @Override
+    public ConnectionWarmer warmUp(int connectionsPerHost, long pingIntervalMillis) {
+        List<Supplier<CompletableFuture<?>>> lanes = new ArrayList<>();
+        String url = BinanceApiConfig.getApiBaseUrl() + "/api/v1/ping";
+        lanes.add(() -> ping(sharedClient, url));
+        if (orderClient != null) {
+            lanes.add(() -> ping(orderClient, url));
+        }
+        return new ConnectionWarmer(lanes, connectionsPerHost, pingIntervalMillis);
+    }
+
+    @Override
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * The client of the requests outside of the order lane.
+     */
+    OkHttpClient getSharedClient() {
+        return sharedClient;
+    }
+
+    /**
+     * The client of the order lane, or null when orders share the other requests' client.
+     */
+    OkHttpClient getOrderClient() {
+        return orderClient;
+    }
+
+    private static CompletableFuture<?> ping(OkHttpClient client, String url) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Request request = new Request.Builder().url(url).build();
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+                if (response.isSuccessful()) {
+                    future.complete(null);
+                } else {
+                    future.completeExceptionally(new IOException("HTTP " + response.code() + " from " + url));
+                }
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public void close() {
+        closeSockets();
+        sharedClient.dispatcher().executorService().shutdown();
+        sharedClient.connectionPool().evictAll();
+        if (orderClient != null) {
+            orderClient.dispatcher().executorService().shutdown();
+            orderClient.connectionPool().evictAll();
+        }
+        if (hedger != null) {
+            hedger.close();
+        }
+        if (router != null) {
+            router.close();
+        }
+        if (limiter != null) {
+            limiter.close();
+        }
+        if (governor != null) {
+            governor.close();
+        }
+        if (retrier != null) {
+            retrier.close();
+        }
+    }
+
+    private void closeSockets() {
+        for (Closeable socket : sockets) {
+            try {
+                socket.close();
+            } catch (IOException | RuntimeException e) {
+                log.debug("closing a web socket client: {}", e.toString());
+            }
+        }
+        sockets.clear();
     }
 
 }
@@ -11,6 +11,7 @@ import com.binance.api.client.domain.account.Pool;
 import com.binance.api.client.domain.account.SwapHistory;
 import com.binance.api.client.domain.account.SwapQuote;
 import com.binance.api.client.domain.account.SwapRecord;
+import com.binance.api.client.security.ApiAccount;
 import retrofit2.http.Header;
 
 /**
@@ -21,7 +22,15 @@ public class BinanceApiSwapRestClientImpl implements BinanceApiSwapRestClient {
     private final BinanceApiService binanceApiService;
 
     public BinanceApiSwapRestClientImpl() {
-        binanceApiService = ApiServiceGenerator.createService(BinanceApiService.class);
+        this(ApiServiceGenerator.getDefaultGenerator());
+    }
+
+    public BinanceApiSwapRestClientImpl(ApiGenerator generator) {
+        this(generator, null);
+    }
+
+    public BinanceApiSwapRestClientImpl(ApiGenerator generator, ApiAccount account) {
+        binanceApiService = generator.createService(BinanceApiService.class, account);
     }
 
     @Override
@@ -1,6 +1,7 @@
 package com.binance.api.client.impl;
 
 import java.io.Closeable;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,11 +17,14 @@ import com.binance.api.client.domain.event.TickerEvent;
 import com.binance.api.client.domain.event.TradeEvent;
 import com.binance.api.client.domain.event.UserDataUpdateEvent;
 import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.exception.BinanceHandshakeException;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
+import okhttp3.Response;
 import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
 
 /**
  * Binance API WebSocket client implementation using OkHttp.
@@ -30,6 +34,8 @@ public class BinanceApiWebSocketClientImpl implements BinanceApiWebSocketClient,
     private final OkHttpClient client;
     private final boolean testnet;
 
+    private CombinedStreamManager streamManager;
+
     public BinanceApiWebSocketClientImpl(OkHttpClient client) {
         this.client = client;
         this.testnet = false;
@@ -110,12 +116,38 @@ public class BinanceApiWebSocketClientImpl implements BinanceApiWebSocketClient,
         return createNewWebSocket(channel, new BinanceApiWebSocketListener<>(callback, TradeEvent.class));
     }
 
+    @Override
+    public <T> Closeable subscribe(String stream, Class<T> eventClass, BinanceApiCallback<T> callback) {
+        return streamManager().subscribe(stream, CombinedStreamManager.readerFor(eventClass), callback);
+    }
+
+    @Override
+    public <T> Closeable subscribe(String stream, TypeReference<T> eventType, BinanceApiCallback<T> callback) {
+        return streamManager().subscribe(stream, CombinedStreamManager.readerFor(eventType), callback);
+    }
+
+    private synchronized CombinedStreamManager streamManager() {
+        if (streamManager == null) {
+            streamManager = new CombinedStreamManager(this::openStream, (testnet)
+                    ? BinanceApiConfig.getTestnetCombinedStreamApiBaseUrl() : BinanceApiConfig.getCombinedStreamApiBaseUrl());
+        }
+        return streamManager;
+    }
+
     /**
-     * @deprecated This method is no longer functional. Please use the returned {@link Closeable} from any of the other methods to close the web socket.
+     * Closes the combined stream connections of the {@link #subscribe(String, Class, BinanceApiCallback)} methods and
+     * stops their timer. The web sockets opened by the other methods are closed with the {@link Closeable} they return.
      */
-    @Deprecated
     @Override
     public void close() {
+        CombinedStreamManager manager;
+        synchronized (this) {
+            manager = streamManager;
+            streamManager = null;
+        }
+        if (manager != null) {
+            manager.close();
+        }
     }
 
     private Closeable createNewWebSocket(String channel, BinanceApiWebSocketListener<?> listener) {
@@ -125,10 +157,46 @@ public class BinanceApiWebSocketClientImpl implements BinanceApiWebSocketClient,
         final WebSocket webSocket = client.newWebSocket(request, listener);
         return () -> {
             final int code = 1000;
-            listener.onClosing(webSocket, code, null);
+            listener.closing();
             webSocket.close(code, null);
             listener.onClosed(webSocket, code, null);
         };
     }
 
+    private StreamTransport.Connection openStream(String url, StreamTransport.Listener listener) {
+        final WebSocket webSocket = client.newWebSocket(new Request.Builder().url(url).build(), new WebSocketListener() {
+            @Override
+            public void onOpen(WebSocket webSocket, Response response) {
+                listener.onOpen();
+            }
+
+            @Override
+            public void onMessage(WebSocket webSocket, String text) {
+                listener.onMessage(text);
+            }
+
+            @Override
+            public void onClosing(WebSocket webSocket, int code, String reason) {
+                listener.onFailure(new IOException("Stream closed by server: " + code + " " + reason));
+                webSocket.close(code, null);
+            }
+
+            @Override
+            public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+                listener.onFailure(response != null ? new BinanceHandshakeException(response.code(), t) : t);
+            }
+        });
+        return new StreamTransport.Connection() {
+            @Override
+            public void send(String text) {
+                webSocket.send(text);
+            }
+
+            @Override
+            public void close() {
+                webSocket.close(1000, null);
+            }
+        };
+    }
+
 }
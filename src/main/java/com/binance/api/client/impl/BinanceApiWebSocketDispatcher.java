@@ -0,0 +1,163 @@
+package com.binance.api.client.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiWebSocketClient;
+import com.binance.api.client.config.DispatchPolicy;
+import com.binance.api.client.domain.event.AggTradeEvent;
+import com.binance.api.client.domain.event.BookTickerEvent;
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.event.TickerEvent;
+import com.binance.api.client.domain.event.TradeEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Web socket client handing the events of the streams of another one off to their callbacks through a
+ * {@link DispatchQueue} per subscription, according to a {@link DispatchPolicy}. The returned {@link Closeable} is the
+ * queue, which reports its depth.
+ */
+@Slf4j
+public class BinanceApiWebSocketDispatcher implements BinanceApiWebSocketClient, Closeable {
+
+  private final BinanceApiWebSocketClient delegate;
+
+  private final DispatchPolicy policy;
+
+  private final Executor executor;
+
+  /**
+   * Executor created by the dispatcher when the policy has none, or null.
+   */
+  private final ExecutorService ownExecutor;
+
+  private final Set<DispatchQueue<?>> queues = ConcurrentHashMap.newKeySet();
+
+  public BinanceApiWebSocketDispatcher(BinanceApiWebSocketClient delegate, DispatchPolicy policy) {
+    this.delegate = delegate;
+    this.policy = policy;
+    if (policy.getExecutor() != null) {
+      ownExecutor = null;
+      executor = policy.getExecutor();
+    } else {
+      ownExecutor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "binance-stream-dispatch");
+        thread.setDaemon(true);
+        return thread;
+      });
+      executor = ownExecutor;
+    }
+  }
+
+  @Override
+  public Closeable onDepthEvent(String symbols, BinanceApiCallback<DepthEvent> callback) {
+    return dispatch(symbols + "@depth", cb -> delegate.onDepthEvent(symbols, cb), callback);
+  }
+
+  @Override
+  public Closeable onCandlestickEvent(String symbols, CandlestickInterval interval, BinanceApiCallback<CandlestickEvent> callback) {
+    return dispatch(symbols + "@kline_" + interval.getIntervalId(),
+        cb -> delegate.onCandlestickEvent(symbols, interval, cb), callback);
+  }
+
+  @Override
+  public Closeable onAggTradeEvent(String symbols, BinanceApiCallback<AggTradeEvent> callback) {
+    return dispatch(symbols + "@aggTrade", cb -> delegate.onAggTradeEvent(symbols, cb), callback);
+  }
+
+  @Override
+  public Closeable onTradeEvent(String symbols, BinanceApiCallback<TradeEvent> callback) {
+    return dispatch(symbols + "@trade", cb -> delegate.onTradeEvent(symbols, cb), callback);
+  }
+
+  @Override
+  public Closeable onUserDataUpdateEvent(String listenKey, BinanceApiCallback<UserDataUpdateEvent> callback) {
+    // the listen key is a credential of sorts, and is kept out of the label
+    return dispatch("userData", cb -> delegate.onUserDataUpdateEvent(listenKey, cb), callback);
+  }
+
+  @Override
+  public Closeable onTickerEvent(String symbols, BinanceApiCallback<TickerEvent> callback) {
+    return dispatch(symbols + "@ticker", cb -> delegate.onTickerEvent(symbols, cb), callback);
+  }
+
+  @Override
+  public Closeable onAllMarketTickersEvent(BinanceApiCallback<List<TickerEvent>> callback) {
+    return dispatch("!ticker@arr", delegate::onAllMarketTickersEvent, callback);
+  }
+
+  @Override
+  public Closeable onBookTickerEvent(String symbols, BinanceApiCallback<BookTickerEvent> callback) {
+    return dispatch(symbols + "@bookTicker", cb -> delegate.onBookTickerEvent(symbols, cb), callback);
+  }
+
+  @Override
+  public Closeable onAllBookTickersEvent(BinanceApiCallback<BookTickerEvent> callback) {
+    return dispatch("!bookTicker", delegate::onAllBookTickersEvent, callback);
+  }
+
+  @Override
+  public <T> Closeable subscribe(String stream, Class<T> eventClass, BinanceApiCallback<T> callback) {
+    return dispatch(stream, cb -> delegate.subscribe(stream, eventClass, cb), callback);
+  }
+
+  @Override
+  public <T> Closeable subscribe(String stream, TypeReference<T> eventType, BinanceApiCallback<T> callback) {
+    return dispatch(stream, cb -> delegate.subscribe(stream, eventType, cb), callback);
+  }
+
+  private <T> Closeable dispatch(String stream, Function<BinanceApiCallback<T>, Closeable> open,
+      BinanceApiCallback<T> callback) {
+    DispatchQueue<T> queue = new DispatchQueue<>(stream, callback, policy, executor);
+    queue.setSubscription(open.apply(queue));
+    queues.add(queue);
+    return queue;
+  }
+
+  /**
+   * @return the queues of the open subscriptions, whose depth tells how far behind their callbacks are
+   */
+  public List<DispatchQueue<?>> getQueues() {
+    queues.removeIf(DispatchQueue::isClosed);
+    return new ArrayList<>(queues);
+  }
+
+  /**
+   * Closes every subscription, stops the threads of the dispatcher, and closes the client it wraps.
+   */
+  @Override
+  public void close() {
+    for (DispatchQueue<?> queue : queues) {
+      try {
+        queue.close();
+      } catch (IOException | RuntimeException e) {
+        log.debug("closing a dispatched stream: {}", e.toString());
+      }
+    }
+    queues.clear();
+    if (ownExecutor != null) {
+      ownExecutor.shutdownNow();
+    }
+    if (delegate instanceof Closeable) {
+      try {
+        ((Closeable) delegate).close();
+      } catch (IOException | RuntimeException e) {
+        log.debug("closing the dispatched client: {}", e.toString());
+      }
+    }
+  }
+}
@@ -5,6 +5,7 @@ import java.io.IOException;
 import com.binance.api.client.BinanceApiCallback;
 import com.binance.api.client.domain.general.LotSizeFilter;
 import com.binance.api.client.exception.BinanceApiException;
+import com.binance.api.client.exception.BinanceHandshakeException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
@@ -24,7 +25,7 @@ public class BinanceApiWebSocketListener<T> extends WebSocketListener {
 
   private final ObjectReader objectReader;
 
-  private boolean closing = false;
+  private volatile boolean closing = false;
 
   public BinanceApiWebSocketListener(BinanceApiCallback<T> callback, Class<T> eventClass) {
     this.callback = callback;
@@ -46,15 +47,32 @@ public class BinanceApiWebSocketListener<T> extends WebSocketListener {
     }
   }
 
+  /**
+   * Marks the web socket as closed by the client, which is not a failure.
+   */
+  void closing() {
+    closing = true;
+  }
+
+  /**
+   * A close initiated by the server, e.g. after 24 hours, is a failure of the stream.
+   */
   @Override
   public void onClosing(final WebSocket webSocket, final int code, final String reason) {
-    closing = true;
+    if (!closing) {
+      closing = true;
+      callback.onFailure(new IOException("Web socket closed by server: " + code + " " + reason));
+      webSocket.close(code, null);
+    }
   }
 
+  /**
+   * A failure with a response is a rejected handshake.
+   */
   @Override
   public void onFailure(WebSocket webSocket, Throwable t, Response response) {
     if (!closing) {
-      callback.onFailure(t);
+      callback.onFailure(response != null ? new BinanceHandshakeException(response.code(), t) : t);
     }
   }
 }
\ No newline at end of file
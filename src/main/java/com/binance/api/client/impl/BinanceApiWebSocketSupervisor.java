@@ -0,0 +1,453 @@
+package com.binance.api.client.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiStreamCallback;
+import com.binance.api.client.BinanceApiWebSocketClient;
+import com.binance.api.client.config.ReconnectPolicy;
+import com.binance.api.client.domain.event.AggTradeEvent;
+import com.binance.api.client.domain.event.BookTickerEvent;
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.event.TickerEvent;
+import com.binance.api.client.domain.event.TradeEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.exception.BinanceHandshakeException;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Web socket client reopening the streams of another one when they fail or are closed by the server, and replacing
+ * their web sockets before the exchange closes them, according to a {@link ReconnectPolicy}. Every stream is
+ * supervised on its own: the returned {@link Closeable} ends the supervision along with the stream.
+ * <p>
+ * Failures are not passed to {@link BinanceApiCallback#onFailure(Throwable)} since the stream is reopened; callbacks
+ * implementing {@link BinanceApiStreamCallback} are told of the gap instead. Only the failure of a stream given up by
+ * the policy reaches <code>onFailure</code>, after which the stream is closed.
+ */
+@Slf4j
+public class BinanceApiWebSocketSupervisor implements BinanceApiWebSocketClient, Closeable {
+
+  private final BinanceApiWebSocketClient delegate;
+
+  private final ReconnectPolicy policy;
+
+  private final ScheduledExecutorService timer;
+
+  private final Set<SupervisedStream<?>> streams = ConcurrentHashMap.newKeySet();
+
+  public BinanceApiWebSocketSupervisor(BinanceApiWebSocketClient delegate, ReconnectPolicy policy) {
+    this(delegate, policy, Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "binance-websocket-supervisor");
+      thread.setDaemon(true);
+      return thread;
+    }));
+  }
+
+  /**
+   * @param timer scheduler of the reconnections and rotations, shut down with the supervisor
+   */
+  BinanceApiWebSocketSupervisor(BinanceApiWebSocketClient delegate, ReconnectPolicy policy,
+      ScheduledExecutorService timer) {
+    this.delegate = delegate;
+    this.policy = policy;
+    this.timer = timer;
+  }
+
+  @Override
+  public Closeable onDepthEvent(String symbols, BinanceApiCallback<DepthEvent> callback) {
+    return supervise(cb -> delegate.onDepthEvent(symbols, cb), callback);
+  }
+
+  @Override
+  public Closeable onCandlestickEvent(String symbols, CandlestickInterval interval, BinanceApiCallback<CandlestickEvent> callback) {
+    return supervise(cb -> delegate.onCandlestickEvent(symbols, interval, cb), callback);
+  }
+
+  @Override
+  public Closeable onAggTradeEvent(String symbols, BinanceApiCallback<AggTradeEvent> callback) {
+    return supervise(cb -> delegate.onAggTradeEvent(symbols, cb), callback);
+  }
+
+  @Override
+  public Closeable onTradeEvent(String symbols, BinanceApiCallback<TradeEvent> callback) {
+    return supervise(cb -> delegate.onTradeEvent(symbols, cb), callback);
+  }
+
+  @Override
+  public Closeable onUserDataUpdateEvent(String listenKey, BinanceApiCallback<UserDataUpdateEvent> callback) {
+    return supervise(cb -> delegate.onUserDataUpdateEvent(listenKey, cb), callback);
+  }
+
+  @Override
+  public Closeable onTickerEvent(String symbols, BinanceApiCallback<TickerEvent> callback) {
+    return supervise(cb -> delegate.onTickerEvent(symbols, cb), callback);
+  }
+
+  @Override
+  public Closeable onAllMarketTickersEvent(BinanceApiCallback<List<TickerEvent>> callback) {
+    return supervise(delegate::onAllMarketTickersEvent, callback);
+  }
+
+  @Override
+  public Closeable onBookTickerEvent(String symbols, BinanceApiCallback<BookTickerEvent> callback) {
+    return supervise(cb -> delegate.onBookTickerEvent(symbols, cb), callback);
+  }
+
+  @Override
+  public Closeable onAllBookTickersEvent(BinanceApiCallback<BookTickerEvent> callback) {
+    return supervise(delegate::onAllBookTickersEvent, callback);
+  }
+
+  @Override
+  public <T> Closeable subscribe(String stream, Class<T> eventClass, BinanceApiCallback<T> callback) {
+    return supervise(cb -> delegate.subscribe(stream, eventClass, cb), callback, false);
+  }
+
+  @Override
+  public <T> Closeable subscribe(String stream, TypeReference<T> eventType, BinanceApiCallback<T> callback) {
+    return supervise(cb -> delegate.subscribe(stream, eventType, cb), callback, false);
+  }
+
+  private <T> Closeable supervise(Function<BinanceApiCallback<T>, Closeable> open, BinanceApiCallback<T> callback) {
+    return supervise(open, callback, true);
+  }
+
+  /**
+   * @param rotated whether the web sockets of the stream should be rotated; the combined stream connections of
+   *                {@link #subscribe} are rotated by the client
+   */
+  private <T> Closeable supervise(Function<BinanceApiCallback<T>, Closeable> open, BinanceApiCallback<T> callback,
+      boolean rotated) {
+    SupervisedStream<T> stream = new SupervisedStream<>(open, callback, rotated);
+    streams.add(stream);
+    stream.connect();
+    return stream;
+  }
+
+  /**
+   * @return the delay before reconnecting after <code>failures</code> consecutive failures, in milliseconds
+   */
+  long backoff(int failures) {
+    long backoff = Math.min(policy.getMaxBackoffMillis(), policy.getInitialBackoffMillis() << Math.min(failures, 20));
+    // jitter spreads the reconnections of the streams which failed together
+    return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+  }
+
+  /**
+   * @param failures consecutive failures of the stream, including the last one
+   * @return whether a stream should not be opened again after <code>cause</code>
+   */
+  boolean givesUp(int failures, Throwable cause) {
+    if (policy.getMaxAttempts() > 0 && failures > policy.getMaxAttempts()) {
+      return true;
+    }
+    for (Throwable t = cause; t != null; t = t.getCause()) {
+      if (t instanceof BinanceHandshakeException) {
+        int status = ((BinanceHandshakeException) t).getStatusCode();
+        // 418 and 429 are the connection rate limits, lifted after a while
+        return status >= 400 && status < 500 && status != 418 && status != 429;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Closes every supervised stream, and the supervised client.
+   */
+  @Override
+  public void close() {
+    for (SupervisedStream<?> stream : streams) {
+      stream.close();
+    }
+    timer.shutdownNow();
+    if (delegate instanceof Closeable) {
+      closeQuietly((Closeable) delegate);
+    }
+  }
+
+  /**
+   * @return the scheduled task, or null when the supervisor is closed
+   */
+  private ScheduledFuture<?> schedule(Runnable task, long delayMillis) {
+    try {
+      return timer.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      log.debug("supervisor closed, not scheduling: {}", e.toString());
+      return null;
+    }
+  }
+
+  private static void closeQuietly(Closeable socket) {
+    if (socket != null) {
+      try {
+        socket.close();
+      } catch (IOException | RuntimeException e) {
+        log.debug("closing a web socket: {}", e.toString());
+      }
+    }
+  }
+
+  /**
+   * A stream opened again, through a new attempt, whenever the current one fails, and replaced by a new attempt
+   * before the exchange closes it.
+   */
+  private final class SupervisedStream<T> implements Closeable {
+
+    private final Function<BinanceApiCallback<T>, Closeable> open;
+
+    private final BinanceApiCallback<T> callback;
+
+    private final boolean rotated;
+
+    private volatile Attempt current;
+
+    /**
+     * Attempt replacing the current one, delivering the stream along with it, or null.
+     */
+    private volatile Attempt replacement;
+
+    /**
+     * Filters the events of the current attempt and of its replacement while they overlap.
+     */
+    private volatile OverlapFilter overlap;
+
+    private ScheduledFuture<?> rotation;
+
+    private boolean closed;
+
+    /**
+     * Consecutive failures, reset by the first event of an attempt.
+     */
+    private final AtomicInteger failures = new AtomicInteger();
+
+    /**
+     * @param rotated whether the web sockets of the stream should be rotated
+     */
+    SupervisedStream(Function<BinanceApiCallback<T>, Closeable> open, BinanceApiCallback<T> callback, boolean rotated) {
+      this.open = open;
+      this.callback = callback;
+      this.rotated = rotated;
+    }
+
+    void connect() {
+      Attempt attempt;
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        attempt = new Attempt();
+        current = attempt;
+      }
+      if (!open(attempt)) {
+        return;
+      }
+      scheduleRotation(policy.getRotationIntervalMillis());
+    }
+
+    /**
+     * Tells the callback that events were missed, before the stream is opened again so that it can prepare for the
+     * events of the new web socket, e.g. by buffering them until it gets a snapshot.
+     */
+    private void signalGap(Throwable cause) {
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+      }
+      if (callback instanceof BinanceApiStreamCallback) {
+        ((BinanceApiStreamCallback<T>) callback).onGap(cause);
+      }
+    }
+
+    /**
+     * @return whether the web socket of <code>attempt</code> was opened and is still in use
+     */
+    private boolean open(Attempt attempt) {
+      Closeable socket;
+      try {
+        socket = open.apply(attempt);
+      } catch (Exception e) {
+        // including the connection failures thrown by the Netty client
+        attempt.onFailure(e);
+        return false;
+      }
+      synchronized (this) {
+        attempt.socket = socket;
+        if (current != attempt && replacement != attempt) {
+          // failed or closed while opening
+          closeQuietly(socket);
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private synchronized void scheduleRotation(long delayMillis) {
+      if (rotated && delayMillis > 0 && !closed) {
+        if (rotation != null) {
+          rotation.cancel(false);
+        }
+        // jitter spreads the rotations of the streams opened together
+        rotation = schedule(this::rotate, delayMillis - ThreadLocalRandom.current().nextLong(delayMillis / 20 + 1));
+      }
+    }
+
+    /**
+     * Opens a replacement of the current attempt, which it replaces after the overlap.
+     */
+    private void rotate() {
+      Attempt next;
+      synchronized (this) {
+        if (closed || current == null || replacement != null) {
+          return;
+        }
+        next = new Attempt();
+        overlap = new OverlapFilter(next);
+        replacement = next;
+      }
+      if (open(next)) {
+        schedule(() -> handOver(next), policy.getRotationOverlapMillis());
+      }
+    }
+
+    private void handOver(Attempt next) {
+      Attempt replaced;
+      synchronized (this) {
+        if (replacement != next) {
+          return;
+        }
+        // delivers what the replacement held back, before its events go straight through
+        overlap.handOver(callback);
+        replaced = current;
+        current = next;
+        replacement = null;
+        overlap = null;
+      }
+      closeQuietly(replaced.socket);
+      scheduleRotation(policy.getRotationIntervalMillis());
+    }
+
+    private void deliver(Attempt from, T event) {
+      OverlapFilter filter = overlap;
+      if (filter != null && (from == current || from == replacement)) {
+        filter.deliver(event, from, callback);
+      } else if (from == current) {
+        callback.onResponse(event);
+      }
+    }
+
+    /**
+     * Closes the stream, and passes its last failure to the callback.
+     */
+    private void giveUp(Throwable cause) {
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+      }
+      log.warn("web socket failed, giving up: {}", cause.toString());
+      close();
+      callback.onFailure(cause);
+    }
+
+    @Override
+    public void close() {
+      Attempt attempt;
+      Attempt next;
+      synchronized (this) {
+        closed = true;
+        attempt = current;
+        next = replacement;
+        current = null;
+        replacement = null;
+        overlap = null;
+        if (rotation != null) {
+          rotation.cancel(false);
+        }
+      }
+      streams.remove(this);
+      if (attempt != null) {
+        closeQuietly(attempt.socket);
+      }
+      if (next != null) {
+        closeQuietly(next.socket);
+      }
+    }
+
+    /**
+     * Callback of one web socket, ignored once it is no longer the current one or its replacement.
+     */
+    private final class Attempt implements BinanceApiCallback<T> {
+
+      private Closeable socket;
+
+      @Override
+      public void onResponse(T response) {
+        if (failures.get() != 0 && current == this) {
+          failures.set(0);
+        }
+        deliver(this, response);
+      }
+
+      @Override
+      public void onFailure(Throwable cause) {
+        Closeable failed;
+        boolean replaced = false;
+        synchronized (SupervisedStream.this) {
+          if (this == replacement) {
+            // keep the current attempt, and try again later
+            replacement = null;
+            overlap = null;
+          } else if (this == current && replacement != null) {
+            // already replaced
+            current = replacement;
+            replacement = null;
+            overlap = null;
+            replaced = true;
+          } else if (this == current) {
+            current = null;
+          } else {
+            return;
+          }
+          failed = socket;
+        }
+        closeQuietly(failed);
+        if (replaced) {
+          scheduleRotation(policy.getRotationIntervalMillis());
+          return;
+        }
+        int consecutive = failures.incrementAndGet();
+        long delay = backoff(consecutive - 1);
+        if (current != null && givesUp(consecutive, cause)) {
+          // the current web socket delivers until the server closes it
+          log.warn("replacement web socket failed, no longer rotating: {}", cause.toString());
+        } else if (current != null) {
+          log.warn("replacement web socket failed, rotating again in {} ms: {}", delay, cause.toString());
+          scheduleRotation(delay);
+        } else if (givesUp(consecutive, cause)) {
+          giveUp(cause);
+        } else {
+          log.warn("web socket failed, reconnecting in {} ms: {}", delay, cause.toString());
+          signalGap(cause);
+          schedule(SupervisedStream.this::connect, delay);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package com.binance.api.client.impl;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+/**
+ * Steers REST requests to the fastest healthy API cluster (e.g. api, api1, api2, api3). Every cluster is probed
+ * with <code>/api/v1/ping</code> at a fixed interval; its round-trip time is smoothed with an exponential moving
+ * average, and a cluster whose probe fails or times out is taken out of rotation until a probe succeeds again.
+ * While no cluster is healthy, requests keep their original host.
+ */
+@Slf4j
+class ClusterRouter implements Closeable {
+
+  /**
+   * Weight of the latest sample in the smoothed round-trip time.
+   */
+  private static final double SMOOTHING = 0.3;
+
+  private static final String PING_PATH = "/api/v1/ping";
+
+  private final HttpUrl defaultBaseUrl;
+  private final List<Cluster> clusters = new ArrayList<>();
+  private final Function<String, CompletableFuture<?>> probe;
+  private final long probeTimeoutNanos;
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * Cluster new requests are sent to, or null to keep the host of the request.
+   */
+  private volatile Cluster current;
+
+  /**
+   * @param defaultBaseUrl      base URL of the requests to route; requests to other hosts are left untouched
+   * @param clusterBaseUrls     base URLs of the candidate clusters
+   * @param probe               sends a GET to the given URL, completing when the response is received
+   * @param probeIntervalMillis delay between two rounds of probes
+   * @param probeTimeoutMillis  time after which an unanswered probe takes its cluster out of rotation
+   */
+  ClusterRouter(String defaultBaseUrl, List<String> clusterBaseUrls, Function<String, CompletableFuture<?>> probe,
+      long probeIntervalMillis, long probeTimeoutMillis) {
+    this.defaultBaseUrl = HttpUrl.parse(defaultBaseUrl);
+    for (String clusterBaseUrl : clusterBaseUrls) {
+      clusters.add(new Cluster(HttpUrl.parse(clusterBaseUrl)));
+    }
+    this.probe = probe;
+    this.probeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(probeTimeoutMillis);
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "binance-cluster-router");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::probeAll, 0, probeIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Wraps a call factory so that requests to the default API host are sent to the current cluster.
+   */
+  Call.Factory wrap(Call.Factory delegate) {
+    return request -> delegate.newCall(route(request));
+  }
+
+  Request route(Request request) {
+    Cluster cluster = current;
+    HttpUrl url = request.url();
+    if (cluster == null || !url.host().equals(defaultBaseUrl.host()) || url.port() != defaultBaseUrl.port()
+        || cluster.baseUrl.host().equals(url.host()) && cluster.baseUrl.port() == url.port()) {
+      return request;
+    }
+    return request.newBuilder().url(url.newBuilder()
+        .scheme(cluster.baseUrl.scheme())
+        .host(cluster.baseUrl.host())
+        .port(cluster.baseUrl.port())
+        .build()).build();
+  }
+
+  /**
+   * @return base URL of the cluster new requests are sent to, or null while no cluster is healthy
+   */
+  HttpUrl currentBaseUrl() {
+    Cluster cluster = current;
+    return cluster != null ? cluster.baseUrl : null;
+  }
+
+  private void probeAll() {
+    for (Cluster cluster : clusters) {
+      long start = System.nanoTime();
+      synchronized (cluster) {
+        if (cluster.probing) {
+          if (cluster.healthy && start - cluster.probeStart > probeTimeoutNanos) {
+            log.warn("API cluster {} did not answer within {} ms, failing over", cluster.baseUrl.host(),
+                TimeUnit.NANOSECONDS.toMillis(probeTimeoutNanos));
+            cluster.healthy = false;
+          }
+          continue;
+        }
+        cluster.probing = true;
+        cluster.probeStart = start;
+      }
+      CompletableFuture<?> ping;
+      try {
+        ping = probe.apply(cluster.baseUrl.resolve(PING_PATH).toString());
+      } catch (RuntimeException e) {
+        onProbe(cluster, start, e);
+        continue;
+      }
+      ping.whenComplete((response, error) -> onProbe(cluster, start, error));
+    }
+    select();
+  }
+
+  private void onProbe(Cluster cluster, long start, Throwable error) {
+    synchronized (cluster) {
+      cluster.probing = false;
+      if (error == null) {
+        double rtt = System.nanoTime() - start;
+        cluster.rttNanos = cluster.rttNanos < 0 ? rtt : SMOOTHING * rtt + (1 - SMOOTHING) * cluster.rttNanos;
+        cluster.healthy = true;
+      } else {
+        if (cluster.healthy) {
+          log.warn("API cluster {} is unreachable, failing over", cluster.baseUrl.host(), error);
+        }
+        cluster.healthy = false;
+      }
+    }
+    select();
+  }
+
+  private synchronized void select() {
+    Cluster fastest = null;
+    double fastestRtt = Double.MAX_VALUE;
+    for (Cluster cluster : clusters) {
+      synchronized (cluster) {
+        if (cluster.healthy && cluster.rttNanos < fastestRtt) {
+          fastest = cluster;
+          fastestRtt = cluster.rttNanos;
+        }
+      }
+    }
+    if (fastest != current) {
+      log.info("routing API requests to {}", fastest != null ? fastest.baseUrl.host() : defaultBaseUrl.host());
+      current = fastest;
+    }
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  private static class Cluster {
+
+    private final HttpUrl baseUrl;
+    private boolean probing;
+    private long probeStart;
+    private boolean healthy;
+    private double rttNanos = -1;
+
+    Cluster(HttpUrl baseUrl) {
+      this.baseUrl = baseUrl;
+    }
+  }
+}
@@ -0,0 +1,615 @@
+package com.binance.api.client.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.exception.BinanceApiException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Multiplexes stream subscriptions over combined stream connections (<code>/stream?streams=</code>), whose messages
+ * are dispatched to the subscribers of their <code>stream</code> field.
+ * <p>
+ * Every connection carries up to {@link #MAX_STREAMS_PER_CONNECTION} streams, further streams are sharded over new
+ * connections. Streams are added to and removed from an open connection with <code>SUBSCRIBE</code> and
+ * <code>UNSUBSCRIBE</code> messages, sent no more often than the exchange accepts them: the subscriptions made in the
+ * meantime are batched into one message, and a stream unsubscribed and subscribed again before it is sent is never
+ * interrupted. A connection is closed once its last stream is unsubscribed.
+ * <p>
+ * Since the exchange closes every connection after 24 hours, connections are replaced before: a new connection is
+ * opened on the same streams, and the old one is closed once both have delivered them for a while, the events received
+ * on both being delivered once (see {@link OverlapFilter}).
+ */
+@Slf4j
+class CombinedStreamManager {
+
+  /**
+   * Streams accepted by the exchange on one connection.
+   */
+  static final int MAX_STREAMS_PER_CONNECTION = 1024;
+
+  /**
+   * The exchange accepts 5 messages per second on a connection, pongs included: one of them is left for the pongs.
+   */
+  static final long CONTROL_MESSAGE_INTERVAL_MILLIS = 250L;
+
+  /**
+   * Age at which a connection is replaced.
+   */
+  static final long ROTATION_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(23);
+
+  /**
+   * Time during which a connection and its replacement both deliver its streams.
+   */
+  static final long ROTATION_OVERLAP_MILLIS = 10_000L;
+
+  /**
+   * Streams beyond this URL length are subscribed by message once the connection is open.
+   */
+  private static final int MAX_URL_LENGTH = 2048;
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  private static final Subscription<?>[] NO_SUBSCRIPTIONS = new Subscription<?>[0];
+
+  private final StreamTransport transport;
+
+  private final String baseUrl;
+
+  private final int maxStreamsPerConnection;
+
+  private final long controlMessageIntervalMillis;
+
+  private final long rotationIntervalMillis;
+
+  private final long rotationOverlapMillis;
+
+  private final ScheduledExecutorService timer;
+
+  private final Map<String, Stream> streams = new ConcurrentHashMap<>();
+
+  /**
+   * Guarded by this manager, as is the state of every connection.
+   */
+  private final List<Connection> connections = new ArrayList<>();
+
+  private int nextRequestId = 1;
+
+  /**
+   * @param baseUrl URL of the combined stream endpoint, e.g. <code>wss://stream.binance.com:9443/stream</code>
+   */
+  CombinedStreamManager(StreamTransport transport, String baseUrl) {
+    this(transport, baseUrl, MAX_STREAMS_PER_CONNECTION, CONTROL_MESSAGE_INTERVAL_MILLIS, ROTATION_INTERVAL_MILLIS,
+        ROTATION_OVERLAP_MILLIS, Executors.newSingleThreadScheduledExecutor(r -> {
+          Thread thread = new Thread(r, "binance-stream-manager");
+          thread.setDaemon(true);
+          return thread;
+        }));
+  }
+
+  /**
+   * @param timer scheduler of the control messages and rotations, shut down with the manager
+   */
+  CombinedStreamManager(StreamTransport transport, String baseUrl, int maxStreamsPerConnection,
+      long controlMessageIntervalMillis, long rotationIntervalMillis, long rotationOverlapMillis,
+      ScheduledExecutorService timer) {
+    this.transport = transport;
+    this.baseUrl = baseUrl;
+    this.maxStreamsPerConnection = maxStreamsPerConnection;
+    this.controlMessageIntervalMillis = controlMessageIntervalMillis;
+    this.rotationIntervalMillis = rotationIntervalMillis;
+    this.rotationOverlapMillis = rotationOverlapMillis;
+    this.timer = timer;
+  }
+
+  static ObjectReader readerFor(Class<?> eventClass) {
+    return mapper.readerFor(eventClass);
+  }
+
+  static ObjectReader readerFor(TypeReference<?> eventType) {
+    return mapper.readerFor(eventType);
+  }
+
+  /**
+   * Subscribes <code>callback</code> to <code>stream</code>, which is shared by all its subscribers.
+   *
+   * @return a {@link Closeable} ending the subscription
+   */
+  <T> Closeable subscribe(String stream, ObjectReader reader, BinanceApiCallback<T> callback) {
+    Subscription<T> subscription = new Subscription<>(reader, callback);
+    Stream subscribed;
+    synchronized (this) {
+      subscribed = streams.get(stream);
+      if (subscribed == null) {
+        Connection connection = connectionFor(stream);
+        subscribed = new Stream(connection);
+        streams.put(stream, subscribed);
+        connection.wanted.add(stream);
+        connection.schedule();
+      }
+      subscribed.add(subscription);
+    }
+    final Stream unsubscribed = subscribed;
+    return () -> unsubscribe(stream, unsubscribed, subscription);
+  }
+
+  private synchronized void unsubscribe(String name, Stream stream, Subscription<?> subscription) {
+    if (stream.remove(subscription) && stream.subscriptions.length == 0 && streams.remove(name, stream)) {
+      stream.connection.wanted.remove(name);
+      stream.connection.schedule();
+    }
+  }
+
+  /**
+   * @return the connection still carrying <code>stream</code> if it was just unsubscribed, else the first one with
+   * room left
+   */
+  private Connection connectionFor(String stream) {
+    Connection first = null;
+    for (Connection connection : connections) {
+      if (connection.wanted.size() < maxStreamsPerConnection) {
+        if (connection.live.contains(stream)) {
+          return connection;
+        }
+        if (first == null) {
+          first = connection;
+        }
+      }
+    }
+    if (first == null) {
+      first = new Connection();
+      connections.add(first);
+    }
+    return first;
+  }
+
+  /**
+   * @return the number of open or opening connections
+   */
+  synchronized int getConnectionCount() {
+    return connections.size();
+  }
+
+  private void schedule(Runnable task, long delayMillis) {
+    try {
+      timer.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      log.debug("stream manager closed, not scheduling: {}", e.toString());
+    }
+  }
+
+  /**
+   * Closes every connection, without notifying the subscribers, and stops the timer of the manager.
+   */
+  synchronized void close() {
+    for (Connection connection : new ArrayList<>(connections)) {
+      connection.close();
+    }
+    streams.clear();
+    timer.shutdownNow();
+  }
+
+  /**
+   * Dispatches the <code>data</code> of a stream message received on <code>connection</code> to its subscribers.
+   */
+  private void dispatch(Connection connection, String name, JsonParser parser) throws IOException {
+    Stream stream = name != null ? streams.get(name) : null;
+    Subscription<?>[] subscriptions = stream != null ? stream.subscriptions : NO_SUBSCRIPTIONS;
+    boolean replaced = stream != null && stream.connection != connection;
+    if (replaced && !stream.rotating) {
+      // a connection the stream has left
+      subscriptions = NO_SUBSCRIPTIONS;
+    }
+    if (subscriptions.length == 1) {
+      // read straight from the message, without a tree
+      subscriptions[0].deliver(parser, connection);
+    } else if (subscriptions.length == 0) {
+      parser.skipChildren();
+    } else {
+      JsonNode data = parser.readValueAsTree();
+      for (Subscription<?> subscription : subscriptions) {
+        subscription.deliver(data, connection);
+      }
+    }
+  }
+
+  /**
+   * Moves the streams of <code>replaced</code> to a new connection, and closes it after the overlap.
+   */
+  private synchronized void rotate(Connection replaced) {
+    if (replaced.closed || replaced.wanted.isEmpty()) {
+      return;
+    }
+    Connection next = new Connection();
+    connections.remove(replaced);
+    connections.add(next);
+    List<Stream> moved = new ArrayList<>();
+    for (String name : replaced.wanted) {
+      Stream stream = streams.get(name);
+      if (stream != null && stream.connection == replaced) {
+        next.wanted.add(name);
+        stream.connection = next;
+        stream.overlap(next);
+        moved.add(stream);
+      }
+    }
+    next.schedule();
+    schedule(() -> handOver(replaced, moved), rotationOverlapMillis);
+  }
+
+  private synchronized void handOver(Connection replaced, List<Stream> moved) {
+    for (Stream stream : moved) {
+      stream.endOverlap();
+    }
+    if (!replaced.closed) {
+      replaced.close();
+    }
+  }
+
+  /**
+   * Fails the subscriptions of <code>names</code> and forgets these streams.
+   */
+  private void fail(Connection connection, Set<String> names, Throwable cause) {
+    List<Subscription<?>> failed = new ArrayList<>();
+    synchronized (this) {
+      for (String name : names) {
+        Stream stream = streams.get(name);
+        if (stream != null && stream.connection == connection) {
+          streams.remove(name);
+          failed.addAll(Arrays.asList(stream.subscriptions));
+        }
+        connection.wanted.remove(name);
+        connection.live.remove(name);
+      }
+    }
+    for (Subscription<?> subscription : failed) {
+      subscription.callback.onFailure(cause);
+    }
+  }
+
+  /**
+   * A stream and its subscribers, which are copied on write for the dispatching thread.
+   */
+  private static final class Stream {
+
+    private volatile Connection connection;
+
+    /**
+     * Whether the stream is delivered by both its previous and its current connection.
+     */
+    private volatile boolean rotating;
+
+    private volatile Subscription<?>[] subscriptions = NO_SUBSCRIPTIONS;
+
+    Stream(Connection connection) {
+      this.connection = connection;
+    }
+
+    void add(Subscription<?> subscription) {
+      if (rotating) {
+        subscription.overlap = new OverlapFilter(connection);
+      }
+      Subscription<?>[] added = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+      added[subscriptions.length] = subscription;
+      subscriptions = added;
+    }
+
+    boolean remove(Subscription<?> subscription) {
+      List<Subscription<?>> remaining = new ArrayList<>(Arrays.asList(subscriptions));
+      if (!remaining.remove(subscription)) {
+        return false;
+      }
+      subscriptions = remaining.toArray(NO_SUBSCRIPTIONS);
+      return true;
+    }
+
+    /**
+     * @param next connection replacing the current one
+     */
+    void overlap(Connection next) {
+      for (Subscription<?> subscription : subscriptions) {
+        subscription.overlap = new OverlapFilter(next);
+      }
+      rotating = true;
+    }
+
+    /**
+     * Hands the stream over to its new connection. The filters stay, letting its events through, so that an event of
+     * the previous connection still being dispatched is dropped.
+     */
+    void endOverlap() {
+      rotating = false;
+      for (Subscription<?> subscription : subscriptions) {
+        subscription.handOver();
+      }
+    }
+  }
+
+  private static final class Subscription<T> {
+
+    private final ObjectReader reader;
+
+    private final BinanceApiCallback<T> callback;
+
+    private final BinanceApiCallback<T> guarded = this::onResponse;
+
+    /**
+     * Filters the events of the stream while it is delivered by two connections, and of its last rotation once it
+     * is over, or null.
+     */
+    private volatile OverlapFilter overlap;
+
+    Subscription(ObjectReader reader, BinanceApiCallback<T> callback) {
+      this.reader = reader;
+      this.callback = callback;
+    }
+
+    /**
+     * @param from connection the data was received on
+     */
+    void deliver(JsonParser parser, Connection from) throws IOException {
+      T event;
+      try {
+        event = reader.readValue(parser);
+      } catch (IOException e) {
+        callback.onFailure(e);
+        // the parser is lost within the message
+        throw e;
+      }
+      deliver(event, from);
+    }
+
+    void deliver(JsonNode data, Connection from) {
+      T event;
+      try {
+        event = reader.readValue(data);
+      } catch (IOException e) {
+        callback.onFailure(e);
+        return;
+      }
+      deliver(event, from);
+    }
+
+    private void deliver(T event, Connection from) {
+      OverlapFilter filter = overlap;
+      if (filter != null) {
+        filter.deliver(event, from, guarded);
+      } else {
+        onResponse(event);
+      }
+    }
+
+    void handOver() {
+      OverlapFilter filter = overlap;
+      if (filter != null) {
+        filter.handOver(guarded);
+      }
+    }
+
+    private void onResponse(T event) {
+      try {
+        callback.onResponse(event);
+      } catch (RuntimeException e) {
+        // the connection is shared with other subscriptions
+        log.warn("stream callback failed", e);
+      }
+    }
+  }
+
+  /**
+   * A combined stream connection. <code>wanted</code> holds the streams it should carry, <code>live</code> those it
+   * was asked for; they are reconciled by control messages.
+   */
+  private final class Connection implements StreamTransport.Listener {
+
+    private final Set<String> wanted = new LinkedHashSet<>();
+
+    private final Set<String> live = new HashSet<>();
+
+    /**
+     * Streams of the <code>SUBSCRIBE</code> messages awaiting their response, by request id.
+     */
+    private final Map<Integer, Set<String>> requests = new HashMap<>();
+
+    private StreamTransport.Connection socket;
+
+    private boolean open;
+
+    private boolean closed;
+
+    private boolean scheduled;
+
+    private long nextMessageMillis;
+
+    void schedule() {
+      if (!scheduled && !closed) {
+        scheduled = true;
+        long delay = Math.max(0, nextMessageMillis - System.currentTimeMillis());
+        CombinedStreamManager.this.schedule(this::flush, delay);
+      }
+    }
+
+    /**
+     * Sends the next control message, opening the connection first.
+     */
+    private void flush() {
+      synchronized (CombinedStreamManager.this) {
+        scheduled = false;
+        if (closed) {
+          return;
+        }
+        if (wanted.isEmpty()) {
+          close();
+        } else if (socket == null) {
+          connect();
+        } else if (open) {
+          // unsubscribe first, so that the streams of the connection never exceed the limit
+          Set<String> removed = new LinkedHashSet<>(live);
+          removed.removeAll(wanted);
+          if (!removed.isEmpty()) {
+            send("UNSUBSCRIBE", removed);
+            live.removeAll(removed);
+          } else {
+            Set<String> added = new LinkedHashSet<>(wanted);
+            added.removeAll(live);
+            if (!added.isEmpty()) {
+              send("SUBSCRIBE", added);
+              live.addAll(added);
+            }
+          }
+          if (!live.equals(wanted)) {
+            schedule();
+          }
+        }
+      }
+    }
+
+    private void connect() {
+      StringBuilder url = new StringBuilder(baseUrl).append("?streams=");
+      for (String stream : wanted) {
+        if (!live.isEmpty() && url.length() + stream.length() >= MAX_URL_LENGTH) {
+          break;
+        }
+        url.append(live.isEmpty() ? "" : "/").append(stream);
+        live.add(stream);
+      }
+      socket = transport.open(url.toString(), this);
+      if (rotationIntervalMillis > 0) {
+        CombinedStreamManager.this.schedule(() -> rotate(this), rotationIntervalMillis);
+      }
+    }
+
+    private void send(String method, Set<String> names) {
+      int id = nextRequestId++;
+      StringBuilder message = new StringBuilder("{\"method\":\"").append(method).append("\",\"params\":[");
+      for (String name : names) {
+        message.append('"').append(name).append("\",");
+      }
+      message.setCharAt(message.length() - 1, ']');
+      message.append(",\"id\":").append(id).append('}');
+      if ("SUBSCRIBE".equals(method)) {
+        requests.put(id, names);
+      }
+      socket.send(message.toString());
+      nextMessageMillis = System.currentTimeMillis() + controlMessageIntervalMillis;
+    }
+
+    private void close() {
+      closed = true;
+      connections.remove(this);
+      if (socket != null) {
+        socket.close();
+      }
+    }
+
+    @Override
+    public void onOpen() {
+      synchronized (CombinedStreamManager.this) {
+        open = true;
+        if (!live.equals(wanted)) {
+          schedule();
+        }
+      }
+    }
+
+    @Override
+    public void onMessage(String text) {
+      try (JsonParser parser = mapper.getFactory().createParser(text)) {
+        read(parser);
+      } catch (IOException e) {
+        log.warn("unreadable stream message: {}", e.toString());
+      }
+    }
+
+    @Override
+    public void onMessage(ByteBuffer bytes) {
+      try (JsonParser parser = bytes.hasArray()
+          ? mapper.getFactory().createParser(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining())
+          : mapper.getFactory().createParser(new ByteBufferBackedInputStream(bytes))) {
+        read(parser);
+      } catch (IOException e) {
+        log.warn("unreadable stream message: {}", e.toString());
+      }
+    }
+
+    private void read(JsonParser parser) throws IOException {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return;
+      }
+      String stream = null;
+      Integer id = null;
+      String error = null;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        parser.nextToken();
+        if ("stream".equals(field)) {
+          stream = parser.getText();
+        } else if ("data".equals(field)) {
+          dispatch(this, stream, parser);
+        } else if ("id".equals(field)) {
+          id = parser.currentToken() == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : null;
+        } else if ("error".equals(field) || "msg".equals(field)) {
+          error = "error".equals(field) ? parser.readValueAsTree().toString() : parser.getText();
+        } else {
+          parser.skipChildren();
+        }
+      }
+      if (id != null) {
+        onResponse(id, error);
+      }
+    }
+
+    /**
+     * Streams refused by the exchange are failed; they are not retried.
+     */
+    private void onResponse(int id, String error) {
+      Set<String> names;
+      synchronized (CombinedStreamManager.this) {
+        names = requests.remove(id);
+      }
+      if (error != null) {
+        log.warn("stream request {} failed: {}", id, error);
+        if (names != null) {
+          fail(this, names, new BinanceApiException(error));
+        }
+      }
+    }
+
+    @Override
+    public void onFailure(Throwable t) {
+      Set<String> names;
+      synchronized (CombinedStreamManager.this) {
+        if (closed) {
+          return;
+        }
+        closed = true;
+        connections.remove(this);
+        names = new HashSet<>(wanted);
+      }
+      fail(this, names, t);
+    }
+  }
+}
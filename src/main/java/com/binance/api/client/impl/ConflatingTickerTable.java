@@ -0,0 +1,236 @@
+package com.binance.api.client.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.binance.api.client.BinanceApiStreamCallback;
+import com.binance.api.client.BinanceApiWebSocketClient;
+import com.binance.api.client.domain.event.BookTickerEvent;
+import com.binance.api.client.domain.event.TickerEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Latest ticker of every symbol of an all market stream, kept in a slot per symbol. Events replace the previous one of
+ * their symbol instead of being delivered, so consumers read the latest state whenever they are ready for it: they
+ * either look a symbol up, or drain the symbols updated since they last did, waiting for updates if need be. A burst
+ * of events thus costs them the number of symbols updated rather than the number of events received.
+ */
+@Slf4j
+public class ConflatingTickerTable<T> implements Closeable {
+
+  private final Function<T, String> symbolOf;
+
+  private final ConcurrentHashMap<String, Slot<T>> slots = new ConcurrentHashMap<>();
+
+  /**
+   * Slots updated since they were last drained, each queued once.
+   */
+  private final Queue<Slot<T>> updated = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger updatedCount = new AtomicInteger();
+
+  private final AtomicInteger waiters = new AtomicInteger();
+
+  private final Object signal = new Object();
+
+  private volatile Closeable subscription;
+
+  private volatile Throwable failure;
+
+  ConflatingTickerTable(Function<T, String> symbolOf) {
+    this.symbolOf = symbolOf;
+  }
+
+  /**
+   * Subscribes to the best bid and ask of every symbol.
+   */
+  public static ConflatingTickerTable<BookTickerEvent> allBookTickers(BinanceApiWebSocketClient client) {
+    ConflatingTickerTable<BookTickerEvent> table = new ConflatingTickerTable<>(BookTickerEvent::getSymbol);
+    table.subscription = client.onAllBookTickersEvent(table.new Feed<>(table::update));
+    return table;
+  }
+
+  /**
+   * Subscribes to the 24 hour ticker of every symbol.
+   */
+  public static ConflatingTickerTable<TickerEvent> allMarketTickers(BinanceApiWebSocketClient client) {
+    ConflatingTickerTable<TickerEvent> table = new ConflatingTickerTable<>(TickerEvent::getSymbol);
+    table.subscription = client.onAllMarketTickersEvent(table.new Feed<List<TickerEvent>>(tickers -> {
+      for (TickerEvent ticker : tickers) {
+        table.update(ticker);
+      }
+    }));
+    return table;
+  }
+
+  /**
+   * Replaces the latest event of its symbol, unless it is older, e.g. when received twice while a web socket is
+   * rotated.
+   */
+  void update(T event) {
+    String symbol = symbolOf.apply(event);
+    Slot<T> slot = slots.get(symbol);
+    if (slot == null) {
+      Slot<T> created = new Slot<>();
+      slot = slots.putIfAbsent(symbol, created);
+      if (slot == null) {
+        slot = created;
+      }
+    }
+    long sequence = OverlapFilter.sequenceOf(event);
+    T latest;
+    do {
+      latest = slot.latest.get();
+      if (latest != null && sequence <= OverlapFilter.sequenceOf(latest)) {
+        return;
+      }
+    } while (!slot.latest.compareAndSet(latest, event));
+    if (slot.pending.compareAndSet(false, true)) {
+      updated.add(slot);
+      updatedCount.incrementAndGet();
+      wakeUp();
+    }
+  }
+
+  private void wakeUp() {
+    if (waiters.get() > 0) {
+      synchronized (signal) {
+        signal.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * @return the latest event of <code>symbol</code>, or null when none was received
+   */
+  public T getLatest(String symbol) {
+    Slot<T> slot = slots.get(symbol);
+    return slot != null ? slot.latest.get() : null;
+  }
+
+  /**
+   * @return the number of symbols received
+   */
+  public int getSymbolCount() {
+    return slots.size();
+  }
+
+  /**
+   * @return the number of symbols updated since they were last drained
+   */
+  public int getUpdatedCount() {
+    return updatedCount.get();
+  }
+
+  /**
+   * Passes the latest event of every symbol updated since the last drain to <code>consumer</code>, once.
+   *
+   * @return the number of events passed
+   */
+  public int drainUpdates(Consumer<? super T> consumer) {
+    // symbols updated again while draining are left to the next drain
+    int count = updatedCount.get();
+    for (int i = 0; i < count; i++) {
+      Slot<T> slot = updated.poll();
+      if (slot == null) {
+        return i;
+      }
+      updatedCount.decrementAndGet();
+      slot.pending.set(false);
+      consumer.accept(slot.latest.get());
+    }
+    return count;
+  }
+
+  /**
+   * Waits until a symbol is updated, or the stream fails.
+   *
+   * @return whether a symbol was updated since the last drain
+   */
+  public boolean awaitUpdates(long timeout, TimeUnit unit) throws InterruptedException {
+    if (updatedCount.get() > 0) {
+      return true;
+    }
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    waiters.incrementAndGet();
+    try {
+      synchronized (signal) {
+        long remaining;
+        while (updatedCount.get() == 0 && failure == null && (remaining = deadline - System.nanoTime()) > 0) {
+          TimeUnit.NANOSECONDS.timedWait(signal, remaining);
+        }
+      }
+    } finally {
+      waiters.decrementAndGet();
+    }
+    return updatedCount.get() > 0;
+  }
+
+  /**
+   * @return the failure of the stream, or null while it is open; supervised streams are reopened instead of failing
+   */
+  public Throwable getFailure() {
+    return failure;
+  }
+
+  @Override
+  public void close() throws IOException {
+    Closeable closeable = subscription;
+    if (closeable != null) {
+      closeable.close();
+    }
+  }
+
+  private static final class Slot<T> {
+
+    private final AtomicReference<T> latest = new AtomicReference<>();
+
+    /**
+     * Whether the slot is queued for the next drain.
+     */
+    private final AtomicBoolean pending = new AtomicBoolean();
+  }
+
+  /**
+   * Callback of the stream feeding the table.
+   */
+  private final class Feed<E> implements BinanceApiStreamCallback<E> {
+
+    private final Consumer<E> update;
+
+    Feed(Consumer<E> update) {
+      this.update = update;
+    }
+
+    @Override
+    public void onResponse(E response) {
+      update.accept(response);
+    }
+
+    @Override
+    public void onFailure(Throwable cause) {
+      log.warn("ticker stream failed: {}", cause.toString());
+      failure = cause;
+      synchronized (signal) {
+        signal.notifyAll();
+      }
+    }
+
+    @Override
+    public void onGap(Throwable cause) {
+      // tickers are snapshots: the next event of every symbol replaces whatever was missed
+      log.debug("ticker stream reopened: {}", cause.toString());
+    }
+  }
+}
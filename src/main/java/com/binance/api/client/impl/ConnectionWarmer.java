@@ -0,0 +1,94 @@
+package com.binance.api.client.impl;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opens connections to the REST API ahead of the first request and keeps them alive with periodic
+ * <code>/api/v1/ping</code> calls, so that a signed request after startup or after an idle period does not pay DNS,
+ * TCP and TLS handshake latency.
+ *
+ * Every round sends <code>connectionsPerHost</code> concurrent pings on each lane (shared pool and order lane), which
+ * makes the pool open, or keep busy, that many connections. The ping interval must be shorter than the pool's idle
+ * keep-alive for the connections to stay hot.
+ */
+@Slf4j
+public class ConnectionWarmer implements Closeable {
+
+  private final List<Supplier<CompletableFuture<?>>> lanes;
+  private final int connectionsPerHost;
+  private final ScheduledExecutorService scheduler;
+  private final CompletableFuture<Void> ready = new CompletableFuture<>();
+
+  /**
+   * @param lanes one ping function per connection pool to keep warm
+   * @param connectionsPerHost number of connections to open on each lane
+   * @param pingIntervalMillis delay between two rounds of pings
+   */
+  ConnectionWarmer(List<Supplier<CompletableFuture<?>>> lanes, int connectionsPerHost, long pingIntervalMillis) {
+    this.lanes = lanes;
+    this.connectionsPerHost = connectionsPerHost;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "binance-connection-warmer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::pingAll, 0, pingIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private void pingAll() {
+    CompletableFuture<?>[] pings = new CompletableFuture<?>[lanes.size() * connectionsPerHost];
+    int i = 0;
+    for (Supplier<CompletableFuture<?>> lane : lanes) {
+      for (int c = 0; c < connectionsPerHost; c++) {
+        pings[i++] = ping(lane);
+      }
+    }
+    CompletableFuture.allOf(pings).whenComplete((v, t) -> {
+      if (t == null) {
+        ready.complete(null);
+      } else {
+        log.warn("connection warm-up ping failed, retrying on next round", t);
+      }
+    });
+  }
+
+  private static CompletableFuture<?> ping(Supplier<CompletableFuture<?>> lane) {
+    try {
+      return lane.get();
+    } catch (RuntimeException e) {
+      CompletableFuture<Void> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      return failed;
+    }
+  }
+
+  /**
+   * Completes once every lane has opened its connections with a successful round of pings.
+   */
+  public CompletableFuture<Void> ready() {
+    return ready;
+  }
+
+  /**
+   * Whether every lane has opened its connections with a successful round of pings.
+   */
+  public boolean isReady() {
+    return ready.isDone();
+  }
+
+  /**
+   * Stops the keep-alive pings. Connections already opened stay in the pool until they idle out.
+   */
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+}
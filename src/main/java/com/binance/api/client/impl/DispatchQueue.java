@@ -0,0 +1,262 @@
+package com.binance.api.client.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiStreamCallback;
+import com.binance.api.client.config.DispatchPolicy;
+import com.binance.api.client.config.DispatchPolicy.Overflow;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded queue of the events of one subscription, handed off by the web socket thread and drained by an executor.
+ * The queue is lock-free; its overflow is handled according to the {@link DispatchPolicy}. Failures and gaps are
+ * queued along with the events, in order, and never dropped.
+ */
+@Slf4j
+public class DispatchQueue<T> implements BinanceApiStreamCallback<T>, Closeable {
+
+  /**
+   * Events delivered by one executor task, before it yields to the other subscriptions.
+   */
+  private static final int DRAIN_BATCH = 256;
+
+  private static final long BLOCK_PARK_NANOS = 50_000L;
+
+  private final String stream;
+
+  private final BinanceApiCallback<T> callback;
+
+  private final int capacity;
+
+  private final Overflow overflow;
+
+  private final Executor executor;
+
+  private final ConcurrentLinkedDeque<Object> queue = new ConcurrentLinkedDeque<>();
+
+  /**
+   * Items of the queue, counted before they are added.
+   */
+  private final AtomicInteger size = new AtomicInteger();
+
+  /**
+   * Failures and gaps in the queue, counted before they are added.
+   */
+  private final AtomicInteger signals = new AtomicInteger();
+
+  /**
+   * Latest event when conflating.
+   */
+  private final AtomicReference<T> latest = new AtomicReference<>();
+
+  private final AtomicBoolean draining = new AtomicBoolean();
+
+  private final AtomicLong dropped = new AtomicLong();
+
+  private volatile Closeable subscription;
+
+  private volatile boolean closed;
+
+  DispatchQueue(String stream, BinanceApiCallback<T> callback, DispatchPolicy policy, Executor executor) {
+    this.stream = stream;
+    this.callback = callback;
+    this.capacity = policy.getCapacity();
+    this.overflow = policy.getOverflow();
+    this.executor = executor;
+  }
+
+  void setSubscription(Closeable subscription) {
+    this.subscription = subscription;
+  }
+
+  boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * @return the stream of the subscription, e.g. <code>ethbtc@depth</code>
+   */
+  public String getStream() {
+    return stream;
+  }
+
+  /**
+   * @return the number of events waiting for the callback
+   */
+  public int getQueueDepth() {
+    return size.get() + (latest.get() != null ? 1 : 0);
+  }
+
+  /**
+   * @return the number of events dropped or conflated since the subscription was made
+   */
+  public long getDroppedEvents() {
+    return dropped.get();
+  }
+
+  @Override
+  public void onResponse(T response) {
+    if (closed) {
+      return;
+    }
+    if (overflow == Overflow.CONFLATE_LATEST) {
+      if (latest.getAndSet(response) != null) {
+        dropped.incrementAndGet();
+      }
+    } else if (!offer(response)) {
+      dropped.incrementAndGet();
+      return;
+    }
+    drainLater();
+  }
+
+  @Override
+  public void onFailure(Throwable cause) {
+    signal(new Signal(cause, false));
+  }
+
+  @Override
+  public void onGap(Throwable cause) {
+    signal(new Signal(cause, true));
+  }
+
+  private void signal(Signal signal) {
+    // the conflated event came first
+    T pending = latest.getAndSet(null);
+    if (pending != null) {
+      size.incrementAndGet();
+      queue.add(pending);
+    }
+    signals.incrementAndGet();
+    size.incrementAndGet();
+    queue.add(signal);
+    drainLater();
+  }
+
+  /**
+   * @return whether the event was queued
+   */
+  private boolean offer(T event) {
+    while (true) {
+      if (size.incrementAndGet() <= capacity) {
+        queue.add(event);
+        return true;
+      }
+      size.decrementAndGet();
+      if (overflow == Overflow.DROP_NEWEST || closed) {
+        return false;
+      } else if (overflow == Overflow.DROP_OLDEST) {
+        if (signals.get() > 0) {
+          // a signal may be the oldest item and is never dropped: drop the new event instead
+          return false;
+        }
+        Object oldest = queue.pollFirst();
+        if (oldest != null) {
+          size.decrementAndGet();
+          dropped.incrementAndGet();
+        }
+      } else {
+        LockSupport.parkNanos(BLOCK_PARK_NANOS);
+      }
+    }
+  }
+
+  private void drainLater() {
+    if (draining.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        draining.set(false);
+        log.debug("stream dispatch stopped: {}", e.toString());
+      }
+    }
+  }
+
+  private void drain() {
+    for (int i = 0; i < DRAIN_BATCH; i++) {
+      Object item = poll();
+      if (item == null) {
+        draining.set(false);
+        // an event queued meanwhile may have found the drain still running
+        if (getQueueDepth() == 0 || !draining.compareAndSet(false, true)) {
+          return;
+        }
+      } else {
+        deliver(item);
+      }
+    }
+    draining.set(false);
+    drainLater();
+  }
+
+  private Object poll() {
+    Object item = queue.pollFirst();
+    if (item != null) {
+      if (item instanceof Signal) {
+        signals.decrementAndGet();
+      }
+      size.decrementAndGet();
+      return item;
+    }
+    return latest.getAndSet(null);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void deliver(Object item) {
+    if (closed) {
+      return;
+    }
+    try {
+      if (!(item instanceof Signal)) {
+        callback.onResponse((T) item);
+      } else if (((Signal) item).gap) {
+        if (callback instanceof BinanceApiStreamCallback) {
+          ((BinanceApiStreamCallback<T>) callback).onGap(((Signal) item).cause);
+        }
+      } else {
+        callback.onFailure(((Signal) item).cause);
+      }
+    } catch (RuntimeException e) {
+      log.warn("stream callback failed", e);
+    }
+  }
+
+  /**
+   * Ends the subscription; the queued events are discarded.
+   */
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    queue.clear();
+    size.set(0);
+    signals.set(0);
+    latest.set(null);
+    Closeable closeable = subscription;
+    if (closeable != null) {
+      closeable.close();
+    }
+  }
+
+  private static final class Signal {
+
+    private final Throwable cause;
+
+    private final boolean gap;
+
+    Signal(Throwable cause, boolean gap) {
+      this.cause = cause;
+      this.gap = gap;
+    }
+  }
+}
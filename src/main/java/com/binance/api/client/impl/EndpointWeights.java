@@ -0,0 +1,88 @@
+package com.binance.api.client.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import okhttp3.HttpUrl;
+
+/**
+ * Request weights of the <code>/api</code> endpoints of {@link BinanceApiService}, counted against the per-minute
+ * <code>REQUEST_WEIGHT</code> limit of the client's IP address. The weights are those going with the limit of 6000 per
+ * minute. The <code>/sapi</code> and <code>/wapi</code> endpoints have limits of their own and weigh nothing here.
+ */
+final class EndpointWeights {
+
+  /**
+   * Weights of the endpoints whose weight does not depend on their parameters, by method and path.
+   */
+  private static final Map<String, Integer> FIXED = new HashMap<>();
+
+  static {
+    FIXED.put("GET /api/v3/exchangeInfo", 20);
+    FIXED.put("GET /api/v1/trades", 25);
+    FIXED.put("GET /api/v1/historicalTrades", 25);
+    FIXED.put("GET /api/v1/aggTrades", 4);
+    FIXED.put("GET /api/v1/klines", 2);
+    FIXED.put("GET /api/v1/ticker/allPrices", 4);
+    FIXED.put("GET /api/v1/ticker/allBookTickers", 4);
+    FIXED.put("GET /api/v3/order", 4);
+    FIXED.put("GET /api/v3/orderList", 4);
+    FIXED.put("GET /api/v3/allOrders", 20);
+    FIXED.put("GET /api/v3/account", 20);
+    FIXED.put("GET /api/v3/myTrades", 20);
+    FIXED.put("POST /api/v1/userDataStream", 2);
+    FIXED.put("PUT /api/v1/userDataStream", 2);
+    FIXED.put("DELETE /api/v1/userDataStream", 2);
+  }
+
+  private EndpointWeights() {
+  }
+
+  /**
+   * @return the request weight of <code>url</code>, 1 for endpoints not listed, 0 outside of <code>/api</code>
+   */
+  static int weightOf(String method, HttpUrl url) {
+    return weightOf(method, url.encodedPath(), url::queryParameter);
+  }
+
+  /**
+   * @param parameters value of a query parameter by name, or null when the request has none
+   * @return the request weight of a request to <code>path</code>, 1 for endpoints not listed, 0 outside of
+   *         <code>/api</code>
+   */
+  static int weightOf(String method, String path, UnaryOperator<String> parameters) {
+    if (!path.startsWith("/api/")) {
+      return 0;
+    }
+    switch (path) {
+      case "/api/v1/depth":
+        return depthWeight(parameters.apply("limit"));
+      case "/api/v1/ticker/24hr":
+        return parameters.apply("symbol") != null ? 2 : 80;
+      case "/api/v3/ticker/price":
+        return parameters.apply("symbol") != null ? 2 : 4;
+      case "/api/v3/openOrders":
+        return parameters.apply("symbol") != null ? 6 : 80;
+      default:
+        Integer weight = FIXED.get(method + ' ' + path);
+        return weight != null ? weight : 1;
+    }
+  }
+
+  private static int depthWeight(String limit) {
+    int depth;
+    try {
+      depth = limit != null ? Integer.parseInt(limit) : 100;
+    } catch (NumberFormatException e) {
+      depth = 100;
+    }
+    if (depth <= 100) {
+      return 5;
+    }
+    if (depth <= 500) {
+      return 25;
+    }
+    return depth <= 1000 ? 50 : 250;
+  }
+}
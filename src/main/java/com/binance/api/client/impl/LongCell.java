@@ -0,0 +1,31 @@
+package com.binance.api.client.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A 64-bit value updated with compare-and-set, held in the heap or in memory shared with other processes.
+ */
+interface LongCell {
+
+  long get();
+
+  boolean compareAndSet(long expect, long update);
+
+  /**
+   * @return a cell private to this process, initially 0
+   */
+  static LongCell local() {
+    AtomicLong value = new AtomicLong();
+    return new LongCell() {
+      @Override
+      public long get() {
+        return value.get();
+      }
+
+      @Override
+      public boolean compareAndSet(long expect, long update) {
+        return value.compareAndSet(expect, update);
+      }
+    };
+  }
+}
@@ -0,0 +1,94 @@
+package com.binance.api.client.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Atomic access to the 64-bit values of a memory-mapped file, visible to every process mapping it. This is the
+ * Java 8 variant: a compare-and-set holds an exclusive lock on the 8 bytes of its value, so it costs a system call.
+ * The multi-release JAR replaces it with the lock-free variant in <code>src/main/java21</code> on Java 21 and later.
+ */
+final class MappedLongs {
+
+  /**
+   * Update scheme, recorded in the file header: processes updating the values under file locks must not share a file
+   * with processes updating them with atomic instructions, as neither sees the updates of the other as atomic.
+   */
+  static final int SCHEME = 2;
+
+  /**
+   * File locks are held by the whole JVM, which cannot hold two overlapping ones: the compare-and-set of every file
+   * mapped by this process is serialized here.
+   */
+  private static final Object LOCK = new Object();
+
+  /**
+   * Kept open for the locks of the mapping.
+   */
+  private final FileChannel channel;
+
+  private final MappedByteBuffer buffer;
+
+  /**
+   * Maps the first <code>size</code> bytes of <code>path</code>, creating it if needed.
+   */
+  MappedLongs(Path path, int size) throws IOException {
+    channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      // the layout of the Java 21 variant
+      buffer = (MappedByteBuffer) channel.map(FileChannel.MapMode.READ_WRITE, 0, size).order(ByteOrder.nativeOrder());
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @return the cell of the <code>index</code>-th 64-bit value of the mapping
+   */
+  LongCell cell(int index) {
+    int offset = 8 * index;
+    return new LongCell() {
+      @Override
+      public long get() {
+        // may be stale: the compare-and-set of a caller reading it reads it again under the lock
+        return buffer.getLong(offset);
+      }
+
+      @Override
+      public boolean compareAndSet(long expect, long update) {
+        synchronized (LOCK) {
+          FileLock lock;
+          try {
+            lock = channel.lock(offset, 8, false);
+          } catch (IOException e) {
+            throw new UncheckedIOException("Cannot lock shared rate limit", e);
+          }
+          try {
+            if (buffer.getLong(offset) != expect) {
+              return false;
+            }
+            buffer.putLong(offset, update);
+            return true;
+          } finally {
+            release(lock);
+          }
+        }
+      }
+    };
+  }
+
+  private static void release(FileLock lock) {
+    try {
+      lock.release();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot unlock shared rate limit", e);
+    }
+  }
+}
@@ -2,7 +2,18 @@ package com.binance.api.client.impl;
 
 import static java.lang.Integer.getInteger;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
 import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.AsyncHttpClientConfig;
 import org.asynchttpclient.DefaultAsyncHttpClientConfig.Builder;
 import org.asynchttpclient.Dsl;
 import org.asynchttpclient.extras.guava.RateLimitedThrottleRequestFilter;
@@ -10,6 +21,11 @@ import org.asynchttpclient.extras.retrofit.AsyncHttpClientCallFactory;
 
 import com.binance.api.client.BinanceApiWebSocketClient;
 import com.binance.api.client.config.BinanceApiConfig;
+import com.binance.api.client.config.BinanceApiTransportProfile;
+import com.binance.api.client.config.DispatchPolicy;
+import com.binance.api.client.config.ReconnectPolicy;
+import com.binance.api.client.config.RetryPolicy;
+import com.binance.api.client.security.ApiAccount;
 import com.binance.api.client.security.NettyAuthenticationInterceptor;
 
 import io.netty.channel.ChannelOption;
@@ -17,9 +33,7 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import lombok.extern.slf4j.Slf4j;
-import retrofit2.Converter;
 import retrofit2.Retrofit;
-import retrofit2.converter.jackson.JacksonConverterFactory;
 
 /**
  * Generates a Binance API implementation based on @see
@@ -28,19 +42,85 @@ import retrofit2.converter.jackson.JacksonConverterFactory;
 @Slf4j
 public class NettyBinanceApiServiceGenerator implements ApiGenerator {
 
-  static final Converter.Factory converterFactory = JacksonConverterFactory.create();
-  private AsyncHttpClient sharedClient;
-  private AsyncHttpClient sharedWsClient;
+  private final AsyncHttpClient sharedClient;
+  private final AsyncHttpClient sharedWsClient;
+  private final EventLoopGroup eventLoopGroup;
+
+  /**
+   * Client with its own connection pool and event loop for order placement and cancellation, or null when the
+   * profile does not reserve an order lane.
+   */
+  private final AsyncHttpClient orderClient;
+  private final EventLoopGroup orderEventLoopGroup;
+
+  /**
+   * Hedges slow market data requests, or null when the profile has no hedging policy.
+   */
+  private final RequestHedger hedger;
+
+  /**
+   * Routes requests to the fastest API cluster, or null when the profile does not list clusters.
+   */
+  private final ClusterRouter router;
+
+  /**
+   * Implements services natively on the Netty client, or null when requests go through Retrofit.
+   */
+  private final NettyNativeServiceFactory nativeFactory;
+
+  /**
+   * Coalesces identical in-flight public requests, or null when the profile does not enable it.
+   */
+  private final RequestCoalescer coalescer;
+
+  /**
+   * Keeps requests within the request weight limit, or null when it is left to the throttle filter or disabled.
+   */
+  private final RequestWeightLimiter limiter;
+
+  /**
+   * Keeps orders within the order rate limits, or null when the profile does not set them.
+   */
+  private final OrderRateGovernor governor;
+
+  /**
+   * Caches public endpoint responses, or null when the profile has no response cache policy.
+   */
+  private final ResponseCache responseCache;
+
+  /**
+   * Retries failed requests, with the profile's retry policy or the default one.
+   */
+  private final RequestRetrier retrier;
+
+  /**
+   * Reconnection of the streams of the web socket clients, or null when the profile has no reconnect policy.
+   */
+  private final ReconnectPolicy reconnectPolicy;
+
+  /**
+   * Hand-off of the stream events to the callbacks, or null when the profile has no dispatch policy.
+   */
+  private final DispatchPolicy dispatchPolicy;
+
+  /**
+   * Web socket clients created by this generator, closed with it.
+   */
+  private final Set<Closeable> sockets = ConcurrentHashMap.newKeySet();
+
+  public NettyBinanceApiServiceGenerator() {
+    this(BinanceApiTransportProfile.fromSystemProperties());
+  }
 
-  {
-    EventLoopGroup eventLoopGroup;
-    try {
-      eventLoopGroup = new EpollEventLoopGroup(Runtime.getRuntime().availableProcessors());
-      log.info("using epoll netty http event loop");
-    } catch (UnsatisfiedLinkError e) {
-      eventLoopGroup = new NioEventLoopGroup(Runtime.getRuntime().availableProcessors());
-      log.info("using nio netty http event loop");
+  /**
+   * @throws IllegalArgumentException if the dispatch policy blocks, which would park the event loop shared by every
+   * connection
+   */
+  public NettyBinanceApiServiceGenerator(BinanceApiTransportProfile profile) {
+    if (profile.getDispatchPolicy() != null && profile.getDispatchPolicy().getOverflow() == DispatchPolicy.Overflow.BLOCK) {
+      throw new IllegalArgumentException("The BLOCK overflow would stall every stream of the Netty event loop");
     }
+    eventLoopGroup = newEventLoopGroup(profile.getEventLoopThreads());
 
     Builder builder = new Builder().setKeepAlive(true)
 
@@ -48,30 +128,132 @@ public class NettyBinanceApiServiceGenerator implements ApiGenerator {
 
         .setEventLoopGroup(eventLoopGroup)
 
-        .addChannelOption(ChannelOption.CONNECT_TIMEOUT_MILLIS, getInteger("binance.api.connection.timeout.millis", 40000))
+        .addChannelOption(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+            profile.getConnectTimeoutMillis() > 0 ? (int) profile.getConnectTimeoutMillis() : 40000)
 
-        .setMaxConnectionsPerHost(getInteger("binance.api.max.connections.per.host", 500))
+        .setMaxConnectionsPerHost(profile.getMaxConnectionsPerHost())
 
-        .setWebSocketMaxBufferSize(getInteger("binance.api.ws.buffer.size", 1 << 19))
+        .setPooledConnectionIdleTimeout((int) profile.getKeepAliveMillis())
 
-        .setWebSocketMaxFrameSize(getInteger("binance.api.ws.frame.size", 1 << 19));
+        .setWebSocketMaxBufferSize(profile.getWebSocketMaxBufferSize())
+
+        .setWebSocketMaxFrameSize(profile.getWebSocketMaxFrameSize())
+
+        .setWsAdditionalChannelInitializer(NettyTextFrameHandler::install);
+
+    if (profile.getReadTimeoutMillis() > 0) {
+      builder.setReadTimeout((int) profile.getReadTimeoutMillis());
+    }
+    if (profile.getSocketSendBufferSize() > 0) {
+      builder.addChannelOption(ChannelOption.SO_SNDBUF, profile.getSocketSendBufferSize());
+    }
+    if (profile.getSocketReceiveBufferSize() > 0) {
+      builder.addChannelOption(ChannelOption.SO_RCVBUF, profile.getSocketReceiveBufferSize());
+    }
 
     sharedWsClient = Dsl.asyncHttpClient(builder.build());
 
+    SharedRateLimitFile shared = profile.getSharedRateLimitFile() != null
+        ? new SharedRateLimitFile(profile.getSharedRateLimitFile()) : null;
     if (System.getProperty("binance.api.rate.max-connections") != null
         && System.getProperty("binance.api.rate.requests-per-second") != null) {
       builder.addRequestFilter(new RateLimitedThrottleRequestFilter(getInteger("binance.api.rate.max-connections"),
           getInteger("binance.api.rate.requests-per-second"), 60000));
+      limiter = null;
+    } else {
+      if (profile.getRequestWeightLimit() <= 0) {
+        limiter = null;
+      } else if (shared != null) {
+        limiter = new RequestWeightLimiter(profile.getRequestWeightLimit(), shared.weightBucket());
+      } else {
+        limiter = new RequestWeightLimiter(profile.getRequestWeightLimit());
+      }
+    }
+
+    if (profile.isNettyNativeRequests()) {
+      // body parts keep their pooled buffers, which the native calls decode in place
+      builder.setResponseBodyPartFactory(AsyncHttpClientConfig.ResponseBodyPartFactory.LAZY);
+    }
+
+    AsyncHttpClientConfig config = builder.build();
+    sharedClient = Dsl.asyncHttpClient(config);
+
+    if (profile.getOrderLaneConnections() > 0) {
+      orderEventLoopGroup = newEventLoopGroup(1);
+      orderClient = Dsl.asyncHttpClient(new Builder(config)
+          .setEventLoopGroup(orderEventLoopGroup)
+          .setMaxConnectionsPerHost(profile.getOrderLaneConnections())
+          .build());
+    } else {
+      orderEventLoopGroup = null;
+      orderClient = null;
+    }
+    hedger = profile.getHedgingPolicy() != null ? new RequestHedger(profile.getHedgingPolicy(), limiter) : null;
+    router = profile.getApiClusters().isEmpty() ? null : new ClusterRouter(BinanceApiConfig.getApiBaseUrl(),
+        profile.getApiClusters(), url -> ping(sharedClient, url), profile.getClusterProbeIntervalMillis(),
+        profile.getClusterProbeTimeoutMillis());
+    coalescer = profile.isCoalesceRequests() ? new RequestCoalescer() : null;
+    if (profile.getOrderRateLimits().isEmpty()) {
+      governor = null;
+    } else if (shared != null) {
+      governor = new OrderRateGovernor(profile.getOrderRateLimits(), profile.getMaxOrderDelayMillis(),
+          shared::orderWindows);
+    } else {
+      governor = new OrderRateGovernor(profile.getOrderRateLimits(), profile.getMaxOrderDelayMillis());
+    }
+    responseCache = profile.getResponseCachePolicy() != null ? new ResponseCache(profile.getResponseCachePolicy()) : null;
+    retrier = new RequestRetrier(profile.getRetryPolicy() != null ? profile.getRetryPolicy() : new RetryPolicy());
+    reconnectPolicy = profile.getReconnectPolicy();
+    dispatchPolicy = profile.getDispatchPolicy();
+    if (profile.isNettyNativeRequests()) {
+      if (hedger != null) {
+        log.warn("request hedging does not apply to native Netty requests");
+      }
+      nativeFactory = new NettyNativeServiceFactory(sharedClient, orderClient, router, limiter, governor,
+          coalescer, responseCache, retrier);
     } else {
-      NettyRequestRateLimitingInterceptor rateLimiter = new NettyRequestRateLimitingInterceptor();
-      builder.addRequestFilter(rateLimiter::request).addResponseFilter(rateLimiter::response);
+      nativeFactory = null;
     }
+  }
 
-    sharedClient = Dsl.asyncHttpClient(builder.build());
+  private static EventLoopGroup newEventLoopGroup(int threads) {
+    try {
+      EventLoopGroup eventLoopGroup = new EpollEventLoopGroup(threads);
+      log.info("using epoll netty http event loop");
+      return eventLoopGroup;
+    } catch (UnsatisfiedLinkError e) {
+      log.info("using nio netty http event loop");
+      return new NioEventLoopGroup(threads);
+    }
   }
 
-  @Override
-  public <S> S createService(Class<S> serviceClass) {
+  /**
+   * Creates the Retrofit call factory, routing order placement and cancellation to the order lane when one is
+   * configured, authenticating requests with the account of a bound client, keeping requests within the weight and
+   * order rate limits, routing them to the fastest API cluster when clusters are configured, retrying failed requests,
+   * and hedging market data requests when a hedging policy is.
+   *
+   * @param account account of a bound client, or null
+   */
+  private okhttp3.Call.Factory callFactory(ApiAccount account) {
+    okhttp3.Call.Factory callFactory = laneCallFactory();
+    if (account != null) {
+      callFactory = new AccountCallFactory(account, callFactory);
+    }
+    if (limiter != null) {
+      callFactory = limiter.wrap(callFactory);
+    }
+    if (governor != null) {
+      callFactory = governor.wrap(callFactory, account);
+    }
+    if (router != null) {
+      callFactory = router.wrap(callFactory);
+    }
+    callFactory = retrier.wrap(callFactory);
+    return hedger != null ? hedger.wrap(callFactory) : callFactory;
+  }
+
+  private okhttp3.Call.Factory laneCallFactory() {
     NettyAuthenticationInterceptor authenticationInterceptor = new NettyAuthenticationInterceptor();
     AsyncHttpClientCallFactory ahccf = AsyncHttpClientCallFactory.builder()
 
@@ -80,45 +262,158 @@ public class NettyBinanceApiServiceGenerator implements ApiGenerator {
         .callCustomizer(callBuilder -> callBuilder.requestCustomizer(authenticationInterceptor))
 
         .build();
+    if (orderClient == null) {
+      return ahccf;
+    }
+    AsyncHttpClientCallFactory orderCallFactory = AsyncHttpClientCallFactory.builder()
 
-    Retrofit retrofit = new Retrofit.Builder()
+        .httpClient(orderClient)
 
-        .baseUrl(BinanceApiConfig.getApiBaseUrl())
+        .callCustomizer(callBuilder -> callBuilder.requestCustomizer(authenticationInterceptor))
 
-        .callFactory(ahccf)
+        .build();
+    return new OrderLaneCallFactory(orderCallFactory, ahccf);
+  }
 
-        .addConverterFactory(converterFactory).build();
-    return retrofit.create(serviceClass);
+  @Override
+  public <S> S createService(Class<S> serviceClass) {
+    return createService(serviceClass, null);
   }
 
   @Override
-  public <T> T createTestnetService(Class<T> serviceClass) {
-    NettyAuthenticationInterceptor authenticationInterceptor = new NettyAuthenticationInterceptor();
-    AsyncHttpClientCallFactory ahccf = AsyncHttpClientCallFactory.builder()
+  public <S> S createService(Class<S> serviceClass, ApiAccount account) {
+    if (nativeFactory != null) {
+      return nativeFactory.create(serviceClass, BinanceApiConfig.getApiBaseUrl(), true, account);
+    }
+    Retrofit.Builder retrofitBuilder = new Retrofit.Builder()
 
-            .httpClient(sharedClient)
+        .baseUrl(BinanceApiConfig.getApiBaseUrl())
 
-            .callCustomizer(callBuilder -> callBuilder.requestCustomizer(authenticationInterceptor))
+        .callFactory(callFactory(account))
 
-            .build();
+        .addConverterFactory(ApiServiceGenerator.converterFactory);
+    if (responseCache != null) {
+      retrofitBuilder.addCallAdapterFactory(responseCache.callAdapterFactory());
+    }
+    if (coalescer != null) {
+      retrofitBuilder.addCallAdapterFactory(coalescer);
+    }
+    return retrofitBuilder.build().create(serviceClass);
+  }
 
-    Retrofit retrofit = new Retrofit.Builder()
+  @Override
+  public <T> T createTestnetService(Class<T> serviceClass) {
+    return createTestnetService(serviceClass, null);
+  }
+
+  @Override
+  public <T> T createTestnetService(Class<T> serviceClass, ApiAccount account) {
+    if (nativeFactory != null) {
+      return nativeFactory.create(serviceClass, BinanceApiConfig.getTestnetBaseUrl(), false, account);
+    }
+    Retrofit.Builder retrofitBuilder = new Retrofit.Builder()
 
             .baseUrl(BinanceApiConfig.getTestnetBaseUrl())
 
-            .callFactory(ahccf)
+            .callFactory(callFactory(account))
 
-            .addConverterFactory(converterFactory).build();
-    return retrofit.create(serviceClass);  }
+            .addConverterFactory(ApiServiceGenerator.converterFactory);
+    if (responseCache != null) {
+      retrofitBuilder.addCallAdapterFactory(responseCache.callAdapterFactory());
+    }
+    if (coalescer != null) {
+      retrofitBuilder.addCallAdapterFactory(coalescer);
+    }
+    return retrofitBuilder.build().create(serviceClass);
+  }
 
   @Override
   public BinanceApiWebSocketClient createSocket() {
-    return new NettyBinanceApiWebSocketClientImpl(sharedWsClient);
+    return track(dispatched(supervised(new NettyBinanceApiWebSocketClientImpl(sharedWsClient))));
   }
 
   @Override
   public BinanceApiWebSocketClient createTestnetSocket() {
-    return new NettyBinanceApiWebSocketClientImpl(sharedWsClient, true);
+    return track(dispatched(supervised(new NettyBinanceApiWebSocketClientImpl(sharedWsClient, true))));
+  }
+
+  private BinanceApiWebSocketClient supervised(BinanceApiWebSocketClient client) {
+    return reconnectPolicy != null ? new BinanceApiWebSocketSupervisor(client, reconnectPolicy) : client;
+  }
+
+  private BinanceApiWebSocketClient dispatched(BinanceApiWebSocketClient client) {
+    return dispatchPolicy != null ? new BinanceApiWebSocketDispatcher(client, dispatchPolicy) : client;
+  }
+
+  private BinanceApiWebSocketClient track(BinanceApiWebSocketClient client) {
+    if (client instanceof Closeable) {
+      sockets.add((Closeable) client);
+    }
+    return client;
+  }
+
+  @Override
+  public ConnectionWarmer warmUp(int connectionsPerHost, long pingIntervalMillis) {
+    List<Supplier<CompletableFuture<?>>> lanes = new ArrayList<>();
+    String url = BinanceApiConfig.getApiBaseUrl() + "/api/v1/ping";
+    lanes.add(() -> ping(sharedClient, url));
+    if (orderClient != null) {
+      lanes.add(() -> ping(orderClient, url));
+    }
+    return new ConnectionWarmer(lanes, connectionsPerHost, pingIntervalMillis);
+  }
+
+  @Override
+  public ResponseCache getResponseCache() {
+    return responseCache;
+  }
+
+  private static CompletableFuture<?> ping(AsyncHttpClient client, String url) {
+    return client.prepareGet(url).execute().toCompletableFuture().thenAccept(response -> {
+      if (response.getStatusCode() >= 400) {
+        throw new UncheckedIOException(new IOException("HTTP " + response.getStatusCode() + " from " + url));
+      }
+    });
+  }
+
+  @Override
+  public void close() {
+    closeSockets();
+    try {
+      sharedClient.close();
+      sharedWsClient.close();
+      eventLoopGroup.shutdownGracefully();
+      if (orderClient != null) {
+        orderClient.close();
+        orderEventLoopGroup.shutdownGracefully();
+      }
+      if (hedger != null) {
+        hedger.close();
+      }
+      if (router != null) {
+        router.close();
+      }
+      if (limiter != null) {
+        limiter.close();
+      }
+      if (governor != null) {
+        governor.close();
+      }
+      retrier.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void closeSockets() {
+    for (Closeable socket : sockets) {
+      try {
+        socket.close();
+      } catch (IOException | RuntimeException e) {
+        log.debug("closing a web socket client: {}", e.toString());
+      }
+    }
+    sockets.clear();
   }
 
 }
@@ -1,13 +1,15 @@
 package com.binance.api.client.impl;
 
 import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.asynchttpclient.AsyncHttpClient;
 import org.asynchttpclient.netty.ws.NettyWebSocket;
-import org.asynchttpclient.ws.WebSocketUpgradeHandler;
+import org.asynchttpclient.ws.WebSocket;
 
 import com.binance.api.client.BinanceApiCallback;
 import com.binance.api.client.BinanceApiWebSocketClient;
@@ -27,11 +29,13 @@ import lombok.SneakyThrows;
 /**
  * Binance API WebSocket client implementation using OkHttp.
  */
-public class NettyBinanceApiWebSocketClientImpl implements BinanceApiWebSocketClient {
+public class NettyBinanceApiWebSocketClientImpl implements BinanceApiWebSocketClient, Closeable {
 
   private final AsyncHttpClient client;
   private final boolean testnet;
 
+  private CombinedStreamManager streamManager;
+
   public NettyBinanceApiWebSocketClientImpl(AsyncHttpClient client) {
     this.client = client;
     this.testnet = false;
@@ -102,12 +106,119 @@ public class NettyBinanceApiWebSocketClientImpl implements BinanceApiWebSocketCl
     return createNewWebSocket(channel, new NettyBinanceApiWebSocketListener<>(callback, BookTickerEvent.class));
   }
 
+  @Override
+  public <T> Closeable subscribe(String stream, Class<T> eventClass, BinanceApiCallback<T> callback) {
+    return streamManager().subscribe(stream, CombinedStreamManager.readerFor(eventClass), callback);
+  }
+
+  @Override
+  public <T> Closeable subscribe(String stream, TypeReference<T> eventType, BinanceApiCallback<T> callback) {
+    return streamManager().subscribe(stream, CombinedStreamManager.readerFor(eventType), callback);
+  }
+
+  private synchronized CombinedStreamManager streamManager() {
+    if (streamManager == null) {
+      streamManager = new CombinedStreamManager(this::openStream, (testnet)
+          ? BinanceApiConfig.getTestnetCombinedStreamApiBaseUrl() : BinanceApiConfig.getCombinedStreamApiBaseUrl());
+    }
+    return streamManager;
+  }
+
+  /**
+   * Closes the combined stream connections of the {@link #subscribe(String, Class, BinanceApiCallback)} methods and
+   * stops their timer. The web sockets opened by the other methods are closed with the {@link Closeable} they return.
+   */
+  @Override
+  public void close() {
+    CombinedStreamManager manager;
+    synchronized (this) {
+      manager = streamManager;
+      streamManager = null;
+    }
+    if (manager != null) {
+      manager.close();
+    }
+  }
+
   @SneakyThrows
   private Closeable createNewWebSocket(String channel, NettyBinanceApiWebSocketListener<?> listener) {
     String streamingUrl = String.format("%s/%s", (testnet) ? BinanceApiConfig.getTestnetStreamApiBaseUrl() : BinanceApiConfig.getStreamApiBaseUrl(), channel);
-    NettyWebSocket socket = this.client.prepareGet(streamingUrl).execute(new WebSocketUpgradeHandler.Builder()
-        .addWebSocketListener(listener)
-        .build()).get();
-    return socket::sendCloseFrame;
+    NettyWebSocket socket = this.client.prepareGet(streamingUrl).execute(new NettyTextFrameHandler.UpgradeHandler(listener))
+        .get();
+    return () -> {
+      listener.closing();
+      socket.sendCloseFrame();
+    };
+  }
+
+  private StreamTransport.Connection openStream(String url, StreamTransport.Listener listener) {
+    StreamConnection connection = new StreamConnection(listener);
+    client.prepareGet(url).execute(new NettyTextFrameHandler.UpgradeHandler(connection));
+    return connection;
+  }
+
+  /**
+   * A combined stream connection, whose socket is known once open.
+   */
+  private static final class StreamConnection implements NettyTextFrameHandler.Listener, StreamTransport.Connection {
+
+    private final StreamTransport.Listener listener;
+
+    private volatile WebSocket websocket;
+
+    private volatile boolean closed;
+
+    StreamConnection(StreamTransport.Listener listener) {
+      this.listener = listener;
+    }
+
+    @Override
+    public void onOpen(WebSocket websocket) {
+      this.websocket = websocket;
+      if (closed) {
+        websocket.sendCloseFrame();
+      } else {
+        listener.onOpen();
+      }
+    }
+
+    @Override
+    public void onClose(WebSocket websocket, int code, String reason) {
+      listener.onFailure(new IOException("Stream closed: " + code + " " + reason));
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      listener.onFailure(t);
+    }
+
+    @Override
+    public void onPingFrame(byte[] payload) {
+      websocket.sendPongFrame(payload);
+    }
+
+    @Override
+    public void onTextFrame(String payload, boolean finalFragment, int rsv) {
+      listener.onMessage(payload);
+    }
+
+    @Override
+    public void onTextFrame(ByteBuffer payload) {
+      listener.onMessage(payload);
+    }
+
+    @Override
+    public void send(String text) {
+      websocket.sendTextFrame(text);
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+      WebSocket open = websocket;
+      if (open != null) {
+        open.sendCloseFrame();
+      }
+    }
   }
 }
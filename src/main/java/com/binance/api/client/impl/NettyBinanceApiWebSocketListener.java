@@ -1,6 +1,7 @@
 package com.binance.api.client.impl;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.asynchttpclient.ws.WebSocket;
 
@@ -8,11 +9,12 @@ import com.binance.api.client.BinanceApiCallback;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 
 /**
  * Binance API WebSocket listener.
  */
-public class NettyBinanceApiWebSocketListener<T> implements org.asynchttpclient.ws.WebSocketListener {
+public class NettyBinanceApiWebSocketListener<T> implements NettyTextFrameHandler.Listener {
 
   private BinanceApiCallback<T> callback;
 
@@ -22,6 +24,8 @@ public class NettyBinanceApiWebSocketListener<T> implements org.asynchttpclient.
 
   private WebSocket websocket;
 
+  private volatile boolean closing = false;
+
   public NettyBinanceApiWebSocketListener(BinanceApiCallback<T> callback, Class<T> eventClass) {
     this.callback = callback;
     this.objectReader = mapper.readerFor(eventClass);
@@ -32,13 +36,26 @@ public class NettyBinanceApiWebSocketListener<T> implements org.asynchttpclient.
     this.objectReader = mapper.readerFor(eventTypeReference);
   }
 
+  /**
+   * Marks the web socket as closed by the client, which is not a failure.
+   */
+  void closing() {
+    closing = true;
+  }
+
   @Override
   public void onClose(WebSocket websocket, int code, String reason) {
+    if (!closing) {
+      closing = true;
+      this.callback.onFailure(new IOException("Web socket closed by server: " + code + " " + reason));
+    }
   }
 
   @Override
   public void onError(Throwable t) {
-    this.callback.onFailure(t);
+    if (!closing) {
+      this.callback.onFailure(t);
+    }
   }
 
   @Override
@@ -60,4 +77,22 @@ public class NettyBinanceApiWebSocketListener<T> implements org.asynchttpclient.
     }
   }
 
+  /**
+   * Text frames received once the web socket is open, parsed from their bytes.
+   */
+  @Override
+  public void onTextFrame(ByteBuffer payload) {
+    try {
+      T event;
+      if (payload.hasArray()) {
+        event = objectReader.readValue(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining());
+      } else {
+        event = objectReader.readValue(new ByteBufferBackedInputStream(payload));
+      }
+      callback.onResponse(event);
+    } catch (IOException e) {
+      callback.onFailure(e);
+    }
+  }
+
 }
\ No newline at end of file
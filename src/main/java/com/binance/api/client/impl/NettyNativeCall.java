@@ -0,0 +1,429 @@
+package com.binance.api.client.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.asynchttpclient.AsyncHandler;
+import org.asynchttpclient.HttpResponseBodyPart;
+import org.asynchttpclient.HttpResponseStatus;
+import org.asynchttpclient.ListenableFuture;
+import org.asynchttpclient.Request;
+import org.asynchttpclient.netty.LazyResponseBodyPart;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.Retriable;
+import com.binance.api.client.security.ApiAccount;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaders;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.ResponseBody;
+import okio.Okio;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * A call of a {@link NettyNativeServiceFactory} service. The response body parts are retained as Netty buffers and
+ * decoded once the response is complete, on the event loop that received them. A retried call is stamped with the
+ * current time and encoded again.
+ */
+@Slf4j
+class NettyNativeCall<T> implements Call<T>, Retriable<NettyNativeCall<T>> {
+
+  private static final MediaType JSON = MediaType.parse("application/json");
+
+  private final NettyNativeServiceFactory factory;
+  private final NettyNativeServiceFactory.NativeMethod method;
+  private Object[] args;
+  private final String origin;
+  private final String defaultOrigin;
+  private final ApiAccount account;
+
+  private Request request;
+  private ListenableFuture<Void> future;
+  private boolean executed;
+  private volatile boolean canceled;
+
+  NettyNativeCall(NettyNativeServiceFactory factory, NettyNativeServiceFactory.NativeMethod method, Object[] args,
+      String origin, String defaultOrigin, ApiAccount account) {
+    this.factory = factory;
+    this.method = method;
+    this.args = args != null ? args : new Object[0];
+    this.origin = origin;
+    this.defaultOrigin = defaultOrigin;
+    this.account = account;
+  }
+
+  @Override
+  public Response<T> execute() throws IOException {
+    CompletableFuture<Response<T>> response = new CompletableFuture<>();
+    enqueue(new Callback<T>() {
+      @Override
+      public void onResponse(Call<T> call, Response<T> r) {
+        response.complete(r);
+      }
+
+      @Override
+      public void onFailure(Call<T> call, Throwable t) {
+        response.completeExceptionally(t);
+      }
+    });
+    try {
+      return response.get();
+    } catch (InterruptedException e) {
+      cancel();
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  @Override
+  public void enqueue(Callback<T> callback) {
+    synchronized (this) {
+      if (executed) {
+        throw new IllegalStateException("Already executed.");
+      }
+      executed = true;
+    }
+    dispatch(new Handler(callback, 0));
+  }
+
+  private void dispatch(Handler handler) {
+    Request nettyRequest = nettyRequest();
+    OrderRateGovernor governor = factory.getGovernor();
+    if (governor != null && RequestPriority.countsAsOrder(method.httpMethod, method.path)) {
+      governor.submit(apiKeyOf(nettyRequest), RequestPriority.of(method.httpMethod, method.path),
+          () -> limit(nettyRequest, handler), handler::onThrowable);
+    } else {
+      limit(nettyRequest, handler);
+    }
+  }
+
+  private void limit(Request nettyRequest, Handler handler) {
+    RequestWeightLimiter limiter = factory.getLimiter();
+    int weight = limiter != null ? weight(nettyRequest) : 0;
+    if (weight == 0) {
+      send(nettyRequest, handler);
+    } else {
+      limiter.submit(weight, RequestPriority.of(method.httpMethod, method.path), () -> send(nettyRequest, handler));
+    }
+  }
+
+  /**
+   * @return the request weight of the call, from the path and arguments of its method rather than its encoded URL
+   */
+  private int weight(Request nettyRequest) {
+    if (method.path == null) {
+      return EndpointWeights.weightOf(method.httpMethod, HttpUrl.parse(nettyRequest.getUrl()));
+    }
+    return EndpointWeights.weightOf(method.httpMethod, method.path, name -> {
+      Object value = method.queryArgument(args, name);
+      return value != null ? String.valueOf(value) : null;
+    });
+  }
+
+  private void send(Request nettyRequest, Handler handler) {
+    if (canceled) {
+      handler.onThrowable(new IOException("Canceled"));
+      return;
+    }
+    ListenableFuture<Void> sent = factory.clientFor(method).executeRequest(nettyRequest, handler);
+    synchronized (this) {
+      future = sent;
+    }
+    if (canceled) {
+      sent.cancel(true);
+    }
+  }
+
+  private static String apiKeyOf(Request nettyRequest) {
+    return nettyRequest.getHeaders().get(BinanceApiConstants.API_KEY_HEADER);
+  }
+
+  private synchronized Request nettyRequest() {
+    if (request == null) {
+      request = factory.encode(method, args, origin, defaultOrigin, account);
+    }
+    return request;
+  }
+
+  /**
+   * @return the timestamp parameter of the call, or 0 when it has none
+   */
+  @Override
+  public synchronized long getTimestamp() {
+    return method.timestampIndex >= 0 && args[method.timestampIndex] != null
+        ? ((Number) args[method.timestampIndex]).longValue() : 0;
+  }
+
+  /**
+   * Replaces the timestamp parameter of the call, if it has one, before it is encoded again.
+   */
+  @Override
+  public synchronized NettyNativeCall<T> timestamp(long newTimestamp) {
+    if (method.timestampIndex >= 0) {
+      args = args.clone();
+      args[method.timestampIndex] = newTimestamp;
+      request = null;
+    }
+    return this;
+  }
+
+  @Override
+  public synchronized boolean isExecuted() {
+    return executed;
+  }
+
+  @Override
+  public void cancel() {
+    canceled = true;
+    ListenableFuture<Void> sent;
+    synchronized (this) {
+      sent = future;
+    }
+    if (sent != null) {
+      sent.cancel(true);
+    }
+  }
+
+  @Override
+  public boolean isCanceled() {
+    return canceled;
+  }
+
+  @Override
+  public Call<T> clone() {
+    return new NettyNativeCall<>(factory, method, args, origin, defaultOrigin, account);
+  }
+
+  /**
+   * Equivalent OkHttp request, built on demand for logging and error reporting.
+   */
+  @Override
+  public okhttp3.Request request() {
+    Request nettyRequest = nettyRequest();
+    okhttp3.Request.Builder builder = new okhttp3.Request.Builder().url(nettyRequest.getUrl())
+        .method(nettyRequest.getMethod(), "GET".equals(nettyRequest.getMethod()) ? null
+            : okhttp3.RequestBody.create(null, new byte[0]));
+    nettyRequest.getHeaders().forEach(header -> builder.addHeader(header.getKey(), header.getValue()));
+    return builder.build();
+  }
+
+  /**
+   * Call.timeout() on Retrofit 2.6 and later; the Netty client applies its own read timeout.
+   */
+  public Timeout timeout() {
+    return Timeout.NONE;
+  }
+
+  /**
+   * Collects the body parts of one response and completes the callback.
+   */
+  private class Handler implements AsyncHandler<Void> {
+
+    private final Callback<T> callback;
+
+    /**
+     * Number of retries made before this one.
+     */
+    private final int attempt;
+
+    private int statusCode;
+    private String statusText;
+    private String retryAfter;
+    private ByteBuf body;
+
+    Handler(Callback<T> callback, int attempt) {
+      this.callback = callback;
+      this.attempt = attempt;
+    }
+
+    @Override
+    public State onStatusReceived(HttpResponseStatus status) {
+      // a replayed request starts over
+      release();
+      statusCode = status.getStatusCode();
+      statusText = status.getStatusText();
+      return canceled ? State.ABORT : State.CONTINUE;
+    }
+
+    @Override
+    public State onHeadersReceived(HttpHeaders headers) {
+      retryAfter = headers.get("Retry-After");
+      RequestWeightLimiter limiter = factory.getLimiter();
+      if (limiter != null) {
+        String usedWeight = headers.get("x-mbx-used-weight-1m");
+        limiter.update(statusCode, usedWeight != null ? usedWeight : headers.get("x-mbx-used-weight"),
+            retryAfter);
+      }
+      OrderRateGovernor governor = factory.getGovernor();
+      if (governor != null) {
+        governor.update(apiKeyOf(nettyRequest()), headers::get);
+      }
+      return canceled ? State.ABORT : State.CONTINUE;
+    }
+
+    @Override
+    public State onBodyPartReceived(HttpResponseBodyPart part) {
+      if (canceled) {
+        release();
+        return State.ABORT;
+      }
+      // lazy body parts, as configured by the generator, wrap the channel's buffer; eager ones hold a copy
+      ByteBuf buf = part instanceof LazyResponseBodyPart
+          ? ((LazyResponseBodyPart) part).getBuf()
+          : Unpooled.wrappedBuffer(part.getBodyByteBuffer());
+      if (!buf.isReadable()) {
+        return State.CONTINUE;
+      }
+      if (body == null) {
+        body = buf.retainedSlice();
+      } else {
+        if (!(body instanceof CompositeByteBuf)) {
+          body = buf.alloc().compositeBuffer(Integer.MAX_VALUE).addComponent(true, body);
+        }
+        ((CompositeByteBuf) body).addComponent(true, buf.retainedSlice());
+      }
+      return State.CONTINUE;
+    }
+
+    @Override
+    public void onThrowable(Throwable t) {
+      release();
+      RequestRetrier retrier = factory.getRetrier();
+      if (retrier != null && !canceled && t instanceof IOException) {
+        long delay = retrier.retryDelay(attempt, method.httpMethod, (IOException) t);
+        if (delay >= 0) {
+          retry(retrier, delay);
+          return;
+        }
+      }
+      invokeFailure(canceled && !(t instanceof IOException) ? new IOException("Canceled", t) : t);
+    }
+
+    @Override
+    public Void onCompleted() {
+      ByteBuf buf = body;
+      body = null;
+      RequestRetrier retrier = factory.getRetrier();
+      if (retrier != null && !canceled && (statusCode < 200 || statusCode >= 300)) {
+        String error = statusCode == 400 && buf != null ? buf.toString(StandardCharsets.UTF_8) : null;
+        long delay = retrier.retryDelay(attempt, method.httpMethod, statusCode, retryAfter, error);
+        if (delay >= 0) {
+          if (buf != null) {
+            buf.release();
+          }
+          retry(retrier, delay);
+          return null;
+        }
+      }
+      Response<T> response;
+      try {
+        response = toResponse(buf);
+      } catch (Throwable t) {
+        invokeFailure(t);
+        return null;
+      }
+      try {
+        callback.onResponse(NettyNativeCall.this, response);
+      } catch (Throwable t) {
+        log.error("response callback of {} failed", request.getUrl(), t);
+      }
+      return null;
+    }
+
+    private Response<T> toResponse(ByteBuf buf) throws IOException {
+      if (statusCode >= 200 && statusCode < 300) {
+        okhttp3.Response raw = new okhttp3.Response.Builder()
+            .code(statusCode)
+            .message(statusText != null ? statusText : "")
+            .protocol(Protocol.HTTP_1_1)
+            .request(request())
+            .build();
+        return Response.success(decode(buf), raw);
+      }
+      byte[] bytes;
+      if (buf == null) {
+        bytes = new byte[0];
+      } else {
+        try {
+          bytes = new byte[buf.readableBytes()];
+          buf.readBytes(bytes);
+        } finally {
+          buf.release();
+        }
+      }
+      if (statusCode < 400) {
+        throw new IOException("Unexpected HTTP " + statusCode + " from " + request.getUrl());
+      }
+      return Response.error(statusCode, ResponseBody.create(JSON, bytes));
+    }
+
+    /**
+     * Decodes a successful body, releasing its buffer.
+     */
+    @SuppressWarnings("unchecked")
+    private T decode(ByteBuf buf) throws IOException {
+      if (method.rawBody) {
+        if (buf == null) {
+          return (T) ResponseBody.create(JSON, new byte[0]);
+        }
+        return (T) ResponseBody.create(JSON, buf.readableBytes(), Okio.buffer(Okio.source(new ByteBufInputStream(buf, true))));
+      }
+      if (buf == null) {
+        return null;
+      }
+      if (method.reader == null) {
+        buf.release();
+        return null;
+      }
+      try (ByteBufInputStream in = new ByteBufInputStream(buf, true)) {
+        return method.reader.readValue((InputStream) in);
+      }
+    }
+
+    private void retry(RequestRetrier retrier, long delayMillis) {
+      log.debug("retrying {} in {} ms after HTTP {}", method.path, delayMillis, statusCode);
+      retrier.schedule(() -> {
+        timestamp(System.currentTimeMillis());
+        dispatch(new Handler(callback, attempt + 1));
+      }, delayMillis);
+    }
+
+    private void invokeFailure(Throwable t) {
+      try {
+        callback.onFailure(NettyNativeCall.this, t);
+      } catch (Throwable e) {
+        log.error("failure callback of {} failed", request.getUrl(), e);
+      }
+    }
+
+    private void release() {
+      if (body != null) {
+        body.release();
+        body = null;
+      }
+    }
+  }
+}
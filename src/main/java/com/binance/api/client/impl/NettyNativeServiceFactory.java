@@ -0,0 +1,320 @@
+package com.binance.api.client.impl;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.Request;
+import org.asynchttpclient.RequestBuilder;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.security.ApiAccount;
+import com.binance.api.client.security.SignerCache;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import okhttp3.HttpUrl;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Headers;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+import retrofit2.http.Query;
+import retrofit2.http.Url;
+
+/**
+ * Implements Retrofit-annotated service interfaces such as {@link BinanceApiService} directly on the Netty client,
+ * without Retrofit's OkHttp call adaptation. Requests are encoded from the interface annotations, parsed once per
+ * method, and signed in place; responses are decoded by Jackson straight from the pooled Netty buffers.
+ */
+class NettyNativeServiceFactory {
+
+  private final AsyncHttpClient client;
+
+  /**
+   * Client of the order lane, or null when order requests share the pool.
+   */
+  private final AsyncHttpClient orderClient;
+
+  /**
+   * Router of the API clusters, or null to always use the base URL.
+   */
+  private final ClusterRouter router;
+
+  /**
+   * Keeps requests within the request weight limit, or null to send them immediately.
+   */
+  private final RequestWeightLimiter limiter;
+
+  /**
+   * Keeps orders within the order rate limits, or null to send them immediately.
+   */
+  private final OrderRateGovernor governor;
+
+  /**
+   * Coalesces identical in-flight public requests, or null when every call is sent.
+   */
+  private final RequestCoalescer coalescer;
+
+  /**
+   * Caches public endpoint responses, or null when every call is sent.
+   */
+  private final ResponseCache responseCache;
+
+  /**
+   * Retries failed requests, or null to fail them at once.
+   */
+  private final RequestRetrier retrier;
+
+  private final Map<Method, NativeMethod> methods = new ConcurrentHashMap<>();
+
+  /**
+   * Signer of the secret arguments of unbound clients.
+   */
+  private final SignerCache signers = new SignerCache();
+
+  NettyNativeServiceFactory(AsyncHttpClient client, AsyncHttpClient orderClient, ClusterRouter router,
+      RequestWeightLimiter limiter, OrderRateGovernor governor, RequestCoalescer coalescer,
+      ResponseCache responseCache, RequestRetrier retrier) {
+    this.client = client;
+    this.orderClient = orderClient;
+    this.router = router;
+    this.limiter = limiter;
+    this.governor = governor;
+    this.coalescer = coalescer;
+    this.responseCache = responseCache;
+    this.retrier = retrier;
+  }
+
+  /**
+   * Creates an implementation of the service interface sending its requests to <code>baseUrl</code>.
+   *
+   * @param routed  whether requests follow the cluster router instead of <code>baseUrl</code>
+   * @param account account authenticating the requests instead of the API key and secret arguments, or null
+   */
+  @SuppressWarnings("unchecked")
+  <S> S create(Class<S> serviceClass, String baseUrl, boolean routed, ApiAccount account) {
+    String origin = origin(baseUrl);
+    return (S) Proxy.newProxyInstance(serviceClass.getClassLoader(), new Class<?>[] { serviceClass }, (proxy, method, args) -> {
+      if (method.getDeclaringClass() == Object.class) {
+        return method.invoke(this, args);
+      }
+      NativeMethod nativeMethod = methods.computeIfAbsent(method, NativeMethod::new);
+      Call<?> call = new NettyNativeCall<>(this, nativeMethod, args, routed ? null : origin, origin,
+          account);
+      if (nativeMethod.rawBody) {
+        return call;
+      }
+      if (coalescer != null) {
+        call = coalescer.coalesce(call);
+      }
+      return responseCache != null ? responseCache.cache(call) : call;
+    });
+  }
+
+  /**
+   * Builds the Netty request of a call: URL, query string, signature and API key header.
+   *
+   * @param origin  scheme, host and port of the request, or null to use the current cluster
+   * @param account account of a bound client, or null to use the API key and secret arguments
+   */
+  Request encode(NativeMethod method, Object[] args, String origin, String defaultOrigin, ApiAccount account) {
+    if (origin == null) {
+      HttpUrl cluster = router != null ? router.currentBaseUrl() : null;
+      origin = cluster != null ? origin(cluster.toString()) : defaultOrigin;
+    }
+    String url = method.path != null ? origin + method.path : null;
+    for (int i = 0; url == null && i < method.params.length; i++) {
+      if (method.kinds[i] == ParamKind.URL) {
+        url = String.valueOf(args[i]);
+      }
+    }
+    QueryStringBuilder query = QueryStringBuilder.of(url);
+    String apiKey = null;
+    String secret = null;
+    RequestBuilder builder = new RequestBuilder(method.httpMethod, true);
+    for (int i = 0; i < method.params.length; i++) {
+      Object value = args[i];
+      String name = method.params[i];
+      switch (method.kinds[i]) {
+        case QUERY:
+          if (value instanceof Iterable) {
+            for (Object element : (Iterable<?>) value) {
+              query.param(name, element);
+            }
+          } else {
+            query.param(name, value);
+          }
+          break;
+        case HEADER:
+          if ("api".equals(name)) {
+            apiKey = (String) value;
+          } else if ("Secret".equalsIgnoreCase(name)) {
+            secret = (String) value;
+          } else if (value != null) {
+            builder.addHeader(name, String.valueOf(value));
+          }
+          break;
+        default:
+          break;
+      }
+    }
+    if (method.signed && query.hasQuery()) {
+      query.sign(account != null ? account.getSigner() : signers.signerOf(secret));
+    }
+    if (method.apiKeyRequired || method.signed) {
+      builder.addHeader(BinanceApiConstants.API_KEY_HEADER, account != null ? account.getApiKey() : apiKey);
+    }
+    return builder.setUrl(query.build()).build();
+  }
+
+  /**
+   * Client serving a request: the order lane for order placement and cancellation, the shared pool otherwise.
+   */
+  AsyncHttpClient clientFor(NativeMethod method) {
+    return orderClient != null && method.orderRequest ? orderClient : client;
+  }
+
+  RequestWeightLimiter getLimiter() {
+    return limiter;
+  }
+
+  OrderRateGovernor getGovernor() {
+    return governor;
+  }
+
+  RequestRetrier getRetrier() {
+    return retrier;
+  }
+
+  private static String origin(String baseUrl) {
+    URI uri = URI.create(baseUrl);
+    return uri.getScheme() + "://" + uri.getRawAuthority();
+  }
+
+  enum ParamKind {
+    QUERY,
+    HEADER,
+    URL
+  }
+
+  /**
+   * Request template of a service method, parsed once from its Retrofit annotations.
+   */
+  static class NativeMethod {
+
+    final String httpMethod;
+
+    /**
+     * Absolute path of the endpoint, or null when the URL is a parameter.
+     */
+    final String path;
+
+    final String[] params;
+    final ParamKind[] kinds;
+    final boolean apiKeyRequired;
+    final boolean signed;
+    final boolean orderRequest;
+
+    /**
+     * Index of the <code>timestamp</code> query parameter, or -1 when the endpoint has none.
+     */
+    final int timestampIndex;
+
+    /**
+     * Reader of the response body, or null when the body is ignored (Void) or returned raw (ResponseBody).
+     */
+    final ObjectReader reader;
+
+    final boolean rawBody;
+
+    NativeMethod(Method method) {
+      String verb = null;
+      String relativePath = null;
+      boolean apiKey = false;
+      boolean sign = false;
+      for (Annotation annotation : method.getAnnotations()) {
+        if (annotation instanceof GET) {
+          verb = "GET";
+          relativePath = ((GET) annotation).value();
+        } else if (annotation instanceof POST) {
+          verb = "POST";
+          relativePath = ((POST) annotation).value();
+        } else if (annotation instanceof PUT) {
+          verb = "PUT";
+          relativePath = ((PUT) annotation).value();
+        } else if (annotation instanceof DELETE) {
+          verb = "DELETE";
+          relativePath = ((DELETE) annotation).value();
+        } else if (annotation instanceof Headers) {
+          for (String header : ((Headers) annotation).value()) {
+            apiKey |= header.startsWith(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_APIKEY + ":");
+            sign |= header.startsWith(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED + ":");
+          }
+        }
+      }
+      if (verb == null) {
+        throw new IllegalArgumentException("No HTTP method annotation on " + method);
+      }
+      httpMethod = verb;
+      path = relativePath == null || relativePath.isEmpty() ? null : relativePath;
+      apiKeyRequired = apiKey;
+      signed = sign;
+      orderRequest = !"GET".equals(verb) && OrderLaneCallFactory.ORDER_PATHS.contains(path);
+
+      Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+      params = new String[parameterAnnotations.length];
+      kinds = new ParamKind[parameterAnnotations.length];
+      int timestamp = -1;
+      for (int i = 0; i < parameterAnnotations.length; i++) {
+        for (Annotation annotation : parameterAnnotations[i]) {
+          if (annotation instanceof Query) {
+            kinds[i] = ParamKind.QUERY;
+            params[i] = ((Query) annotation).value();
+            if ("timestamp".equals(params[i])) {
+              timestamp = i;
+            }
+          } else if (annotation instanceof Header) {
+            kinds[i] = ParamKind.HEADER;
+            params[i] = ((Header) annotation).value();
+          } else if (annotation instanceof Url) {
+            kinds[i] = ParamKind.URL;
+          }
+        }
+        if (kinds[i] == null) {
+          throw new IllegalArgumentException("Unsupported parameter " + i + " of " + method);
+        }
+      }
+      timestampIndex = timestamp;
+
+      Type returnType = method.getGenericReturnType();
+      if (!(returnType instanceof ParameterizedType) || ((ParameterizedType) returnType).getRawType() != Call.class) {
+        throw new IllegalArgumentException("Service methods must return Call<T>: " + method);
+      }
+      Type bodyType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+      rawBody = bodyType == ResponseBody.class;
+      reader = bodyType == Void.class || rawBody ? null
+          : ApiServiceGenerator.mapper.readerFor(ApiServiceGenerator.mapper.constructType(bodyType));
+    }
+
+    /**
+     * @return the argument of the query parameter <code>name</code>, or null when the method has none
+     */
+    Object queryArgument(Object[] args, String name) {
+      for (int i = 0; i < params.length; i++) {
+        if (kinds[i] == ParamKind.QUERY && name.equals(params[i])) {
+          return args[i];
+        }
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package com.binance.api.client.impl;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+
+import org.asynchttpclient.AsyncHandler;
+import org.asynchttpclient.HttpResponseStatus;
+import org.asynchttpclient.netty.NettyResponseFuture;
+import org.asynchttpclient.netty.channel.ChannelManager;
+import org.asynchttpclient.netty.channel.Channels;
+import org.asynchttpclient.netty.ws.NettyWebSocket;
+import org.asynchttpclient.ws.WebSocket;
+import org.asynchttpclient.ws.WebSocketListener;
+import org.asynchttpclient.ws.WebSocketUpgradeHandler;
+
+import com.binance.api.client.exception.BinanceHandshakeException;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+
+/**
+ * Hands the text frames of web sockets opened with an {@link UpgradeHandler} to its listener as bytes, ahead of the
+ * AsyncHttpClient web socket handler which would decode them into Strings. The exchange sends every stream message as
+ * a text frame, so this is where the stream events are parsed from.
+ * <p>
+ * Frames received before the web socket is open, while AsyncHttpClient buffers them, and fragmented frames are left
+ * to AsyncHttpClient, which delivers them as Strings.
+ */
+@Sharable
+final class NettyTextFrameHandler extends ChannelInboundHandlerAdapter {
+
+  private static final NettyTextFrameHandler INSTANCE = new NettyTextFrameHandler();
+
+  /**
+   * Web socket listener parsing text frames from their UTF-8 bytes.
+   */
+  interface Listener extends WebSocketListener {
+
+    /**
+     * A whole text frame; the buffer is only valid during the call.
+     */
+    void onTextFrame(ByteBuffer payload);
+  }
+
+  /**
+   * Upgrade handler of a web socket whose text frames go to the byte path of its listener.
+   */
+  static final class UpgradeHandler extends WebSocketUpgradeHandler {
+
+    private final Listener listener;
+
+    private final Handshake handshake;
+
+    private volatile NettyWebSocket webSocket;
+
+    UpgradeHandler(Listener listener) {
+      this(listener, new Handshake(listener));
+    }
+
+    private UpgradeHandler(Listener listener, Handshake handshake) {
+      super(Collections.singletonList(handshake));
+      this.listener = listener;
+      this.handshake = handshake;
+    }
+
+    @Override
+    protected void onStatusReceived0(HttpResponseStatus status) {
+      handshake.status = status.getStatusCode();
+    }
+
+    @Override
+    protected void setWebSocket0(NettyWebSocket webSocket) {
+      this.webSocket = webSocket;
+    }
+  }
+
+  /**
+   * Passes the events of a web socket to its listener, telling a rejected handshake from the other failures.
+   */
+  private static final class Handshake implements WebSocketListener {
+
+    private final Listener listener;
+
+    /**
+     * Status of the handshake response, received before AsyncHttpClient fails a rejected handshake.
+     */
+    private volatile int status;
+
+    Handshake(Listener listener) {
+      this.listener = listener;
+    }
+
+    @Override
+    public void onOpen(WebSocket websocket) {
+      listener.onOpen(websocket);
+    }
+
+    @Override
+    public void onClose(WebSocket websocket, int code, String reason) {
+      listener.onClose(websocket, code, reason);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      listener.onError(status != 0 && status != 101 ? new BinanceHandshakeException(status, t) : t);
+    }
+
+    @Override
+    public void onBinaryFrame(byte[] payload, boolean finalFragment, int rsv) {
+      listener.onBinaryFrame(payload, finalFragment, rsv);
+    }
+
+    @Override
+    public void onTextFrame(String payload, boolean finalFragment, int rsv) {
+      listener.onTextFrame(payload, finalFragment, rsv);
+    }
+
+    @Override
+    public void onPingFrame(byte[] payload) {
+      listener.onPingFrame(payload);
+    }
+
+    @Override
+    public void onPongFrame(byte[] payload) {
+      listener.onPongFrame(payload);
+    }
+  }
+
+  private NettyTextFrameHandler() {
+  }
+
+  /**
+   * Installs the handler in a new web socket channel, see
+   * {@link org.asynchttpclient.DefaultAsyncHttpClientConfig.Builder#setWsAdditionalChannelInitializer}. Once the
+   * channel is upgraded, the handler sits between the frame decoder and the AsyncHttpClient handler.
+   */
+  static void install(Channel channel) {
+    channel.pipeline().addBefore(ChannelManager.AHC_WS_HANDLER, "binance-text-frames", INSTANCE);
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+    Listener listener = msg instanceof TextWebSocketFrame && ((TextWebSocketFrame) msg).isFinalFragment()
+        ? listenerOf(ctx.channel()) : null;
+    if (listener == null) {
+      ctx.fireChannelRead(msg);
+      return;
+    }
+    TextWebSocketFrame frame = (TextWebSocketFrame) msg;
+    try {
+      listener.onTextFrame(frame.content().nioBuffer());
+    } finally {
+      frame.release();
+    }
+  }
+
+  /**
+   * @return the listener of the open web socket of the channel, null when its frames are left to AsyncHttpClient
+   */
+  private static Listener listenerOf(Channel channel) {
+    Object attribute = Channels.getAttribute(channel);
+    if (!(attribute instanceof NettyResponseFuture)) {
+      return null;
+    }
+    AsyncHandler<?> handler = ((NettyResponseFuture<?>) attribute).getAsyncHandler();
+    if (!(handler instanceof UpgradeHandler)) {
+      return null;
+    }
+    UpgradeHandler upgradeHandler = (UpgradeHandler) handler;
+    NettyWebSocket webSocket = upgradeHandler.webSocket;
+    // the same check as AsyncHttpClient's, which buffers the frames until then
+    return webSocket != null && webSocket.isReady() ? upgradeHandler.listener : null;
+  }
+}
@@ -0,0 +1,39 @@
+package com.binance.api.client.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import okhttp3.Call;
+import okhttp3.Request;
+
+/**
+ * Routes order placement and cancellation to a dedicated lane, so that bursts of market data requests never queue
+ * ahead of them in a shared dispatcher or connection pool. Order status polls (GET) stay on the default lane.
+ */
+class OrderLaneCallFactory implements Call.Factory {
+
+  /**
+   * Paths of the signed order endpoints served by the order lane.
+   */
+  static final Set<String> ORDER_PATHS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+      "/api/v3/order", "/api/v3/order/oco", "/api/v3/orderList", "/sapi/v1/margin/order")));
+
+  private final Call.Factory orderLane;
+  private final Call.Factory defaultLane;
+
+  OrderLaneCallFactory(Call.Factory orderLane, Call.Factory defaultLane) {
+    this.orderLane = orderLane;
+    this.defaultLane = defaultLane;
+  }
+
+  @Override
+  public Call newCall(Request request) {
+    return isOrderRequest(request) ? orderLane.newCall(request) : defaultLane.newCall(request);
+  }
+
+  static boolean isOrderRequest(Request request) {
+    return !"GET".equals(request.method()) && ORDER_PATHS.contains(request.url().encodedPath());
+  }
+}
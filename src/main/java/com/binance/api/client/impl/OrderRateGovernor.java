@@ -0,0 +1,388 @@
+package com.binance.api.client.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.general.RateLimit;
+import com.binance.api.client.domain.general.RateLimitType;
+import com.binance.api.client.security.ApiAccount;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+
+/**
+ * Enforces the <code>ORDERS</code> rate limits of the exchange information, e.g. 50 orders per 10 seconds and 160000
+ * per day. Each window counts the orders placed since its start and is resynchronized with the
+ * <code>x-mbx-order-count-*</code> headers of the responses. An order which does not fit in a window waits for the
+ * window to roll over if that happens within the configured delay, and is otherwise failed locally without being
+ * sent. Cancel-replaces are counted but never held back.
+ * <p>
+ * The <code>ORDERS</code> limits apply to each account, so every API key has windows of its own, taken from the
+ * account of a bound client or from the API key of the request.
+ * <p>
+ * The count of each window is a 64-bit cell updated with compare-and-set, so the processes of a host can share their
+ * order counts through a {@link SharedRateLimitFile}.
+ */
+@Slf4j
+class OrderRateGovernor implements Closeable {
+
+  private final List<RateLimit> orderLimits;
+
+  /**
+   * Cells of the windows of an API key, by index of their <code>ORDERS</code> limit.
+   */
+  private final Function<String, IntFunction<LongCell>> cells;
+
+  private final Map<String, List<Window>> windows = new ConcurrentHashMap<>();
+
+  private final long maxDelayMillis;
+
+  private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "binance-order-governor");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * @param rateLimits     rate limits of the exchange information, of which the <code>ORDERS</code> limits are used
+   * @param maxDelayMillis how long an order may wait for the order rate limits before it is rejected locally
+   */
+  OrderRateGovernor(List<RateLimit> rateLimits, long maxDelayMillis) {
+    this(rateLimits, maxDelayMillis, apiKey -> index -> LongCell.local());
+  }
+
+  /**
+   * @param cells cells of the windows of an API key, holding the count of the <code>index</code>-th
+   *              <code>ORDERS</code> window
+   */
+  OrderRateGovernor(List<RateLimit> rateLimits, long maxDelayMillis, Function<String, IntFunction<LongCell>> cells) {
+    this.orderLimits = rateLimits.stream()
+        .filter(rateLimit -> rateLimit.getRateLimitType() == RateLimitType.ORDERS)
+        .collect(Collectors.toList());
+    this.cells = cells;
+    this.maxDelayMillis = maxDelayMillis;
+  }
+
+  /**
+   * Wraps a call factory so that order placements are sent within the order rate limits of their account.
+   *
+   * @param account account of a bound client, or null to count the orders against the API key of each request
+   */
+  Call.Factory wrap(Call.Factory delegate, ApiAccount account) {
+    return request -> {
+      String path = request.url().encodedPath();
+      if (!RequestPriority.countsAsOrder(request.method(), path)) {
+        return delegate.newCall(request);
+      }
+      String apiKey = account != null ? account.getApiKey() : request.header(BinanceApiConstants.API_KEY_HEADER);
+      if (apiKey == null) {
+        // not authenticated yet: the key is still the argument of the service method
+        apiKey = request.header("api");
+      }
+      return new GovernedCall(delegate.newCall(request), RequestPriority.of(request.method(), path),
+          windowsOf(apiKey));
+    };
+  }
+
+  /**
+   * Runs <code>send</code> once the order fits in the order rate limits of <code>apiKey</code>, or rejects it.
+   *
+   * @param priority {@link RequestPriority#CANCEL} for a cancel-replace, which is never held back
+   */
+  void submit(String apiKey, RequestPriority priority, Runnable send, Consumer<IOException> reject) {
+    submit(windowsOf(apiKey), priority, send, reject, System.currentTimeMillis() + maxDelayMillis);
+  }
+
+  private void submit(List<Window> windows, RequestPriority priority, Runnable send, Consumer<IOException> reject,
+      long deadline) {
+    long delay = acquire(windows, priority);
+    if (delay == 0) {
+      send.run();
+    } else if (System.currentTimeMillis() + delay > deadline) {
+      reject.accept(rejection(windows));
+    } else {
+      timer.schedule(() -> submit(windows, priority, send, reject, deadline), delay, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Counts an order of <code>apiKey</code> if every window has room for it, or unconditionally for a cancel-replace.
+   *
+   * @return 0 when the order was counted, otherwise how long until a full window rolls over, in milliseconds
+   */
+  long acquire(String apiKey, RequestPriority priority) {
+    return acquire(windowsOf(apiKey), priority);
+  }
+
+  private static long acquire(List<Window> windows, RequestPriority priority) {
+    long now = System.currentTimeMillis();
+    boolean force = priority == RequestPriority.CANCEL;
+    for (int i = 0; i < windows.size(); i++) {
+      long wait = windows.get(i).increment(now, force);
+      if (wait > 0) {
+        // give back the windows already counted
+        for (int j = 0; j < i; j++) {
+          windows.get(j).decrement(now);
+        }
+        return wait;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Resynchronizes the windows of <code>apiKey</code> with the order counts reported by the API.
+   *
+   * @param headers reads a response header by name
+   */
+  void update(String apiKey, Function<String, String> headers) {
+    update(windowsOf(apiKey), headers);
+  }
+
+  private static void update(List<Window> windows, Function<String, String> headers) {
+    long now = System.currentTimeMillis();
+    for (Window window : windows) {
+      String count = headers.apply(window.header);
+      if (count != null) {
+        try {
+          window.raise(now, Integer.parseInt(count.trim()));
+        } catch (NumberFormatException e) {
+          // ignore malformed header
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the windows of <code>apiKey</code>, created on its first order
+   */
+  private List<Window> windowsOf(String apiKey) {
+    return windows.computeIfAbsent(apiKey != null ? apiKey : "", key -> {
+      IntFunction<LongCell> accountCells = cells.apply(key);
+      List<Window> accountWindows = new ArrayList<>(orderLimits.size());
+      for (int i = 0; i < orderLimits.size(); i++) {
+        accountWindows.add(new Window(orderLimits.get(i), accountCells.apply(i)));
+      }
+      return accountWindows;
+    });
+  }
+
+  private static IOException rejection(List<Window> windows) {
+    long now = System.currentTimeMillis();
+    String full = windows.stream()
+        .filter(window -> window.count(now) >= window.limit)
+        .map(window -> window.limit + " per " + window.header.substring(Window.HEADER_PREFIX.length()))
+        .collect(Collectors.joining(", "));
+    log.warn("order rate limit reached ({}), rejecting order", full);
+    return new IOException("Order rate limit reached (" + full + "), order not sent");
+  }
+
+  @Override
+  public void close() {
+    timer.shutdownNow();
+  }
+
+  /**
+   * Order count of one rate limit window, aligned on multiples of its length like the API's. The cell holds the index
+   * of the current window in its high half and the count in its low half.
+   */
+  private static class Window {
+
+    private static final String HEADER_PREFIX = "x-mbx-order-count-";
+
+    private final int limit;
+    private final long length;
+    private final String header;
+    private final LongCell cell;
+
+    Window(RateLimit rateLimit, LongCell cell) {
+      int intervalNum = rateLimit.getIntervalNum() != null ? rateLimit.getIntervalNum() : 1;
+      TimeUnit unit;
+      switch (rateLimit.getInterval()) {
+        case SECOND:
+          unit = TimeUnit.SECONDS;
+          break;
+        case MINUTE:
+          unit = TimeUnit.MINUTES;
+          break;
+        default:
+          unit = TimeUnit.DAYS;
+          break;
+      }
+      this.limit = rateLimit.getLimit();
+      this.length = unit.toMillis(intervalNum);
+      this.header = HEADER_PREFIX + intervalNum + rateLimit.getInterval().name().substring(0, 1).toLowerCase(Locale.ROOT);
+      this.cell = cell;
+    }
+
+    /**
+     * Counts one order, unless the window is full and <code>force</code> is not set.
+     *
+     * @return 0 when counted, otherwise the time left until the window rolls over, in milliseconds
+     */
+    long increment(long now, boolean force) {
+      int index = (int) (now / length);
+      while (true) {
+        long state = cell.get();
+        int count = count(state, index);
+        if (count >= limit && !force) {
+          return (now / length + 1) * length - now;
+        }
+        if (cell.compareAndSet(state, pack(index, count + 1))) {
+          return 0;
+        }
+      }
+    }
+
+    void decrement(long now) {
+      int index = (int) (now / length);
+      while (true) {
+        long state = cell.get();
+        int count = count(state, index);
+        if (count == 0 || cell.compareAndSet(state, pack(index, count - 1))) {
+          return;
+        }
+      }
+    }
+
+    /**
+     * Raises the count of the current window to <code>value</code>.
+     */
+    void raise(long now, int value) {
+      int index = (int) (now / length);
+      while (true) {
+        long state = cell.get();
+        if (count(state, index) >= value || cell.compareAndSet(state, pack(index, value))) {
+          return;
+        }
+      }
+    }
+
+    int count(long now) {
+      return count(cell.get(), (int) (now / length));
+    }
+
+    private static int count(long state, int index) {
+      return (int) (state >>> 32) == index ? (int) state : 0;
+    }
+
+    private static long pack(int index, int count) {
+      return (long) index << 32 | (count & 0xFFFFFFFFL);
+    }
+  }
+
+  /**
+   * An order placement sent once it fits in the order rate limits.
+   */
+  private class GovernedCall implements Call {
+
+    private final Call delegate;
+    private final RequestPriority priority;
+    private final List<Window> windows;
+
+    private volatile boolean canceled;
+
+    GovernedCall(Call delegate, RequestPriority priority, List<Window> windows) {
+      this.delegate = delegate;
+      this.priority = priority;
+      this.windows = windows;
+    }
+
+    @Override
+    public Request request() {
+      return delegate.request();
+    }
+
+    /**
+     * Waits for the order rate limits on the calling thread, then executes the call.
+     */
+    @Override
+    public Response execute() throws IOException {
+      long deadline = System.currentTimeMillis() + maxDelayMillis;
+      long delay;
+      while ((delay = acquire(windows, priority)) > 0) {
+        if (System.currentTimeMillis() + delay > deadline) {
+          throw rejection(windows);
+        }
+        try {
+          TimeUnit.MILLISECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException();
+        }
+      }
+      Response response = delegate.execute();
+      update(windows, response::header);
+      return response;
+    }
+
+    @Override
+    public void enqueue(Callback responseCallback) {
+      Callback governed = new Callback() {
+        @Override
+        public void onFailure(Call call, IOException e) {
+          responseCallback.onFailure(GovernedCall.this, e);
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) throws IOException {
+          update(windows, response::header);
+          responseCallback.onResponse(GovernedCall.this, response);
+        }
+      };
+      submit(windows, priority, () -> {
+        if (canceled) {
+          responseCallback.onFailure(this, new IOException("Canceled"));
+        } else {
+          delegate.enqueue(governed);
+        }
+      }, e -> responseCallback.onFailure(this, e), System.currentTimeMillis() + maxDelayMillis);
+    }
+
+    @Override
+    public void cancel() {
+      canceled = true;
+      delegate.cancel();
+    }
+
+    @Override
+    public boolean isExecuted() {
+      return delegate.isExecuted();
+    }
+
+    @Override
+    public boolean isCanceled() {
+      return canceled;
+    }
+
+    /**
+     * Call.timeout() on OkHttp 3.12 and later.
+     */
+    public Timeout timeout() {
+      return Timeout.NONE;
+    }
+
+    @Override
+    public Call clone() {
+      return new GovernedCall(delegate.clone(), priority, windows);
+    }
+  }
+}
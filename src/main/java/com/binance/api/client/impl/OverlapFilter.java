@@ -0,0 +1,184 @@
+package com.binance.api.client.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.AggTradeEvent;
+import com.binance.api.client.domain.event.BookTickerEvent;
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.event.TickerEvent;
+import com.binance.api.client.domain.event.TradeEvent;
+
+/**
+ * Delivers the events of a stream received on two connections while a connection is replaced by another, once each
+ * and in order. Events are ordered by their sequence, i.e. their update or trade id or else their event time, for their
+ * symbol.
+ * <p>
+ * The connection being replaced keeps delivering a symbol until the overlap is confirmed, i.e. until the replacement
+ * has received an event at or below the last one delivered: the replacement then carries every event after it, and
+ * takes over the symbol. Until then, the events of the replacement are held back, since the connection being replaced
+ * may still deliver older ones, and those it did not deliver are delivered once the overlap is confirmed or the
+ * connection is handed over. Events without a sequence, e.g. user data events, are only taken from the connection
+ * being replaced until the hand-over. Events are delivered one at a time, although they arrive on two threads.
+ */
+final class OverlapFilter {
+
+  private static final long NO_SEQUENCE = Long.MIN_VALUE;
+
+  /**
+   * Source of the events of the replacing connection.
+   */
+  private final Object replacement;
+
+  private final Map<String, Overlap> symbols = new HashMap<>();
+
+  /**
+   * Set once the connection has been handed over: from then on the events of the replacement go straight through.
+   */
+  private volatile boolean handedOver;
+
+  /**
+   * @param replacement source of the events of the replacing connection, as passed to
+   *                    {@link #deliver(Object, Object, BinanceApiCallback)}
+   */
+  OverlapFilter(Object replacement) {
+    this.replacement = replacement;
+  }
+
+  /**
+   * @param source connection the event was received on, the replacement or the connection being replaced
+   */
+  <T> void deliver(T event, Object source, BinanceApiCallback<T> callback) {
+    if (handedOver) {
+      if (source == replacement) {
+        callback.onResponse(event);
+      }
+      return;
+    }
+    long sequence = sequenceOf(event);
+    synchronized (this) {
+      if (handedOver || sequence == NO_SEQUENCE) {
+        // the replacement once handed over, the connection being replaced until then
+        if (handedOver == (source == replacement)) {
+          callback.onResponse(event);
+        }
+        return;
+      }
+      Overlap overlap = symbols.computeIfAbsent(symbolOf(event), symbol -> new Overlap());
+      if (source == replacement) {
+        if (overlap.confirmed) {
+          overlap.deliver(event, sequence, callback);
+        } else if (sequence <= overlap.last) {
+          // already delivered: the replacement carries everything after it
+          overlap.confirm(callback);
+        } else {
+          overlap.pending.add(event);
+        }
+      } else if (!overlap.confirmed) {
+        overlap.deliver(event, sequence, callback);
+        if (!overlap.pending.isEmpty() && sequenceOf(overlap.pending.peekFirst()) <= overlap.last) {
+          overlap.confirm(callback);
+        }
+      }
+    }
+  }
+
+  /**
+   * Hands the stream over to the replacement: the events it holds back are delivered, and from then on only its events
+   * are delivered.
+   */
+  synchronized <T> void handOver(BinanceApiCallback<T> callback) {
+    for (Overlap overlap : symbols.values()) {
+      overlap.confirm(callback);
+    }
+    handedOver = true;
+  }
+
+  /**
+   * Overlap of the two connections for one symbol.
+   */
+  private static final class Overlap {
+
+    /**
+     * Sequence of the last event delivered.
+     */
+    private long last = NO_SEQUENCE;
+
+    /**
+     * Whether the replacement has taken over the symbol.
+     */
+    private boolean confirmed;
+
+    /**
+     * Events of the replacement held back until the overlap is confirmed, in order.
+     */
+    private final Deque<Object> pending = new ArrayDeque<>();
+
+    <T> void deliver(T event, long sequence, BinanceApiCallback<T> callback) {
+      if (sequence > last) {
+        last = sequence;
+        callback.onResponse(event);
+      }
+    }
+
+    /**
+     * Lets the replacement take over, delivering the events it held back which were not delivered yet.
+     */
+    @SuppressWarnings("unchecked")
+    <T> void confirm(BinanceApiCallback<T> callback) {
+      confirmed = true;
+      for (Object event; (event = pending.poll()) != null; ) {
+        deliver((T) event, sequenceOf(event), callback);
+      }
+    }
+  }
+
+  static long sequenceOf(Object event) {
+    if (event instanceof DepthEvent) {
+      return ((DepthEvent) event).getFinalUpdateId();
+    } else if (event instanceof AggTradeEvent) {
+      return ((AggTradeEvent) event).getAggregatedTradeId();
+    } else if (event instanceof TradeEvent) {
+      String tradeId = ((TradeEvent) event).getTradeId();
+      return tradeId != null ? Long.parseLong(tradeId) : NO_SEQUENCE;
+    } else if (event instanceof BookTickerEvent) {
+      return ((BookTickerEvent) event).getUpdateId();
+    } else if (event instanceof CandlestickEvent) {
+      return ((CandlestickEvent) event).getEventTime();
+    } else if (event instanceof TickerEvent) {
+      return ((TickerEvent) event).getEventTime();
+    } else if (event instanceof List) {
+      // all market tickers: the latest ticker of the array
+      long sequence = NO_SEQUENCE;
+      for (Object element : (List<?>) event) {
+        if (element instanceof TickerEvent) {
+          sequence = Math.max(sequence, ((TickerEvent) element).getEventTime());
+        }
+      }
+      return sequence;
+    }
+    return NO_SEQUENCE;
+  }
+
+  private static String symbolOf(Object event) {
+    if (event instanceof DepthEvent) {
+      return ((DepthEvent) event).getSymbol();
+    } else if (event instanceof AggTradeEvent) {
+      return ((AggTradeEvent) event).getSymbol();
+    } else if (event instanceof TradeEvent) {
+      return ((TradeEvent) event).getSymbol();
+    } else if (event instanceof BookTickerEvent) {
+      return ((BookTickerEvent) event).getSymbol();
+    } else if (event instanceof CandlestickEvent) {
+      return ((CandlestickEvent) event).getSymbol();
+    } else if (event instanceof TickerEvent) {
+      return ((TickerEvent) event).getSymbol();
+    }
+    return "";
+  }
+}
@@ -0,0 +1,27 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+
+import okhttp3.Request;
+
+/**
+ * Requests of public data, which may be hedged, coalesced with identical ones or answered from a cache: sending them
+ * twice, or not at all, has no effect besides their weight.
+ */
+final class PublicRequests {
+
+  private PublicRequests() {
+  }
+
+  /**
+   * @return whether <code>request</code> is an unsigned GET, sent without an API key
+   */
+  static boolean isPublicGet(Request request) {
+    return "GET".equals(request.method())
+        && request.url().queryParameter("signature") == null
+        && request.header("api") == null
+        && request.header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_APIKEY) == null
+        && request.header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED) == null
+        && request.header(BinanceApiConstants.API_KEY_HEADER) == null;
+  }
+}
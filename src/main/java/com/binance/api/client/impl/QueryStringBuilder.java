@@ -0,0 +1,138 @@
+package com.binance.api.client.impl;
+
+import java.nio.charset.StandardCharsets;
+
+import com.binance.api.client.security.Signer;
+
+/**
+ * Builds the URL of a request in a single buffer reused by the thread: parameters are percent-encoded in place, and
+ * the signature is computed over the encoded query string as it is sent and appended to it, without intermediate
+ * strings or URL objects.
+ */
+final class QueryStringBuilder {
+
+  private static final ThreadLocal<QueryStringBuilder> builders = ThreadLocal.withInitial(QueryStringBuilder::new);
+
+  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+  private final StringBuilder buffer = new StringBuilder(256);
+
+  private final Window query = new Window();
+
+  /**
+   * Index of the first character of the query string, or -1 while there are no parameters.
+   */
+  private int queryStart;
+
+  private QueryStringBuilder() {
+  }
+
+  /**
+   * @return the builder of the calling thread, starting a URL at <code>url</code>
+   */
+  static QueryStringBuilder of(String url) {
+    QueryStringBuilder builder = builders.get();
+    builder.buffer.setLength(0);
+    builder.buffer.append(url);
+    builder.queryStart = -1;
+    return builder;
+  }
+
+  /**
+   * Appends a parameter; null values are skipped.
+   */
+  QueryStringBuilder param(String name, Object value) {
+    if (value == null) {
+      return this;
+    }
+    if (queryStart < 0) {
+      buffer.append('?');
+      queryStart = buffer.length();
+    } else {
+      buffer.append('&');
+    }
+    encode(name);
+    buffer.append('=');
+    encode(value instanceof String ? (String) value : String.valueOf(value));
+    return this;
+  }
+
+  /**
+   * Appends the <code>signature</code> parameter of the query string, if there is one.
+   */
+  QueryStringBuilder sign(Signer signer) {
+    if (queryStart < 0) {
+      return this;
+    }
+    query.end = buffer.length();
+    buffer.append("&signature=");
+    signer.sign(query, buffer);
+    return this;
+  }
+
+  boolean hasQuery() {
+    return queryStart >= 0;
+  }
+
+  String build() {
+    return buffer.toString();
+  }
+
+  /**
+   * Percent-encodes everything but the unreserved characters of RFC 3986, like the query strings signed by the API.
+   */
+  private void encode(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+          || c == '-' || c == '_' || c == '.' || c == '~') {
+        buffer.append(c);
+      } else if (c < 0x80) {
+        percent(c);
+      } else {
+        // non-ASCII values are rare: encode the rest of the value as UTF-8
+        for (byte b : value.substring(i).getBytes(StandardCharsets.UTF_8)) {
+          int octet = b & 0xFF;
+          if (octet < 0x80 && (Character.isLetterOrDigit(octet) || "-_.~".indexOf(octet) >= 0)) {
+            buffer.append((char) octet);
+          } else {
+            percent(octet);
+          }
+        }
+        return;
+      }
+    }
+  }
+
+  private void percent(int octet) {
+    buffer.append('%').append(HEX_DIGITS[octet >> 4]).append(HEX_DIGITS[octet & 0xF]);
+  }
+
+  /**
+   * The query string within the buffer, signed in place.
+   */
+  private final class Window implements CharSequence {
+
+    private int end;
+
+    @Override
+    public int length() {
+      return end - queryStart;
+    }
+
+    @Override
+    public char charAt(int index) {
+      return buffer.charAt(queryStart + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return buffer.subSequence(queryStart + start, queryStart + end);
+    }
+
+    @Override
+    public String toString() {
+      return buffer.substring(queryStart, end);
+    }
+  }
+}
@@ -0,0 +1,319 @@
+package com.binance.api.client.impl;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Coalesces identical in-flight public requests: while an unsigned GET is outstanding, calls for the same URL wait for
+ * its response instead of sending their own, and all of them receive the same decoded body. Callers must therefore
+ * treat coalesced results as shared and not modify them.
+ */
+class RequestCoalescer extends CallAdapter.Factory {
+
+  private final Map<String, Flight<?>> flights = new ConcurrentHashMap<>();
+
+  @Override
+  public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+    if (getRawType(returnType) != Call.class || !(returnType instanceof ParameterizedType)) {
+      return null;
+    }
+    Type responseType = getParameterUpperBound(0, (ParameterizedType) returnType);
+    if (responseType == ResponseBody.class) {
+      // streamed bodies can only be read once
+      return null;
+    }
+    return new CallAdapter<Object, Call<?>>() {
+      @Override
+      public Type responseType() {
+        return responseType;
+      }
+
+      @Override
+      public Call<?> adapt(Call<Object> call) {
+        return coalesce(call);
+      }
+    };
+  }
+
+  <T> Call<T> coalesce(Call<T> call) {
+    return new CoalescedCall<>(call);
+  }
+
+  /**
+   * Number of distinct requests currently in flight through this coalescer.
+   */
+  int getInFlight() {
+    return flights.size();
+  }
+
+  private static String key(Request request) {
+    return request.method() + ' ' + request.url();
+  }
+
+  /**
+   * One network call shared by all the coalesced calls of a URL.
+   */
+  private class Flight<T> implements Callback<T> {
+
+    private final String key;
+    private final Call<T> call;
+    private final List<CoalescedCall<T>> subscribers = new ArrayList<>(2);
+    private boolean done;
+
+    Flight(String key, Call<T> call) {
+      this.key = key;
+      this.call = call;
+    }
+
+    synchronized boolean join(CoalescedCall<T> subscriber) {
+      if (done) {
+        return false;
+      }
+      subscribers.add(subscriber);
+      return true;
+    }
+
+    /**
+     * Removes a cancelled subscriber, cancelling the network call when it was the last one.
+     */
+    void leave(CoalescedCall<T> subscriber) {
+      synchronized (this) {
+        if (done || !subscribers.remove(subscriber) || !subscribers.isEmpty()) {
+          return;
+        }
+        done = true;
+      }
+      flights.remove(key, this);
+      call.cancel();
+    }
+
+    private List<CoalescedCall<T>> finish() {
+      flights.remove(key, this);
+      synchronized (this) {
+        done = true;
+        return new ArrayList<>(subscribers);
+      }
+    }
+
+    @Override
+    public void onResponse(Call<T> call, Response<T> response) {
+      List<CoalescedCall<T>> waiting = finish();
+      if (response.isSuccessful() || waiting.size() == 1) {
+        waiting.forEach(subscriber -> subscriber.onResponse(response));
+        return;
+      }
+      // an error body can only be read once, give each subscriber its own copy
+      byte[] bytes;
+      MediaType contentType;
+      try (ResponseBody errorBody = response.errorBody()) {
+        contentType = errorBody != null ? errorBody.contentType() : null;
+        bytes = errorBody != null ? errorBody.bytes() : new byte[0];
+      } catch (IOException e) {
+        waiting.forEach(subscriber -> subscriber.onFailure(e));
+        return;
+      }
+      waiting.forEach(subscriber -> subscriber.onResponse(
+          Response.error(ResponseBody.create(contentType, bytes), response.raw())));
+    }
+
+    @Override
+    public void onFailure(Call<T> call, Throwable t) {
+      finish().forEach(subscriber -> subscriber.onFailure(t));
+    }
+  }
+
+  /**
+   * A call joining the in-flight request for its URL, or starting it.
+   */
+  private class CoalescedCall<T> implements Call<T> {
+
+    private final Call<T> delegate;
+
+    private Callback<T> callback;
+    private Flight<T> flight;
+    private boolean executed;
+    private boolean completed;
+    private volatile boolean canceled;
+
+    CoalescedCall(Call<T> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+      if (!PublicRequests.isPublicGet(delegate.request())) {
+        markExecuted();
+        return delegate.execute();
+      }
+      CompletableFuture<Response<T>> response = new CompletableFuture<>();
+      enqueue(new Callback<T>() {
+        @Override
+        public void onResponse(Call<T> call, Response<T> r) {
+          response.complete(r);
+        }
+
+        @Override
+        public void onFailure(Call<T> call, Throwable t) {
+          response.completeExceptionally(t);
+        }
+      });
+      try {
+        return response.get();
+      } catch (InterruptedException e) {
+        cancel();
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+      }
+    }
+
+    @Override
+    public void enqueue(Callback<T> responseCallback) {
+      markExecuted();
+      synchronized (this) {
+        callback = responseCallback;
+      }
+      Request request = delegate.request();
+      if (!PublicRequests.isPublicGet(request)) {
+        delegate.enqueue(new Callback<T>() {
+          @Override
+          public void onResponse(Call<T> call, Response<T> response) {
+            CoalescedCall.this.onResponse(response);
+          }
+
+          @Override
+          public void onFailure(Call<T> call, Throwable t) {
+            CoalescedCall.this.onFailure(t);
+          }
+        });
+        return;
+      }
+      String key = key(request);
+      while (true) {
+        @SuppressWarnings("unchecked")
+        Flight<T> current = (Flight<T>) flights.get(key);
+        if (current == null) {
+          Flight<T> started = new Flight<>(key, delegate);
+          started.join(this);
+          if (flights.putIfAbsent(key, started) == null) {
+            setFlight(started);
+            delegate.enqueue(started);
+            return;
+          }
+        } else if (current.join(this)) {
+          setFlight(current);
+          return;
+        } else {
+          // completing, its response is already being delivered
+          flights.remove(key, current);
+        }
+      }
+    }
+
+    private synchronized void markExecuted() {
+      if (executed) {
+        throw new IllegalStateException("Already executed.");
+      }
+      executed = true;
+    }
+
+    private void setFlight(Flight<T> joined) {
+      synchronized (this) {
+        flight = joined;
+      }
+      if (canceled) {
+        cancel();
+      }
+    }
+
+    private Callback<T> complete() {
+      synchronized (this) {
+        if (completed) {
+          return null;
+        }
+        completed = true;
+        return callback;
+      }
+    }
+
+    void onResponse(Response<T> response) {
+      Callback<T> target = complete();
+      if (target != null) {
+        target.onResponse(this, response);
+      }
+    }
+
+    void onFailure(Throwable t) {
+      Callback<T> target = complete();
+      if (target != null) {
+        target.onFailure(this, t);
+      }
+    }
+
+    @Override
+    public synchronized boolean isExecuted() {
+      return executed;
+    }
+
+    @Override
+    public void cancel() {
+      canceled = true;
+      Flight<T> joined;
+      synchronized (this) {
+        joined = flight;
+      }
+      if (joined == null) {
+        delegate.cancel();
+        return;
+      }
+      joined.leave(this);
+      onFailure(new IOException("Canceled"));
+    }
+
+    @Override
+    public boolean isCanceled() {
+      return canceled;
+    }
+
+    @Override
+    public Call<T> clone() {
+      return new CoalescedCall<>(delegate.clone());
+    }
+
+    @Override
+    public Request request() {
+      return delegate.request();
+    }
+
+    /**
+     * Call.timeout() on Retrofit 2.6 and later; the shared call applies its own timeout.
+     */
+    public Timeout timeout() {
+      return Timeout.NONE;
+    }
+  }
+}
@@ -0,0 +1,312 @@
+package com.binance.api.client.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.binance.api.client.config.HedgingPolicy;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+
+/**
+ * Sends a second copy of slow read-only market data requests according to a {@link HedgingPolicy}. The hedge is
+ * sent once the request has been outstanding for longer than the configured latency percentile of its endpoint, and
+ * only if the request weight limiter keeps the headroom of the policy after it. The limiter, which the hedger wraps,
+ * charges the hedge with the weight of its endpoint like any request. The first response wins and the other call is
+ * cancelled.
+ */
+class RequestHedger implements Closeable {
+
+  /**
+   * Number of latency samples kept per endpoint.
+   */
+  private static final int SAMPLES = 256;
+
+  /**
+   * Minimum number of samples before the percentile is trusted over the initial delay.
+   */
+  private static final int MIN_SAMPLES = 16;
+
+  private final HedgingPolicy policy;
+
+  /**
+   * Limiter charging the hedges, or null when the request weight is not limited.
+   */
+  private final RequestWeightLimiter limiter;
+
+  private final Map<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+
+  private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "binance-request-hedger");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * @param limiter limiter of the call factories wrapped by the hedger, or null
+   */
+  RequestHedger(HedgingPolicy policy, RequestWeightLimiter limiter) {
+    this.policy = policy;
+    this.limiter = limiter;
+  }
+
+  /**
+   * Wraps a call factory so that eligible requests are hedged; other requests go straight to <code>delegate</code>.
+   */
+  Call.Factory wrap(Call.Factory delegate) {
+    return request -> {
+      if (!PublicRequests.isPublicGet(request) || !policy.getEndpoints().contains(request.url().encodedPath())) {
+        return delegate.newCall(request);
+      }
+      return new HedgedCall(delegate, request, EndpointWeights.weightOf(request.method(), request.url()));
+    };
+  }
+
+  /**
+   * @return whether a hedge of <code>weight</code> leaves the headroom of the policy to the limiter
+   */
+  private boolean canHedge(int weight) {
+    return limiter == null || limiter.getAvailable() - weight >= policy.getWeightHeadroom();
+  }
+
+  private long hedgeDelayMillis(String path) {
+    long percentile = latencies.computeIfAbsent(path, p -> new LatencyTracker()).percentile(policy.getPercentile());
+    return Math.max(policy.getMinDelayMillis(), percentile < 0 ? policy.getInitialDelayMillis() : percentile);
+  }
+
+  @Override
+  public void close() {
+    timer.shutdownNow();
+  }
+
+  /**
+   * Ring buffer of the most recent response latencies of an endpoint.
+   */
+  static class LatencyTracker {
+
+    private final long[] samples = new long[SAMPLES];
+
+    private int count;
+
+    private long cachedPercentile = -1;
+
+    synchronized void record(long millis) {
+      samples[count++ % SAMPLES] = millis;
+      if (count >= MIN_SAMPLES && count % MIN_SAMPLES == 0) {
+        cachedPercentile = -1;
+      }
+    }
+
+    /**
+     * @return the latency percentile in milliseconds, or -1 while there are not enough samples
+     */
+    synchronized long percentile(double percentile) {
+      if (count < MIN_SAMPLES) {
+        return -1;
+      }
+      if (cachedPercentile < 0) {
+        long[] sorted = Arrays.copyOf(samples, Math.min(count, SAMPLES));
+        Arrays.sort(sorted);
+        cachedPercentile = sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+      }
+      return cachedPercentile;
+    }
+  }
+
+  /**
+   * A call racing the original request against a delayed copy.
+   */
+  private class HedgedCall implements Call {
+
+    private final Call.Factory delegate;
+    private final Request request;
+    private final int weight;
+
+    private Callback callback;
+    private Call primary;
+    private Call hedge;
+    private ScheduledFuture<?> hedgeTimer;
+    private int inFlight;
+    private boolean executed;
+    private boolean done;
+    private volatile boolean canceled;
+
+    HedgedCall(Call.Factory delegate, Request request, int weight) {
+      this.delegate = delegate;
+      this.request = request;
+      this.weight = weight;
+    }
+
+    @Override
+    public Request request() {
+      return request;
+    }
+
+    @Override
+    public Response execute() throws IOException {
+      CompletableFuture<Response> response = new CompletableFuture<>();
+      enqueue(new Callback() {
+        @Override
+        public void onFailure(Call call, IOException e) {
+          response.completeExceptionally(e);
+        }
+
+        @Override
+        public void onResponse(Call call, Response r) {
+          response.complete(r);
+        }
+      });
+      try {
+        return response.get();
+      } catch (InterruptedException e) {
+        cancel();
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      } catch (ExecutionException e) {
+        throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+      }
+    }
+
+    @Override
+    public void enqueue(Callback responseCallback) {
+      Call call;
+      synchronized (this) {
+        if (executed) {
+          throw new IllegalStateException("Already Executed");
+        }
+        executed = true;
+        callback = responseCallback;
+        inFlight = 1;
+        call = primary = delegate.newCall(request);
+      }
+      call.enqueue(new Attempt());
+      ScheduledFuture<?> scheduled = timer.schedule(this::sendHedge, hedgeDelayMillis(request.url().encodedPath()),
+          TimeUnit.MILLISECONDS);
+      synchronized (this) {
+        hedgeTimer = scheduled;
+        if (done) {
+          scheduled.cancel(false);
+        }
+      }
+    }
+
+    private void sendHedge() {
+      Call call;
+      synchronized (this) {
+        if (done || canceled || !canHedge(weight)) {
+          return;
+        }
+        inFlight++;
+        call = hedge = delegate.newCall(request);
+      }
+      call.enqueue(new Attempt());
+    }
+
+    private void onResponse(Call winner, Response response) throws IOException {
+      Call loser;
+      synchronized (this) {
+        inFlight--;
+        if (done) {
+          response.close();
+          return;
+        }
+        done = true;
+        loser = winner == primary ? hedge : primary;
+        if (hedgeTimer != null) {
+          hedgeTimer.cancel(false);
+        }
+      }
+      if (loser != null) {
+        loser.cancel();
+      }
+      callback.onResponse(this, response);
+    }
+
+    private void onFailure(IOException e) {
+      synchronized (this) {
+        inFlight--;
+        // keep waiting while the other copy is still running
+        if (done || inFlight > 0) {
+          return;
+        }
+        done = true;
+        if (hedgeTimer != null) {
+          hedgeTimer.cancel(false);
+        }
+      }
+      callback.onFailure(this, e);
+    }
+
+    @Override
+    public void cancel() {
+      Call first;
+      Call second;
+      synchronized (this) {
+        canceled = true;
+        first = primary;
+        second = hedge;
+      }
+      if (first != null) {
+        first.cancel();
+      }
+      if (second != null) {
+        second.cancel();
+      }
+    }
+
+    @Override
+    public synchronized boolean isExecuted() {
+      return executed;
+    }
+
+    @Override
+    public boolean isCanceled() {
+      return canceled;
+    }
+
+    /**
+     * Call.timeout() on OkHttp 3.12 and later; copies have their own timeouts.
+     */
+    public Timeout timeout() {
+      return Timeout.NONE;
+    }
+
+    @Override
+    public Call clone() {
+      return new HedgedCall(delegate, request, weight);
+    }
+
+    /**
+     * Callback of one copy of the request.
+     */
+    private class Attempt implements Callback {
+
+      private final long start = System.nanoTime();
+
+      @Override
+      public void onResponse(Call call, Response response) throws IOException {
+        latencies.computeIfAbsent(request.url().encodedPath(), p -> new LatencyTracker())
+            .record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        HedgedCall.this.onResponse(call, response);
+      }
+
+      @Override
+      public void onFailure(Call call, IOException e) {
+        HedgedCall.this.onFailure(e);
+      }
+    }
+  }
+}
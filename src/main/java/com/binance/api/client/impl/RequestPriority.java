@@ -0,0 +1,70 @@
+package com.binance.api.client.impl;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Priority classes of REST requests under the request weight and order rate limits, highest first.
+ */
+enum RequestPriority {
+
+  /**
+   * Order cancellations and cancel-replaces: sent immediately, even when the request weight budget is exhausted.
+   */
+  CANCEL,
+
+  /**
+   * Order placement, counted against the order rate limits.
+   */
+  ORDER,
+
+  /**
+   * Market data, account and other requests.
+   */
+  DEFAULT,
+
+  /**
+   * Order status polls: only sent while enough request weight is left for orders.
+   */
+  STATUS;
+
+  private static final Set<String> CANCELS = new HashSet<>(Arrays.asList(
+      "DELETE /api/v3/order",
+      "DELETE /api/v3/orderList",
+      "DELETE /api/v3/openOrders",
+      "POST /api/v3/order/cancelReplace",
+      "DELETE /sapi/v1/margin/order",
+      "DELETE /sapi/v1/margin/openOrders"));
+
+  private static final Set<String> ORDERS = new HashSet<>(Arrays.asList(
+      "POST /api/v3/order",
+      "POST /api/v3/order/oco",
+      "POST /sapi/v1/margin/order"));
+
+  private static final Set<String> STATUS_POLLS = new HashSet<>(Arrays.asList(
+      "GET /api/v3/order",
+      "GET /api/v3/openOrders",
+      "GET /api/v3/allOrders",
+      "GET /api/v3/orderList",
+      "GET /sapi/v1/margin/order",
+      "GET /sapi/v1/margin/openOrders"));
+
+  static RequestPriority of(String method, String path) {
+    String endpoint = method + ' ' + path;
+    if (CANCELS.contains(endpoint)) {
+      return CANCEL;
+    }
+    if (ORDERS.contains(endpoint)) {
+      return ORDER;
+    }
+    return STATUS_POLLS.contains(endpoint) ? STATUS : DEFAULT;
+  }
+
+  /**
+   * Whether a request of this endpoint is counted against the order rate limits.
+   */
+  static boolean countsAsOrder(String method, String path) {
+    return ORDERS.contains(method + ' ' + path) || "POST /api/v3/order/cancelReplace".equals(method + ' ' + path);
+  }
+}
@@ -0,0 +1,299 @@
+package com.binance.api.client.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.binance.api.client.config.RetryPolicy;
+import com.binance.api.client.domain.Retriable;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+
+/**
+ * Retries failed requests according to a {@link RetryPolicy}. A retried request is stamped with the current time
+ * through {@link Retriable#timestamp(long)} before it is created again from the wrapped call factory, so it is signed
+ * again and charged again against the rate limits. Asynchronous retries are sent from a timer after their delay.
+ */
+@Slf4j
+class RequestRetrier implements Closeable {
+
+  private final RetryPolicy policy;
+
+  private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "binance-request-retrier");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  RequestRetrier(RetryPolicy policy) {
+    this.policy = policy;
+  }
+
+  /**
+   * Wraps a call factory so that its failed requests are retried.
+   */
+  Call.Factory wrap(Call.Factory delegate) {
+    return request -> new RetryingCall(delegate, request);
+  }
+
+  /**
+   * @param attempt    number of retries already made
+   * @param method     HTTP method of the request
+   * @param status     HTTP status of the response
+   * @param retryAfter value of the <code>Retry-After</code> header, or null
+   * @param error      body of a 400 response, or null
+   * @return how long to wait before retrying, in milliseconds, or -1 when the response is final
+   */
+  long retryDelay(int attempt, String method, int status, String retryAfter, String error) {
+    if (attempt >= policy.getMaxRetries()) {
+      return -1;
+    }
+    if (status == 418 || status == 429) {
+      long delay = retryAfter != null ? retryAfterMillis(retryAfter) : backoff(attempt);
+      return delay <= policy.getMaxDelayMillis() ? delay : -1;
+    }
+    if (status == 400 && error != null && error.contains("-1021")) {
+      return 0;
+    }
+    if ((status == 502 || status == 503 || status == 504) && isIdempotent(method)) {
+      return backoff(attempt);
+    }
+    return -1;
+  }
+
+  /**
+   * @return how long to wait before retrying a request which failed with <code>e</code>, in milliseconds, or -1 when
+   * the failure is final
+   */
+  long retryDelay(int attempt, String method, IOException e) {
+    if (attempt >= policy.getMaxRetries()) {
+      return -1;
+    }
+    // a request which could not connect was never sent
+    return isIdempotent(method) || e instanceof ConnectException ? backoff(attempt) : -1;
+  }
+
+  /**
+   * Reads and keepalives can be sent twice without side effects; order placements and cancellations cannot, as their
+   * outcome is unknown after a server error.
+   */
+  static boolean isIdempotent(String method) {
+    return "GET".equals(method) || "PUT".equals(method);
+  }
+
+  void schedule(Runnable retry, long delayMillis) {
+    if (delayMillis == 0) {
+      retry.run();
+    } else {
+      timer.schedule(retry, delayMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private long backoff(int attempt) {
+    long backoff = Math.min(policy.getMaxDelayMillis(), policy.getInitialBackoffMillis() << Math.min(attempt, 20));
+    // jitter spreads the retries of requests which failed together
+    return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+  }
+
+  private static long retryAfterMillis(String retryAfter) {
+    try {
+      return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+    } catch (NumberFormatException e) {
+      return TimeUnit.SECONDS.toMillis(1);
+    }
+  }
+
+  @Override
+  public void close() {
+    timer.shutdownNow();
+  }
+
+  /**
+   * A request whose <code>timestamp</code> query parameter is renewed for every retry.
+   */
+  static class RetriableRequest implements Retriable<RetriableRequest> {
+
+    private volatile Request request;
+
+    RetriableRequest(Request request) {
+      this.request = request;
+    }
+
+    Request request() {
+      return request;
+    }
+
+    /**
+     * @return the timestamp of the request, or 0 when it has none
+     */
+    @Override
+    public long getTimestamp() {
+      String timestamp = request.url().queryParameter("timestamp");
+      return timestamp != null ? Long.parseLong(timestamp) : 0;
+    }
+
+    /**
+     * Replaces the timestamp of the request, if it has one.
+     */
+    @Override
+    public RetriableRequest timestamp(long newTimestamp) {
+      HttpUrl url = request.url();
+      if (url.queryParameter("timestamp") != null) {
+        request = request.newBuilder()
+            .url(url.newBuilder().setQueryParameter("timestamp", Long.toString(newTimestamp)).build())
+            .build();
+      }
+      return this;
+    }
+  }
+
+  /**
+   * A call sent again from the wrapped call factory until its response is final.
+   */
+  private class RetryingCall implements Call {
+
+    private final Call.Factory delegate;
+    private final RetriableRequest request;
+
+    private volatile Call current;
+    private volatile boolean executed;
+    private volatile boolean canceled;
+
+    RetryingCall(Call.Factory delegate, Request request) {
+      this.delegate = delegate;
+      this.request = new RetriableRequest(request);
+    }
+
+    @Override
+    public Request request() {
+      return request.request();
+    }
+
+    private Call newCall(int attempt) {
+      if (attempt > 0) {
+        request.timestamp(System.currentTimeMillis());
+      }
+      Call call = delegate.newCall(request.request());
+      current = call;
+      return call;
+    }
+
+    /**
+     * Retries on the calling thread, waiting for the retry delays.
+     */
+    @Override
+    public Response execute() throws IOException {
+      executed = true;
+      for (int attempt = 0;; attempt++) {
+        long delay;
+        try {
+          Response response = newCall(attempt).execute();
+          delay = canceled ? -1 : responseDelay(attempt, response);
+          if (delay < 0) {
+            return response;
+          }
+          response.close();
+        } catch (IOException e) {
+          delay = canceled ? -1 : retryDelay(attempt, request().method(), e);
+          if (delay < 0) {
+            throw e;
+          }
+        }
+        try {
+          TimeUnit.MILLISECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException();
+        }
+      }
+    }
+
+    @Override
+    public void enqueue(Callback responseCallback) {
+      executed = true;
+      send(0, responseCallback);
+    }
+
+    private void send(int attempt, Callback responseCallback) {
+      if (canceled) {
+        responseCallback.onFailure(this, new IOException("Canceled"));
+        return;
+      }
+      newCall(attempt).enqueue(new Callback() {
+        @Override
+        public void onFailure(Call call, IOException e) {
+          long delay = canceled ? -1 : retryDelay(attempt, request().method(), e);
+          if (delay < 0) {
+            responseCallback.onFailure(RetryingCall.this, e);
+          } else {
+            log.debug("retrying {} in {} ms after {}", request().url().encodedPath(), delay, e.toString());
+            schedule(() -> send(attempt + 1, responseCallback), delay);
+          }
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) throws IOException {
+          long delay = canceled ? -1 : responseDelay(attempt, response);
+          if (delay < 0) {
+            responseCallback.onResponse(RetryingCall.this, response);
+          } else {
+            response.close();
+            log.debug("retrying {} in {} ms after HTTP {}", request().url().encodedPath(), delay, response.code());
+            schedule(() -> send(attempt + 1, responseCallback), delay);
+          }
+        }
+      });
+    }
+
+    private long responseDelay(int attempt, Response response) throws IOException {
+      if (response.isSuccessful()) {
+        return -1;
+      }
+      String error = response.code() == 400 ? response.peekBody(256).string() : null;
+      return RequestRetrier.this.retryDelay(attempt, request().method(), response.code(),
+          response.header("Retry-After"), error);
+    }
+
+    @Override
+    public void cancel() {
+      canceled = true;
+      Call call = current;
+      if (call != null) {
+        call.cancel();
+      }
+    }
+
+    @Override
+    public boolean isExecuted() {
+      return executed;
+    }
+
+    @Override
+    public boolean isCanceled() {
+      return canceled;
+    }
+
+    /**
+     * Call.timeout() on OkHttp 3.12 and later.
+     */
+    public Timeout timeout() {
+      return Timeout.NONE;
+    }
+
+    @Override
+    public Call clone() {
+      return new RetryingCall(delegate, request.request());
+    }
+  }
+}
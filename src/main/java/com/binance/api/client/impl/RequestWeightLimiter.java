@@ -0,0 +1,306 @@
+package com.binance.api.client.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+
+/**
+ * Token bucket of request weight, refilled at the per-minute <code>REQUEST_WEIGHT</code> limit. The weight of a request
+ * is taken from the bucket before it is sent; when the bucket runs dry, asynchronous requests are sent later from a
+ * timer instead of blocking a thread. The bucket is lowered to the weight left according to the
+ * <code>x-mbx-used-weight</code> headers of the responses, so requests sent by other clients sharing the IP address
+ * are accounted for.
+ * <p>
+ * Order cancellations are sent immediately even when the bucket is empty, and order status polls wait until enough
+ * weight is left for orders, see {@link RequestPriority}.
+ * <p>
+ * The bucket is a single 64-bit cell updated with compare-and-set, so the processes of a host can share one budget
+ * through a {@link SharedRateLimitFile}.
+ */
+class RequestWeightLimiter implements Closeable {
+
+  /**
+   * Share of the limit kept for orders and other requests when an order status poll is sent.
+   */
+  private static final double STATUS_HEADROOM = 0.1;
+
+  /**
+   * Tokens are counted in hundredths of request weight.
+   */
+  private static final int UNITS = 100;
+
+  private final int capacity;
+
+  private final double unitsPerMilli;
+
+  /**
+   * State of the bucket: the time of its last refill (low 32 bits of the epoch time in milliseconds) in the high half,
+   * the tokens left in the low half. Zero is a full bucket.
+   */
+  private final LongCell bucket;
+
+  private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "binance-rate-limiter");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * @param limit request weight allowed per minute
+   */
+  RequestWeightLimiter(int limit) {
+    this(limit, LongCell.local());
+  }
+
+  /**
+   * @param limit  request weight allowed per minute
+   * @param bucket state of the bucket, shared by every limiter of the IP address using the same cell
+   */
+  RequestWeightLimiter(int limit, LongCell bucket) {
+    this.capacity = limit * UNITS;
+    this.unitsPerMilli = capacity / (double) TimeUnit.MINUTES.toMillis(1);
+    this.bucket = bucket;
+  }
+
+  /**
+   * Wraps a call factory so that its requests are sent within the weight limit.
+   */
+  Call.Factory wrap(Call.Factory delegate) {
+    return request -> {
+      int weight = EndpointWeights.weightOf(request.method(), request.url());
+      return weight == 0 ? delegate.newCall(request) : new LimitedCall(delegate.newCall(request), weight,
+          RequestPriority.of(request.method(), request.url().encodedPath()));
+    };
+  }
+
+  long reserve(int weight) {
+    return reserve(weight, RequestPriority.DEFAULT);
+  }
+
+  /**
+   * Takes <code>weight</code> from the bucket, which may go negative: later requests queue behind this one. Order
+   * status polls are only charged once the bucket keeps its headroom after them.
+   *
+   * @return how long to wait before sending the request, or before trying again for an order status poll, in
+   * nanoseconds
+   */
+  long reserve(int weight, RequestPriority priority) {
+    int cost = weight * UNITS;
+    int now = (int) System.currentTimeMillis();
+    while (true) {
+      long state = bucket.get();
+      long refilled = refill(state, now);
+      int tokens = (int) refilled;
+      if (priority == RequestPriority.STATUS) {
+        int headroom = (int) (capacity * STATUS_HEADROOM);
+        if (tokens - cost < headroom) {
+          return toNanos(headroom + cost - tokens);
+        }
+      }
+      int left = tokens - cost;
+      if (bucket.compareAndSet(state, withTokens(refilled, left))) {
+        return left >= 0 || priority == RequestPriority.CANCEL ? 0 : toNanos(-left);
+      }
+    }
+  }
+
+  /**
+   * Runs <code>send</code> once <code>weight</code> is available, immediately or from the limiter's timer.
+   */
+  void submit(int weight, RequestPriority priority, Runnable send) {
+    long delay = reserve(weight, priority);
+    if (delay == 0) {
+      send.run();
+    } else if (priority == RequestPriority.STATUS) {
+      timer.schedule(() -> submit(weight, priority, send), delay, TimeUnit.NANOSECONDS);
+    } else {
+      timer.schedule(send, delay, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Resynchronizes the bucket with the weight used in the current minute according to the API. A rejected request
+   * (HTTP 418 or 429) empties the bucket until the end of its <code>Retry-After</code> delay.
+   *
+   * @param status     HTTP status of the response
+   * @param usedWeight value of the <code>x-mbx-used-weight-1m</code> or <code>x-mbx-used-weight</code> header, or null
+   * @param retryAfter value of the <code>Retry-After</code> header, or null
+   */
+  void update(int status, String usedWeight, String retryAfter) {
+    int used = parse(usedWeight);
+    boolean rejected = status == 418 || status == 429;
+    if (used < 0 && !rejected) {
+      return;
+    }
+    int ceiling = used >= 0 ? capacity - used * UNITS : capacity;
+    if (rejected) {
+      long backOffMillis = TimeUnit.SECONDS.toMillis(Math.max(parse(retryAfter), 1));
+      ceiling = Math.min(ceiling, (int) -Math.min(backOffMillis * unitsPerMilli, Integer.MAX_VALUE / 2));
+    }
+    int now = (int) System.currentTimeMillis();
+    while (true) {
+      long state = bucket.get();
+      long refilled = refill(state, now);
+      if ((int) refilled <= ceiling || bucket.compareAndSet(state, withTokens(refilled, ceiling))) {
+        return;
+      }
+    }
+  }
+
+  void update(Response response) {
+    String usedWeight = response.header("x-mbx-used-weight-1m");
+    update(response.code(), usedWeight != null ? usedWeight : response.header("x-mbx-used-weight"),
+        response.header("Retry-After"));
+  }
+
+  private static int parse(String header) {
+    if (header == null) {
+      return -1;
+    }
+    try {
+      return Integer.parseInt(header.trim());
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * @return the request weight left in the bucket, negative while requests are waiting
+   */
+  double getAvailable() {
+    return (int) refill(bucket.get(), (int) System.currentTimeMillis()) / (double) UNITS;
+  }
+
+  /**
+   * @return the state refilled up to <code>now</code>; time stamps from the future, written by a process whose clock
+   * is ahead, are kept without refilling
+   */
+  private long refill(long state, int now) {
+    if (state == 0) {
+      return withTokens((long) now << 32, capacity);
+    }
+    int elapsed = now - (int) (state >>> 32);
+    if (elapsed <= 0) {
+      return state;
+    }
+    int tokens = (int) Math.min(capacity, (int) state + elapsed * unitsPerMilli);
+    return withTokens((long) now << 32, tokens);
+  }
+
+  private static long withTokens(long state, int tokens) {
+    return (state & 0xFFFFFFFF00000000L) | (tokens & 0xFFFFFFFFL);
+  }
+
+  private long toNanos(int units) {
+    return TimeUnit.MILLISECONDS.toNanos((long) Math.ceil(units / unitsPerMilli));
+  }
+
+  @Override
+  public void close() {
+    timer.shutdownNow();
+  }
+
+  /**
+   * A call sent once its weight is available.
+   */
+  private class LimitedCall implements Call {
+
+    private final Call delegate;
+    private final int weight;
+    private final RequestPriority priority;
+
+    private volatile boolean canceled;
+
+    LimitedCall(Call delegate, int weight, RequestPriority priority) {
+      this.delegate = delegate;
+      this.weight = weight;
+      this.priority = priority;
+    }
+
+    @Override
+    public Request request() {
+      return delegate.request();
+    }
+
+    /**
+     * Waits for the weight on the calling thread, then executes the call.
+     */
+    @Override
+    public Response execute() throws IOException {
+      long delay = reserve(weight, priority);
+      while (delay > 0) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException();
+        }
+        delay = priority == RequestPriority.STATUS ? reserve(weight, priority) : 0;
+      }
+      Response response = delegate.execute();
+      update(response);
+      return response;
+    }
+
+    @Override
+    public void enqueue(Callback responseCallback) {
+      Callback limited = new Callback() {
+        @Override
+        public void onFailure(Call call, IOException e) {
+          responseCallback.onFailure(LimitedCall.this, e);
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) throws IOException {
+          update(response);
+          responseCallback.onResponse(LimitedCall.this, response);
+        }
+      };
+      submit(weight, priority, () -> {
+        // a call cancelled while waiting is reported when its turn comes
+        if (canceled) {
+          responseCallback.onFailure(this, new IOException("Canceled"));
+        } else {
+          delegate.enqueue(limited);
+        }
+      });
+    }
+
+    @Override
+    public void cancel() {
+      canceled = true;
+      delegate.cancel();
+    }
+
+    @Override
+    public boolean isExecuted() {
+      return delegate.isExecuted();
+    }
+
+    @Override
+    public boolean isCanceled() {
+      return canceled;
+    }
+
+    /**
+     * Call.timeout() on OkHttp 3.12 and later.
+     */
+    public Timeout timeout() {
+      return Timeout.NONE;
+    }
+
+    @Override
+    public Call clone() {
+      return new LimitedCall(delegate.clone(), weight, priority);
+    }
+  }
+}
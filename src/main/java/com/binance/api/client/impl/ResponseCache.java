@@ -0,0 +1,286 @@
+package com.binance.api.client.impl;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.binance.api.client.config.ResponseCachePolicy;
+
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Short-lived cache of decoded responses of public REST endpoints, configured by a {@link ResponseCachePolicy}.
+ * Cached responses are shared by all callers and must not be modified. A cache hit completes asynchronous calls on
+ * the calling thread.
+ */
+public class ResponseCache {
+
+  private final ResponseCachePolicy policy;
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder weightSaved = new LongAdder();
+
+  ResponseCache(ResponseCachePolicy policy) {
+    this.policy = policy;
+  }
+
+  /**
+   * @return number of requests answered from the cache
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return number of cacheable requests that were sent because no fresh response was cached
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return total request weight of the requests answered from the cache
+   */
+  public long getWeightSaved() {
+    return weightSaved.sum();
+  }
+
+  /**
+   * @return number of cached responses, expired ones included until they are evicted
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Drops all cached responses.
+   */
+  public void invalidateAll() {
+    entries.clear();
+  }
+
+  /**
+   * Call adapter factory caching the calls adapted by the next factory of the Retrofit instance, e.g. a
+   * {@link RequestCoalescer}.
+   */
+  CallAdapter.Factory callAdapterFactory() {
+    return new CallAdapter.Factory() {
+      @Override
+      public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class || !(returnType instanceof ParameterizedType)
+            || getParameterUpperBound(0, (ParameterizedType) returnType) == ResponseBody.class) {
+          return null;
+        }
+        @SuppressWarnings("unchecked")
+        CallAdapter<Object, Call<Object>> next =
+            (CallAdapter<Object, Call<Object>>) retrofit.nextCallAdapter(this, returnType, annotations);
+        return new CallAdapter<Object, Call<?>>() {
+          @Override
+          public Type responseType() {
+            return next.responseType();
+          }
+
+          @Override
+          public Call<?> adapt(Call<Object> call) {
+            return cache(next.adapt(call));
+          }
+        };
+      }
+    };
+  }
+
+  <T> Call<T> cache(Call<T> call) {
+    return new CachedCall<>(call);
+  }
+
+  /**
+   * @return the time to live of the response of a request in milliseconds, or null when it is not cached
+   */
+  private Long ttlOf(Request request) {
+    return PublicRequests.isPublicGet(request) ? policy.getEndpoints().get(request.url().encodedPath()) : null;
+  }
+
+  private static String key(Request request) {
+    return request.method() + ' ' + request.url();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Response<T> lookup(String key) {
+    Entry entry = entries.get(key);
+    if (entry == null || entry.expiresAt - System.nanoTime() <= 0) {
+      misses.increment();
+      return null;
+    }
+    entry.hits.incrementAndGet();
+    hits.increment();
+    weightSaved.add(entry.weight);
+    return (Response<T>) entry.response;
+  }
+
+  /**
+   * Caches a successful response, weighing it as the limiter does. Concurrent misses store their responses one at a
+   * time, so that the cache never grows past its maximum size.
+   */
+  private synchronized void store(Request request, String key, long ttlMillis, Response<?> response) {
+    if (!response.isSuccessful()) {
+      return;
+    }
+    if (entries.size() >= policy.getMaxEntries() && !entries.containsKey(key)) {
+      evict();
+    }
+    entries.put(key, new Entry(response, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis),
+        EndpointWeights.weightOf(request.method(), request.url())));
+  }
+
+  /**
+   * Makes room for one entry: drops the expired entries, or else the entry saving the least request weight.
+   */
+  private void evict() {
+    long now = System.nanoTime();
+    entries.values().removeIf(entry -> entry.expiresAt - now <= 0);
+    while (entries.size() >= policy.getMaxEntries()) {
+      Map.Entry<String, Entry> cheapest = null;
+      for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+        if (cheapest == null || candidate.getValue().priority() < cheapest.getValue().priority()) {
+          cheapest = candidate;
+        }
+      }
+      if (cheapest == null) {
+        return;
+      }
+      entries.remove(cheapest.getKey(), cheapest.getValue());
+    }
+  }
+
+  private static class Entry {
+
+    private final Response<?> response;
+    private final long expiresAt;
+    private final int weight;
+    private final AtomicInteger hits = new AtomicInteger();
+
+    Entry(Response<?> response, long expiresAt, int weight) {
+      this.response = response;
+      this.expiresAt = expiresAt;
+      this.weight = weight;
+    }
+
+    /**
+     * Request weight this entry has saved, and would save again on its next hit.
+     */
+    long priority() {
+      return (long) weight * (hits.get() + 1);
+    }
+  }
+
+  /**
+   * A call answered from the cache when a fresh response is available.
+   */
+  private class CachedCall<T> implements Call<T> {
+
+    private final Call<T> delegate;
+
+    CachedCall(Call<T> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+      Request request = delegate.request();
+      Long ttlMillis = ttlOf(request);
+      if (ttlMillis == null) {
+        return delegate.execute();
+      }
+      String key = key(request);
+      Response<T> cached = lookup(key);
+      if (cached != null) {
+        return cached;
+      }
+      Response<T> response = delegate.execute();
+      store(request, key, ttlMillis, response);
+      return response;
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+      Request request = delegate.request();
+      Long ttlMillis = ttlOf(request);
+      if (ttlMillis == null) {
+        delegate.enqueue(forward(callback, request, null, null));
+        return;
+      }
+      String key = key(request);
+      Response<T> cached = lookup(key);
+      if (cached != null) {
+        callback.onResponse(this, cached);
+        return;
+      }
+      delegate.enqueue(forward(callback, request, key, ttlMillis));
+    }
+
+    private Callback<T> forward(Callback<T> callback, Request request, String key, Long ttlMillis) {
+      return new Callback<T>() {
+        @Override
+        public void onResponse(Call<T> call, Response<T> response) {
+          if (ttlMillis != null) {
+            store(request, key, ttlMillis, response);
+          }
+          callback.onResponse(CachedCall.this, response);
+        }
+
+        @Override
+        public void onFailure(Call<T> call, Throwable t) {
+          callback.onFailure(CachedCall.this, t);
+        }
+      };
+    }
+
+    @Override
+    public boolean isExecuted() {
+      return delegate.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+      delegate.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+      return delegate.isCanceled();
+    }
+
+    @Override
+    public Call<T> clone() {
+      return new CachedCall<>(delegate.clone());
+    }
+
+    @Override
+    public Request request() {
+      return delegate.request();
+    }
+
+    /**
+     * Call.timeout() on Retrofit 2.6 and later.
+     */
+    public Timeout timeout() {
+      return Timeout.NONE;
+    }
+  }
+}
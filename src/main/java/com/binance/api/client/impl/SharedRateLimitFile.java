@@ -0,0 +1,97 @@
+package com.binance.api.client.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.IntFunction;
+
+/**
+ * Rate limit state shared by the processes of a host through a memory-mapped file. The file holds the request weight
+ * bucket of {@link RequestWeightLimiter}, the budget of their common IP address, and the order counts of
+ * {@link OrderRateGovernor}, which are kept apart for every API key since the order rate limits apply to each account.
+ * Every process using the file should be configured with the same limits.
+ */
+final class SharedRateLimitFile {
+
+  /**
+   * "BNBRAT" followed by the layout of the file and the update scheme of the values, so that a file is never shared by
+   * processes laying it out or updating it differently, e.g. on Java 8 and on Java 21.
+   */
+  private static final long MAGIC = 0x424E42524154_02_00L | MappedLongs.SCHEME;
+
+  private static final int SIZE = 64 * 1024;
+
+  private static final int WEIGHT_BUCKET = 1;
+
+  /**
+   * Values of the order counts of an API key: a hash of the key, then the cells of its windows.
+   */
+  private static final int ACCOUNT_SIZE = 8;
+
+  private static final int FIRST_ACCOUNT = ACCOUNT_SIZE;
+
+  private static final int MAX_ACCOUNTS = SIZE / 8 / ACCOUNT_SIZE - 1;
+
+  private final MappedLongs longs;
+
+  private final Path path;
+
+  /**
+   * Maps <code>path</code>, creating it if needed.
+   *
+   * @throws UncheckedIOException if the file cannot be mapped
+   * @throws IllegalStateException if the file is not a rate limit file
+   */
+  SharedRateLimitFile(Path path) {
+    this.path = path;
+    try {
+      longs = new MappedLongs(path, SIZE);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot map rate limit file " + path, e);
+    }
+    LongCell header = longs.cell(0);
+    if (!header.compareAndSet(0, MAGIC) && header.get() != MAGIC) {
+      throw new IllegalStateException(path + " is not a rate limit file, or is used by another version");
+    }
+  }
+
+  LongCell weightBucket() {
+    return longs.cell(WEIGHT_BUCKET);
+  }
+
+  /**
+   * Finds the order counts of <code>apiKey</code> in the file, claiming a free slot for a new key. Keys are told apart
+   * by a 64-bit hash, and a slot is never given back.
+   *
+   * @return the cell of the <code>index</code>-th order rate limit window of <code>apiKey</code>
+   * @throws IllegalStateException if the file has no room left for another key
+   */
+  IntFunction<LongCell> orderWindows(String apiKey) {
+    long hash = hash(apiKey);
+    int start = (int) Long.remainderUnsigned(hash, MAX_ACCOUNTS);
+    for (int i = 0; i < MAX_ACCOUNTS; i++) {
+      int account = FIRST_ACCOUNT + (start + i) % MAX_ACCOUNTS * ACCOUNT_SIZE;
+      LongCell key = longs.cell(account);
+      if (key.get() == hash || key.compareAndSet(0, hash) || key.get() == hash) {
+        return index -> {
+          if (index >= ACCOUNT_SIZE - 1) {
+            throw new IllegalArgumentException("Too many order rate limits for " + path);
+          }
+          return longs.cell(account + 1 + index);
+        };
+      }
+    }
+    throw new IllegalStateException("Too many API keys for " + path);
+  }
+
+  /**
+   * FNV-1a hash of the key, never 0, which marks a free slot.
+   */
+  private static long hash(String apiKey) {
+    long hash = 0xCBF29CE484222325L;
+    for (int i = 0; i < apiKey.length(); i++) {
+      hash = (hash ^ apiKey.charAt(i)) * 0x100000001B3L;
+    }
+    return hash != 0 ? hash : 1;
+  }
+}
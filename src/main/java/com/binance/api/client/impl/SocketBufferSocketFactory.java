@@ -0,0 +1,57 @@
+package com.binance.api.client.impl;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+import javax.net.SocketFactory;
+
+/**
+ * A {@link SocketFactory} applying the send and receive buffer sizes of a transport profile to every socket it creates.
+ */
+class SocketBufferSocketFactory extends SocketFactory {
+
+  private final SocketFactory delegate = SocketFactory.getDefault();
+  private final int sendBufferSize;
+  private final int receiveBufferSize;
+
+  SocketBufferSocketFactory(int sendBufferSize, int receiveBufferSize) {
+    this.sendBufferSize = sendBufferSize;
+    this.receiveBufferSize = receiveBufferSize;
+  }
+
+  @Override
+  public Socket createSocket() throws IOException {
+    return configure(delegate.createSocket());
+  }
+
+  @Override
+  public Socket createSocket(String host, int port) throws IOException {
+    return configure(delegate.createSocket(host, port));
+  }
+
+  @Override
+  public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+    return configure(delegate.createSocket(host, port, localHost, localPort));
+  }
+
+  @Override
+  public Socket createSocket(InetAddress host, int port) throws IOException {
+    return configure(delegate.createSocket(host, port));
+  }
+
+  @Override
+  public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+    return configure(delegate.createSocket(address, port, localAddress, localPort));
+  }
+
+  private Socket configure(Socket socket) throws IOException {
+    if (sendBufferSize > 0) {
+      socket.setSendBufferSize(sendBufferSize);
+    }
+    if (receiveBufferSize > 0) {
+      socket.setReceiveBufferSize(receiveBufferSize);
+    }
+    return socket;
+  }
+}
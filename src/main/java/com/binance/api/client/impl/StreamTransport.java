@@ -0,0 +1,41 @@
+package com.binance.api.client.impl;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Opens web sockets for {@link CombinedStreamManager}, on OkHttp or AsyncHttpClient.
+ */
+interface StreamTransport {
+
+  /**
+   * Starts connecting to <code>url</code>; the listener is told when the socket is open.
+   */
+  Connection open(String url, Listener listener);
+
+  interface Connection {
+
+    /**
+     * Sends a text message over the open socket.
+     */
+    void send(String text);
+
+    void close();
+  }
+
+  interface Listener {
+
+    void onOpen();
+
+    void onMessage(String text);
+
+    /**
+     * A message parsed from its UTF-8 bytes rather than decoded into a String first, where the transport has them.
+     */
+    void onMessage(ByteBuffer bytes);
+
+    /**
+     * The socket failed or was closed by the server; no further message follows.
+     */
+    void onFailure(Throwable t);
+  }
+}
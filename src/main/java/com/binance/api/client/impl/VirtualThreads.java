@@ -0,0 +1,37 @@
+package com.binance.api.client.impl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Virtual thread support. This is the Java 8 variant, used on runtimes older than Java 21; the multi-release JAR
+ * replaces it with the variant in <code>src/main/java21</code> on Java 21 and later.
+ */
+final class VirtualThreads {
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * @return whether the running JVM supports virtual threads
+   */
+  static boolean isSupported() {
+    return false;
+  }
+
+  /**
+   * Creates an executor of cached daemon platform threads, as virtual threads are not available; like virtual
+   * threads, they do not prevent the JVM from exiting.
+   *
+   * @param namePrefix prefix of the thread names
+   */
+  static ExecutorService newExecutor(String namePrefix) {
+    AtomicInteger count = new AtomicInteger();
+    return Executors.newCachedThreadPool(task -> {
+      Thread thread = new Thread(task, namePrefix + count.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+}
@@ -0,0 +1,41 @@
+package com.binance.api.client.security;
+
+/**
+ * Handle of a registered API key: its signer is created once, when the key is registered. The signer holds the parsed
+ * key, e.g. the initialized HMAC, rather than the secret string.
+ * Clients bound to an account, e.g. {@link com.binance.api.client.BinanceApiClientFactory#newRestClient(ApiAccount)},
+ * authenticate their requests with it instead of the <code>apiKey</code> and <code>secret</code> arguments.
+ */
+public final class ApiAccount {
+
+  private final String apiKey;
+
+  private final Signer signer;
+
+  ApiAccount(String apiKey, Signer signer) {
+    for (int i = 0; i < apiKey.length(); i++) {
+      char c = apiKey.charAt(i);
+      if (c <= ' ' || c >= 0x7F) {
+        throw new IllegalArgumentException("API key contains an invalid header character at " + i);
+      }
+    }
+    this.apiKey = apiKey;
+    this.signer = signer;
+  }
+
+  /**
+   * @return the API key, sent as is in the <code>X-MBX-APIKEY</code> header
+   */
+  public String getApiKey() {
+    return apiKey;
+  }
+
+  public Signer getSigner() {
+    return signer;
+  }
+
+  @Override
+  public String toString() {
+    return "ApiAccount[" + apiKey.substring(0, Math.min(8, apiKey.length())) + "...]";
+  }
+}
@@ -19,7 +19,7 @@ import okio.Buffer;
  */
 public class AuthenticationInterceptor implements Interceptor {
 
-
+    private final SignerCache signers = new SignerCache();
 
     public AuthenticationInterceptor() {
     }
@@ -49,9 +49,9 @@ public class AuthenticationInterceptor implements Interceptor {
 
         // Endpoint requires signing the payload
         if (isSignatureRequired) {
-            String payload = original.url().query();
+            String payload = original.url().encodedQuery();
             if (!StringUtils.isEmpty(payload)) {
-                String signature = HmacSHA256Signer.sign(payload, secret);
+                String signature = signers.signerOf(secret).sign(payload);
                 HttpUrl signedUrl = original.url().newBuilder().addQueryParameter("signature", signature).build();
                 newRequestBuilder.url(signedUrl);
             }
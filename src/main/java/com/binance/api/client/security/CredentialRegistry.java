@@ -0,0 +1,46 @@
+package com.binance.api.client.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Accounts of the API keys used by an application, by API key.
+ */
+public class CredentialRegistry {
+
+  private final Map<String, ApiAccount> accounts = new ConcurrentHashMap<>();
+
+  /**
+   * Registers an API key, replacing its previous account if any.
+   *
+   * @param apiKey API key
+   * @param secret its secret key, or its RSA or Ed25519 private key in PEM format, see {@link Signers#newSigner(String)}
+   * @return the account of the API key
+   * @throws IllegalArgumentException if the API key or the private key is invalid
+   */
+  public ApiAccount register(String apiKey, String secret) {
+    ApiAccount account = new ApiAccount(apiKey, Signers.newSigner(secret));
+    accounts.put(apiKey, account);
+    return account;
+  }
+
+  /**
+   * @return the account of <code>apiKey</code>, or null when it is not registered
+   */
+  public ApiAccount get(String apiKey) {
+    return accounts.get(apiKey);
+  }
+
+  /**
+   * Forgets an account. Clients already bound to it keep using it.
+   */
+  public void unregister(ApiAccount account) {
+    accounts.remove(account.getApiKey(), account);
+  }
+
+  public Collection<ApiAccount> getAccounts() {
+    return new ArrayList<>(accounts.values());
+  }
+}
@@ -0,0 +1,13 @@
+package com.binance.api.client.security;
+
+import java.security.PrivateKey;
+
+/**
+ * Signs with an Ed25519 private key. Ed25519 keys are provided by Java 15 and later.
+ */
+public class Ed25519Signer extends PrivateKeySigner {
+
+  public Ed25519Signer(PrivateKey key) {
+    super("Ed25519", key);
+  }
+}
@@ -1,29 +1,164 @@
 package com.binance.api.client.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 
-import org.apache.commons.codec.binary.Hex;
-
 /**
  * Utility class to sign messages using HMAC-SHA256.
+ * <p>
+ * An instance initializes the keyed <code>Mac</code> of its secret once and clones it for every thread signing
+ * concurrently; the clones are pooled along with their message and hex buffers, so that signing a query string
+ * allocates nothing but the returned signature, or nothing at all with {@link #sign(CharSequence, StringBuilder)}.
+ * Pooling rather than thread-local state keeps the clones reused by virtual threads as well. The pool belongs to the
+ * instance: callers signing with the same secret repeatedly keep the instance, and the secret is not retained.
  */
 public class HmacSHA256Signer {
 
+  private static final String ALGORITHM = "HmacSHA256";
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
   /**
-   * Sign the given message using the given secret.
+   * Keyed Macs kept per instance, a power of two.
+   */
+  private static final int POOL_SIZE = 16;
+
+  private final Mac prototype;
+
+  private final AtomicReferenceArray<PooledMac> pool = new AtomicReferenceArray<>(POOL_SIZE);
+
+  /**
+   * @param secret secret key
+   */
+  public HmacSHA256Signer(String secret) {
+    prototype = newMac(secret);
+  }
+
+  /**
+   * Sign the given message using the given secret, with a <code>Mac</code> keyed for this call only.
    * @param message message to sign
    * @param secret secret key
    * @return a signed message
    */
   public static String sign(String message, String secret) {
+    return new String(new PooledMac(newMac(secret)).sign(message));
+  }
+
+  /**
+   * Sign the given message using the secret of this signer.
+   * @param message message to sign
+   * @return a signed message
+   */
+  public String sign(String message) {
+    PooledMac pooled = acquire();
+    String signature = new String(pooled.sign(message));
+    release(pooled);
+    return signature;
+  }
+
+  /**
+   * Appends the hex signature of <code>message</code> to <code>out</code>, which may be the builder holding the
+   * message.
+   * @param message message to sign
+   * @param out receives the signature
+   */
+  public void sign(CharSequence message, StringBuilder out) {
+    PooledMac pooled = acquire();
+    out.append(pooled.sign(message));
+    release(pooled);
+  }
+
+  private static Mac newMac(String secret) {
     try {
-      Mac sha256_HMAC = Mac.getInstance("HmacSHA256");
-      SecretKeySpec secretKeySpec = new SecretKeySpec(secret.getBytes(), "HmacSHA256");
-      sha256_HMAC.init(secretKeySpec);
-      return new String(Hex.encodeHex(sha256_HMAC.doFinal(message.getBytes())));
-    } catch (Exception e) {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(new SecretKeySpec(secret.getBytes(), ALGORITHM));
+      return mac;
+    } catch (GeneralSecurityException e) {
       throw new RuntimeException("Unable to sign message.", e);
     }
   }
+
+  private PooledMac acquire() {
+    int start = System.identityHashCode(Thread.currentThread());
+    for (int i = 0; i < POOL_SIZE; i++) {
+      int slot = (start + i) & (POOL_SIZE - 1);
+      PooledMac pooled = pool.get(slot);
+      if (pooled != null && pool.compareAndSet(slot, pooled, null)) {
+        return pooled;
+      }
+    }
+    try {
+      return new PooledMac((Mac) prototype.clone());
+    } catch (CloneNotSupportedException e) {
+      throw new RuntimeException("Unable to sign message.", e);
+    }
+  }
+
+  private void release(PooledMac pooled) {
+    int start = System.identityHashCode(Thread.currentThread());
+    for (int i = 0; i < POOL_SIZE; i++) {
+      if (pool.compareAndSet((start + i) & (POOL_SIZE - 1), null, pooled)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * A keyed <code>Mac</code> and its buffers, used by one thread at a time.
+   */
+  private static final class PooledMac {
+
+    private final Mac mac;
+
+    private byte[] message = new byte[512];
+
+    private final byte[] digest;
+
+    private final char[] hex;
+
+    PooledMac(Mac mac) {
+      this.mac = mac;
+      this.digest = new byte[mac.getMacLength()];
+      this.hex = new char[digest.length * 2];
+    }
+
+    /**
+     * @return the hex signature, valid until the next call
+     */
+    char[] sign(CharSequence text) {
+      int length = text.length();
+      if (message.length < length) {
+        message = new byte[Math.max(length, message.length * 2)];
+      }
+      for (int i = 0; i < length; i++) {
+        char c = text.charAt(i);
+        if (c >= 0x80) {
+          // query strings are URL encoded, other messages are rare
+          byte[] encoded = text.toString().getBytes(StandardCharsets.UTF_8);
+          return sign(encoded, encoded.length);
+        }
+        message[i] = (byte) c;
+      }
+      return sign(message, length);
+    }
+
+    private char[] sign(byte[] bytes, int length) {
+      try {
+        mac.update(bytes, 0, length);
+        mac.doFinal(digest, 0);
+      } catch (GeneralSecurityException e) {
+        mac.reset();
+        throw new RuntimeException("Unable to sign message.", e);
+      }
+      for (int i = 0; i < digest.length; i++) {
+        hex[2 * i] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+        hex[2 * i + 1] = HEX_DIGITS[digest[i] & 0xF];
+      }
+      return hex;
+    }
+  }
 }
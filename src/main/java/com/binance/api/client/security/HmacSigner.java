@@ -0,0 +1,26 @@
+package com.binance.api.client.security;
+
+/**
+ * Signs with the HMAC-SHA256 of a secret key, as hex digits.
+ */
+public class HmacSigner implements Signer {
+
+  private final HmacSHA256Signer hmac;
+
+  public HmacSigner(String secret) {
+    this.hmac = new HmacSHA256Signer(secret);
+  }
+
+  @Override
+  public String sign(String payload) {
+    return hmac.sign(payload);
+  }
+
+  /**
+   * Hex digits need no URL encoding: the signature is appended as is, without intermediate strings.
+   */
+  @Override
+  public void sign(CharSequence payload, StringBuilder out) {
+    hmac.sign(payload, out);
+  }
+}
@@ -17,6 +17,7 @@ import com.binance.api.client.constant.BinanceApiConstants;
  */
 public class NettyAuthenticationInterceptor implements Consumer<RequestBuilder> {
 
+  private final SignerCache signers = new SignerCache();
 
   public NettyAuthenticationInterceptor() {
   }
@@ -39,7 +40,7 @@ public class NettyAuthenticationInterceptor implements Consumer<RequestBuilder>
         public void calculateAndAddSignature(Request request, RequestBuilderBase<?> requestBuilderBase) {
           String payload = request.getUri().getQuery();
           if (!StringUtils.isEmpty(payload)) {
-            String signature = HmacSHA256Signer.sign(payload, secret);
+            String signature = signers.signerOf(secret).sign(payload);
             requestBuilderBase.addQueryParam("signature", signature);
           }
         }
@@ -0,0 +1,57 @@
+package com.binance.api.client.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Signs with a private key, as Base64. The signature engines are initialized with the key once and pooled, as they
+ * can only be used by one thread at a time.
+ */
+abstract class PrivateKeySigner implements Signer {
+
+  private static final int POOL_SIZE = 16;
+
+  private final String algorithm;
+
+  private final PrivateKey key;
+
+  private final BlockingQueue<Signature> engines = new ArrayBlockingQueue<>(POOL_SIZE);
+
+  PrivateKeySigner(String algorithm, PrivateKey key) {
+    this.algorithm = algorithm;
+    this.key = key;
+    // fails early when the runtime lacks the algorithm
+    engines.offer(newEngine());
+  }
+
+  @Override
+  public String sign(String payload) {
+    Signature engine = engines.poll();
+    if (engine == null) {
+      engine = newEngine();
+    }
+    try {
+      engine.update(payload.getBytes(StandardCharsets.UTF_8));
+      String signature = Base64.getEncoder().encodeToString(engine.sign());
+      engines.offer(engine);
+      return signature;
+    } catch (GeneralSecurityException e) {
+      throw new RuntimeException("Unable to sign message.", e);
+    }
+  }
+
+  private Signature newEngine() {
+    try {
+      Signature engine = Signature.getInstance(algorithm);
+      engine.initSign(key);
+      return engine;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalArgumentException("Unable to sign with " + algorithm + " on this runtime", e);
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.binance.api.client.security;
+
+import java.security.PrivateKey;
+
+/**
+ * Signs with the SHA256withRSA signature of an RSA private key.
+ */
+public class RsaSigner extends PrivateKeySigner {
+
+  public RsaSigner(PrivateKey key) {
+    super("SHA256withRSA", key);
+  }
+}
@@ -0,0 +1,30 @@
+package com.binance.api.client.security;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+
+/**
+ * Signs the payload of SIGNED requests with the secret of an API key. {@link Signers#newSigner(String)} selects the
+ * implementation matching the secret: HMAC-SHA256 for a plain secret key, RSA or Ed25519 for a private key in PEM
+ * format.
+ */
+public interface Signer {
+
+  /**
+   * @param payload query string of the request, without the signature
+   * @return the value of the <code>signature</code> parameter, before URL encoding
+   */
+  String sign(String payload);
+
+  /**
+   * Appends the URL encoded signature of <code>payload</code> to <code>out</code>, which may be the builder holding
+   * the payload.
+   */
+  default void sign(CharSequence payload, StringBuilder out) {
+    try {
+      out.append(URLEncoder.encode(sign(payload.toString()), "UTF-8"));
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
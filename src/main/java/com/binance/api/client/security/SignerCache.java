@@ -0,0 +1,36 @@
+package com.binance.api.client.security;
+
+/**
+ * Signer of the requests authenticated with their <code>secret</code> argument rather than an {@link ApiAccount}. A
+ * client signs with the same secret request after request, so the signer of the last secret is kept: its keyed
+ * <code>Mac</code> and buffers are reused, and a private key is parsed once, until another secret comes.
+ */
+public final class SignerCache {
+
+  private volatile Entry last;
+
+  /**
+   * @return the signer of <code>secret</code>, created by {@link Signers#newSigner(String)} when it is not the last one
+   * @throws IllegalArgumentException if the private key cannot be parsed
+   */
+  public Signer signerOf(String secret) {
+    Entry entry = last;
+    if (entry == null || !entry.secret.equals(secret)) {
+      entry = new Entry(secret, Signers.newSigner(secret));
+      last = entry;
+    }
+    return entry.signer;
+  }
+
+  private static final class Entry {
+
+    private final String secret;
+
+    private final Signer signer;
+
+    Entry(String secret, Signer signer) {
+      this.secret = secret;
+      this.signer = signer;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.binance.api.client.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Atomic access to the 64-bit values of a memory-mapped file, visible to every process mapping it. This is the
+ * Java 21 variant, based on a byte buffer view var handle, packaged under <code>META-INF/versions/21</code> of the
+ * multi-release JAR.
+ */
+final class MappedLongs {
+
+  /**
+   * Update scheme, recorded in the file header: values updated with atomic instructions.
+   */
+  static final int SCHEME = 1;
+
+  private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+  private final MappedByteBuffer buffer;
+
+  /**
+   * Maps the first <code>size</code> bytes of <code>path</code>, creating it if needed.
+   */
+  MappedLongs(Path path, int size) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+  }
+
+  /**
+   * @return the cell of the <code>index</code>-th 64-bit value of the mapping
+   */
+  LongCell cell(int index) {
+    int offset = 8 * index;
+    return new LongCell() {
+      @Override
+      public long get() {
+        return (long) LONGS.getVolatile(buffer, offset);
+      }
+
+      @Override
+      public boolean compareAndSet(long expect, long update) {
+        return LONGS.compareAndSet(buffer, offset, expect, update);
+      }
+    };
+  }
+}
@@ -0,0 +1,30 @@
+package com.binance.api.client.impl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual thread support. This is the Java 21 variant, packaged under <code>META-INF/versions/21</code> of the
+ * multi-release JAR.
+ */
+final class VirtualThreads {
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * @return whether the running JVM supports virtual threads
+   */
+  static boolean isSupported() {
+    return true;
+  }
+
+  /**
+   * Creates an executor starting a new virtual thread for each task.
+   *
+   * @param namePrefix prefix of the thread names
+   */
+  static ExecutorService newExecutor(String namePrefix) {
+    return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+  }
+}
@@ -0,0 +1,34 @@
+package com.binance.api.client.config;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.binance.api.client.config.BinanceApiTransportProfile.Engine;
+
+public class BinanceApiTransportProfileTest {
+
+  @After
+  public void clearProperties() {
+    System.clearProperty("binance.api.use.netty");
+    System.clearProperty("binance.api.max.connections.per.host");
+    System.clearProperty("binance.api.request.weight.limit");
+  }
+
+  @Test
+  public void readsSystemProperties() {
+    BinanceApiTransportProfile defaults = BinanceApiTransportProfile.fromSystemProperties();
+    assertEquals(Engine.OKHTTP, defaults.getEngine());
+    assertEquals(500, defaults.getMaxConnectionsPerHost());
+    assertEquals(new BinanceApiTransportProfile().getRequestWeightLimit(), defaults.getRequestWeightLimit());
+
+    System.setProperty("binance.api.use.netty", "true");
+    System.setProperty("binance.api.max.connections.per.host", "20");
+    System.setProperty("binance.api.request.weight.limit", "0");
+    BinanceApiTransportProfile profile = BinanceApiTransportProfile.fromSystemProperties();
+    assertEquals(Engine.NETTY, profile.getEngine());
+    assertEquals(20, profile.getMaxConnectionsPerHost());
+    assertEquals(0, profile.getRequestWeightLimit());
+  }
+}
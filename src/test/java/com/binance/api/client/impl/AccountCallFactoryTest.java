@@ -0,0 +1,45 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.security.ApiAccount;
+import com.binance.api.client.security.CredentialRegistry;
+import com.binance.api.client.security.HmacSHA256Signer;
+
+import okhttp3.Request;
+
+public class AccountCallFactoryTest {
+
+  @Test
+  public void signsWithAccount() {
+    CredentialRegistry registry = new CredentialRegistry();
+    ApiAccount account = registry.register("key", "secret");
+    AtomicReference<Request> sent = new AtomicReference<>();
+    AccountCallFactory factory = new AccountCallFactory(account, request -> {
+      sent.set(request);
+      return null;
+    });
+
+    factory.newCall(new Request.Builder()
+        .url("https://api.binance.com/api/v3/order?symbol=BTCUSDT&orderId=42&timestamp=1")
+        .header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED, "#")
+        .header("api", "ignored")
+        .build());
+    Request request = sent.get();
+    assertEquals("key", request.header(BinanceApiConstants.API_KEY_HEADER));
+    assertNull(request.header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED));
+    assertNull(request.header("api"));
+    assertEquals(HmacSHA256Signer.sign("symbol=BTCUSDT&orderId=42&timestamp=1", "secret"),
+        request.url().queryParameter("signature"));
+
+    factory.newCall(new Request.Builder().url("https://api.binance.com/api/v1/time").build());
+    assertNull(sent.get().header(BinanceApiConstants.API_KEY_HEADER));
+    assertEquals(account, registry.get("key"));
+  }
+}
@@ -0,0 +1,132 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.exception.BinanceApiException;
+import com.binance.api.client.exception.BinanceTimeoutException;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.Retrofit;
+
+public class ApiServiceGeneratorTest {
+
+  private static final String PRICES = "[{\"symbol\":\"ETHBTC\",\"price\":\"0.05590400\"},"
+      + "{\"symbol\":\"LTCBTC\",\"price\":\"0.01073300\"}]";
+
+  private final List<OkHttpClient> clients = new ArrayList<>();
+
+  @After
+  public void shutDownClients() {
+    clients.forEach(client -> client.dispatcher().executorService().shutdown());
+  }
+
+  @Test
+  public void streamsElementsInOrder() {
+    List<TickerPrice> prices = new ArrayList<>();
+    ApiServiceGenerator.readStreaming(json(PRICES), TickerPrice.class, null, prices::add);
+    assertEquals(2, prices.size());
+    assertEquals("ETHBTC", prices.get(0).getSymbol());
+    assertEquals("0.01073300", prices.get(1).getPrice());
+  }
+
+  @Test
+  public void streamsIntoReusedInstance() {
+    TickerPrice reused = new TickerPrice();
+    List<String> symbols = new ArrayList<>();
+    ApiServiceGenerator.readStreaming(json(PRICES), TickerPrice.class, reused, price -> {
+      assertSame(reused, price);
+      symbols.add(price.getSymbol());
+    });
+    assertEquals("[ETHBTC, LTCBTC]", symbols.toString());
+    assertEquals("LTCBTC", reused.getSymbol());
+  }
+
+  @Test(expected = BinanceApiException.class)
+  public void refusesNonArray() {
+    ApiServiceGenerator.readStreaming(json("{\"symbol\":\"ETHBTC\"}"), TickerPrice.class, null, price -> fail());
+  }
+
+  @Test
+  public void streamsAsynchronously() throws Exception {
+    List<TickerPrice> prices = new ArrayList<>();
+    BinanceApiCallFuture.enqueueStreaming(service(200, PRICES).streamLatestPrices(), TickerPrice.class,
+        new TickerPrice(), prices::add).get(5, TimeUnit.SECONDS);
+    assertEquals(2, prices.size());
+
+    try {
+      BinanceApiCallFuture.enqueueStreaming(service(400, "{\"code\":-1121,\"msg\":\"Invalid symbol.\"}")
+          .streamLatestPrices(), TickerPrice.class, null, price -> fail()).get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof BinanceApiException);
+      assertEquals(-1121, ((BinanceApiException) e.getCause()).getError().getCode());
+    }
+  }
+
+  @Test
+  public void reportsUnknownExecutionStatusToBothAsyncStyles() throws Exception {
+    try {
+      BinanceApiCallFuture.enqueue(service(504, "").getLatestPrices()).get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof BinanceTimeoutException);
+    }
+
+    CompletableFuture<Throwable> failure = new CompletableFuture<>();
+    service(504, "").getLatestPrices().enqueue(new BinanceApiCallbackAdapter<>(new BinanceApiCallback<List<TickerPrice>>() {
+      @Override
+      public void onResponse(List<TickerPrice> response) {
+        fail();
+      }
+
+      @Override
+      public void onFailure(Throwable cause) {
+        failure.complete(cause);
+      }
+    }));
+    assertTrue(failure.get(5, TimeUnit.SECONDS) instanceof BinanceTimeoutException);
+  }
+
+  private static ResponseBody json(String json) {
+    return ResponseBody.create(MediaType.parse("application/json"), json);
+  }
+
+  /**
+   * @return a service whose every call is answered locally with <code>json</code>
+   */
+  private BinanceApiService service(int code, String json) {
+    OkHttpClient client = new OkHttpClient.Builder()
+        .addInterceptor(chain -> new Response.Builder()
+            .request(chain.request())
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message("")
+            .body(json(json))
+            .build())
+        .build();
+    clients.add(client);
+    return new Retrofit.Builder().baseUrl("https://api.binance.com")
+        .client(client)
+        .addConverterFactory(ApiServiceGenerator.converterFactory)
+        .build()
+        .create(BinanceApiService.class);
+  }
+}
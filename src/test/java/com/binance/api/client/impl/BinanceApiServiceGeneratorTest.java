@@ -0,0 +1,61 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.binance.api.client.config.BinanceApiTransportProfile;
+
+import okhttp3.OkHttpClient;
+
+public class BinanceApiServiceGeneratorTest {
+
+  @Test
+  public void ownsClientOfItsProfile() {
+    BinanceApiServiceGenerator trading = new BinanceApiServiceGenerator(new BinanceApiTransportProfile()
+        .maxRequests(16)
+        .maxRequestsPerHost(8)
+        .connectTimeoutMillis(1_000)
+        .readTimeoutMillis(2_000)
+        .pingIntervalMillis(30_000));
+    ApiGenerator backfill = ApiServiceGenerator.newGenerator(new BinanceApiTransportProfile().maxRequests(64));
+    try {
+      OkHttpClient client = trading.getSharedClient();
+      assertEquals(16, client.dispatcher().getMaxRequests());
+      assertEquals(8, client.dispatcher().getMaxRequestsPerHost());
+      assertEquals(1_000, client.connectTimeoutMillis());
+      assertEquals(2_000, client.readTimeoutMillis());
+      assertEquals(30_000, client.pingIntervalMillis());
+
+      assertTrue(backfill instanceof BinanceApiServiceGenerator);
+      OkHttpClient other = ((BinanceApiServiceGenerator) backfill).getSharedClient();
+      assertEquals(64, other.dispatcher().getMaxRequests());
+      assertNotSame(client.dispatcher(), other.dispatcher());
+      assertNotSame(client.connectionPool(), other.connectionPool());
+    } finally {
+      trading.close();
+      backfill.close();
+    }
+  }
+
+  @Test
+  public void sendsOrdersThroughOwnPool() {
+    BinanceApiServiceGenerator shared = new BinanceApiServiceGenerator(new BinanceApiTransportProfile());
+    BinanceApiServiceGenerator laned = new BinanceApiServiceGenerator(new BinanceApiTransportProfile()
+        .orderLaneConnections(2));
+    try {
+      assertNull(shared.getOrderClient());
+      OkHttpClient orders = laned.getOrderClient();
+      assertEquals(2, orders.dispatcher().getMaxRequests());
+      assertEquals(2, orders.dispatcher().getMaxRequestsPerHost());
+      assertNotSame(laned.getSharedClient().dispatcher(), orders.dispatcher());
+      assertNotSame(laned.getSharedClient().connectionPool(), orders.connectionPool());
+    } finally {
+      shared.close();
+      laned.close();
+    }
+  }
+}
@@ -0,0 +1,303 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiStreamCallback;
+import com.binance.api.client.BinanceApiWebSocketClient;
+import com.binance.api.client.config.ReconnectPolicy;
+import com.binance.api.client.domain.event.AggTradeEvent;
+import com.binance.api.client.domain.event.BookTickerEvent;
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.event.TickerEvent;
+import com.binance.api.client.domain.event.TradeEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.exception.BinanceHandshakeException;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+public class BinanceApiWebSocketSupervisorTest {
+
+  /**
+   * Records the callbacks of the streams it opens, and how many of them were closed.
+   */
+  private static class FakeClient implements BinanceApiWebSocketClient {
+
+    final List<BinanceApiCallback<Object>> opened = new CopyOnWriteArrayList<>();
+    final AtomicInteger closed = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    private Closeable open(BinanceApiCallback<?> callback) {
+      opened.add((BinanceApiCallback<Object>) callback);
+      return closed::incrementAndGet;
+    }
+
+    @Override
+    public <T> Closeable subscribe(String stream, Class<T> eventClass, BinanceApiCallback<T> callback) {
+      return open(callback);
+    }
+
+    @Override
+    public <T> Closeable subscribe(String stream, TypeReference<T> eventType, BinanceApiCallback<T> callback) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Closeable onDepthEvent(String symbols, BinanceApiCallback<DepthEvent> callback) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Closeable onCandlestickEvent(String symbols, CandlestickInterval interval, BinanceApiCallback<CandlestickEvent> callback) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Closeable onAggTradeEvent(String symbols, BinanceApiCallback<AggTradeEvent> callback) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Closeable onTradeEvent(String symbols, BinanceApiCallback<TradeEvent> callback) {
+      return open(callback);
+    }
+
+    @Override
+    public Closeable onUserDataUpdateEvent(String listenKey, BinanceApiCallback<UserDataUpdateEvent> callback) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Closeable onTickerEvent(String symbols, BinanceApiCallback<TickerEvent> callback) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Closeable onAllMarketTickersEvent(BinanceApiCallback<List<TickerEvent>> callback) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Closeable onBookTickerEvent(String symbols, BinanceApiCallback<BookTickerEvent> callback) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Closeable onAllBookTickersEvent(BinanceApiCallback<BookTickerEvent> callback) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  @Test
+  public void signalsGapBeforeReconnecting() throws Exception {
+    FakeClient client = new FakeClient();
+    ManualScheduler scheduler = new ManualScheduler();
+    BinanceApiWebSocketSupervisor supervisor = new BinanceApiWebSocketSupervisor(client,
+        new ReconnectPolicy().initialBackoffMillis(10).maxBackoffMillis(20), scheduler);
+    List<String> events = new CopyOnWriteArrayList<>();
+    List<Throwable> gaps = new CopyOnWriteArrayList<>();
+    BinanceApiStreamCallback<String> callback = new BinanceApiStreamCallback<String>() {
+      @Override
+      public void onResponse(String response) {
+        events.add(response);
+      }
+
+      @Override
+      public void onGap(Throwable cause) {
+        // the stream is not subscribed again yet
+        assertEquals(1, client.opened.size());
+        gaps.add(cause);
+      }
+    };
+
+    Closeable stream = supervisor.subscribe("ethbtc@trade", String.class, callback);
+    client.opened.get(0).onResponse("a");
+    IOException failure = new IOException("closed by server");
+    client.opened.get(0).onFailure(failure);
+    assertEquals(1, gaps.size());
+    assertTrue(gaps.get(0) == failure);
+    assertEquals(1, client.closed.get());
+
+    scheduler.advance(20);
+    assertEquals(2, client.opened.size());
+
+    // the failed socket is no longer listened to
+    client.opened.get(0).onResponse("stale");
+    client.opened.get(0).onFailure(failure);
+    client.opened.get(1).onResponse("b");
+    scheduler.advance(20);
+    assertEquals(2, client.opened.size());
+    assertEquals(2, events.size());
+    assertEquals(1, gaps.size());
+
+    stream.close();
+    client.opened.get(1).onFailure(failure);
+    scheduler.advance(20);
+    assertEquals(2, client.opened.size());
+    assertEquals(2, client.closed.get());
+    assertEquals(1, gaps.size());
+    supervisor.close();
+  }
+
+  /**
+   * Records the failures passed to the callback.
+   */
+  private static class FailureCallback implements BinanceApiCallback<String> {
+
+    final List<Throwable> failures = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void onResponse(String response) {
+    }
+
+    @Override
+    public void onFailure(Throwable cause) {
+      failures.add(cause);
+    }
+  }
+
+  @Test
+  public void givesUpOnRejectedHandshake() throws Exception {
+    FakeClient client = new FakeClient();
+    ManualScheduler scheduler = new ManualScheduler();
+    BinanceApiWebSocketSupervisor supervisor = new BinanceApiWebSocketSupervisor(client,
+        new ReconnectPolicy().initialBackoffMillis(10).maxBackoffMillis(20), scheduler);
+    FailureCallback callback = new FailureCallback();
+    supervisor.subscribe("ethbtc@trade", String.class, callback);
+
+    // a rate limit is lifted after a while
+    client.opened.get(0).onFailure(new BinanceHandshakeException(429, null));
+    assertTrue(callback.failures.isEmpty());
+    scheduler.advance(20);
+    assertEquals(2, client.opened.size());
+
+    BinanceHandshakeException rejected = new BinanceHandshakeException(400, null);
+    client.opened.get(1).onFailure(new IOException(rejected));
+    assertEquals(1, callback.failures.size());
+    assertTrue(callback.failures.get(0).getCause() == rejected);
+    scheduler.advance(20);
+    assertEquals(2, client.opened.size());
+    supervisor.close();
+  }
+
+  @Test
+  public void givesUpAfterMaxAttempts() throws Exception {
+    FakeClient client = new FakeClient();
+    ManualScheduler scheduler = new ManualScheduler();
+    BinanceApiWebSocketSupervisor supervisor = new BinanceApiWebSocketSupervisor(client,
+        new ReconnectPolicy().initialBackoffMillis(10).maxBackoffMillis(20).maxAttempts(2), scheduler);
+    FailureCallback callback = new FailureCallback();
+    supervisor.subscribe("ethbtc@trade", String.class, callback);
+
+    IOException failure = new IOException("connection refused");
+    client.opened.get(0).onFailure(failure);
+    scheduler.advance(20);
+    // an event starts the count over
+    client.opened.get(1).onResponse("a");
+    client.opened.get(1).onFailure(failure);
+    scheduler.advance(20);
+    client.opened.get(2).onFailure(failure);
+    scheduler.advance(20);
+    assertEquals(4, client.opened.size());
+    assertTrue(callback.failures.isEmpty());
+
+    client.opened.get(3).onFailure(failure);
+    scheduler.advance(20);
+    assertEquals(4, client.opened.size());
+    assertEquals(Collections.singletonList(failure), callback.failures);
+    assertEquals(4, client.closed.get());
+    supervisor.close();
+  }
+
+  @Test
+  public void rotatesBeforeServerDisconnect() throws Exception {
+    FakeClient client = new FakeClient();
+    ManualScheduler scheduler = new ManualScheduler();
+    BinanceApiWebSocketSupervisor supervisor = new BinanceApiWebSocketSupervisor(client,
+        new ReconnectPolicy().rotationIntervalMillis(200).rotationOverlapMillis(200), scheduler);
+    List<String> events = new CopyOnWriteArrayList<>();
+    supervisor.onTradeEvent("ethbtc", event -> events.add(event.getTradeId()));
+    scheduler.advance(200);
+    assertEquals(2, client.opened.size());
+
+    // both sockets deliver the stream during the overlap
+    client.opened.get(0).onResponse(trade("1"));
+    client.opened.get(1).onResponse(trade("1"));
+    client.opened.get(1).onResponse(trade("2"));
+    client.opened.get(0).onResponse(trade("2"));
+    assertEquals(0, client.closed.get());
+    scheduler.advance(200);
+    assertEquals(1, client.closed.get());
+    client.opened.get(0).onResponse(trade("3"));
+    client.opened.get(1).onResponse(trade("3"));
+    assertEquals(Arrays.asList("1", "2", "3"), events);
+    supervisor.close();
+    assertTrue(scheduler.isShutdown());
+  }
+
+  @Test
+  public void keepsReplacedSocketUntilOverlapConfirmed() throws Exception {
+    FakeClient client = new FakeClient();
+    ManualScheduler scheduler = new ManualScheduler();
+    BinanceApiWebSocketSupervisor supervisor = new BinanceApiWebSocketSupervisor(client,
+        new ReconnectPolicy().rotationIntervalMillis(200).rotationOverlapMillis(200), scheduler);
+    List<String> events = new CopyOnWriteArrayList<>();
+    supervisor.onTradeEvent("ethbtc", event -> events.add(event.getTradeId()));
+    scheduler.advance(200);
+
+    client.opened.get(0).onResponse(trade("1"));
+    // the replacement is ahead: the replaced socket still has 2 to deliver
+    client.opened.get(1).onResponse(trade("3"));
+    client.opened.get(0).onResponse(trade("2"));
+    assertEquals(Arrays.asList("1", "2"), events);
+    client.opened.get(0).onResponse(trade("3"));
+    client.opened.get(1).onResponse(trade("4"));
+    client.opened.get(0).onResponse(trade("4"));
+    client.opened.get(0).onResponse(trade("5"));
+    assertEquals(Arrays.asList("1", "2", "3", "4"), events);
+    client.opened.get(1).onResponse(trade("5"));
+    assertEquals(Arrays.asList("1", "2", "3", "4", "5"), events);
+    supervisor.close();
+  }
+
+  @Test
+  public void deliversHeldBackEventsOnHandOver() throws Exception {
+    FakeClient client = new FakeClient();
+    ManualScheduler scheduler = new ManualScheduler();
+    BinanceApiWebSocketSupervisor supervisor = new BinanceApiWebSocketSupervisor(client,
+        new ReconnectPolicy().rotationIntervalMillis(200).rotationOverlapMillis(200), scheduler);
+    List<String> events = new CopyOnWriteArrayList<>();
+    supervisor.onTradeEvent("ethbtc", event -> events.add(event.getTradeId()));
+    scheduler.advance(200);
+
+    client.opened.get(0).onResponse(trade("1"));
+    client.opened.get(1).onResponse(trade("2"));
+    client.opened.get(1).onResponse(trade("3"));
+    assertEquals(Collections.singletonList("1"), events);
+    // the replaced socket went quiet before the overlap was confirmed
+    scheduler.advance(200);
+    assertEquals(Arrays.asList("1", "2", "3"), events);
+    client.opened.get(1).onResponse(trade("4"));
+    assertEquals(Arrays.asList("1", "2", "3", "4"), events);
+    supervisor.close();
+  }
+
+  private static TradeEvent trade(String id) {
+    TradeEvent event = new TradeEvent();
+    event.setSymbol("ETHBTC");
+    event.setTradeId(id);
+    return event;
+  }
+}
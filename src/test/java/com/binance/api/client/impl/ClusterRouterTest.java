@@ -0,0 +1,99 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import okhttp3.Request;
+
+public class ClusterRouterTest {
+
+  private HttpServer slow;
+  private HttpServer fast;
+  private ClusterRouter router;
+
+  @Before
+  public void pre() throws IOException {
+    slow = server(100);
+    fast = server(0);
+    router = new ClusterRouter("https://api.binance.com", Arrays.asList(baseUrl(slow), baseUrl(fast)),
+        ClusterRouterTest::get, 50, 1_000);
+  }
+
+  @After
+  public void post() {
+    router.close();
+    slow.stop(0);
+    fast.stop(0);
+  }
+
+  @Test
+  public void routesToFastestAndFailsOver() throws InterruptedException {
+    awaitCluster(baseUrl(fast));
+    Request routed = router.route(new Request.Builder().url("https://api.binance.com/api/v1/depth?symbol=BTCUSDT").build());
+    assertEquals(baseUrl(fast) + "/api/v1/depth?symbol=BTCUSDT", routed.url().toString());
+
+    Request external = new Request.Builder().url("https://binance.com/assetWithdraw/getAllAsset.html").build();
+    assertEquals(external, router.route(external));
+
+    fast.stop(0);
+    awaitCluster(baseUrl(slow));
+  }
+
+  private void awaitCluster(String baseUrl) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (router.currentBaseUrl() == null || !(baseUrl + "/").equals(router.currentBaseUrl().toString())) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new AssertionError("router did not switch to " + baseUrl + ", current: " + router.currentBaseUrl());
+      }
+      Thread.sleep(20);
+    }
+  }
+
+  private static HttpServer server(long delayMillis) throws IOException {
+    HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/api/v1/ping", exchange -> {
+      try {
+        Thread.sleep(delayMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      exchange.sendResponseHeaders(200, -1);
+      exchange.close();
+    });
+    server.start();
+    return server;
+  }
+
+  private static String baseUrl(HttpServer server) {
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  private static CompletableFuture<?> get(String url) {
+    return CompletableFuture.runAsync(() -> {
+      try {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(500);
+        connection.setReadTimeout(500);
+        if (connection.getResponseCode() != 200) {
+          throw new IOException("HTTP " + connection.getResponseCode());
+        }
+        connection.disconnect();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+}
@@ -0,0 +1,179 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Test;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.AggTradeEvent;
+
+public class CombinedStreamManagerTest {
+
+  private static class FakeTransport implements StreamTransport {
+
+    final List<String> urls = new CopyOnWriteArrayList<>();
+    final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    final List<String> sent = new CopyOnWriteArrayList<>();
+    final List<String> closed = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Connection open(String url, Listener listener) {
+      urls.add(url);
+      listeners.add(listener);
+      return new Connection() {
+        @Override
+        public void send(String text) {
+          sent.add(text);
+        }
+
+        @Override
+        public void close() {
+          closed.add(url);
+        }
+      };
+    }
+  }
+
+  @Test
+  public void shardsAndDispatchesStreams() throws Exception {
+    FakeTransport transport = new FakeTransport();
+    ManualScheduler scheduler = new ManualScheduler();
+    CombinedStreamManager manager = new CombinedStreamManager(transport, "wss://host/stream", 2, 20, 0, 0, scheduler);
+    List<String> received = new CopyOnWriteArrayList<>();
+    BinanceApiCallback<AggTradeEvent> callback = event -> received.add(event.getSymbol());
+
+    manager.subscribe("ethbtc@aggTrade", CombinedStreamManager.readerFor(AggTradeEvent.class), callback);
+    scheduler.advance(100);
+    assertEquals("wss://host/stream?streams=ethbtc@aggTrade", transport.urls.get(0));
+    transport.listeners.get(0).onOpen();
+
+    Closeable bnb = manager.subscribe("bnbbtc@aggTrade", CombinedStreamManager.readerFor(AggTradeEvent.class), callback);
+    manager.subscribe("ltcbtc@aggTrade", CombinedStreamManager.readerFor(AggTradeEvent.class), callback);
+    scheduler.advance(100);
+    assertEquals(2, manager.getConnectionCount());
+    assertEquals("wss://host/stream?streams=ltcbtc@aggTrade", transport.urls.get(1));
+    assertEquals("{\"method\":\"SUBSCRIBE\",\"params\":[\"bnbbtc@aggTrade\"],\"id\":1}", transport.sent.get(0));
+
+    transport.listeners.get(0).onMessage("{\"stream\":\"bnbbtc@aggTrade\",\"data\":{\"e\":\"aggTrade\",\"s\":\"BNBBTC\"}}");
+    transport.listeners.get(1).onMessage("{\"stream\":\"ltcbtc@aggTrade\",\"data\":{\"e\":\"aggTrade\",\"s\":\"LTCBTC\"}}");
+    assertEquals(2, received.size());
+    assertTrue(received.contains("BNBBTC") && received.contains("LTCBTC"));
+
+    // unsubscribed and subscribed again before the next message: the stream is left running
+    bnb.close();
+    manager.subscribe("bnbbtc@aggTrade", CombinedStreamManager.readerFor(AggTradeEvent.class), callback);
+    scheduler.advance(100);
+    assertEquals(1, transport.sent.size());
+    assertEquals(2, manager.getConnectionCount());
+  }
+
+  @Test
+  public void failsRefusedStreams() throws Exception {
+    FakeTransport transport = new FakeTransport();
+    ManualScheduler scheduler = new ManualScheduler();
+    CombinedStreamManager manager = new CombinedStreamManager(transport, "wss://host/stream", 2, 20, 0, 0, scheduler);
+    List<Throwable> failures = new CopyOnWriteArrayList<>();
+    BinanceApiCallback<AggTradeEvent> callback = new BinanceApiCallback<AggTradeEvent>() {
+      @Override
+      public void onResponse(AggTradeEvent response) {
+      }
+
+      @Override
+      public void onFailure(Throwable cause) {
+        failures.add(cause);
+      }
+    };
+
+    manager.subscribe("ethbtc@aggTrade", CombinedStreamManager.readerFor(AggTradeEvent.class), callback);
+    scheduler.advance(100);
+    transport.listeners.get(0).onOpen();
+    manager.subscribe("ETHBTC@aggTrade", CombinedStreamManager.readerFor(AggTradeEvent.class), callback);
+    scheduler.advance(100);
+    transport.listeners.get(0).onMessage("{\"code\":2,\"msg\":\"Invalid request\",\"id\":1}");
+    assertEquals(1, failures.size());
+
+    transport.listeners.get(0).onFailure(new java.io.IOException("reset"));
+    assertEquals(2, failures.size());
+    assertEquals(0, manager.getConnectionCount());
+  }
+
+  @Test
+  public void rotatesConnectionsWithoutDuplicates() throws Exception {
+    FakeTransport transport = new FakeTransport();
+    ManualScheduler scheduler = new ManualScheduler();
+    CombinedStreamManager manager = new CombinedStreamManager(transport, "wss://host/stream", 2, 20, 300, 100, scheduler);
+    List<Long> received = new CopyOnWriteArrayList<>();
+    manager.subscribe("ethbtc@aggTrade", CombinedStreamManager.readerFor(AggTradeEvent.class),
+        (AggTradeEvent event) -> received.add(event.getAggregatedTradeId()));
+    scheduler.advance(100);
+    transport.listeners.get(0).onOpen();
+    transport.listeners.get(0).onMessage(aggTrade(1));
+
+    // replaced after 300 ms: both connections deliver the stream for 100 ms
+    scheduler.advance(200);
+    assertEquals("wss://host/stream?streams=ethbtc@aggTrade", transport.urls.get(1));
+    transport.listeners.get(1).onOpen();
+    transport.listeners.get(0).onMessage(aggTrade(2));
+    transport.listeners.get(1).onMessage(aggTrade(2));
+    transport.listeners.get(1).onMessage(aggTrade(3));
+    transport.listeners.get(0).onMessage(aggTrade(3));
+    assertEquals(Arrays.asList(1L, 2L, 3L), received);
+
+    assertEquals(0, transport.closed.size());
+    scheduler.advance(100);
+    assertEquals(1, transport.closed.size());
+    transport.listeners.get(0).onMessage(aggTrade(4));
+    transport.listeners.get(1).onMessage(aggTrade(4));
+    assertEquals(Arrays.asList(1L, 2L, 3L, 4L), received);
+  }
+
+  @Test
+  public void parsesBinaryMessages() throws Exception {
+    FakeTransport transport = new FakeTransport();
+    ManualScheduler scheduler = new ManualScheduler();
+    CombinedStreamManager manager = new CombinedStreamManager(transport, "wss://host/stream", 2, 20, 0, 0, scheduler);
+    List<Long> received = new CopyOnWriteArrayList<>();
+    manager.subscribe("ethbtc@aggTrade", CombinedStreamManager.readerFor(AggTradeEvent.class),
+        (AggTradeEvent event) -> received.add(event.getAggregatedTradeId()));
+    scheduler.advance(100);
+    transport.listeners.get(0).onOpen();
+
+    byte[] message = aggTrade(1).getBytes(StandardCharsets.UTF_8);
+    transport.listeners.get(0).onMessage(ByteBuffer.wrap(message));
+    transport.listeners.get(0).onMessage(ByteBuffer.wrap(aggTrade(2).getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer());
+    assertEquals(Arrays.asList(1L, 2L), received);
+  }
+
+  @Test
+  public void closesConnectionsAndTimer() throws Exception {
+    FakeTransport transport = new FakeTransport();
+    ManualScheduler scheduler = new ManualScheduler();
+    CombinedStreamManager manager = new CombinedStreamManager(transport, "wss://host/stream", 2, 20, 300, 100, scheduler);
+    manager.subscribe("ethbtc@aggTrade", CombinedStreamManager.readerFor(AggTradeEvent.class), event -> {
+    });
+    scheduler.advance(100);
+    transport.listeners.get(0).onOpen();
+
+    manager.close();
+    assertEquals(Arrays.asList("wss://host/stream?streams=ethbtc@aggTrade"), transport.closed);
+    assertEquals(0, manager.getConnectionCount());
+    assertTrue(scheduler.isShutdown());
+    // nothing is opened anymore
+    manager.subscribe("bnbbtc@aggTrade", CombinedStreamManager.readerFor(AggTradeEvent.class), event -> {
+    });
+    scheduler.advance(100);
+    assertEquals(1, transport.urls.size());
+  }
+
+  private static String aggTrade(long id) {
+    return "{\"stream\":\"ethbtc@aggTrade\",\"data\":{\"e\":\"aggTrade\",\"s\":\"ETHBTC\",\"a\":" + id + "}}";
+  }
+}
@@ -0,0 +1,63 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.binance.api.client.domain.event.BookTickerEvent;
+
+public class ConflatingTickerTableTest {
+
+  @Test
+  public void drainsLatestEventPerUpdatedSymbol() {
+    ConflatingTickerTable<BookTickerEvent> table = new ConflatingTickerTable<>(BookTickerEvent::getSymbol);
+    for (long id = 1; id <= 100; id++) {
+      table.update(bookTicker(id % 2 == 0 ? "ETHBTC" : "BNBBTC", id));
+    }
+    // received again while a web socket is rotated
+    table.update(bookTicker("ETHBTC", 98));
+
+    List<BookTickerEvent> drained = new ArrayList<>();
+    assertEquals(2, table.drainUpdates(drained::add));
+    assertEquals(2, drained.size());
+    assertEquals(100L, table.getLatest("ETHBTC").getUpdateId());
+    assertEquals(99L, table.getLatest("BNBBTC").getUpdateId());
+    assertEquals(0, table.drainUpdates(drained::add));
+
+    table.update(bookTicker("BNBBTC", 101));
+    drained.clear();
+    assertEquals(1, table.drainUpdates(drained::add));
+    assertEquals("BNBBTC", drained.get(0).getSymbol());
+    assertEquals(2, table.getSymbolCount());
+  }
+
+  @Test
+  public void wakesWaitingConsumer() throws Exception {
+    ConflatingTickerTable<BookTickerEvent> table = new ConflatingTickerTable<>(BookTickerEvent::getSymbol);
+    assertFalse(table.awaitUpdates(20, TimeUnit.MILLISECONDS));
+    new Thread(() -> {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      table.update(bookTicker("ETHBTC", 1));
+    }).start();
+    long start = System.nanoTime();
+    assertTrue(table.awaitUpdates(5, TimeUnit.SECONDS));
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+  }
+
+  private static BookTickerEvent bookTicker(String symbol, long updateId) {
+    BookTickerEvent event = new BookTickerEvent();
+    event.setSymbol(symbol);
+    event.setUpdateId(updateId);
+    return event;
+  }
+}
@@ -0,0 +1,101 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+public class ConnectionWarmerTest {
+
+  @Test
+  public void opensConnectionsOnEveryLane() throws Exception {
+    AtomicInteger shared = new AtomicInteger();
+    AtomicInteger orders = new AtomicInteger();
+    ConnectionWarmer warmer = new ConnectionWarmer(Arrays.asList(ping(shared), ping(orders)), 3,
+        TimeUnit.HOURS.toMillis(1));
+    try {
+      warmer.ready().get(5, TimeUnit.SECONDS);
+      assertTrue(warmer.isReady());
+      assertEquals(3, shared.get());
+      assertEquals(3, orders.get());
+    } finally {
+      warmer.close();
+    }
+  }
+
+  @Test
+  public void pingsUntilClosed() throws Exception {
+    AtomicInteger sent = new AtomicInteger();
+    ConnectionWarmer warmer = new ConnectionWarmer(Arrays.asList(ping(sent)), 1, 10);
+    try {
+      warmer.ready().get(5, TimeUnit.SECONDS);
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (sent.get() < 3 && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      assertTrue(sent.get() >= 3);
+    } finally {
+      warmer.close();
+    }
+    Thread.sleep(50);
+    int total = sent.get();
+    Thread.sleep(100);
+    assertEquals(total, sent.get());
+  }
+
+  @Test
+  public void readyOnceRoundSucceeds() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    Supplier<CompletableFuture<?>> flaky = () -> {
+      if (attempts.incrementAndGet() <= 2) {
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IOException("connection refused"));
+        return failed;
+      }
+      return CompletableFuture.completedFuture(null);
+    };
+    Supplier<CompletableFuture<?>> throwing = () -> {
+      if (attempts.get() <= 2) {
+        throw new IllegalStateException("client closed");
+      }
+      return CompletableFuture.completedFuture(null);
+    };
+    ConnectionWarmer warmer = new ConnectionWarmer(Arrays.asList(flaky, throwing), 1, 10);
+    try {
+      warmer.ready().get(5, TimeUnit.SECONDS);
+      assertTrue(attempts.get() > 2);
+    } finally {
+      warmer.close();
+    }
+  }
+
+  @Test
+  public void notReadyWhileFailing() throws Exception {
+    ConnectionWarmer warmer = new ConnectionWarmer(Arrays.asList(() -> {
+      CompletableFuture<Void> failed = new CompletableFuture<>();
+      failed.completeExceptionally(new IOException("unreachable"));
+      return failed;
+    }), 2, 10);
+    try {
+      Thread.sleep(50);
+      assertFalse(warmer.isReady());
+    } finally {
+      warmer.close();
+    }
+  }
+
+  private static Supplier<CompletableFuture<?>> ping(AtomicInteger sent) {
+    return () -> {
+      sent.incrementAndGet();
+      return CompletableFuture.completedFuture(null);
+    };
+  }
+}
@@ -0,0 +1,169 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.binance.api.client.BinanceApiStreamCallback;
+import com.binance.api.client.config.DispatchPolicy;
+import com.binance.api.client.config.DispatchPolicy.Overflow;
+
+public class DispatchQueueTest {
+
+  /**
+   * Runs the drains when told to, as a callback slower than the stream would.
+   */
+  private static class ManualExecutor implements Executor {
+
+    final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public void execute(Runnable task) {
+      tasks.add(task);
+    }
+
+    void runAll() {
+      while (!tasks.isEmpty()) {
+        tasks.remove(0).run();
+      }
+    }
+  }
+
+  private static class RecordingCallback implements BinanceApiStreamCallback<Integer> {
+
+    final List<Object> received = new ArrayList<>();
+
+    @Override
+    public void onResponse(Integer response) {
+      received.add(response);
+    }
+
+    @Override
+    public void onFailure(Throwable cause) {
+      received.add("failure");
+    }
+
+    @Override
+    public void onGap(Throwable cause) {
+      received.add("gap");
+    }
+  }
+
+  private static DispatchQueue<Integer> queue(Overflow overflow, Executor executor, RecordingCallback callback) {
+    return new DispatchQueue<>("ethbtc@aggTrade", callback, new DispatchPolicy().capacity(3).overflow(overflow), executor);
+  }
+
+  @Test
+  public void dropsOldestEvents() {
+    ManualExecutor executor = new ManualExecutor();
+    RecordingCallback callback = new RecordingCallback();
+    DispatchQueue<Integer> queue = queue(Overflow.DROP_OLDEST, executor, callback);
+    for (int i = 1; i <= 5; i++) {
+      queue.onResponse(i);
+    }
+    assertEquals(3, queue.getQueueDepth());
+    assertEquals(2, queue.getDroppedEvents());
+    executor.runAll();
+    assertEquals(Arrays.asList(3, 4, 5), callback.received);
+    assertEquals(0, queue.getQueueDepth());
+  }
+
+  @Test
+  public void dropsNewestEventsWhileSignalIsQueued() {
+    ManualExecutor executor = new ManualExecutor();
+    RecordingCallback callback = new RecordingCallback();
+    DispatchQueue<Integer> queue = queue(Overflow.DROP_OLDEST, executor, callback);
+    queue.onResponse(1);
+    queue.onGap(new IOException("reconnected"));
+    queue.onResponse(2);
+    queue.onResponse(3);
+    executor.runAll();
+    assertEquals(Arrays.asList(1, "gap", 2), callback.received);
+    assertEquals(1, queue.getDroppedEvents());
+
+    for (int i = 4; i <= 7; i++) {
+      queue.onResponse(i);
+    }
+    executor.runAll();
+    assertEquals(Arrays.asList(1, "gap", 2, 5, 6, 7), callback.received);
+    assertEquals(2, queue.getDroppedEvents());
+  }
+
+  @Test
+  public void dropsNewestEvents() {
+    ManualExecutor executor = new ManualExecutor();
+    RecordingCallback callback = new RecordingCallback();
+    DispatchQueue<Integer> queue = queue(Overflow.DROP_NEWEST, executor, callback);
+    for (int i = 1; i <= 5; i++) {
+      queue.onResponse(i);
+    }
+    executor.runAll();
+    assertEquals(Arrays.asList(1, 2, 3), callback.received);
+    assertEquals(2, queue.getDroppedEvents());
+  }
+
+  @Test
+  public void conflatesToLatestEventAndKeepsSignalsInOrder() {
+    ManualExecutor executor = new ManualExecutor();
+    RecordingCallback callback = new RecordingCallback();
+    DispatchQueue<Integer> queue = queue(Overflow.CONFLATE_LATEST, executor, callback);
+    queue.onResponse(1);
+    queue.onResponse(2);
+    queue.onGap(new IOException("reconnected"));
+    queue.onResponse(3);
+    queue.onResponse(4);
+    queue.onResponse(5);
+    assertEquals(3, queue.getQueueDepth());
+    executor.runAll();
+    assertEquals(Arrays.asList(2, "gap", 5), callback.received);
+    assertEquals(3, queue.getDroppedEvents());
+  }
+
+  @Test
+  public void blocksUntilCallbackCatchesUp() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    List<Integer> delivered = new ArrayList<>();
+    RecordingCallback callback = new RecordingCallback() {
+      @Override
+      public void onResponse(Integer response) {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        synchronized (delivered) {
+          delivered.add(response);
+        }
+      }
+    };
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    DispatchQueue<Integer> queue = queue(Overflow.BLOCK, executor, callback);
+    Thread producer = new Thread(() -> {
+      for (int i = 1; i <= 10; i++) {
+        queue.onResponse(i);
+      }
+    });
+    producer.start();
+    Thread.sleep(100);
+    // the first event is held by the callback, three are queued and the producer waits
+    assertEquals(3, queue.getQueueDepth());
+    release.countDown();
+    producer.join(TimeUnit.SECONDS.toMillis(5));
+    Thread.sleep(100);
+    synchronized (delivered) {
+      assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), delivered);
+    }
+    assertEquals(0, queue.getDroppedEvents());
+    executor.shutdown();
+  }
+}
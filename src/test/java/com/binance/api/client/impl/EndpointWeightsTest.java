@@ -0,0 +1,64 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import okhttp3.HttpUrl;
+
+public class EndpointWeightsTest {
+
+  @Test
+  public void weighsByParameters() {
+    assertEquals(5, weightOf("GET", "/api/v1/depth?symbol=BTCUSDT"));
+    assertEquals(25, weightOf("GET", "/api/v1/depth?symbol=BTCUSDT&limit=500"));
+    assertEquals(50, weightOf("GET", "/api/v1/depth?symbol=BTCUSDT&limit=1000"));
+    assertEquals(250, weightOf("GET", "/api/v1/depth?symbol=BTCUSDT&limit=5000"));
+    assertEquals(2, weightOf("GET", "/api/v1/ticker/24hr?symbol=BTCUSDT"));
+    assertEquals(80, weightOf("GET", "/api/v1/ticker/24hr"));
+    assertEquals(2, weightOf("GET", "/api/v3/ticker/price?symbol=BTCUSDT"));
+    assertEquals(4, weightOf("GET", "/api/v3/ticker/price"));
+    assertEquals(6, weightOf("GET", "/api/v3/openOrders?symbol=BTCUSDT"));
+    assertEquals(80, weightOf("GET", "/api/v3/openOrders"));
+  }
+
+  @Test
+  public void weighsByMethod() {
+    assertEquals(20, weightOf("GET", "/api/v3/account?timestamp=1"));
+    assertEquals(4, weightOf("GET", "/api/v3/order?symbol=BTCUSDT"));
+    assertEquals(1, weightOf("POST", "/api/v3/order?symbol=BTCUSDT"));
+    assertEquals(1, weightOf("DELETE", "/api/v3/order?symbol=BTCUSDT"));
+    assertEquals(25, weightOf("GET", "/api/v1/trades?symbol=BTCUSDT"));
+    assertEquals(2, weightOf("PUT", "/api/v1/userDataStream?listenKey=key"));
+  }
+
+  @Test
+  public void weighsUnknownEndpoints() {
+    // endpoints missing from the table are charged the minimum rather than let through
+    assertEquals(1, weightOf("GET", "/api/v1/ping"));
+    assertEquals(1, weightOf("GET", "/api/v9/unknown"));
+    // an unparseable depth is charged as the default one
+    assertEquals(5, weightOf("GET", "/api/v1/depth?symbol=BTCUSDT&limit=all"));
+    // limited separately
+    assertEquals(0, weightOf("GET", "/sapi/v1/margin/account"));
+    assertEquals(0, weightOf("POST", "/wapi/v3/withdraw.html"));
+    assertEquals(0, weightOf("GET", "/api"));
+  }
+
+  @Test
+  public void weighsByPathAndArguments() {
+    Map<String, String> parameters = new HashMap<>();
+    parameters.put("symbol", "BTCUSDT");
+    parameters.put("limit", "1000");
+    assertEquals(50, EndpointWeights.weightOf("GET", "/api/v1/depth", parameters::get));
+    assertEquals(2, EndpointWeights.weightOf("GET", "/api/v1/ticker/24hr", parameters::get));
+    assertEquals(80, EndpointWeights.weightOf("GET", "/api/v1/ticker/24hr", name -> null));
+  }
+
+  private static int weightOf(String method, String pathAndQuery) {
+    return EndpointWeights.weightOf(method, HttpUrl.parse("https://api.binance.com" + pathAndQuery));
+  }
+}
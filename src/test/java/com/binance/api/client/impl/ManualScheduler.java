@@ -0,0 +1,91 @@
+package com.binance.api.client.impl;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler of the tests, on a clock of its own: its tasks run on the test thread when the clock is advanced past
+ * them, instead of on time.
+ */
+class ManualScheduler extends ScheduledThreadPoolExecutor {
+
+  private final PriorityQueue<Task> tasks = new PriorityQueue<>();
+
+  private long now;
+
+  private long sequence;
+
+  ManualScheduler() {
+    super(1);
+  }
+
+  @Override
+  public synchronized ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    if (isShutdown()) {
+      throw new RejectedExecutionException("scheduler shut down");
+    }
+    Task task = new Task(command, now + unit.toMillis(delay), sequence++);
+    tasks.add(task);
+    return task;
+  }
+
+  /**
+   * Advances the clock by <code>millis</code>, running the tasks due meanwhile in order, including those they
+   * schedule.
+   */
+  void advance(long millis) throws ExecutionException, InterruptedException {
+    long until;
+    synchronized (this) {
+      until = now + millis;
+    }
+    while (true) {
+      Task task;
+      synchronized (this) {
+        task = tasks.peek();
+        if (task == null || task.time > until) {
+          now = until;
+          return;
+        }
+        tasks.poll();
+        now = Math.max(now, task.time);
+      }
+      task.run();
+      if (!task.isCancelled()) {
+        // rethrows the failure of the task
+        task.get();
+      }
+    }
+  }
+
+  private final class Task extends FutureTask<Void> implements ScheduledFuture<Void> {
+
+    private final long time;
+
+    private final long order;
+
+    Task(Runnable command, long time, long order) {
+      super(command, null);
+      this.time = time;
+      this.order = order;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      synchronized (ManualScheduler.this) {
+        return unit.convert(time - now, TimeUnit.MILLISECONDS);
+      }
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      Task task = (Task) other;
+      return time != task.time ? Long.compare(time, task.time) : Long.compare(order, task.order);
+    }
+  }
+}
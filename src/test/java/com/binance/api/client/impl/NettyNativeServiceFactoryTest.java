@@ -0,0 +1,35 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.asynchttpclient.Request;
+import org.junit.Test;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.security.HmacSHA256Signer;
+
+public class NettyNativeServiceFactoryTest {
+
+  private final NettyNativeServiceFactory factory = new NettyNativeServiceFactory(null, null, null, null, null, null,
+      null, null);
+
+  @Test
+  public void encodesSignedRequest() throws NoSuchMethodException {
+    NettyNativeServiceFactory.NativeMethod method = new NettyNativeServiceFactory.NativeMethod(BinanceApiService.class
+        .getMethod("getOrderStatus", String.class, Long.class, String.class, Long.class, Long.class, String.class,
+            String.class));
+    assertTrue(method.signed);
+    assertFalse(method.orderRequest);
+
+    Request request = factory.encode(method, new Object[] { "BTCUSDT", 42L, null, 5000L, 1L, "key", "secret" }, null,
+        "https://api.binance.com", null);
+    String query = "symbol=BTCUSDT&orderId=42&recvWindow=5000&timestamp=1";
+    assertEquals("GET", request.getMethod());
+    assertEquals("https://api.binance.com/api/v3/order?" + query + "&signature=" + HmacSHA256Signer.sign(query, "secret"),
+        request.getUrl());
+    assertEquals("key", request.getHeaders().get(BinanceApiConstants.API_KEY_HEADER));
+    assertEquals(null, request.getHeaders().get("Secret"));
+  }
+}
@@ -0,0 +1,114 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.Dsl;
+import org.asynchttpclient.netty.ws.NettyWebSocket;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.TradeEvent;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
+
+public class NettyTextFrameHandlerTest {
+
+  private EventLoopGroup serverGroup;
+
+  private Channel server;
+
+  private AsyncHttpClient client;
+
+  /**
+   * Local stream server, which answers every text message with two trade events, the second one fragmented.
+   */
+  @Before
+  public void start() throws Exception {
+    serverGroup = new NioEventLoopGroup(1);
+    server = new ServerBootstrap().group(serverGroup).channel(NioServerSocketChannel.class)
+        .childHandler(new ChannelInitializer<SocketChannel>() {
+          @Override
+          protected void initChannel(SocketChannel channel) {
+            channel.pipeline().addLast(new HttpServerCodec(), new HttpObjectAggregator(1 << 16),
+                new WebSocketServerProtocolHandler("/ws"), new SimpleChannelInboundHandler<TextWebSocketFrame>() {
+                  @Override
+                  protected void channelRead0(ChannelHandlerContext ctx, TextWebSocketFrame frame) {
+                    ctx.write(new TextWebSocketFrame(trade(1)));
+                    String second = trade(2);
+                    ctx.write(new TextWebSocketFrame(false, 0, second.substring(0, 10)));
+                    ctx.writeAndFlush(new ContinuationWebSocketFrame(true, 0, second.substring(10)));
+                  }
+                });
+          }
+        })
+        .bind("127.0.0.1", 0).sync().channel();
+    client = Dsl.asyncHttpClient(Dsl.config().setWsAdditionalChannelInitializer(NettyTextFrameHandler::install));
+  }
+
+  @After
+  public void stop() throws Exception {
+    client.close();
+    server.close().sync();
+    serverGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+  }
+
+  @Test
+  public void parsesTextFramesFromBytes() throws Exception {
+    BlockingQueue<TradeEvent> events = new LinkedBlockingQueue<>();
+    List<String> decoded = new CopyOnWriteArrayList<>();
+    NettyBinanceApiWebSocketListener<TradeEvent> listener = new NettyBinanceApiWebSocketListener<TradeEvent>(
+        new BinanceApiCallback<TradeEvent>() {
+          @Override
+          public void onResponse(TradeEvent event) {
+            events.add(event);
+          }
+        }, TradeEvent.class) {
+      @Override
+      public void onTextFrame(String payload, boolean finalFragment, int rsv) {
+        decoded.add(payload);
+        super.onTextFrame(payload, finalFragment, rsv);
+      }
+    };
+    int port = ((InetSocketAddress) server.localAddress()).getPort();
+    NettyWebSocket webSocket = client.prepareGet("ws://127.0.0.1:" + port + "/ws")
+        .execute(new NettyTextFrameHandler.UpgradeHandler(listener)).get(5, TimeUnit.SECONDS);
+    webSocket.sendTextFrame("send");
+
+    TradeEvent first = events.poll(5, TimeUnit.SECONDS);
+    TradeEvent second = events.poll(5, TimeUnit.SECONDS);
+    assertEquals("1", first.getTradeId());
+    // the fragments are aggregated before they reach the handler
+    assertEquals("2", second.getTradeId());
+    assertEquals("BTCUSDT", second.getSymbol());
+    assertTrue(decoded.toString(), decoded.isEmpty());
+    webSocket.sendCloseFrame();
+  }
+
+  private static String trade(int id) {
+    return "{\"e\":\"trade\",\"s\":\"BTCUSDT\",\"t\":" + id + ",\"p\":\"0.001\",\"q\":\"100\",\"T\":1}";
+  }
+}
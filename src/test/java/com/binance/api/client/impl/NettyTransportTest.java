@@ -41,6 +41,11 @@ public class NettyTransportTest {
     latch.await();
   }
 
+  @Test
+  public void ping_future() {
+    factory.newFutureRestClient().ping().join();
+  }
+
   @Test
   public void socket() throws IOException, InterruptedException {
     CountDownLatch latch = new CountDownLatch(1);
@@ -0,0 +1,55 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import okhttp3.Request;
+import okhttp3.RequestBody;
+
+public class OrderLaneCallFactoryTest {
+
+  private final List<String> orderLane = new ArrayList<>();
+
+  private final List<String> defaultLane = new ArrayList<>();
+
+  private final OrderLaneCallFactory factory = new OrderLaneCallFactory(request -> {
+    orderLane.add(request.method() + ' ' + request.url().encodedPath());
+    return null;
+  }, request -> {
+    defaultLane.add(request.method() + ' ' + request.url().encodedPath());
+    return null;
+  });
+
+  @Test
+  public void routesOrdersToTheirLane() {
+    factory.newCall(request("POST", "/api/v3/order?symbol=BTCUSDT"));
+    factory.newCall(request("DELETE", "/api/v3/order?symbol=BTCUSDT&orderId=1"));
+    factory.newCall(request("POST", "/api/v3/order/oco?symbol=BTCUSDT"));
+    factory.newCall(request("DELETE", "/api/v3/orderList?symbol=BTCUSDT"));
+    factory.newCall(request("POST", "/sapi/v1/margin/order?symbol=BTCUSDT"));
+    assertEquals(5, orderLane.size());
+    assertEquals(0, defaultLane.size());
+  }
+
+  @Test
+  public void keepsOtherRequestsOnDefaultLane() {
+    // order status polls
+    factory.newCall(request("GET", "/api/v3/order?symbol=BTCUSDT&orderId=1"));
+    factory.newCall(request("GET", "/sapi/v1/margin/order?symbol=BTCUSDT&orderId=1"));
+    factory.newCall(request("GET", "/api/v1/aggTrades?symbol=BTCUSDT"));
+    factory.newCall(request("POST", "/api/v1/userDataStream"));
+    factory.newCall(request("POST", "/api/v3/order/test?symbol=BTCUSDT"));
+    assertEquals(0, orderLane.size());
+    assertEquals(5, defaultLane.size());
+  }
+
+  private static Request request(String method, String pathAndQuery) {
+    Request request = StubCall.request("https://api.binance.com" + pathAndQuery);
+    return "GET".equals(method) ? request
+        : request.newBuilder().method(method, RequestBody.create(null, new byte[0])).build();
+  }
+}
@@ -0,0 +1,98 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.binance.api.client.domain.general.RateLimit;
+import com.binance.api.client.domain.general.RateLimitInterval;
+import com.binance.api.client.domain.general.RateLimitType;
+
+public class OrderRateGovernorTest {
+
+  @Test
+  public void prioritiesOfOrderEndpoints() {
+    assertEquals(RequestPriority.CANCEL, RequestPriority.of("DELETE", "/api/v3/order"));
+    assertEquals(RequestPriority.ORDER, RequestPriority.of("POST", "/api/v3/order"));
+    assertEquals(RequestPriority.STATUS, RequestPriority.of("GET", "/api/v3/order"));
+    assertEquals(RequestPriority.DEFAULT, RequestPriority.of("POST", "/api/v3/order/test"));
+  }
+
+  @Test
+  public void rejectsOrdersOverTheDailyLimit() {
+    OrderRateGovernor governor = new OrderRateGovernor(Collections.singletonList(dailyLimit(2)), 1_000);
+    try {
+      AtomicInteger sent = new AtomicInteger();
+      AtomicReference<IOException> rejected = new AtomicReference<>();
+      for (int i = 0; i < 3; i++) {
+        governor.submit("key", RequestPriority.ORDER, sent::incrementAndGet, rejected::set);
+      }
+      assertEquals(2, sent.get());
+      assertTrue(rejected.get().getMessage().contains("2 per 1d"));
+
+      // cancel-replaces are never held back
+      governor.submit("key", RequestPriority.CANCEL, sent::incrementAndGet, rejected::set);
+      assertEquals(3, sent.get());
+
+      governor.update("key", name -> "x-mbx-order-count-1d".equals(name) ? "10" : null);
+      assertTrue(governor.acquire("key", RequestPriority.ORDER) > 0);
+    } finally {
+      governor.close();
+    }
+  }
+
+  @Test
+  public void countsOrdersPerAccount() {
+    OrderRateGovernor governor = new OrderRateGovernor(Collections.singletonList(dailyLimit(1)), 0);
+    try {
+      assertEquals(0, governor.acquire("first", RequestPriority.ORDER));
+      assertTrue(governor.acquire("first", RequestPriority.ORDER) > 0);
+      // the limit of one account leaves the others alone
+      assertEquals(0, governor.acquire("second", RequestPriority.ORDER));
+
+      governor.update("third", name -> "x-mbx-order-count-1d".equals(name) ? "1" : null);
+      assertTrue(governor.acquire("third", RequestPriority.ORDER) > 0);
+      assertTrue(governor.acquire("second", RequestPriority.ORDER) > 0);
+      assertEquals(0, governor.acquire("fourth", RequestPriority.ORDER));
+    } finally {
+      governor.close();
+    }
+  }
+
+  @Test
+  public void sharesOrderCountsOfEachAccountThroughFile() throws Exception {
+    Path path = Files.createTempFile("binance-rate", ".bin");
+    OrderRateGovernor first = new OrderRateGovernor(Collections.singletonList(dailyLimit(1)), 0,
+        new SharedRateLimitFile(path)::orderWindows);
+    OrderRateGovernor second = new OrderRateGovernor(Collections.singletonList(dailyLimit(1)), 0,
+        new SharedRateLimitFile(path)::orderWindows);
+    try {
+      assertEquals(0, first.acquire("first", RequestPriority.ORDER));
+      assertTrue(second.acquire("first", RequestPriority.ORDER) > 0);
+      // another account trading from the same host has a budget of its own
+      assertEquals(0, second.acquire("second", RequestPriority.ORDER));
+      assertTrue(first.acquire("second", RequestPriority.ORDER) > 0);
+    } finally {
+      first.close();
+      second.close();
+      Files.delete(path);
+    }
+  }
+
+  private static RateLimit dailyLimit(int limit) {
+    RateLimit rateLimit = new RateLimit();
+    rateLimit.setRateLimitType(RateLimitType.ORDERS);
+    rateLimit.setInterval(RateLimitInterval.DAY);
+    rateLimit.setIntervalNum(1);
+    rateLimit.setLimit(limit);
+    return rateLimit;
+  }
+}
@@ -0,0 +1,19 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PublicRequestsTest {
+
+  @Test
+  public void isPublicGet() {
+    assertTrue(PublicRequests.isPublicGet(StubCall.request("https://api.binance.com/api/v1/depth?symbol=BTCUSDT&limit=5")));
+    assertFalse(PublicRequests.isPublicGet(StubCall.request("https://api.binance.com/api/v3/order?symbol=BTCUSDT&signature=abc")));
+    assertFalse(PublicRequests.isPublicGet(StubCall.request("https://api.binance.com/api/v3/account").newBuilder()
+        .header("api", "key").build()));
+    assertFalse(PublicRequests.isPublicGet(StubCall.request("https://api.binance.com/api/v1/userDataStream")
+        .newBuilder().header("X-MBX-APIKEY", "key").build()));
+  }
+}
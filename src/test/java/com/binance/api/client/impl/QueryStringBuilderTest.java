@@ -0,0 +1,28 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.binance.api.client.security.HmacSHA256Signer;
+import com.binance.api.client.security.Signers;
+
+public class QueryStringBuilderTest {
+
+  @Test
+  public void encodesAndSignsInPlace() {
+    String url = QueryStringBuilder.of("https://api.binance.com/api/v3/order")
+        .param("symbol", "BTCUSDT")
+        .param("price", null)
+        .param("newClientOrderId", "a b*c~d/\u00e9")
+        .param("timestamp", 1L)
+        .sign(Signers.newSigner("secret"))
+        .build();
+    String query = "symbol=BTCUSDT&newClientOrderId=a%20b%2Ac~d%2F%C3%A9&timestamp=1";
+    assertEquals("https://api.binance.com/api/v3/order?" + query + "&signature=" + HmacSHA256Signer.sign(query, "secret"),
+        url);
+
+    assertEquals("https://api.binance.com/api/v1/time",
+        QueryStringBuilder.of("https://api.binance.com/api/v1/time").sign(Signers.newSigner("secret")).build());
+  }
+}
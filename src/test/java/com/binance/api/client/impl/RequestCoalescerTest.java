@@ -0,0 +1,68 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+public class RequestCoalescerTest {
+
+  private final RequestCoalescer coalescer = new RequestCoalescer();
+
+  @Test
+  public void sharesInFlightPublicRequest() {
+    AtomicInteger sent = new AtomicInteger();
+    AtomicReference<Callback<String>> pending = new AtomicReference<>();
+    String url = "https://api.binance.com/api/v3/ticker/price?symbol=BTCUSDT";
+    Call<String> first = coalescer.coalesce(new StubCall(url, sent, pending));
+    Call<String> second = coalescer.coalesce(new StubCall(url, sent, pending));
+
+    AtomicReference<String> firstBody = new AtomicReference<>();
+    AtomicReference<String> secondBody = new AtomicReference<>();
+    first.enqueue(callback(firstBody));
+    second.enqueue(callback(secondBody));
+    assertEquals(1, sent.get());
+    assertEquals(1, coalescer.getInFlight());
+
+    String price = "{\"symbol\":\"BTCUSDT\"}";
+    pending.get().onResponse(null, Response.success(price));
+    assertSame(price, firstBody.get());
+    assertSame(price, secondBody.get());
+    assertEquals(0, coalescer.getInFlight());
+
+    coalescer.coalesce(new StubCall(url, sent, pending)).enqueue(callback(new AtomicReference<>()));
+    assertEquals(2, sent.get());
+  }
+
+  @Test
+  public void sendsSignedRequests() {
+    AtomicInteger sent = new AtomicInteger();
+    AtomicReference<Callback<String>> pending = new AtomicReference<>();
+    String url = "https://api.binance.com/api/v3/order?symbol=BTCUSDT&timestamp=1&signature=abc";
+    coalescer.coalesce(new StubCall(url, sent, pending)).enqueue(callback(new AtomicReference<>()));
+    coalescer.coalesce(new StubCall(url, sent, pending)).enqueue(callback(new AtomicReference<>()));
+    assertEquals(2, sent.get());
+    assertEquals(0, coalescer.getInFlight());
+  }
+
+  private static Callback<String> callback(AtomicReference<String> body) {
+    return new Callback<String>() {
+      @Override
+      public void onResponse(Call<String> call, Response<String> response) {
+        body.set(response.body());
+      }
+
+      @Override
+      public void onFailure(Call<String> call, Throwable t) {
+        throw new AssertionError(t);
+      }
+    };
+  }
+}
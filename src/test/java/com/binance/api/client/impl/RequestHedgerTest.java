@@ -0,0 +1,115 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.binance.api.client.config.HedgingPolicy;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+
+public class RequestHedgerTest {
+
+  private static final Request DEPTH = StubCall.request("https://api.binance.com/api/v1/depth?symbol=BTCUSDT");
+
+  @Test
+  public void latencyPercentile() {
+    RequestHedger.LatencyTracker tracker = new RequestHedger.LatencyTracker();
+    for (int i = 1; i <= 15; i++) {
+      tracker.record(i);
+    }
+    assertEquals(-1, tracker.percentile(0.95));
+    for (int i = 16; i <= 100; i++) {
+      tracker.record(i);
+    }
+    assertEquals(95, tracker.percentile(0.95));
+  }
+
+  @Test
+  public void hedgesWithinLimiterHeadroom() throws Exception {
+    RequestWeightLimiter limiter = new RequestWeightLimiter(2_000);
+    RequestHedger hedger = new RequestHedger(new HedgingPolicy().initialDelayMillis(1).minDelayMillis(1)
+        .weightHeadroom(1_000), limiter);
+    try {
+      AtomicInteger sent = new AtomicInteger();
+      Call.Factory hedged = hedger.wrap(request -> new UnansweredCall(request, sent));
+      hedged.newCall(DEPTH).enqueue(null);
+      for (int i = 0; i < 500 && sent.get() < 2; i++) {
+        TimeUnit.MILLISECONDS.sleep(10);
+      }
+      assertEquals(2, sent.get());
+
+      // a hedge would eat into the headroom
+      limiter.reserve(1_500);
+      hedged.newCall(DEPTH).enqueue(null);
+      TimeUnit.MILLISECONDS.sleep(100);
+      assertEquals(3, sent.get());
+    } finally {
+      hedger.close();
+      limiter.close();
+    }
+  }
+
+  /**
+   * A call counted when sent, and never answered.
+   */
+  private static final class UnansweredCall implements Call {
+
+    private final Request request;
+    private final AtomicInteger sent;
+
+    UnansweredCall(Request request, AtomicInteger sent) {
+      this.request = request;
+      this.sent = sent;
+    }
+
+    @Override
+    public Request request() {
+      return request;
+    }
+
+    @Override
+    public Response execute() throws IOException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void enqueue(Callback responseCallback) {
+      sent.incrementAndGet();
+    }
+
+    @Override
+    public void cancel() {
+    }
+
+    @Override
+    public boolean isExecuted() {
+      return sent.get() > 0;
+    }
+
+    @Override
+    public boolean isCanceled() {
+      return false;
+    }
+
+    /**
+     * Call.timeout() on OkHttp 3.12 and later.
+     */
+    public Timeout timeout() {
+      return Timeout.NONE;
+    }
+
+    @Override
+    public Call clone() {
+      return new UnansweredCall(request, sent);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.ConnectException;
+
+import org.junit.Test;
+
+import com.binance.api.client.config.RetryPolicy;
+
+public class RequestRetrierTest {
+
+  @Test
+  public void retriesOnlyWhatIsSafe() {
+    RequestRetrier retrier = new RequestRetrier(new RetryPolicy().maxRetries(2).initialBackoffMillis(100));
+    try {
+      assertEquals(3_000, retrier.retryDelay(0, "POST", 429, "3", null));
+      assertEquals(-1, retrier.retryDelay(0, "POST", 418, "120", null));
+      assertEquals(0, retrier.retryDelay(1, "POST", 400, null, "{\"code\":-1021,\"msg\":\"Timestamp for this request is outside of the recvWindow.\"}"));
+      assertEquals(-1, retrier.retryDelay(0, "POST", 400, null, "{\"code\":-1013,\"msg\":\"Filter failure: LOT_SIZE\"}"));
+
+      long backoff = retrier.retryDelay(1, "GET", 503, null, null);
+      assertTrue(backoff >= 100 && backoff <= 200);
+      assertEquals(-1, retrier.retryDelay(0, "POST", 503, null, null));
+      assertEquals(-1, retrier.retryDelay(2, "GET", 503, null, null));
+
+      assertTrue(retrier.retryDelay(0, "GET", new IOException("reset")) >= 0);
+      assertEquals(-1, retrier.retryDelay(0, "DELETE", new IOException("reset")));
+      assertTrue(retrier.retryDelay(0, "DELETE", new ConnectException()) >= 0);
+    } finally {
+      retrier.close();
+    }
+  }
+
+  @Test
+  public void restampsTimestamp() {
+    RequestRetrier.RetriableRequest request = new RequestRetrier.RetriableRequest(
+        StubCall.request("https://api.binance.com/api/v3/order?symbol=BTCUSDT&recvWindow=5000&timestamp=1000"));
+    assertEquals(1000, request.getTimestamp());
+    assertEquals(2000, request.timestamp(2000).getTimestamp());
+    assertEquals("BTCUSDT", request.request().url().queryParameter("symbol"));
+
+    RequestRetrier.RetriableRequest unsigned = new RequestRetrier.RetriableRequest(
+        StubCall.request("https://api.binance.com/api/v3/time"));
+    assertEquals(0, unsigned.timestamp(2000).getTimestamp());
+  }
+}
@@ -0,0 +1,63 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class RequestWeightLimiterTest {
+
+  @Test
+  public void reservesAndResyncs() {
+    RequestWeightLimiter limiter = new RequestWeightLimiter(1200);
+    try {
+      assertEquals(0, limiter.reserve(1000));
+      // 200 left, 100 more than that refill at 20 per second
+      long delay = limiter.reserve(300);
+      assertTrue(delay > TimeUnit.MILLISECONDS.toNanos(4_900) && delay <= TimeUnit.SECONDS.toNanos(5));
+
+      limiter.update(200, "1100", null);
+      assertTrue(limiter.getAvailable() < -99);
+      limiter.update(429, null, "10");
+      assertTrue(limiter.getAvailable() <= -199);
+    } finally {
+      limiter.close();
+    }
+  }
+
+  @Test
+  public void prioritizesCancelsOverStatusPolls() {
+    RequestWeightLimiter limiter = new RequestWeightLimiter(1000);
+    try {
+      assertEquals(0, limiter.reserve(950));
+      // a status poll would eat into the headroom kept for orders
+      assertTrue(limiter.reserve(10, RequestPriority.STATUS) > 0);
+      assertTrue(limiter.getAvailable() >= 50);
+      assertEquals(0, limiter.reserve(100, RequestPriority.CANCEL));
+      assertTrue(limiter.reserve(1, RequestPriority.ORDER) > 0);
+    } finally {
+      limiter.close();
+    }
+  }
+
+  @Test
+  public void sharesBudgetThroughFile() throws Exception {
+    Path path = Files.createTempFile("binance-rate", ".bin");
+    RequestWeightLimiter first = new RequestWeightLimiter(1000, new SharedRateLimitFile(path).weightBucket());
+    RequestWeightLimiter second = new RequestWeightLimiter(1000, new SharedRateLimitFile(path).weightBucket());
+    try {
+      assertEquals(0, first.reserve(600));
+      assertTrue(second.getAvailable() < 401);
+      assertTrue(second.reserve(600) > 0);
+      assertTrue(first.getAvailable() < -199);
+    } finally {
+      first.close();
+      second.close();
+      Files.delete(path);
+    }
+  }
+}
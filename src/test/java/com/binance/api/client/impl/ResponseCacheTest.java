@@ -0,0 +1,65 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.binance.api.client.config.ResponseCachePolicy;
+
+import retrofit2.Response;
+
+public class ResponseCacheTest {
+
+  private static final String EXCHANGE_INFO = "https://api.binance.com/api/v3/exchangeInfo";
+  private static final String PRICES = "https://api.binance.com/api/v1/ticker/allPrices";
+  private static final String BOOK_TICKERS = "https://api.binance.com/api/v1/ticker/allBookTickers";
+
+  private final AtomicInteger sent = new AtomicInteger();
+
+  @Test
+  public void reusesFreshResponses() throws IOException {
+    ResponseCache cache = new ResponseCache(new ResponseCachePolicy());
+    Response<String> first = cache.cache(new StubCall(EXCHANGE_INFO, sent)).execute();
+    assertSame(first, cache.cache(new StubCall(EXCHANGE_INFO, sent)).execute());
+    assertEquals(1, sent.get());
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    assertEquals(20, cache.getWeightSaved());
+
+    cache.cache(new StubCall("https://api.binance.com/api/v1/depth?symbol=BTCUSDT", sent)).execute();
+    cache.cache(new StubCall("https://api.binance.com/api/v1/depth?symbol=BTCUSDT", sent)).execute();
+    assertEquals(3, sent.get());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void savesWeightOfEachRequest() throws IOException {
+    ResponseCache cache = new ResponseCache(new ResponseCachePolicy());
+    String ticker = "https://api.binance.com/api/v1/ticker/24hr?symbol=BTCUSDT";
+    cache.cache(new StubCall(ticker, sent)).execute();
+    cache.cache(new StubCall(ticker, sent)).execute();
+    assertEquals(2, cache.getWeightSaved());
+
+    String tickers = "https://api.binance.com/api/v1/ticker/24hr";
+    cache.cache(new StubCall(tickers, sent)).execute();
+    cache.cache(new StubCall(tickers, sent)).execute();
+    assertEquals(82, cache.getWeightSaved());
+  }
+
+  @Test
+  public void evictsCheapestEntry() throws IOException {
+    ResponseCache cache = new ResponseCache(new ResponseCachePolicy().maxEntries(2));
+    cache.cache(new StubCall(EXCHANGE_INFO, sent)).execute();
+    cache.cache(new StubCall(PRICES, sent)).execute();
+    cache.cache(new StubCall(BOOK_TICKERS, sent)).execute();
+    assertEquals(2, cache.size());
+
+    cache.cache(new StubCall(EXCHANGE_INFO, sent)).execute();
+    assertEquals(1, cache.getHits());
+    assertEquals(3, sent.get());
+  }
+}
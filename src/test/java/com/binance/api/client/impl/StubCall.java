@@ -0,0 +1,85 @@
+package com.binance.api.client.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Retrofit call of the tests, answered locally with the path of its URL. Every call sent is counted; enqueued calls
+ * are answered at once, or kept for the test to answer when a holder of their pending callback is given.
+ */
+class StubCall implements Call<String> {
+
+  private final Request request;
+  private final AtomicInteger sent;
+  private final AtomicReference<Callback<String>> pending;
+  private volatile boolean executed;
+
+  StubCall(String url, AtomicInteger sent) {
+    this(url, sent, null);
+  }
+
+  StubCall(String url, AtomicInteger sent, AtomicReference<Callback<String>> pending) {
+    this.request = request(url);
+    this.sent = sent;
+    this.pending = pending;
+  }
+
+  /**
+   * @return a GET request of <code>url</code>
+   */
+  static Request request(String url) {
+    return new Request.Builder().url(url).build();
+  }
+
+  @Override
+  public Response<String> execute() {
+    executed = true;
+    sent.incrementAndGet();
+    return Response.success(request.url().encodedPath());
+  }
+
+  @Override
+  public void enqueue(Callback<String> callback) {
+    if (pending == null) {
+      callback.onResponse(this, execute());
+    } else {
+      executed = true;
+      sent.incrementAndGet();
+      pending.set(callback);
+    }
+  }
+
+  @Override
+  public boolean isExecuted() {
+    return executed;
+  }
+
+  @Override
+  public void cancel() {
+  }
+
+  @Override
+  public boolean isCanceled() {
+    return false;
+  }
+
+  @Override
+  public Call<String> clone() {
+    return new StubCall(request.url().toString(), sent, pending);
+  }
+
+  @Override
+  public Request request() {
+    return request;
+  }
+
+  public Timeout timeout() {
+    return Timeout.NONE;
+  }
+}
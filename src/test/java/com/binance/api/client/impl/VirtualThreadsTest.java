@@ -0,0 +1,41 @@
+package com.binance.api.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class VirtualThreadsTest {
+
+  @Test
+  public void runsTasksOnNamedDaemonThreads() throws Exception {
+    ExecutorService executor = VirtualThreads.newExecutor("binance-test-");
+    try {
+      Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+      assertTrue(thread.getName(), thread.getName().startsWith("binance-test-"));
+      assertTrue(thread.isDaemon());
+      assertEquals(VirtualThreads.isSupported(), isVirtual(thread));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void supportedByMultiReleaseJar() {
+    // set when run against the JAR built on Java 21, see the java21 profile
+    if (Boolean.getBoolean("binance.test.multiRelease")) {
+      assertTrue(VirtualThreads.isSupported());
+    }
+  }
+
+  private static boolean isVirtual(Thread thread) throws Exception {
+    try {
+      return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+}
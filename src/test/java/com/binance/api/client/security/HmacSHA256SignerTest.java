@@ -0,0 +1,84 @@
+package com.binance.api.client.security;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.Test;
+
+public class HmacSHA256SignerTest {
+
+  /**
+   * Example of the SIGNED endpoint documentation of the exchange.
+   */
+  private static final String SECRET = "NhqPtmdSJYdKjVHjA7PZj4Mge3R5YNiP1e3UZjInClVN65XAbvqqM6A7H5fATj0j";
+
+  private static final String PAYLOAD = "symbol=LTCBTC&side=BUY&type=LIMIT&timeInForce=GTC&quantity=1&price=0.1"
+      + "&recvWindow=5000&timestamp=1499827319559";
+
+  private static final String SIGNATURE = "c8db56825ae71d6d79447849e617115f4a920fa2acdcab2b053c4b2838bd6b71";
+
+  @Test
+  public void signsDocumentedExample() {
+    assertEquals(SIGNATURE, HmacSHA256Signer.sign(PAYLOAD, SECRET));
+    HmacSHA256Signer signer = new HmacSHA256Signer(SECRET);
+    assertEquals(SIGNATURE, signer.sign(PAYLOAD));
+    // the pooled Mac is reset between signatures
+    assertEquals(SIGNATURE, signer.sign(PAYLOAD));
+
+    StringBuilder query = new StringBuilder(PAYLOAD).append("&signature=");
+    signer.sign(query.subSequence(0, PAYLOAD.length()), query);
+    assertEquals(PAYLOAD + "&signature=" + SIGNATURE, query.toString());
+  }
+
+  @Test
+  public void signsNonAsciiAsUtf8() throws Exception {
+    String message = "asset=éth&timestamp=1";
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+    StringBuilder expected = new StringBuilder();
+    for (byte b : mac.doFinal(message.getBytes(StandardCharsets.UTF_8))) {
+      expected.append(String.format("%02x", b));
+    }
+    assertEquals(expected.toString(), new HmacSHA256Signer(SECRET).sign(message));
+  }
+
+  @Test
+  public void signsConcurrentlyBeyondPoolSize() throws Exception {
+    HmacSHA256Signer signer = new HmacSHA256Signer(SECRET);
+    int threads = 64;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        results.add(executor.submit((Callable<Integer>) () -> {
+          int mismatches = 0;
+          for (int i = 0; i < 500; i++) {
+            // alternate the documented payload with one of a different length
+            if (i % 2 == 0) {
+              mismatches += SIGNATURE.equals(signer.sign(PAYLOAD)) ? 0 : 1;
+            } else {
+              String other = PAYLOAD + "&orderId=" + i;
+              mismatches += HmacSHA256Signer.sign(other, SECRET).equals(signer.sign(other)) ? 0 : 1;
+            }
+          }
+          return mismatches;
+        }));
+      }
+      for (Future<Integer> result : results) {
+        assertEquals(0, (int) result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.binance.api.client.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.security.KeyPairGenerator;
+
+import org.junit.Test;
+
+public class SignerCacheTest {
+
+  private static final String PAYLOAD = "symbol=BTCUSDT&orderId=42&timestamp=1";
+
+  @Test
+  public void keepsSignerOfLastSecret() {
+    SignerCache signers = new SignerCache();
+    Signer signer = signers.signerOf("secret");
+    assertSame(signer, signers.signerOf(new String("secret")));
+    assertEquals(HmacSHA256Signer.sign(PAYLOAD, "secret"), signer.sign(PAYLOAD));
+
+    Signer other = signers.signerOf("other");
+    assertNotSame(signer, other);
+    assertEquals(HmacSHA256Signer.sign(PAYLOAD, "other"), other.sign(PAYLOAD));
+    assertNotSame(signer, signers.signerOf("secret"));
+  }
+
+  @Test
+  public void parsesPrivateKeyOnce() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    String pem = SignersTest.pem(generator.generateKeyPair());
+    SignerCache signers = new SignerCache();
+    Signer signer = signers.signerOf(pem);
+    assertTrue(signer instanceof RsaSigner);
+    // the secret argument of every request is the same string, the key is not parsed again
+    assertSame(signer, signers.signerOf(new String(pem)));
+  }
+}
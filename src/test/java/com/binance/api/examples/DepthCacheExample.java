@@ -1,12 +1,14 @@
 package com.binance.api.examples;
 
-import com.binance.api.client.BinanceApiCallback;
 import com.binance.api.client.BinanceApiClientFactory;
 import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.BinanceApiStreamCallback;
 import com.binance.api.client.BinanceApiWebSocketClient;
+import com.binance.api.client.config.ReconnectPolicy;
 import com.binance.api.client.domain.event.DepthEvent;
 import com.binance.api.client.domain.market.OrderBook;
 import com.binance.api.client.domain.market.OrderBookEntry;
+import com.binance.api.client.impl.BinanceApiWebSocketSupervisor;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -18,6 +20,8 @@ import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
@@ -37,7 +41,9 @@ import java.util.function.Consumer;
  * 3. Apply any cache events that have a final updateId later than the snapshot's update id.
  * 4. Start applying any newly received depth events to the depth cache.
  *
- * The example repeats these steps, on a new web socket, should the web socket connection be lost.
+ * The web socket is supervised: should the connection be lost, it is reopened and the example repeats
+ * these steps on it, buffering the events received while a new snapshot is retrieved. The snapshot is
+ * retrieved on a thread of its own, as the web socket thread must not block.
  */
 public class DepthCacheExample {
 
@@ -49,6 +55,7 @@ public class DepthCacheExample {
   private final BinanceApiWebSocketClient wsClient;
   private final WsCallback wsCallback = new WsCallback();
   private final Map<String, NavigableMap<BigDecimal, BigDecimal>> depthCache = new HashMap<>();
+  private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor();
 
   private long lastUpdateId = -1;
   private volatile Closeable webSocket;
@@ -57,7 +64,7 @@ public class DepthCacheExample {
     this.symbol = symbol;
 
     BinanceApiClientFactory factory = BinanceApiClientFactory.newInstance();
-    this.wsClient = factory.newWebSocketClient();
+    this.wsClient = new BinanceApiWebSocketSupervisor(factory.newWebSocketClient(), new ReconnectPolicy());
     this.restClient = factory.newRestClient();
 
     initialize();
@@ -74,20 +81,43 @@ public class DepthCacheExample {
     applyPendingDeltas(pendingDeltas);
   }
 
+  /**
+   * Rebuilds the depth cache once the web socket is reopened, as events may have been missed meanwhile.
+   */
+  private void resynchronize() {
+    final List<DepthEvent> pendingDeltas = bufferDepthEvents();
+    snapshotExecutor.execute(() -> {
+      if (!wsCallback.isBuffering(pendingDeltas)) {
+        // lost again meanwhile: the next snapshot replaces this one
+        return;
+      }
+      initializeDepthCache();
+      applyPendingDeltas(pendingDeltas);
+    });
+  }
+
   /**
    * Begins streaming of depth events.
    *
    * Any events received are cached until the rest API is polled for an initial snapshot.
    */
   private List<DepthEvent> startDepthEventStreaming() {
-    final List<DepthEvent> pendingDeltas = new CopyOnWriteArrayList<>();
-    wsCallback.setHandler(pendingDeltas::add);
+    final List<DepthEvent> pendingDeltas = bufferDepthEvents();
 
     this.webSocket = wsClient.onDepthEvent(symbol.toLowerCase(), wsCallback);
 
     return pendingDeltas;
   }
 
+  /**
+   * Caches the events received from now on.
+   */
+  private List<DepthEvent> bufferDepthEvents() {
+    final List<DepthEvent> pendingDeltas = new CopyOnWriteArrayList<>();
+    wsCallback.setBuffer(pendingDeltas);
+    return pendingDeltas;
+  }
+
   /**
    * 2. Initializes the depth cache by getting a snapshot from the REST API.
    */
@@ -190,6 +220,7 @@ public class DepthCacheExample {
 
   public void close() throws IOException {
     webSocket.close();
+    snapshotExecutor.shutdown();
   }
 
   /**
@@ -216,10 +247,12 @@ public class DepthCacheExample {
     new DepthCacheExample("ETHBTC");
   }
 
-  private final class WsCallback implements BinanceApiCallback<DepthEvent> {
+  private final class WsCallback implements BinanceApiStreamCallback<DepthEvent> {
 
     private final AtomicReference<Consumer<DepthEvent>> handler = new AtomicReference<>();
 
+    private volatile List<DepthEvent> buffer;
+
     @Override
     public void onResponse(DepthEvent depthEvent) {
       try {
@@ -231,14 +264,24 @@ public class DepthCacheExample {
     }
 
     @Override
-    public void onFailure(Throwable cause) {
-      System.out.println("WS connection failed. Reconnecting. cause:" + cause.getMessage());
+    public void onGap(Throwable cause) {
+      System.out.println("WS connection lost, reopening and resynchronizing. cause:" + cause.getMessage());
 
-      initialize();
+      resynchronize();
     }
 
     private void setHandler(final Consumer<DepthEvent> handler) {
+      this.buffer = null;
       this.handler.set(handler);
     }
+
+    private void setBuffer(final List<DepthEvent> buffer) {
+      this.handler.set(buffer::add);
+      this.buffer = buffer;
+    }
+
+    private boolean isBuffering(final List<DepthEvent> buffer) {
+      return this.buffer == buffer;
+    }
   }
 }